@@ -27,6 +27,7 @@ import com.badlogic.gdx.LifecycleListener;
 import com.badlogic.gdx.Net;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.backends.headless.mock.audio.MockAudio;
+import com.badlogic.gdx.backends.headless.mock.graphics.MockGL20;
 import com.badlogic.gdx.backends.headless.mock.graphics.MockGraphics;
 import com.badlogic.gdx.backends.headless.mock.input.MockInput;
 import com.badlogic.gdx.utils.Array;
@@ -66,7 +67,7 @@ public class HeadlessApplication implements Application {
 		this.net = new HeadlessNet();
 		// the following elements are not applicable for headless applications
 		// they are only implemented as mock objects
-		this.graphics = new MockGraphics();
+		this.graphics = new MockGraphics(config.mockGL ? new MockGL20() : null);
 		this.audio = new MockAudio();
 		this.input = new MockInput();
 
@@ -75,6 +76,8 @@ public class HeadlessApplication implements Application {
 		Gdx.net = net;
 		Gdx.audio = audio;
 		Gdx.graphics = graphics;
+		// Without the mock, leave Gdx.gl as is, eg so a test can set its own GL before creating the application.
+		if (config.mockGL) Gdx.gl = Gdx.gl20 = graphics.getGL20();
 		Gdx.input = input;
 		
 		renderInterval = config.renderInterval > 0 ? (long)(config.renderInterval * 1000000000f) : (config.renderInterval < 0 ? -1 : 0);
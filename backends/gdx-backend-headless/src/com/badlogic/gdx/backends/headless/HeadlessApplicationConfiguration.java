@@ -19,4 +19,7 @@ package com.badlogic.gdx.backends.headless;
 public class HeadlessApplicationConfiguration {
 	/** The minimum time (in seconds) between each call to the render method or negative to not call the render method at all. */
 	public float renderInterval = 1f / 60f;
+	/** Whether {@link com.badlogic.gdx.Gdx#gl} is set to a {@link com.badlogic.gdx.backends.headless.mock.graphics.MockGL20}
+	 * which does nothing. When false, Gdx.gl is left unchanged. Allows to create meshes, shaders and sprite batches. */
+	public boolean mockGL = false;
 }
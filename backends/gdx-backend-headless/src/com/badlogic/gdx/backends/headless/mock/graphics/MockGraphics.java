@@ -30,6 +30,16 @@ public class MockGraphics implements Graphics {
 	int frames = 0;
 	int fps;
 	long lastTime = System.nanoTime();
+	final GL20 gl20;
+
+	public MockGraphics() {
+		this(null);
+	}
+
+	/** @param gl20 the GL returned by {@link #getGL20()}, may be null. */
+	public MockGraphics(GL20 gl20) {
+		this.gl20 = gl20;
+	}
 
 	@Override
 	public boolean isGL30Available() {
@@ -38,7 +48,7 @@ public class MockGraphics implements Graphics {
 
 	@Override
 	public GL20 getGL20() {
-		return null;
+		return gl20;
 	}
 
 	@Override
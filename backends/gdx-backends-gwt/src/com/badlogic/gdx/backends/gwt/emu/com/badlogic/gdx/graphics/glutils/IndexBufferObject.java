@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.graphics.glutils;
 
+import java.nio.ByteBuffer;
 import java.nio.ShortBuffer;
 
 import com.badlogic.gdx.Gdx;
@@ -63,6 +64,17 @@ public class IndexBufferObject implements IndexData {
 		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
 	}
 
+	/** Creates a new IndexBufferObject which uploads the given indices without copying them.
+	 * 
+	 * @param isStatic whether the index buffer is static
+	 * @param data the indices from position 0 to the limit, in native byte order */
+	public IndexBufferObject (boolean isStatic, ByteBuffer data) {
+		isDirect = true;
+		buffer = data.asShortBuffer();
+		bufferHandle = Gdx.gl20.glGenBuffer();
+		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
+	}
+
 	/** Creates a new IndexBufferObject to be used with vertex arrays.
 	 * 
 	 * @param maxIndices the maximum number of indices this buffer can hold */
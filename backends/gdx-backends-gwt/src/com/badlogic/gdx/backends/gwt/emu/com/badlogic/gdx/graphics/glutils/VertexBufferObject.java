@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.graphics.glutils;
 
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 
 import com.badlogic.gdx.Gdx;
@@ -81,6 +82,21 @@ public class VertexBufferObject implements VertexData {
 		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
 	}
 
+	/** Constructs a new interleaved VertexBufferObject which uploads the given vertices without copying them.
+	 * 
+	 * @param isStatic whether the vertex data is static.
+	 * @param data the vertices from position 0 to the limit, in native byte order.
+	 * @param attributes the {@link VertexAttributes}. */
+	public VertexBufferObject (boolean isStatic, ByteBuffer data, VertexAttributes attributes) {
+		this.isStatic = isStatic;
+		this.attributes = attributes;
+
+		buffer = data.asFloatBuffer();
+		bufferHandle = Gdx.gl20.glGenBuffer();
+		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
+		isDirty = true;
+	}
+
 	@Override
 	public VertexAttributes getAttributes () {
 		return attributes;
@@ -0,0 +1,29 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** GWT emulation of ConcurrentPool, there is only one thread so it is a plain {@link Pool}. */
+abstract public class ConcurrentPool<T> extends Pool<T> {
+	public ConcurrentPool () {
+		this(32, Integer.MAX_VALUE);
+	}
+
+	public ConcurrentPool (int cacheSize, int max) {
+		super(cacheSize, max);
+		if (cacheSize < 2) throw new IllegalArgumentException("cacheSize must be >= 2: " + cacheSize);
+	}
+}
@@ -30,6 +30,8 @@ import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayoutCache;
 import com.badlogic.gdx.graphics.g2d.GlyphLayout.GlyphRun;
 import com.badlogic.gdx.graphics.g2d.PixmapPacker;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
@@ -46,6 +48,7 @@ import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.LongArray;
 import com.badlogic.gdx.utils.StreamUtils;
 
 /** Generates {@link BitmapFont} and {@link BitmapFontData} instances from TrueType, OTF, and other FreeType supported fonts.</p>
@@ -395,6 +398,7 @@ public class FreeTypeFontGenerator implements Disposable {
 			data.stroker = stroker;
 			data.packer = packer;
 			data.glyphs = new Array(charactersLength + 32);
+			if (ownsAtlas) data.maxPages = parameter.maxPages;
 		}
 
 		for (int i = 0; i < charactersLength; i++) {
@@ -540,9 +544,11 @@ public class FreeTypeFontGenerator implements Disposable {
 
 		}
 
+		if (parameter.incremental) data.makeRoom(mainPixmap);
 		Rectangle rect = packer.pack(mainPixmap);
 
-		glyph.page = packer.getPages().size - 1; // Glyph is always packed into the last page for now.
+		glyph.page = packer.getCurrentPageIndex();
+		if (parameter.incremental) data.usePage(glyph.page);
 		glyph.srcX = (int)rect.x;
 		glyph.srcY = (int)rect.y;
 
@@ -602,6 +608,12 @@ public class FreeTypeFontGenerator implements Disposable {
 		Array<Glyph> glyphs;
 		private boolean dirty;
 
+		// Fields for evicting glyph pages.
+		int maxPages;
+		/** For each page, the frame a glyph of the page was last used in. */
+		private final LongArray pageFrames = new LongArray();
+		private int evictions;
+
 		@Override
 		public Glyph getGlyph (char ch) {
 			Glyph glyph = super.getGlyph(ch);
@@ -630,6 +642,7 @@ public class FreeTypeFontGenerator implements Disposable {
 					}
 				}
 			}
+			if (glyph != null) usePage(glyph.page);
 			return glyph;
 		}
 
@@ -642,6 +655,66 @@ public class FreeTypeFontGenerator implements Disposable {
 			}
 		}
 
+		/** Records that the page was used in the current frame when {@link FreeTypeFontParameter#maxPages} is set, and updates
+		 * the page textures if glyphs were added since the last update, eg when cached text got back its evicted glyphs. */
+		@Override
+		public void usePage (int page) {
+			if (maxPages > 0) {
+				while (pageFrames.size <= page)
+					pageFrames.add(-1);
+				pageFrames.set(page, Gdx.graphics.getFrameId());
+			}
+			if (dirty) {
+				dirty = false;
+				packer.updateTextureRegions(regions, parameter.minFilter, parameter.magFilter, parameter.genMipMaps);
+			}
+		}
+
+		/** Makes room for the pixmap if it doesn't fit in the current page and there are already {@link #maxPages} pages, by evicting
+		 * the least recently used page. Pages with glyphs used in the current frame are not evicted, so text laid out in this frame
+		 * stays valid. */
+		void makeRoom (Pixmap pixmap) {
+			if (maxPages > 0 && packer.getPages().size >= maxPages && !packer.fits(pixmap)) {
+				long frame = Gdx.graphics.getFrameId(), evictFrame = 0;
+				int evict = -1;
+				for (int i = 0, n = packer.getPages().size; i < n; i++) {
+					long pageFrame = i < pageFrames.size ? pageFrames.get(i) : -1;
+					if (pageFrame == frame) continue;
+					if (evict == -1 || pageFrame < evictFrame) {
+						evict = i;
+						evictFrame = pageFrame;
+					}
+				}
+				if (evict != -1) evictPage(evict); // Otherwise all pages are used, a page is added.
+			}
+		}
+
+		private void evictPage (int evict) {
+			// Remove the glyphs of the page, they are rendered again when they are next used. Glyphs without pixels are kept.
+			for (Glyph[] page : super.glyphs) {
+				if (page == null) continue;
+				for (int i = 0, n = page.length; i < n; i++) {
+					Glyph glyph = page[i];
+					if (glyph != null && glyph.page == evict && glyph.width > 0 && glyph.height > 0) page[i] = null;
+				}
+			}
+			for (int i = glyphs.size - 1; i >= 0; i--) {
+				Glyph glyph = glyphs.get(i);
+				if (glyph.page == evict && glyph.width > 0 && glyph.height > 0) glyphs.removeIndex(i);
+			}
+			packer.clearPage(packer.getPages().get(evict));
+			dirty = true;
+			evictions++;
+			glyphVersion++;
+		}
+
+		/** Returns the number of times the glyphs of a page were evicted to make room for new glyphs, see
+		 * {@link FreeTypeFontParameter#maxPages}. Each eviction increments {@link #glyphVersion}, so text cached by a
+		 * {@link BitmapFontCache} or {@link GlyphLayoutCache} gets the glyphs rendered again before it is drawn. */
+		public int getEvictions () {
+			return evictions;
+		}
+
 		@Override
 		public void dispose () {
 			if (stroker != null) stroker.dispose();
@@ -699,5 +772,10 @@ public class FreeTypeFontGenerator implements Disposable {
 		 * generator) when the font is no longer needed. The FreeTypeFontParameter should not be modified after creating a font. If
 		 * a PixmapPacker is not specified, the font glyph page textures will use {@link FreeTypeFontGenerator#getMaxTextureSize()}. */
 		public boolean incremental;
+		/** When incremental and greater than 0, the maximum number of glyph pages. When a new glyph doesn't fit and there are this
+		 * many pages, the glyphs of the least recently used page are evicted and the page is reused, so a font with many
+		 * characters, eg CJK, uses a bounded amount of texture memory. Evicted glyphs are rendered again when they are next used,
+		 * see {@link FreeTypeBitmapFontData#getEvictions()}. Ignored if a PixmapPacker is specified. */
+		public int maxPages;
 	}
 }
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.g3d;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.loader.G3dmModelLoader;
+import com.badlogic.gdx.utils.BaseJsonReader;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.UBJsonWriter;
+
+/** Converts G3DJ and G3DB models to the G3DM format, which {@link G3dmModelLoader} loads without parsing the vertices and
+ * indices. */
+public class G3dmConverter {
+	/** Converts the model, which is read as G3DJ if the input has the g3dj extension and as G3DB otherwise. */
+	public void convert (FileHandle input, FileHandle output) throws IOException {
+		BaseJsonReader reader = input.extension().equalsIgnoreCase("g3dj") ? new JsonReader() : new UBJsonReader();
+		convert(reader.parse(input), output);
+	}
+
+	/** Writes the model as G3DM. The vertices and indices are removed from the JSON. */
+	public void convert (JsonValue model, FileHandle output) throws IOException {
+		JsonValue meshes = model.get("meshes");
+		int meshCount = meshes == null ? 0 : meshes.size;
+		ByteBuffer[] vertices = new ByteBuffer[meshCount], indices = new ByteBuffer[meshCount];
+		if (meshes != null) {
+			int i = 0;
+			for (JsonValue mesh = meshes.child; mesh != null; mesh = mesh.next, i++) {
+				float[] meshVertices = mesh.require("vertices").asFloatArray();
+				mesh.remove("vertices");
+				vertices[i] = newBuffer(meshVertices.length * 4);
+				vertices[i].asFloatBuffer().put(meshVertices);
+
+				JsonValue parts = mesh.require("parts");
+				short[][] partIndices = new short[parts.size][];
+				int j = 0, indexCount = 0;
+				for (JsonValue part = parts.child; part != null; part = part.next, j++) {
+					JsonValue value = part.require("indices");
+					partIndices[j] = value.asShortArray();
+					indexCount += partIndices[j].length;
+					// Replaces the indices with their count.
+					value.child = null;
+					value.size = 0;
+					value.name = "count";
+					value.set(partIndices[j].length, null);
+				}
+				indices[i] = newBuffer(indexCount * 2);
+				ShortBuffer indexBuffer = indices[i].asShortBuffer();
+				for (short[] values : partIndices)
+					indexBuffer.put(values);
+			}
+		}
+
+		ByteArrayOutputStream meta = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(meta);
+		writer.value(model);
+		writer.close();
+
+		OutputStream out = output.write(false);
+		try {
+			WritableByteChannel channel = Channels.newChannel(out);
+			ByteBuffer header = newBuffer(8);
+			header.putInt(G3dmModelLoader.MAGIC);
+			header.putInt(G3dmModelLoader.VERSION);
+			header.flip();
+			channel.write(header);
+			writeChunk(channel, G3dmModelLoader.META, ByteBuffer.wrap(meta.toByteArray()));
+			for (int i = 0; i < meshCount; i++) {
+				writeChunk(channel, G3dmModelLoader.VERTICES, vertices[i]);
+				writeChunk(channel, G3dmModelLoader.INDICES, indices[i]);
+			}
+		} finally {
+			StreamUtils.closeQuietly(out);
+		}
+	}
+
+	private ByteBuffer newBuffer (int length) {
+		return ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	private void writeChunk (WritableByteChannel channel, int type, ByteBuffer data) throws IOException {
+		int length = data.remaining();
+		ByteBuffer header = newBuffer(8);
+		header.putInt(type);
+		header.putInt(length);
+		header.flip();
+		channel.write(header);
+		while (data.hasRemaining())
+			channel.write(data);
+		int padding = -length & 3;
+		if (padding > 0) channel.write(ByteBuffer.allocate(padding));
+	}
+
+	/** Converts each G3DJ or G3DB file to a G3DM file next to it. */
+	static public void main (String[] args) throws Exception {
+		if (args.length == 0) {
+			System.out.println("Usage: G3dmConverter model.g3dj|model.g3db [model ...]");
+			System.exit(1);
+		}
+		G3dmConverter converter = new G3dmConverter();
+		for (String arg : args) {
+			FileHandle input = new FileHandle(arg);
+			FileHandle output = input.sibling(input.nameWithoutExtension() + ".g3dm");
+			converter.convert(input, output);
+			System.out.println(output.path());
+		}
+	}
+}
@@ -0,0 +1,330 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.g3d;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.LodModelInstance;
+import com.badlogic.gdx.graphics.g3d.loader.G3dModelLoader;
+import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
+import com.badlogic.gdx.utils.BaseJsonReader;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.UBJsonReader;
+
+/** Reduces the number of vertices of meshes by vertex clustering, to create the coarser levels of a {@link LodModelInstance}. The
+ * bounds of the mesh are divided into a grid of cubic cells, the finest for which the number of occupied cells is at most the
+ * target number of vertices. The vertices in a cell are replaced by one vertex at their average position, with the other
+ * attributes of the vertex closest to it. Triangles and lines whose vertices are in the same cell are removed, as are duplicates.
+ * <p>
+ * The simplified mesh is built with a {@link MeshBuilder}, which can then create the mesh. G3DJ and G3DB models can be simplified
+ * offline, see {@link #main(String[])}. */
+public class MeshSimplifier {
+	/** The maximum number of cells along the largest dimension of the bounds. */
+	static public final int MAX_RESOLUTION = 1024;
+
+	private final LongMap<Boolean> primitives = new LongMap<Boolean>();
+
+	/** Adds the simplified vertices and parts to the builder, which must have begun with the attributes of the vertices. A part is
+	 * started for each part of the input, the vertices are shared by them.
+	 * @param vertices The vertices of the mesh, in the layout of {@link MeshBuilder#getAttributes()}.
+	 * @param partIds The ids of the parts.
+	 * @param primitiveTypes The primitive type of each part: {@link GL20#GL_TRIANGLES}, {@link GL20#GL_LINES} or
+	 *           {@link GL20#GL_POINTS}.
+	 * @param indices The indices of each part.
+	 * @param targetVertices The maximum number of vertices of the simplified mesh.
+	 * @param indexCounts Receives the number of indices of each simplified part, may be null.
+	 * @return The number of vertices of the simplified mesh. */
+	public int simplify (MeshBuilder builder, float[] vertices, String[] partIds, int[] primitiveTypes, short[][] indices,
+		int targetVertices, int[] indexCounts) {
+		final VertexAttributes attributes = builder.getAttributes();
+		if (attributes == null) throw new GdxRuntimeException("Call begin() on the builder first");
+		final int stride = attributes.vertexSize / 4;
+		final int positionOffset = attributes.getOffset(Usage.Position);
+		final int vertexCount = vertices.length / stride;
+
+		final int[] clusters = new int[vertexCount];
+		final int clusterCount = cluster(vertices, stride, positionOffset, targetVertices, clusters);
+		final float[] clusterVertices = new float[clusterCount * stride];
+		average(vertices, stride, positionOffset, clusters, clusterCount, clusterVertices);
+
+		final short[] builderIndices = new short[clusterCount];
+		Arrays.fill(builderIndices, (short)-1);
+		final float[] vertex = new float[stride];
+		int builderVertices = 0;
+		for (int part = 0; part < partIds.length; part++) {
+			final int primitiveType = primitiveTypes[part];
+			final int size = primitiveType == GL20.GL_TRIANGLES ? 3 : primitiveType == GL20.GL_LINES ? 2
+				: primitiveType == GL20.GL_POINTS ? 1 : 0;
+			if (size == 0) throw new GdxRuntimeException("Unsupported primitive type of part " + partIds[part] + ": " + primitiveType);
+			builder.part(partIds[part], primitiveType);
+			final int indexStart = builder.getNumIndices();
+			primitives.clear();
+			final short[] partIndices = indices[part];
+			for (int i = 0; i + size <= partIndices.length; i += size) {
+				final int a = clusters[partIndices[i] & 0xffff];
+				final int b = size > 1 ? clusters[partIndices[i + 1] & 0xffff] : a;
+				final int c = size > 2 ? clusters[partIndices[i + 2] & 0xffff] : b;
+				if (size > 1 && (a == b || b == c || (size > 2 && a == c))) continue;
+				if (primitives.put(primitiveKey(a, b, c, size), Boolean.TRUE) != null) continue;
+				for (int j = 0; j < size; j++) {
+					final int cluster = j == 0 ? a : j == 1 ? b : c;
+					if (builderIndices[cluster] == -1) {
+						System.arraycopy(clusterVertices, cluster * stride, vertex, 0, stride);
+						builderIndices[cluster] = builder.vertex(vertex);
+						builderVertices++;
+					}
+					builder.index(builderIndices[cluster]);
+				}
+			}
+			if (indexCounts != null) indexCounts[part] = builder.getNumIndices() - indexStart;
+		}
+		return builderVertices;
+	}
+
+	/** @return A key identifying the primitive regardless of which of its vertices is first, keeping the winding. */
+	static private long primitiveKey (int a, int b, int c, int size) {
+		if (size == 2 && b < a) {
+			final int t = a;
+			a = b;
+			b = t;
+		} else if (size == 3) {
+			while (a > b || a > c) {
+				final int t = a;
+				a = b;
+				b = c;
+				c = t;
+			}
+		}
+		return ((long)a << 40) | ((long)b << 20) | c;
+	}
+
+	/** Assigns each vertex to a cluster, using the finest grid with at most the target number of occupied cells.
+	 * @return The number of clusters. */
+	private int cluster (float[] vertices, int stride, int positionOffset, int targetVertices, int[] clusters) {
+		final int vertexCount = clusters.length;
+		if (vertexCount <= targetVertices) {
+			for (int i = 0; i < vertexCount; i++)
+				clusters[i] = i;
+			return vertexCount;
+		}
+		float minX = Float.POSITIVE_INFINITY, minY = minX, minZ = minX;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = maxX, maxZ = maxX;
+		for (int i = 0, o = positionOffset; i < vertexCount; i++, o += stride) {
+			minX = Math.min(minX, vertices[o]);
+			minY = Math.min(minY, vertices[o + 1]);
+			minZ = Math.min(minZ, vertices[o + 2]);
+			maxX = Math.max(maxX, vertices[o]);
+			maxY = Math.max(maxY, vertices[o + 1]);
+			maxZ = Math.max(maxZ, vertices[o + 2]);
+		}
+		final float extent = Math.max(Math.max(maxX - minX, maxY - minY), Math.max(maxZ - minZ, 1e-6f));
+
+		// Each key holds the cell in the high bits and the vertex in the low 20 bits, so sorting groups the vertices by cell.
+		final long[] keys = new long[vertexCount];
+		int low = 1, high = MAX_RESOLUTION, resolution = 1;
+		while (low <= high) {
+			final int mid = (low + high) >>> 1;
+			if (sortByCell(vertices, stride, positionOffset, minX, minY, minZ, extent, mid, keys) <= targetVertices) {
+				resolution = mid;
+				low = mid + 1;
+			} else
+				high = mid - 1;
+		}
+		final int clusterCount = sortByCell(vertices, stride, positionOffset, minX, minY, minZ, extent, resolution, keys);
+		int cluster = -1;
+		long cell = -1;
+		for (int i = 0; i < vertexCount; i++) {
+			if (keys[i] >>> 20 != cell) {
+				cell = keys[i] >>> 20;
+				cluster++;
+			}
+			clusters[(int)(keys[i] & 0xfffff)] = cluster;
+		}
+		return clusterCount;
+	}
+
+	/** @return The number of occupied cells. */
+	private int sortByCell (float[] vertices, int stride, int positionOffset, float minX, float minY, float minZ, float extent,
+		int resolution, long[] keys) {
+		final float scale = resolution / extent;
+		final int max = resolution - 1;
+		for (int i = 0, o = positionOffset; i < keys.length; i++, o += stride) {
+			final long x = Math.min(max, (int)((vertices[o] - minX) * scale));
+			final long y = Math.min(max, (int)((vertices[o + 1] - minY) * scale));
+			final long z = Math.min(max, (int)((vertices[o + 2] - minZ) * scale));
+			keys[i] = (((x * resolution + y) * resolution + z) << 20) | i;
+		}
+		Arrays.sort(keys);
+		int cells = 0;
+		for (int i = 0; i < keys.length; i++)
+			if (i == 0 || keys[i] >>> 20 != keys[i - 1] >>> 20) cells++;
+		return cells;
+	}
+
+	/** Sets the vertex of each cluster to the vertex closest to the average position of the cluster, at the average position. */
+	private void average (float[] vertices, int stride, int positionOffset, int[] clusters, int clusterCount, float[] out) {
+		final float[] sums = new float[clusterCount * 4];
+		for (int i = 0, o = positionOffset; i < clusters.length; i++, o += stride) {
+			final int s = clusters[i] * 4;
+			sums[s] += vertices[o];
+			sums[s + 1] += vertices[o + 1];
+			sums[s + 2] += vertices[o + 2];
+			sums[s + 3]++;
+		}
+		for (int s = 0; s < sums.length; s += 4) {
+			sums[s] /= sums[s + 3];
+			sums[s + 1] /= sums[s + 3];
+			sums[s + 2] /= sums[s + 3];
+		}
+		final float[] distances = new float[clusterCount];
+		Arrays.fill(distances, Float.POSITIVE_INFINITY);
+		for (int i = 0, o = 0; i < clusters.length; i++, o += stride) {
+			final int cluster = clusters[i], s = cluster * 4;
+			final float dx = vertices[o + positionOffset] - sums[s];
+			final float dy = vertices[o + positionOffset + 1] - sums[s + 1];
+			final float dz = vertices[o + positionOffset + 2] - sums[s + 2];
+			final float distance = dx * dx + dy * dy + dz * dz;
+			if (distance < distances[cluster]) {
+				distances[cluster] = distance;
+				System.arraycopy(vertices, o, out, cluster * stride, stride);
+			}
+		}
+		for (int cluster = 0; cluster < clusterCount; cluster++) {
+			final int o = cluster * stride + positionOffset, s = cluster * 4;
+			out[o] = sums[s];
+			out[o + 1] = sums[s + 1];
+			out[o + 2] = sums[s + 2];
+		}
+	}
+
+	/** Simplifies each mesh of the model to at most the given ratio of its vertices. Meshes with other primitive types than
+	 * triangles, lines and points are left unchanged. */
+	public void simplify (JsonValue model, float ratio) {
+		JsonValue meshes = model.get("meshes");
+		if (meshes == null) return;
+		final AttributeParser parser = new AttributeParser();
+		meshes:
+		for (JsonValue mesh = meshes.child; mesh != null; mesh = mesh.next) {
+			JsonValue parts = mesh.require("parts");
+			String[] partIds = new String[parts.size];
+			int[] primitiveTypes = new int[parts.size];
+			short[][] indices = new short[parts.size][];
+			int i = 0;
+			for (JsonValue part = parts.child; part != null; part = part.next, i++) {
+				partIds[i] = part.getString("id");
+				primitiveTypes[i] = parser.parsePrimitiveType(part.getString("type"));
+				if (primitiveTypes[i] != GL20.GL_TRIANGLES && primitiveTypes[i] != GL20.GL_LINES
+					&& primitiveTypes[i] != GL20.GL_POINTS) continue meshes;
+				indices[i] = part.require("indices").asShortArray();
+			}
+			VertexAttributes attributes = parser.parseVertexAttributes(mesh.require("attributes"));
+			float[] vertices = mesh.require("vertices").asFloatArray();
+			int targetVertices = Math.max(3, (int)(vertices.length / (attributes.vertexSize / 4) * ratio));
+
+			MeshBuilder builder = new MeshBuilder();
+			builder.begin(attributes);
+			int[] indexCounts = new int[parts.size];
+			simplify(builder, vertices, partIds, primitiveTypes, indices, targetVertices, indexCounts);
+			float[] simplifiedVertices = new float[builder.getNumVertices() * builder.getFloatsPerVertex()];
+			builder.getVertices(simplifiedVertices, 0);
+			short[] simplifiedIndices = new short[builder.getNumIndices()];
+			builder.getIndices(simplifiedIndices, 0);
+
+			setValues(mesh.get("vertices"), simplifiedVertices, 0, simplifiedVertices.length);
+			i = 0;
+			int offset = 0;
+			for (JsonValue part = parts.child; part != null; part = part.next, i++) {
+				setValues(part.get("indices"), simplifiedIndices, offset, indexCounts[i]);
+				offset += indexCounts[i];
+			}
+		}
+	}
+
+	static private void setValues (JsonValue array, float[] values, int offset, int count) {
+		JsonValue last = null;
+		for (int i = offset, n = offset + count; i < n; i++)
+			// Parsed from the shortest representation of the float, so it is written without the rounding error of the double.
+			last = append(array, last, new JsonValue(Double.parseDouble(Float.toString(values[i]))));
+		array.size = count;
+	}
+
+	static private void setValues (JsonValue array, short[] values, int offset, int count) {
+		JsonValue last = null;
+		for (int i = offset, n = offset + count; i < n; i++)
+			last = append(array, last, new JsonValue(values[i]));
+		array.size = count;
+	}
+
+	static private JsonValue append (JsonValue array, JsonValue last, JsonValue value) {
+		if (last == null)
+			array.child = value;
+		else
+			last.next = value;
+		value.prev = last;
+		return value;
+	}
+
+	/** Simplifies the model, which is read as G3DJ if the input has the g3dj extension and as G3DB otherwise. It is written as
+	 * G3DM if the output has the g3dm extension, see {@link G3dmConverter}, and as G3DJ otherwise. */
+	public void simplify (FileHandle input, FileHandle output, float ratio) throws IOException {
+		BaseJsonReader reader = input.extension().equalsIgnoreCase("g3dj") ? new JsonReader() : new UBJsonReader();
+		JsonValue model = reader.parse(input);
+		simplify(model, ratio);
+		if (output.extension().equalsIgnoreCase("g3dm"))
+			new G3dmConverter().convert(model, output);
+		else
+			output.writeString(model.prettyPrint(OutputType.json, 120), false, "UTF-8");
+	}
+
+	/** Writes a simplified copy of the model for each ratio as G3DJ, named like the model with _lod1, _lod2 and so on appended. */
+	static public void main (String[] args) throws Exception {
+		if (args.length < 2) {
+			System.out.println("Usage: MeshSimplifier model.g3dj|model.g3db ratio [ratio ...]");
+			System.exit(1);
+		}
+		MeshSimplifier simplifier = new MeshSimplifier();
+		FileHandle input = new FileHandle(args[0]);
+		for (int i = 1; i < args.length; i++) {
+			FileHandle output = input.sibling(input.nameWithoutExtension() + "_lod" + i + ".g3dj");
+			simplifier.simplify(input, output, Float.parseFloat(args[i]));
+			System.out.println(output.path());
+		}
+	}
+
+	static private class AttributeParser extends G3dModelLoader {
+		public AttributeParser () {
+			super(null);
+		}
+
+		public VertexAttributes parseVertexAttributes (JsonValue attributes) {
+			return new VertexAttributes(parseAttributes(attributes));
+		}
+
+		public int parsePrimitiveType (String type) {
+			return parseType(type);
+		}
+	}
+}
@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.json;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.reflect.Field;
+
+/** Generates {@link Json.Serializer} source code for classes, so {@link Json} can read and write their fields directly instead of
+ * through reflection. The serializers write the same JSON as {@link Json#writeFields(Object)}, including omitting fields which
+ * have their default values when {@link Json#setUsePrototypes(boolean) prototypes} are used, and read it like
+ * {@link Json#readFields(Object, com.badlogic.gdx.utils.JsonValue)}. A registry class is generated whose
+ * <code>register(Json)</code> method sets all serializers on a Json instance. Json does not find the generated serializers by
+ * itself, <code>register(Json)</code> must be called on each Json instance before it is used. Classes without a generated
+ * serializer are still serialized using reflection.
+ * <p>
+ * A serializer is generated in the package of its class, so it can access public, protected and package private fields. Private
+ * and final fields and fields of inaccessible types are read and written by the serializer using {@link Json#readField(Object,
+ * String, com.badlogic.gdx.utils.JsonValue)} and {@link Json#writeField(Object, String)}, which use reflection. The element type of
+ * collections is taken from the generic type of the field, {@link Json#setElementType(Class, String, Class)} has no effect on
+ * generated serializers.
+ * <p>
+ * The classes have to be on the classpath. Regenerate the serializers when the fields of a class change. */
+public class JsonSerializerGenerator {
+	/** Returns the simple name of the serializer generated for the class. */
+	public String getSerializerName (Class type) {
+		String name = type.getName();
+		return name.substring(name.lastIndexOf('.') + 1).replace('$', '_') + "JsonSerializer";
+	}
+
+	/** Writes the serializers for the classes and the registry class to the source directory.
+	 * @param registryName The fully qualified name of the registry class. */
+	public void generate (File outputDir, String registryName, Class... types) throws IOException {
+		for (Class type : types) {
+			String source = generateSerializer(type);
+			write(outputDir, packageName(type.getName()), getSerializerName(type), source);
+		}
+		write(outputDir, packageName(registryName), registryName.substring(registryName.lastIndexOf('.') + 1),
+			generateRegistry(registryName, types));
+	}
+
+	private void write (File outputDir, String packageName, String className, String source) throws IOException {
+		File dir = new File(outputDir, packageName.replace('.', File.separatorChar));
+		dir.mkdirs();
+		Writer writer = new OutputStreamWriter(new FileOutputStream(new File(dir, className + ".java")), "UTF-8");
+		try {
+			writer.write(source);
+		} finally {
+			writer.close();
+		}
+	}
+
+	/** Returns the source of the registry class, which registers the serializers for the classes. */
+	public String generateRegistry (String registryName, Class... types) {
+		String packageName = packageName(registryName);
+		StringBuilder buffer = new StringBuilder(512);
+		buffer.append("// Generated by ").append(getClass().getName()).append(", do not edit.\n");
+		if (packageName.length() > 0) buffer.append("package ").append(packageName).append(";\n\n");
+		buffer.append("import com.badlogic.gdx.utils.Json;\n\n");
+		buffer.append("/** Registers the generated serializers. Json does not find them by itself, {@link #register(Json)} must be called\n");
+		buffer.append(" * on each Json instance before it is used. */\n");
+		buffer.append("public class ").append(registryName.substring(registryName.lastIndexOf('.') + 1)).append(" {\n");
+		buffer.append("\t/** Sets the generated serializers on the Json instance. */\n");
+		buffer.append("\tstatic public void register (Json json) {\n");
+		for (Class type : types) {
+			String serializerPackage = packageName(type.getName());
+			String serializerName = getSerializerName(type);
+			if (!serializerPackage.equals(packageName) && serializerPackage.length() > 0)
+				serializerName = serializerPackage + "." + serializerName;
+			buffer.append("\t\tjson.setSerializer(").append(typeName(type, packageName)).append(".class, new ")
+				.append(serializerName).append("());\n");
+		}
+		buffer.append("\t}\n}\n");
+		return buffer.toString();
+	}
+
+	/** Returns the source of the serializer for the class.
+	 * @throws GdxRuntimeException if no serializer can be generated for the class. */
+	public String generateSerializer (Class type) {
+		if (type.isInterface() || type.isArray() || type.isPrimitive() || type.isEnum() || Modifier.isAbstract(type.getModifiers()))
+			throw new GdxRuntimeException("Only concrete classes are supported: " + type.getName());
+		if (Json.Serializable.class.isAssignableFrom(type))
+			throw new GdxRuntimeException("Class implements Json.Serializable: " + type.getName());
+		if (type.getCanonicalName() == null) throw new GdxRuntimeException("Class has no canonical name: " + type.getName());
+		if (type.isMemberClass() && !Modifier.isStatic(type.getModifiers()))
+			throw new GdxRuntimeException("Class must be static: " + type.getName());
+		String packageName = packageName(type.getName());
+		if (!isAccessible(type, packageName)) throw new GdxRuntimeException("Class is private: " + type.getName());
+		try {
+			Constructor constructor = type.getDeclaredConstructor();
+			if (Modifier.isPrivate(constructor.getModifiers()))
+				throw new GdxRuntimeException("Class has a private no-arg constructor: " + type.getName());
+		} catch (NoSuchMethodException ex) {
+			throw new GdxRuntimeException("Class has no no-arg constructor: " + type.getName());
+		}
+
+		String typeName = typeName(type, packageName);
+		Array<Field> fields = getFields(type);
+
+		StringBuilder buffer = new StringBuilder(2048);
+		buffer.append("// Generated by ").append(getClass().getName()).append(", do not edit.\n");
+		if (packageName.length() > 0) buffer.append("package ").append(packageName).append(";\n\n");
+		buffer.append("import com.badlogic.gdx.utils.Json;\n");
+		buffer.append("import com.badlogic.gdx.utils.JsonValue;\n");
+		buffer.append("import com.badlogic.gdx.utils.SerializationException;\n\n");
+		buffer.append("/** Reads and writes the fields of {@link ").append(typeName).append("} without reflection. */\n");
+		buffer.append("public class ").append(getSerializerName(type)).append(" implements Json.Serializer<").append(typeName)
+			.append("> {\n");
+		buffer.append("\tprivate ").append(typeName).append(" defaults;\n\n");
+
+		// write
+		buffer.append("\tpublic void write (Json json, ").append(typeName).append(" object, Class knownType) {\n");
+		buffer.append("\t\t").append(typeName).append(" defaults = null;\n");
+		buffer.append("\t\tif (json.getUsePrototypes()) {\n");
+		buffer.append("\t\t\tif (this.defaults == null) this.defaults = new ").append(typeName).append("();\n");
+		buffer.append("\t\t\tdefaults = this.defaults;\n");
+		buffer.append("\t\t}\n");
+		buffer.append("\t\tjson.writeObjectStart(").append(typeName).append(".class, knownType);\n");
+		boolean needsEquals = false;
+		for (Field field : fields) {
+			String name = field.getName();
+			String literal = quote(name);
+			Class fieldType = field.getType();
+			if (!isDirect(field, packageName)) {
+				buffer.append("\t\tjson.writeField(object, ").append(literal).append(");\n");
+				continue;
+			}
+			if (fieldType.isPrimitive()) {
+				buffer.append("\t\tif (defaults == null || object.").append(name).append(" != defaults.").append(name).append(")");
+				buffer.append(" json.writeValue(").append(literal).append(", object.").append(name).append(", ")
+					.append(fieldType.getName()).append(".class);\n");
+			} else {
+				needsEquals = true;
+				Class elementType = elementType(field);
+				buffer.append("\t\tif (defaults == null || !equals(object.").append(name).append(", defaults.").append(name).append("))\n");
+				buffer.append("\t\t\tjson.writeValue(").append(literal).append(", object.").append(name).append(", ")
+					.append(typeName(fieldType, packageName)).append(".class, ")
+					.append(elementType == null ? "null" : typeName(elementType, packageName) + ".class").append(");\n");
+			}
+		}
+		buffer.append("\t\tjson.writeObjectEnd();\n");
+		buffer.append("\t}\n\n");
+
+		// read, switching on the hash code of the field name
+		IntMap<Array<Field>> hashToFields = new IntMap();
+		Array<Integer> hashes = new Array();
+		for (Field field : fields) {
+			int hash = field.getName().hashCode();
+			Array<Field> sameHash = hashToFields.get(hash);
+			if (sameHash == null) {
+				hashToFields.put(hash, sameHash = new Array());
+				hashes.add(hash);
+			}
+			sameHash.add(field);
+		}
+		buffer.append("\tpublic ").append(typeName).append(" read (Json json, JsonValue jsonData, Class type) {\n");
+		buffer.append("\t\t").append(typeName).append(" object = new ").append(typeName).append("();\n");
+		buffer.append("\t\tfor (JsonValue child = jsonData.child; child != null; child = child.next) {\n");
+		buffer.append("\t\t\tString name = child.name;\n");
+		if (hashes.size > 0) {
+			buffer.append("\t\t\ttry {\n");
+			buffer.append("\t\t\t\tswitch (name.hashCode()) {\n");
+			for (Integer hash : hashes) {
+				buffer.append("\t\t\t\tcase ").append(hash).append(":\n");
+				for (Field field : hashToFields.get(hash)) {
+					String literal = quote(field.getName());
+					buffer.append("\t\t\t\t\tif (name.equals(").append(literal).append(")) {\n");
+					buffer.append("\t\t\t\t\t\t").append(readStatement(field, packageName)).append("\n");
+					buffer.append("\t\t\t\t\t\tcontinue;\n");
+					buffer.append("\t\t\t\t\t}\n");
+				}
+				buffer.append("\t\t\t\t\tbreak;\n");
+			}
+			buffer.append("\t\t\t\t}\n");
+			buffer.append("\t\t\t} catch (SerializationException ex) {\n");
+			buffer.append("\t\t\t\tex.addTrace(name + \" (").append(type.getName()).append(")\");\n");
+			buffer.append("\t\t\t\tthrow ex;\n");
+			buffer.append("\t\t\t} catch (RuntimeException runtimeEx) {\n");
+			buffer.append("\t\t\t\tSerializationException ex = new SerializationException(runtimeEx);\n");
+			buffer.append("\t\t\t\tex.addTrace(name + \" (").append(type.getName()).append(")\");\n");
+			buffer.append("\t\t\t\tthrow ex;\n");
+			buffer.append("\t\t\t}\n");
+		}
+		buffer.append("\t\t\tif (!json.getIgnoreUnknownFields())\n");
+		buffer.append("\t\t\t\tthrow new SerializationException(\"Field not found: \" + name + \" (").append(type.getName())
+			.append(")\");\n");
+		buffer.append("\t\t}\n");
+		buffer.append("\t\treturn object;\n");
+		buffer.append("\t}\n");
+
+		if (needsEquals) {
+			// Same comparison as Json#writeFields.
+			buffer.append("\n\tstatic private boolean equals (Object value, Object defaultValue) {\n");
+			buffer.append("\t\tif (value == null) return defaultValue == null;\n");
+			buffer.append("\t\tif (defaultValue == null) return false;\n");
+			buffer.append("\t\tif (value.equals(defaultValue)) return true;\n");
+			buffer.append("\t\tif (value.getClass().isArray() && defaultValue.getClass().isArray())\n");
+			buffer.append("\t\t\treturn java.util.Arrays.deepEquals(new Object[] {value}, new Object[] {defaultValue});\n");
+			buffer.append("\t\treturn false;\n");
+			buffer.append("\t}\n");
+		}
+		buffer.append("}\n");
+		return buffer.toString();
+	}
+
+	private String readStatement (Field field, String packageName) {
+		String name = field.getName();
+		if (!isDirect(field, packageName)) return "json.readField(object, " + quote(name) + ", jsonData);";
+		Class fieldType = field.getType();
+		String target = "object." + name + " = ";
+		if (fieldType == boolean.class) return target + "child.asBoolean();";
+		if (fieldType == byte.class) return target + "child.asByte();";
+		if (fieldType == char.class) return target + "child.asChar();";
+		if (fieldType == short.class) return target + "child.asShort();";
+		if (fieldType == int.class) return target + "child.asInt();";
+		if (fieldType == long.class) return target + "child.asLong();";
+		if (fieldType == float.class) return target + "child.asFloat();";
+		if (fieldType == double.class) return target + "child.asDouble();";
+		Class elementType = elementType(field);
+		return target + "json.readValue(" + typeName(fieldType, packageName) + ".class, "
+			+ (elementType == null ? "null" : typeName(elementType, packageName) + ".class") + ", child);";
+	}
+
+	/** Returns true if the field can be accessed by the serializer in the package without reflection. */
+	private boolean isDirect (Field field, String packageName) {
+		java.lang.reflect.Field javaField = javaField(field);
+		int modifiers = javaField.getModifiers();
+		if (Modifier.isPrivate(modifiers) || Modifier.isFinal(modifiers)) return false;
+		if (!Modifier.isPublic(modifiers) && !packageName(field.getDeclaringClass().getName()).equals(packageName)) return false;
+		if (!isAccessible(field.getDeclaringClass(), packageName)) return false;
+		Class fieldType = field.getType();
+		while (fieldType.isArray())
+			fieldType = fieldType.getComponentType();
+		if (!fieldType.isPrimitive() && (!isAccessible(fieldType, packageName) || fieldType.getCanonicalName() == null))
+			return false;
+		Class elementType = elementType(field);
+		if (elementType != null) {
+			while (elementType.isArray())
+				elementType = elementType.getComponentType();
+			if (!elementType.isPrimitive() && (!isAccessible(elementType, packageName) || elementType.getCanonicalName() == null))
+				return false;
+		}
+		return true;
+	}
+
+	private java.lang.reflect.Field javaField (Field field) {
+		try {
+			return field.getDeclaringClass().getDeclaredField(field.getName());
+		} catch (NoSuchFieldException ex) {
+			throw new GdxRuntimeException(ex);
+		}
+	}
+
+	/** Returns the element type like Json does for the field. */
+	private Class elementType (Field field) {
+		Class fieldType = field.getType();
+		int index = (ObjectMap.class.isAssignableFrom(fieldType) || Map.class.isAssignableFrom(fieldType)) ? 1 : 0;
+		return field.getElementType(index);
+	}
+
+	/** Returns the fields serialized by Json, in the same order. */
+	private Array<Field> getFields (Class type) {
+		Array<Class> classHierarchy = new Array();
+		Class nextClass = type;
+		while (nextClass != Object.class) {
+			classHierarchy.add(nextClass);
+			nextClass = nextClass.getSuperclass();
+		}
+		Array<Field> fields = new Array();
+		for (int i = classHierarchy.size - 1; i >= 0; i--) {
+			for (Field field : com.badlogic.gdx.utils.reflect.ClassReflection.getDeclaredFields(classHierarchy.get(i))) {
+				if (field.isTransient()) continue;
+				if (field.isStatic()) continue;
+				if (field.isSynthetic()) continue;
+				fields.add(field);
+			}
+		}
+		return fields;
+	}
+
+	private boolean isAccessible (Class type, String packageName) {
+		for (Class c = type; c != null; c = c.getEnclosingClass()) {
+			int modifiers = c.getModifiers();
+			if (Modifier.isPrivate(modifiers)) return false;
+			if (!Modifier.isPublic(modifiers) && !packageName(c.getName()).equals(packageName)) return false;
+		}
+		return true;
+	}
+
+	/** Returns the name to use for the type in source code in the package. */
+	private String typeName (Class type, String packageName) {
+		String name = type.getCanonicalName();
+		Class componentType = type;
+		while (componentType.isArray())
+			componentType = componentType.getComponentType();
+		if (componentType.isPrimitive()) return name;
+		String typePackage = packageName(componentType.getName());
+		if (typePackage.length() > 0 && (typePackage.equals(packageName) || typePackage.equals("java.lang")))
+			return name.substring(typePackage.length() + 1);
+		return name;
+	}
+
+	static private String packageName (String className) {
+		int index = className.lastIndexOf('.');
+		return index == -1 ? "" : className.substring(0, index);
+	}
+
+	static private String quote (String value) {
+		return "\"" + value + "\"";
+	}
+
+	static public void main (String[] args) throws Exception {
+		if (args.length < 3) {
+			System.out.println("Usage: JsonSerializerGenerator outputDir registryClass class [class ...]");
+			System.out.println("The classes must be on the classpath.");
+			System.exit(1);
+		}
+		Class[] types = new Class[args.length - 2];
+		for (int i = 2; i < args.length; i++)
+			types[i - 2] = Class.forName(args[i]);
+		new JsonSerializerGenerator().generate(new File(args[0]), args[1], types);
+	}
+}
@@ -0,0 +1,71 @@
+package com.badlogic.gdx.tools.g3d;
+
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.loader.G3dmModelLoader;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.utils.JsonReader;
+
+public class G3dmConverterTest {
+	static final String model = "{ version: [0, 1], id: test, meshes: [" //
+		+ "{ attributes: [POSITION], vertices: [0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0], parts: [" //
+		+ "{ id: a, type: TRIANGLES, indices: [0, 1, 2] }," //
+		+ "{ id: b, type: TRIANGLES, indices: [2, 3, 0] }," //
+		+ "{ id: c, type: LINES, indices: [3, 1] } ] }," //
+		+ "{ attributes: [POSITION], vertices: [0, 0, 1, 0, 1, 1], parts: [" //
+		+ "{ id: d, type: POINTS, indices: [1] }," //
+		+ "{ id: e, type: LINES, indices: [1, 0] } ] } ] }";
+
+	private FileHandle output;
+
+	@Before
+	public void setUp () throws IOException {
+		output = new FileHandle(File.createTempFile("model", ".g3dm"));
+	}
+
+	@After
+	public void tearDown () {
+		output.delete();
+	}
+
+	@Test
+	public void multipleParts () throws IOException {
+		new G3dmConverter().convert(new JsonReader().parse(model), output);
+		ModelData data = new G3dmModelLoader().loadModelData(output);
+
+		assertEquals("test", data.id);
+		assertEquals(2, data.meshes.size);
+		assertMesh(data.meshes.get(0), new float[] {0, 0, 0, 1, 0, 0, 1, 1, 0, 0, 1, 0}, new String[] {"a", "b", "c"},
+			new short[][] {{0, 1, 2}, {2, 3, 0}, {3, 1}});
+		assertMesh(data.meshes.get(1), new float[] {0, 0, 1, 0, 1, 1}, new String[] {"d", "e"}, new short[][] {{1}, {1, 0}});
+	}
+
+	private void assertMesh (ModelMesh mesh, float[] vertices, String[] ids, short[][] indices) {
+		FloatBuffer vertexBuffer = mesh.vertexBuffer.asFloatBuffer();
+		float[] actualVertices = new float[vertexBuffer.remaining()];
+		vertexBuffer.get(actualVertices);
+		assertArrayEquals(vertices, actualVertices, 0);
+
+		assertEquals(ids.length, mesh.parts.length);
+		ShortBuffer indexBuffer = mesh.indexBuffer.asShortBuffer();
+		for (int i = 0; i < ids.length; i++) {
+			assertEquals(ids[i], mesh.parts[i].id);
+			assertEquals(indices[i].length, mesh.parts[i].indexCount);
+			short[] actualIndices = new short[mesh.parts[i].indexCount];
+			indexBuffer.get(actualIndices);
+			assertArrayEquals(indices[i], actualIndices);
+		}
+		assertFalse(indexBuffer.hasRemaining());
+	}
+}
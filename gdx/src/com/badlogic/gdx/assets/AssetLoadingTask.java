@@ -48,6 +48,13 @@ class AssetLoadingTask implements AsyncTask<Void> {
 	int ticks = 0;
 	volatile boolean cancel = false;
 
+	/** Whether this task was created for a dependency of another asset rather than for an asset of the load queue. */
+	boolean dependency;
+	/** The tasks waiting for this asset to be loaded, only used when the {@link AssetManager} loads assets in parallel. */
+	final Array<AssetLoadingTask> dependents = new Array(false, 4);
+	/** The number of dependencies this task is still waiting for, only used when loading assets in parallel. */
+	int pendingDependencies;
+
 	public AssetLoadingTask (AssetManager manager, AssetDescriptor assetDesc, AssetLoader loader, AsyncExecutor threadPool) {
 		this.manager = manager;
 		this.assetDesc = assetDesc;
@@ -142,6 +149,23 @@ class AssetLoadingTask implements AsyncTask<Void> {
 		}
 	}
 
+	/** Updates the task after it was cancelled. While the asynchronous part of the asset is loaded on a worker thread the task
+	 * waits for it, then the loader is told to dispose what it kept for the asset, see
+	 * {@link AsynchronousAssetLoader#unloadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)}.
+	 * @return true in case the task can be removed, false otherwise */
+	public boolean updateCancelled () {
+		if (loader instanceof SynchronousAssetLoader || asset != null) return true;
+		AsyncResult<Void> future = loadFuture != null ? loadFuture : depsFuture;
+		if (future == null) return true;
+		if (!future.isDone()) return false;
+		// without dependencies the first call on the worker thread also loads the asynchronous part
+		if (loadFuture != null || asyncDone) {
+			AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader)loader;
+			asyncLoader.unloadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+		}
+		return true;
+	}
+
 	private FileHandle resolve (AssetLoader loader, AssetDescriptor assetDesc) {
 		if (assetDesc.file == null) assetDesc.file = loader.resolve(assetDesc.fileName);
 		return assetDesc.file;
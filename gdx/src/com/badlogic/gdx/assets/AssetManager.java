@@ -20,6 +20,7 @@ import java.util.Stack;
 
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.I18NBundleLoader;
@@ -70,6 +71,7 @@ public class AssetManager implements Disposable {
 	final ObjectMap<Class, ObjectMap<String, AssetLoader>> loaders = new ObjectMap();
 	final Array<AssetDescriptor> loadQueue = new Array();
 	final AsyncExecutor executor;
+	final int workers;
 
 	final Stack<AssetLoadingTask> tasks = new Stack();
 	AssetErrorListener listener = null;
@@ -85,6 +87,14 @@ public class AssetManager implements Disposable {
 
 	/** Creates a new AssetManager with all default loaders. */
 	public AssetManager (FileHandleResolver resolver) {
+		this(resolver, 1);
+	}
+
+	/** Creates a new AssetManager with all default loaders.
+	 * @param workers the number of threads running the asynchronous parts of the loaders. If greater than 1, assets that don't
+	 *           depend on each other are loaded in parallel, see {@link #update()}. */
+	public AssetManager (FileHandleResolver resolver, int workers) {
+		if (workers < 1) throw new IllegalArgumentException("workers must be > 0: " + workers);
 		setLoader(BitmapFont.class, new BitmapFontLoader(resolver));
 		setLoader(Music.class, new MusicLoader(resolver));
 		setLoader(Pixmap.class, new PixmapLoader(resolver));
@@ -100,7 +110,8 @@ public class AssetManager implements Disposable {
 		setLoader(Model.class, ".g3dj", new G3dModelLoader(new JsonReader(), resolver));
 		setLoader(Model.class, ".g3db", new G3dModelLoader(new UBJsonReader(), resolver));
 		setLoader(Model.class, ".obj", new ObjLoader(resolver));
-		executor = new AsyncExecutor(1);
+		this.workers = workers;
+		executor = new AsyncExecutor(workers);
 	}
 
 	/** @param fileName the asset file name
@@ -151,15 +162,17 @@ public class AssetManager implements Disposable {
 	/** Removes the asset and all its dependencies, if they are not used by other assets.
 	 * @param fileName the file name */
 	public synchronized void unload (String fileName) {
-		// check if it's currently processed (and the first element in the stack, thus not a dependency)
-		// and cancel if necessary
-		if (tasks.size() > 0) {
-			AssetLoadingTask currAsset = tasks.firstElement();
-			if (currAsset.assetDesc.fileName.equals(fileName)) {
+		// check if it's currently processed (and not a dependency) and cancel if necessary
+		AssetLoadingTask currAsset = findTask(fileName);
+		if (currAsset != null && !currAsset.dependency) {
+			if (currAsset.dependents.size > 0) {
+				// other assets wait for it, keep loading it as their dependency only
+				currAsset.dependency = true;
+				loaded++;
+			} else
 				currAsset.cancel = true;
-				log.debug("Unload (from tasks): " + fileName);
-				return;
-			}
+			log.debug("Unload (from tasks): " + fileName);
+			return;
 		}
 
 		// check if it's in the queue
@@ -339,14 +352,18 @@ public class AssetManager implements Disposable {
 		load(desc.fileName, desc.type, desc.params);
 	}
 
-	/** Updates the AssetManager, keeping it loading any assets in the preload queue.
+	/** Updates the AssetManager, keeping it loading any assets in the preload queue. If the manager was created with more than
+	 * one worker, several assets of the queue and their dependencies are loaded at the same time: every asset whose
+	 * dependencies are loaded is advanced, its asynchronous part running on a worker thread and its synchronous part on the
+	 * calling thread.
 	 * @return true if all loading is finished. */
 	public synchronized boolean update () {
+		if (workers > 1) return updateParallel();
 		try {
 			if (tasks.size() == 0) {
 				// loop until we have a new task ready to be processed
 				while (loadQueue.size != 0 && tasks.size() == 0) {
-					nextTask();
+					nextTask(0);
 				}
 				// have we not found a task? We are done!
 				if (tasks.size() == 0) return true;
@@ -391,6 +408,11 @@ public class AssetManager implements Disposable {
 	}
 
 	synchronized void injectDependencies (String parentAssetFilename, Array<AssetDescriptor> dependendAssetDescs) {
+		if (workers > 1) {
+			// the asset may have been unloaded while its dependencies were determined on a worker
+			AssetLoadingTask parent = findTask(parentAssetFilename);
+			if (parent == null || parent.cancel) return;
+		}
 		ObjectSet<String> injected = this.injected;
 		for (AssetDescriptor desc : dependendAssetDescs) {
 			if (injected.contains(desc.fileName)) continue; // Ignore subsequent dependencies if there are duplicates.
@@ -417,17 +439,40 @@ public class AssetManager implements Disposable {
 			assetRef.incRefCount();
 			incrementRefCountedDependencies(dependendAssetDesc.fileName);
 		}
+		// else wait for the task already loading the asset when loading in parallel.
+		else if (workers > 1) {
+			AssetLoadingTask task = findTask(dependendAssetDesc.fileName);
+			if (task == null) {
+				log.info("Loading dependency: " + dependendAssetDesc);
+				task = addTask(dependendAssetDesc, true);
+			} else if (task.cancel) {
+				// a cancelled task waits for its worker before it is removed, keep loading it as a dependency instead
+				log.debug("Dependency loading again: " + dependendAssetDesc);
+				task.cancel = false;
+				if (!task.dependency) {
+					task.dependency = true;
+					loaded++;
+				}
+			} else {
+				log.debug("Dependency already loading: " + dependendAssetDesc);
+			}
+			AssetLoadingTask parent = findTask(parentAssetFilename);
+			if (parent != null) {
+				task.dependents.add(parent);
+				parent.pendingDependencies++;
+			}
+		}
 		// else add a new task for the asset.
 		else {
 			log.info("Loading dependency: " + dependendAssetDesc);
-			addTask(dependendAssetDesc);
+			addTask(dependendAssetDesc, true);
 		}
 	}
 
 	/** Removes a task from the loadQueue and adds it to the task stack. If the asset is already loaded (which can happen if it was
 	 * a dependency of a previously loaded asset) its reference count will be increased. */
-	private void nextTask () {
-		AssetDescriptor assetDesc = loadQueue.removeIndex(0);
+	private void nextTask (int index) {
+		AssetDescriptor assetDesc = loadQueue.removeIndex(index);
 
 		// if the asset not meant to be reloaded and is already loaded, increase its reference count
 		if (isLoaded(assetDesc.fileName)) {
@@ -443,16 +488,29 @@ public class AssetManager implements Disposable {
 		} else {
 			// else add a new task for the asset.
 			log.info("Loading: " + assetDesc);
-			addTask(assetDesc);
+			addTask(assetDesc, false);
 		}
 	}
 
 	/** Adds a {@link AssetLoadingTask} to the task stack for the given asset.
-	 * @param assetDesc */
-	private void addTask (AssetDescriptor assetDesc) {
+	 * @param assetDesc
+	 * @param dependency whether the asset is a dependency of another asset */
+	private AssetLoadingTask addTask (AssetDescriptor assetDesc, boolean dependency) {
 		AssetLoader loader = getLoader(assetDesc.type, assetDesc.fileName);
 		if (loader == null) throw new GdxRuntimeException("No loader for type: " + ClassReflection.getSimpleName(assetDesc.type));
-		tasks.push(new AssetLoadingTask(this, assetDesc, loader, executor));
+		AssetLoadingTask task = new AssetLoadingTask(this, assetDesc, loader, executor);
+		task.dependency = dependency;
+		tasks.push(task);
+		return task;
+	}
+
+	/** @return the task loading the asset with the given file name or null. */
+	private AssetLoadingTask findTask (String fileName) {
+		for (int i = 0, n = tasks.size(); i < n; i++) {
+			AssetLoadingTask task = tasks.get(i);
+			if (task.assetDesc.fileName.equals(fileName)) return task;
+		}
+		return null;
 	}
 
 	/** Adds an asset to this AssetManager */
@@ -476,7 +534,7 @@ public class AssetManager implements Disposable {
 
 		boolean complete = true;
 		try {
-			complete = task.cancel || task.update();
+			complete = task.cancel ? task.updateCancelled() : task.update();
 		} catch (RuntimeException ex) {
 			task.cancel = true;
 			taskFailed(task.assetDesc, ex);
@@ -490,17 +548,105 @@ public class AssetManager implements Disposable {
 
 			if (task.cancel) return true;
 
-			addAsset(task.assetDesc.fileName, task.assetDesc.type, task.getAsset());
+			taskLoaded(task);
+			return true;
+		}
+		return false;
+	}
+
+	/** Adds the asset of a finished task to the manager and invokes the loaded callback of the asset, if any. */
+	private void taskLoaded (AssetLoadingTask task) {
+		addAsset(task.assetDesc.fileName, task.assetDesc.type, task.getAsset());
 
-			// otherwise, if a listener was found in the parameter invoke it
-			if (task.assetDesc.params != null && task.assetDesc.params.loadedCallback != null) {
-				task.assetDesc.params.loadedCallback.finishedLoading(this, task.assetDesc.fileName, task.assetDesc.type);
+		// otherwise, if a listener was found in the parameter invoke it
+		if (task.assetDesc.params != null && task.assetDesc.params.loadedCallback != null) {
+			task.assetDesc.params.loadedCallback.finishedLoading(this, task.assetDesc.fileName, task.assetDesc.type);
+		}
+
+		long endTime = TimeUtils.nanoTime();
+		log.debug("Loaded: " + (endTime - task.startTime) / 1000000f + "ms " + task.assetDesc);
+	}
+
+	/** Updates all tasks whose dependencies are loaded and whose loader is available, see {@link #update()}.
+	 * @return true if all loading is finished. */
+	private boolean updateParallel () {
+		// keep more assets in flight than there are workers, so the workers don't idle while this thread finishes assets
+		for (int i = 0; i < loadQueue.size && countRootTasks() < workers * 2;) {
+			// an asset already being loaded as a dependency stays queued until it is loaded, it is then only reference counted
+			if (findTask(loadQueue.get(i).fileName) != null)
+				i++;
+			else
+				nextTask(i);
+		}
+
+		for (int i = 0; i < tasks.size(); i++) {
+			AssetLoadingTask task = tasks.get(i);
+			if (!task.cancel && (task.pendingDependencies > 0 || !isLoaderAvailable(task))) continue;
+
+			boolean complete = true;
+			try {
+				try {
+					complete = task.cancel ? task.updateCancelled() : task.update();
+				} catch (RuntimeException ex) {
+					task.cancel = true;
+					taskFailed(task.assetDesc, ex);
+				}
+			} catch (Throwable t) {
+				handleTaskError(task, t);
+				return loadQueue.size == 0 && tasks.size() == 0;
+			}
+			if (!complete) continue;
+
+			tasks.remove(i--);
+			if (!task.dependency) loaded++;
+			Array<AssetLoadingTask> dependents = task.dependents;
+			for (int ii = 0; ii < dependents.size; ii++)
+				dependents.get(ii).pendingDependencies--;
+			if (task.cancel) {
+				releaseDependencies(task);
+				continue;
 			}
 
-			long endTime = TimeUtils.nanoTime();
-			log.debug("Loaded: " + (endTime - task.startTime) / 1000000f + "ms " + task.assetDesc);
+			taskLoaded(task);
 
-			return true;
+			// the reference created when adding the asset belongs to the queued asset, or to the first dependent if the asset is
+			// only a dependency. Every other dependent adds a reference, as if the asset had been loaded before.
+			RefCountedContainer assetRef = assets.get(task.assetDesc.type).get(task.assetDesc.fileName);
+			for (int ii = task.dependency ? 1 : 0; ii < dependents.size; ii++) {
+				assetRef.incRefCount();
+				incrementRefCountedDependencies(task.assetDesc.fileName);
+			}
+		}
+		return loadQueue.size == 0 && tasks.size() == 0;
+	}
+
+	private int countRootTasks () {
+		int count = 0;
+		for (int i = 0, n = tasks.size(); i < n; i++)
+			if (!tasks.get(i).dependency) count++;
+		return count;
+	}
+
+	/** Loaders which can't load concurrently keep state for a single asset between their calls, so they are only used by one task
+	 * at a time, unless the task is a dependency of the task using the loader, like when loading assets one by one.
+	 * @return whether the task may start using its loader. */
+	private boolean isLoaderAvailable (AssetLoadingTask task) {
+		if (task.ticks > 0) return true;
+		AssetLoader loader = task.loader;
+		if (loader instanceof AsynchronousAssetLoader && ((AsynchronousAssetLoader)loader).canLoadConcurrently()) return true;
+		for (int i = 0, n = tasks.size(); i < n; i++) {
+			AssetLoadingTask other = tasks.get(i);
+			if (other != task && other.loader == loader && other.ticks > 0 && !isDependencyOf(task, other)) return false;
+		}
+		return true;
+	}
+
+	/** @return whether the task is a direct or indirect dependency of the other task. */
+	private boolean isDependencyOf (AssetLoadingTask task, AssetLoadingTask other) {
+		Array<AssetLoadingTask> dependents = task.dependents;
+		for (int i = 0; i < dependents.size; i++) {
+			AssetLoadingTask dependent = dependents.get(i);
+			if (dependent == other || isDependencyOf(dependent, other)) return true;
 		}
 		return false;
 	}
@@ -552,6 +698,46 @@ public class AssetManager implements Disposable {
 		}
 	}
 
+	/** Handles an error of a task when loading in parallel. The task and all tasks waiting for it are removed, the other tasks
+	 * continue loading.
+	 * @param task the failed task
+	 * @param t */
+	private void handleTaskError (AssetLoadingTask task, Throwable t) {
+		log.error("Error loading asset.", t);
+
+		removeTask(task);
+
+		// inform the listener that something bad happened
+		if (listener != null) {
+			listener.error(task.assetDesc, t);
+		} else {
+			throw new GdxRuntimeException(t);
+		}
+	}
+
+	/** Removes the task and the tasks waiting for it, releasing their dependencies. */
+	private void removeTask (AssetLoadingTask task) {
+		if (!tasks.remove(task)) return;
+		releaseDependencies(task);
+
+		Array<AssetLoadingTask> dependents = task.dependents;
+		for (int i = 0; i < dependents.size; i++)
+			removeTask(dependents.get(i));
+	}
+
+	/** Gives back the references a removed task holds on its dependencies. Loaded dependencies are unloaded, dependencies which
+	 * are still loading and no longer needed by any task are cancelled. */
+	private void releaseDependencies (AssetLoadingTask task) {
+		Array<String> dependencies = assetDependencies.remove(task.assetDesc.fileName);
+		if (dependencies == null) return;
+		for (String dependency : dependencies) {
+			AssetLoadingTask other = findTask(dependency);
+			if (other != null) {
+				if (other.dependents.removeValue(task, true) && other.dependency && other.dependents.size == 0) other.cancel = true;
+			} else if (isLoaded(dependency)) unload(dependency);
+		}
+	}
+
 	/** Sets a new {@link AssetLoader} for the given type.
 	 * @param type the type of the asset
 	 * @param loader the loader */
@@ -45,4 +45,23 @@ public abstract class AsynchronousAssetLoader<T, P extends AssetLoaderParameters
 	 * @param file the resolved file to load
 	 * @param parameter */
 	public abstract T loadSync (AssetManager manager, String fileName, FileHandle file, P parameter);
+
+	/** Called instead of {@link #loadSync(AssetManager, String, FileHandle, AssetLoaderParameters)} when the asset was unloaded or
+	 * its loading failed after {@link #loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)} was called, to dispose
+	 * what the loader kept for the asset. Does nothing by default.
+	 * @param manager
+	 * @param fileName the name of the asset
+	 * @param file the resolved file
+	 * @param parameter */
+	public void unloadAsync (AssetManager manager, String fileName, FileHandle file, P parameter) {
+	}
+
+	/** Returns whether the loader can load several assets at the same time, which is the case if it doesn't store the state of an
+	 * asset in its fields between {@link #getDependencies(String, FileHandle, AssetLoaderParameters)},
+	 * {@link #loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)} and
+	 * {@link #loadSync(AssetManager, String, FileHandle, AssetLoaderParameters)}. An {@link AssetManager} loading assets in
+	 * parallel uses other loaders for only one asset at a time. Returns false by default. */
+	public boolean canLoadConcurrently () {
+		return false;
+	}
 }
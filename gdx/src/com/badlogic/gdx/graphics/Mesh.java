@@ -16,6 +16,7 @@
 
 package com.badlogic.gdx.graphics;
 
+import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.ShortBuffer;
 import java.util.HashMap;
@@ -28,9 +29,11 @@ import com.badlogic.gdx.graphics.glutils.IndexArray;
 import com.badlogic.gdx.graphics.glutils.IndexBufferObject;
 import com.badlogic.gdx.graphics.glutils.IndexBufferObjectSubData;
 import com.badlogic.gdx.graphics.glutils.IndexData;
+import com.badlogic.gdx.graphics.glutils.InstanceBufferObject;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.graphics.glutils.VertexArray;
 import com.badlogic.gdx.graphics.glutils.VertexBufferObject;
+import com.badlogic.gdx.graphics.glutils.VertexBufferObjectStreaming;
 import com.badlogic.gdx.graphics.glutils.VertexBufferObjectSubData;
 import com.badlogic.gdx.graphics.glutils.VertexBufferObjectWithVAO;
 import com.badlogic.gdx.graphics.glutils.VertexData;
@@ -66,7 +69,9 @@ import com.badlogic.gdx.utils.GdxRuntimeException;
  * @author mzechner, Dave Clayton <contact@redskyforge.com>, Xoppa */
 public class Mesh implements Disposable {
 	public enum VertexDataType {
-		VertexArray, VertexBufferObject, VertexBufferObjectSubData, VertexBufferObjectWithVAO
+		VertexArray, VertexBufferObject, VertexBufferObjectSubData, VertexBufferObjectWithVAO,
+		/** Vertices which change every time they are drawn, see {@link VertexBufferObjectStreaming}. */
+		VertexBufferObjectStreaming
 	}
 
 	/** list of all meshes **/
@@ -76,6 +81,8 @@ public class Mesh implements Disposable {
 	final IndexData indices;
 	boolean autoBind = true;
 	final boolean isVertexArray;
+	InstanceBufferObject instances;
+	private boolean instancesBound;
 
 	protected Mesh (VertexData vertices, IndexData indices, boolean isVertexArray) {
 		this.vertices = vertices;
@@ -133,6 +140,22 @@ public class Mesh implements Disposable {
 		addManagedMesh(Gdx.app, this);
 	}
 
+	/** Creates a new Mesh which uses the given vertices and indices without copying them, eg when they are mapped from a file. The
+	 * buffers are not disposed by the Mesh. They must stay valid while the Mesh is used, as they are uploaded again after a
+	 * context loss.
+	 * 
+	 * @param isStatic whether this mesh is static or not. Allows for internal optimizations.
+	 * @param vertices the vertices from position 0 to the limit, in native byte order
+	 * @param indices the indices from position 0 to the limit, in native byte order
+	 * @param attributes the {@link VertexAttributes}. */
+	public Mesh (boolean isStatic, ByteBuffer vertices, ByteBuffer indices, VertexAttributes attributes) {
+		this.vertices = new VertexBufferObject(isStatic, vertices, attributes);
+		this.indices = new IndexBufferObject(isStatic, indices);
+		isVertexArray = false;
+
+		addManagedMesh(Gdx.app, this);
+	}
+
 	private VertexData makeVertexBuffer(boolean isStatic, int maxVertices, VertexAttributes vertexAttributes) {
 		if(Gdx.gl30 != null) {
 			return new VertexBufferObjectWithVAO(isStatic, maxVertices, vertexAttributes);
@@ -166,6 +189,11 @@ public class Mesh implements Disposable {
 				indices = new IndexBufferObjectSubData(isStatic, maxIndices);
 				isVertexArray = false;
 				break;
+			case VertexBufferObjectStreaming:
+				vertices = new VertexBufferObjectStreaming(maxVertices, attributes);
+				indices = new IndexBufferObjectSubData(isStatic, maxIndices);
+				isVertexArray = false;
+				break;
 			case VertexArray:
 			default:
 				vertices = new VertexArray(maxVertices, attributes);
@@ -353,6 +381,95 @@ public class Mesh implements Disposable {
 		return vertices.getAttributes().vertexSize;
 	}
 
+	/** Enables instanced rendering, which draws the mesh once per instance with a single draw call. The instance attributes are
+	 * advanced once per instance rather than once per vertex, eg to give each instance its own transform. Set the instances with
+	 * {@link #setInstanceData(float[], int, int)}, the mesh is drawn instanced while one or more instances are set. Requires
+	 * OpenGL ES 3.0 and vertex buffer objects.
+	 * 
+	 * @param isStatic whether the instance data is static or not.
+	 * @param maxInstances the maximum number of instances this mesh can draw at once
+	 * @param attributes the {@link VertexAttribute}s of each instance
+	 * @return the mesh for invocation chaining. */
+	public Mesh enableInstancedRendering (boolean isStatic, int maxInstances, VertexAttribute... attributes) {
+		return enableInstancedRendering(isStatic, maxInstances, new VertexAttributes(attributes));
+	}
+
+	/** Enables instanced rendering, see {@link #enableInstancedRendering(boolean, int, VertexAttribute...)}. Replaces any instance
+	 * data set previously.
+	 * 
+	 * @param isStatic whether the instance data is static or not.
+	 * @param maxInstances the maximum number of instances this mesh can draw at once
+	 * @param attributes the {@link VertexAttributes} of each instance
+	 * @return the mesh for invocation chaining. */
+	public Mesh enableInstancedRendering (boolean isStatic, int maxInstances, VertexAttributes attributes) {
+		if (isVertexArray) throw new GdxRuntimeException("Instanced rendering requires vertex buffer objects");
+		if (instancesBound) throw new GdxRuntimeException("Cannot change the instances while the mesh is bound");
+		if (instances != null) instances.dispose();
+		instances = new InstanceBufferObject(isStatic, maxInstances, attributes);
+		return this;
+	}
+
+	/** Disables instanced rendering and frees the instance data.
+	 * @return the mesh for invocation chaining. */
+	public Mesh disableInstancedRendering () {
+		if (instancesBound) throw new GdxRuntimeException("Cannot change the instances while the mesh is bound");
+		if (instances != null) {
+			instances.dispose();
+			instances = null;
+		}
+		return this;
+	}
+
+	/** @return whether the vertices are stored in a vertex array instead of a vertex buffer object, in which case the mesh can't
+	 *         be drawn instanced. */
+	public boolean isVertexArray () {
+		return isVertexArray;
+	}
+
+	/** @return whether instanced rendering is enabled, see {@link #enableInstancedRendering(boolean, int, VertexAttribute...)}. */
+	public boolean isInstanced () {
+		return instances != null;
+	}
+
+	/** Sets the instance data of this Mesh. The attributes are assumed to be given in float format. Set a count of 0 to draw the
+	 * mesh without instancing.
+	 * 
+	 * @param data the instance data.
+	 * @param offset the offset into the data array
+	 * @param count the number of floats to use
+	 * @return the mesh for invocation chaining. */
+	public Mesh setInstanceData (float[] data, int offset, int count) {
+		if (instances == null) throw new GdxRuntimeException("Instanced rendering is not enabled");
+		instances.setInstanceData(data, offset, count);
+		return this;
+	}
+
+	/** Update (a portion of) the instance data. Does not change the number of instances.
+	 * @param targetOffset the offset in number of floats of the instance data.
+	 * @param source the instance data to update with
+	 * @param sourceOffset the offset in number of floats within the source array
+	 * @param count the number of floats to update */
+	public Mesh updateInstanceData (int targetOffset, float[] source, int sourceOffset, int count) {
+		if (instances == null) throw new GdxRuntimeException("Instanced rendering is not enabled");
+		instances.updateInstanceData(targetOffset, source, sourceOffset, count);
+		return this;
+	}
+
+	/** @return the number of instances which are drawn, 0 if the mesh is drawn without instancing */
+	public int getNumInstances () {
+		return instances != null ? instances.getNumInstances() : 0;
+	}
+
+	/** @return the maximum number of instances, 0 if instanced rendering is not enabled */
+	public int getMaxInstances () {
+		return instances != null ? instances.getNumMaxInstances() : 0;
+	}
+
+	/** @return the attributes of each instance, null if instanced rendering is not enabled */
+	public VertexAttributes getInstanceAttributes () {
+		return instances != null ? instances.getAttributes() : null;
+	}
+
 	/** Sets whether to bind the underlying {@link VertexArray} or {@link VertexBufferObject} automatically on a call to one of the
 	 * render methods. Usually you want to use autobind. Manual binding is an expert functionality. There is a driver bug on the
 	 * MSM720xa chips that will fuck up memory if you manipulate the vertices and indices of a Mesh multiple times while it is
@@ -377,7 +494,21 @@ public class Mesh implements Disposable {
 	 * @param shader the shader (does not bind the shader)
 	 * @param locations array containing the attribute locations. */
 	public void bind (final ShaderProgram shader, final int[] locations) {
+		bind(shader, locations, null);
+	}
+
+	/** Binds the underlying {@link VertexBufferObject} and {@link IndexBufferObject} if indices where given, and the instances if
+	 * any are set. Use this with OpenGL ES 2.0 and when auto-bind is disabled.
+	 * 
+	 * @param shader the shader (does not bind the shader)
+	 * @param locations array containing the attribute locations.
+	 * @param instanceLocations array containing the instance attribute locations, or null to look them up by alias. */
+	public void bind (final ShaderProgram shader, final int[] locations, final int[] instanceLocations) {
 		vertices.bind(shader, locations);
+		if (instances != null && instances.getNumInstances() > 0) {
+			instances.bind(shader, instanceLocations);
+			instancesBound = true;
+		}
 		if (indices.getNumIndices() > 0) indices.bind();
 	}
 
@@ -395,6 +526,20 @@ public class Mesh implements Disposable {
 	 * @param shader the shader (does not unbind the shader)
 	 * @param locations array containing the attribute locations. */
 	public void unbind (final ShaderProgram shader, final int[] locations) {
+		unbind(shader, locations, null);
+	}
+
+	/** Unbinds the underlying {@link VertexBufferObject} and {@link IndexBufferObject} is indices were given, and the instances if
+	 * they were bound. Use this with OpenGL ES 1.x and when auto-bind is disabled.
+	 * 
+	 * @param shader the shader (does not unbind the shader)
+	 * @param locations array containing the attribute locations.
+	 * @param instanceLocations array containing the instance attribute locations, or null to look them up by alias. */
+	public void unbind (final ShaderProgram shader, final int[] locations, final int[] instanceLocations) {
+		if (instancesBound) {
+			instances.unbind(shader, instanceLocations);
+			instancesBound = false;
+		}
 		vertices.unbind(shader, locations);
 		if (indices.getNumIndices() > 0) indices.unbind();
 	}
@@ -492,7 +637,13 @@ public class Mesh implements Disposable {
 				Gdx.gl20.glDrawArrays(primitiveType, offset, count);
 			}
 		} else {
-			if (indices.getNumIndices() > 0)
+			final int numInstances = getNumInstances();
+			if (numInstances > 0) {
+				if (indices.getNumIndices() > 0)
+					Gdx.gl30.glDrawElementsInstanced(primitiveType, count, GL20.GL_UNSIGNED_SHORT, offset * 2, numInstances);
+				else
+					Gdx.gl30.glDrawArraysInstanced(primitiveType, offset, count, numInstances);
+			} else if (indices.getNumIndices() > 0)
 				Gdx.gl20.glDrawElements(primitiveType, count, GL20.GL_UNSIGNED_SHORT, offset * 2);
 			else
 				Gdx.gl20.glDrawArrays(primitiveType, offset, count);
@@ -506,6 +657,7 @@ public class Mesh implements Disposable {
 		if (meshes.get(Gdx.app) != null) meshes.get(Gdx.app).removeValue(this, true);
 		vertices.dispose();
 		indices.dispose();
+		if (instances != null) instances.dispose();
 	}
 
 	/** Returns the first {@link VertexAttribute} having the given {@link Usage}.
@@ -784,6 +936,7 @@ public class Mesh implements Disposable {
 		for (int i = 0; i < meshesArray.size; i++) {
 			meshesArray.get(i).vertices.invalidate();
 			meshesArray.get(i).indices.invalidate();
+			if (meshesArray.get(i).instances != null) meshesArray.get(i).instances.invalidate();
 		}
 	}
 
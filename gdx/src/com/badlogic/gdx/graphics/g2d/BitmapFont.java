@@ -447,6 +447,9 @@ public class BitmapFont implements Disposable {
 		public float cursorX;
 
 		public final Glyph[][] glyphs = new Glyph[PAGES][];
+		/** Incremented when glyphs are removed from the font, eg to reuse their texture page, so layouts referencing them are laid
+		 * out with the new glyphs by {@link GlyphLayout#updateGlyphs(BitmapFontData)}. */
+		public int glyphVersion;
 		/** The width of the space character. */
 		public float spaceWidth;
 		/** The x-height, which is the distance from the top of most lowercase characters to the baseline. */
@@ -728,6 +731,11 @@ public class BitmapFont implements Disposable {
 			down = flipped ? lineHeight : -lineHeight;
 		}
 
+		/** Called when glyphs of the texture page are drawn. Does nothing by default, fonts which remove the glyphs of unused pages
+		 * use it to keep the pages which are drawn. */
+		public void usePage (int page) {
+		}
+
 		public void setGlyph (int ch, Glyph glyph) {
 			Glyph[] page = glyphs[ch / PAGE_SIZE];
 			if (page == null) glyphs[ch / PAGE_SIZE] = page = new Glyph[PAGE_SIZE];
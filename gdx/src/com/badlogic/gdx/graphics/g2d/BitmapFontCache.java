@@ -40,6 +40,13 @@ public class BitmapFontCache {
 	private boolean integer;
 	private final Array<GlyphLayout> layouts = new Array();
 	private final Array<GlyphLayout> pooledLayouts = new Array();
+	private GlyphLayoutCache layoutCache;
+	/** The layouts obtained from the layout cache, which are freed when the cache is cleared. */
+	private final Array<GlyphLayout> cachedLayouts = new Array();
+	/** The position of each layout, relative to the position of the cache, to add the glyphs again when they changed. */
+	private final FloatArray layoutPositions = new FloatArray();
+	/** The {@link BitmapFontData#glyphVersion} of the cached glyphs. */
+	private int glyphVersion;
 	private int glyphCount;
 	private float x, y;
 	private final Color color = new Color(1, 1, 1, 1);
@@ -156,7 +163,8 @@ public class BitmapFontCache {
 		}
 	}
 
-	/** Sets the color of all text currently in the cache. Does not affect subsequently added text. */
+	/** Sets the color of all text currently in the cache. Does not affect subsequently added text. The colors are reset when
+	 * glyphs are removed from the font, see {@link BitmapFontData#glyphVersion}. */
 	public void setColors (float color) {
 		for (int j = 0, length = pageVertices.length; j < length; j++) {
 			float[] vertices = pageVertices[j];
@@ -229,9 +237,11 @@ public class BitmapFontCache {
 	}
 
 	public void draw (Batch spriteBatch) {
+		checkGlyphs();
 		Array<TextureRegion> regions = font.getRegions();
 		for (int j = 0, n = pageVertices.length; j < n; j++) {
 			if (idx[j] > 0) { // ignore if this texture has no glyphs
+				font.data.usePage(j);
 				float[] vertices = pageVertices[j];
 				spriteBatch.draw(regions.get(j).getTexture(), vertices, 0, idx[j]);
 			}
@@ -239,7 +249,9 @@ public class BitmapFontCache {
 	}
 
 	public void draw (Batch spriteBatch, int start, int end) {
+		checkGlyphs();
 		if (pageVertices.length == 1) { // 1 page.
+			font.data.usePage(0);
 			spriteBatch.draw(font.getRegion().getTexture(), pageVertices[0], start * 20, (end - start) * 20);
 			return;
 		}
@@ -269,6 +281,7 @@ public class BitmapFontCache {
 			if (offset == -1 || count == 0) continue;
 
 			// Render the page vertex data with the offset and count.
+			font.data.usePage(i);
 			spriteBatch.draw(regions.get(i).getTexture(), pageVertices[i], offset * 20, count * 20);
 		}
 	}
@@ -278,6 +291,7 @@ public class BitmapFontCache {
 			draw(spriteBatch);
 			return;
 		}
+		checkGlyphs(); // Before the colors are set, adding the glyphs again resets them.
 		Color color = getColor();
 		float oldAlpha = color.a;
 		color.a *= alphaModulation;
@@ -293,13 +307,43 @@ public class BitmapFontCache {
 		y = 0;
 		Pools.freeAll(pooledLayouts, true);
 		pooledLayouts.clear();
+		for (int i = 0, n = cachedLayouts.size; i < n; i++)
+			layoutCache.free(cachedLayouts.get(i));
+		cachedLayouts.clear();
 		layouts.clear();
+		layoutPositions.clear();
+		clearGlyphs();
+	}
+
+	private void clearGlyphs () {
+		glyphCount = 0;
 		for (int i = 0, n = idx.length; i < n; i++) {
 			if (pageGlyphIndices != null) pageGlyphIndices[i].clear();
 			idx[i] = 0;
 		}
 	}
 
+	/** Adds the glyphs of all layouts again if glyphs were removed from the font since they were cached, eg because the font
+	 * reused their texture page for other glyphs. */
+	private void checkGlyphs () {
+		BitmapFontData data = font.data;
+		if (glyphVersion == data.glyphVersion) return;
+		glyphVersion = data.glyphVersion;
+		boolean changed = false;
+		for (int i = 0, n = layouts.size; i < n; i++)
+			if (layouts.get(i).updateGlyphs(data)) changed = true;
+		if (!changed) return;
+		requirePages();
+		clearGlyphs();
+		float[] layoutPositions = this.layoutPositions.items;
+		for (int i = 0, n = layouts.size; i < n; i++) {
+			GlyphLayout layout = layouts.get(i);
+			requireGlyphs(layout);
+			addGlyphs(layout, x + layoutPositions[i * 2], y + layoutPositions[i * 2 + 1]);
+		}
+		currentTint = whiteTint;
+	}
+
 	private void requireGlyphs (GlyphLayout layout) {
 		if (pageVertices.length == 1) {
 			// Simpler counting if we just have one page.
@@ -341,7 +385,19 @@ public class BitmapFontCache {
 	}
 
 	private void addToCache (GlyphLayout layout, float x, float y) {
-		// Check if the number of font pages has changed.
+		checkGlyphs();
+		layout.updateGlyphs(font.data);
+		requirePages();
+		layouts.add(layout);
+		layoutPositions.add(x - this.x);
+		layoutPositions.add(y - this.y);
+		requireGlyphs(layout);
+		addGlyphs(layout, x, y);
+		currentTint = whiteTint; // Cached glyphs have changed, reset the current tint.
+	}
+
+	/** Grows the vertex data if the number of font pages has changed. */
+	private void requirePages () {
 		int pageCount = font.regions.size;
 		if (pageVertices.length < pageCount) {
 			float[][] newPageVertices = new float[pageCount][];
@@ -364,9 +420,9 @@ public class BitmapFontCache {
 
 			tempGlyphCount = new int[pageCount];
 		}
+	}
 
-		layouts.add(layout);
-		requireGlyphs(layout);
+	private void addGlyphs (GlyphLayout layout, float x, float y) {
 		for (int i = 0, n = layout.runs.size; i < n; i++) {
 			GlyphRun run = layout.runs.get(i);
 			Array<Glyph> glyphs = run.glyphs;
@@ -379,8 +435,6 @@ public class BitmapFontCache {
 				addGlyph(glyph, gx, gy, color);
 			}
 		}
-
-		currentTint = whiteTint; // Cached glyphs have changed, reset the current tint.
 	}
 
 	private void addGlyph (Glyph glyph, float x, float y, float color) {
@@ -475,11 +529,18 @@ public class BitmapFontCache {
 	 * @param y The y position for the top of most capital letters in the font (the {@link BitmapFontData#capHeight cap height}).
 	 * @param start The first character of the string to draw.
 	 * @param end The last character of the string to draw (exclusive).
-	 * @return The glyph layout for the cached string (the layout's height is the distance from y to the baseline). */
+	 * @return The glyph layout for the cached string (the layout's height is the distance from y to the baseline). It must not be
+	 *         modified when a {@link #setLayoutCache(GlyphLayoutCache) layout cache} is used. */
 	public GlyphLayout addText (CharSequence str, float x, float y, int start, int end, float targetWidth, int halign, boolean wrap) {
-		GlyphLayout layout = Pools.obtain(GlyphLayout.class);
-		pooledLayouts.add(layout);
-		layout.setText(font, str, start, end, color, targetWidth, halign, wrap, null);
+		GlyphLayout layout;
+		if (layoutCache != null) {
+			layout = layoutCache.obtain(font, str, start, end, color, targetWidth, halign, wrap, null);
+			cachedLayouts.add(layout);
+		} else {
+			layout = Pools.obtain(GlyphLayout.class);
+			pooledLayouts.add(layout);
+			layout.setText(font, str, start, end, color, targetWidth, halign, wrap, null);
+		}
 		addText(layout, x, y);
 		return layout;
 	}
@@ -503,6 +564,19 @@ public class BitmapFontCache {
 		return font;
 	}
 
+	/** Sets the cache used to lay out the text given to setText and addText, so text which was already laid out with the same
+	 * parameters, by this or another BitmapFontCache, isn't laid out again. The layouts are given back to the cache when this
+	 * BitmapFontCache is cleared. Clears this BitmapFontCache.
+	 * @param layoutCache May be null to lay out the text every time (the default). */
+	public void setLayoutCache (GlyphLayoutCache layoutCache) {
+		clear();
+		this.layoutCache = layoutCache;
+	}
+
+	public GlyphLayoutCache getLayoutCache () {
+		return layoutCache;
+	}
+
 	/** Specifies whether to use integer positions or not. Default is to use them so filtering doesn't kick in as badly.
 	 * @param use */
 	public void setUseIntegerPositions (boolean use) {
@@ -36,6 +36,8 @@ public class GlyphLayout implements Poolable {
 
 	public final Array<GlyphRun> runs = new Array();
 	public float width, height;
+	/** The {@link BitmapFontData#glyphVersion} of the glyphs of the runs. */
+	private int glyphVersion;
 
 	/** Creates an empty GlyphLayout. */
 	public GlyphLayout () {
@@ -222,6 +224,23 @@ public class GlyphLayout implements Poolable {
 
 		this.width = width;
 		this.height = fontData.capHeight + lines * fontData.lineHeight;
+		glyphVersion = fontData.glyphVersion;
+	}
+
+	/** Replaces the glyphs of the runs with the font's current glyphs if glyphs were removed from the font since the text was laid
+	 * out. The glyphs are looked up again by character, their size and position don't change.
+	 * @return true if the glyphs were replaced. */
+	public boolean updateGlyphs (BitmapFontData fontData) {
+		if (glyphVersion == fontData.glyphVersion) return false;
+		for (int i = 0, n = runs.size; i < n; i++) {
+			Array<Glyph> glyphs = runs.get(i).glyphs;
+			for (int ii = 0, nn = glyphs.size; ii < nn; ii++) {
+				Glyph glyph = fontData.getGlyph((char)glyphs.get(ii).id);
+				if (glyph != null) glyphs.set(ii, glyph);
+			}
+		}
+		glyphVersion = fontData.glyphVersion;
+		return true;
 	}
 
 	private void truncate (BitmapFontData fontData, GlyphRun run, float targetWidth, String truncate, int widthIndex,
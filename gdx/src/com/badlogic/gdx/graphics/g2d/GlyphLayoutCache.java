@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pools;
+
+/** Caches {@link GlyphLayout}s by font, text, color, target width, alignment, wrap and truncate string, so text which is laid out
+ * again with the same parameters doesn't go through line breaking, kerning and color markup again. The scale and
+ * {@link BitmapFont.BitmapFontData#markupEnabled markup} setting of the font are part of the key.
+ * <p>
+ * A layout is obtained with {@link #obtain(BitmapFont, CharSequence, int, int, Color, float, int, boolean, String) obtain} and is
+ * shared by everyone who obtains the same text, so it must not be modified. It must be given back with {@link #free(GlyphLayout)}
+ * when it is no longer used. The least recently used layouts are evicted when more than the maximum number are cached; layouts
+ * which are still used are only returned to the {@link Pools pool} once they are freed.
+ * <p>
+ * The cached layouts reference the glyphs of the font. When glyphs are removed from a font, a cached layout is given the font's
+ * current glyphs when it is obtained again, see {@link BitmapFont.BitmapFontData#glyphVersion}. {@link #clear()} must be called
+ * when glyphs are added to a font which were missing from cached text. See
+ * {@link BitmapFontCache#setLayoutCache(GlyphLayoutCache)} to use the cache for the text of a BitmapFontCache. This class is not
+ * thread safe. */
+public class GlyphLayoutCache {
+	private final int maxLayouts;
+	private final ObjectMap<Entry, Entry> entries = new ObjectMap<Entry, Entry>();
+	/** The entries of the layouts which have been obtained and not freed yet, including evicted entries. */
+	private final IdentityMap<GlyphLayout, Entry> usedEntries = new IdentityMap<GlyphLayout, Entry>();
+	/** The least and most recently used entries. */
+	private Entry head, tail;
+	private final Entry lookup = new Entry();
+
+	/** The number of times a layout was found in the cache or had to be computed. */
+	public int hits, misses;
+
+	/** @param maxLayouts The maximum number of cached layouts. */
+	public GlyphLayoutCache (int maxLayouts) {
+		if (maxLayouts < 1) throw new IllegalArgumentException("maxLayouts must be > 0: " + maxLayouts);
+		this.maxLayouts = maxLayouts;
+	}
+
+	/** Calls {@link #obtain(BitmapFont, CharSequence, int, int, Color, float, int, boolean, String) obtain} with the whole string,
+	 * the font's current color, and no alignment or wrapping. */
+	public GlyphLayout obtain (BitmapFont font, CharSequence str) {
+		return obtain(font, str, 0, str.length(), font.getColor(), 0, Align.left, false, null);
+	}
+
+	/** Calls {@link #obtain(BitmapFont, CharSequence, int, int, Color, float, int, boolean, String) obtain} with the whole string
+	 * and no truncation. */
+	public GlyphLayout obtain (BitmapFont font, CharSequence str, Color color, float targetWidth, int halign, boolean wrap) {
+		return obtain(font, str, 0, str.length(), color, targetWidth, halign, wrap, null);
+	}
+
+	/** Returns the cached layout for the text, laying it out if it is not cached.
+	 * @return A layout which must not be modified and must be given back with {@link #free(GlyphLayout)}.
+	 * @see GlyphLayout#setText(BitmapFont, CharSequence, int, int, Color, float, int, boolean, String) */
+	public GlyphLayout obtain (BitmapFont font, CharSequence str, int start, int end, Color color, float targetWidth, int halign,
+		boolean wrap, String truncate) {
+		Entry entry;
+		try {
+			lookup.set(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+			entry = entries.get(lookup);
+		} finally {
+			lookup.font = null;
+			lookup.text = null;
+			lookup.truncate = null;
+		}
+		if (entry != null) {
+			hits++;
+			unlink(entry);
+			entry.layout.updateGlyphs(font.data);
+		} else {
+			misses++;
+			GlyphLayout layout = Pools.obtain(GlyphLayout.class);
+			layout.setText(font, str, start, end, color, targetWidth, halign, wrap, truncate);
+			entry = new Entry();
+			entry.set(font, str.subSequence(start, end).toString(), 0, end - start, color, targetWidth, halign, wrap, truncate);
+			entry.layout = layout;
+			entries.put(entry, entry);
+			usedEntries.put(layout, entry);
+			if (entries.size > maxLayouts) evict(head);
+		}
+		link(entry);
+		entry.references++;
+		return entry.layout;
+	}
+
+	/** Gives back a layout returned by {@link #obtain(BitmapFont, CharSequence, int, int, Color, float, int, boolean, String)
+	 * obtain}. It must be freed once for each time it was obtained. */
+	public void free (GlyphLayout layout) {
+		Entry entry = usedEntries.get(layout);
+		if (entry == null) throw new IllegalArgumentException("The layout was not obtained from this cache.");
+		entry.references--;
+		if (entry.references == 0 && entry.evicted) {
+			usedEntries.remove(layout);
+			Pools.free(layout);
+		}
+	}
+
+	/** Removes all cached layouts. Layouts which are still used stay valid until they are freed. */
+	public void clear () {
+		while (head != null)
+			evict(head);
+	}
+
+	/** @return The number of cached layouts. */
+	public int size () {
+		return entries.size;
+	}
+
+	/** @return The fraction of the layouts obtained which were found in the cache, between 0 and 1. */
+	public float getHitRate () {
+		int total = hits + misses;
+		return total == 0 ? 0 : hits / (float)total;
+	}
+
+	private void evict (Entry entry) {
+		unlink(entry);
+		entries.remove(entry);
+		entry.evicted = true;
+		if (entry.references == 0) {
+			usedEntries.remove(entry.layout);
+			Pools.free(entry.layout);
+		}
+	}
+
+	private void link (Entry entry) {
+		entry.previous = tail;
+		entry.next = null;
+		if (tail != null) tail.next = entry;
+		tail = entry;
+		if (head == null) head = entry;
+	}
+
+	private void unlink (Entry entry) {
+		if (entry.previous != null)
+			entry.previous.next = entry.next;
+		else
+			head = entry.next;
+		if (entry.next != null)
+			entry.next.previous = entry.previous;
+		else
+			tail = entry.previous;
+		entry.previous = null;
+		entry.next = null;
+	}
+
+	static private class Entry {
+		BitmapFont font;
+		/** The text is compared between start and end, so looking up a layout doesn't need to copy the text. */
+		CharSequence text;
+		int start, end;
+		final Color color = new Color();
+		float targetWidth;
+		int halign;
+		boolean wrap;
+		String truncate;
+		float scaleX, scaleY;
+		boolean markupEnabled;
+		int hash;
+
+		GlyphLayout layout;
+		int references;
+		boolean evicted;
+		Entry previous, next;
+
+		void set (BitmapFont font, CharSequence text, int start, int end, Color color, float targetWidth, int halign,
+			boolean wrap, String truncate) {
+			this.font = font;
+			this.text = text;
+			this.start = start;
+			this.end = end;
+			this.color.set(color);
+			this.targetWidth = targetWidth;
+			this.halign = halign;
+			this.wrap = wrap;
+			this.truncate = truncate;
+			scaleX = font.data.scaleX;
+			scaleY = font.data.scaleY;
+			markupEnabled = font.data.markupEnabled;
+
+			int hash = font.hashCode();
+			for (int i = start; i < end; i++)
+				hash = 31 * hash + text.charAt(i);
+			hash = 31 * hash + color.hashCode();
+			hash = 31 * hash + NumberUtils.floatToIntBits(targetWidth);
+			hash = 31 * hash + halign;
+			hash = 31 * hash + NumberUtils.floatToIntBits(scaleX);
+			hash = 31 * hash + NumberUtils.floatToIntBits(scaleY);
+			this.hash = hash;
+		}
+
+		public int hashCode () {
+			return hash;
+		}
+
+		public boolean equals (Object obj) {
+			if (!(obj instanceof Entry)) return false;
+			Entry other = (Entry)obj;
+			if (font != other.font || hash != other.hash) return false;
+			if (targetWidth != other.targetWidth || halign != other.halign || wrap != other.wrap) return false;
+			if (scaleX != other.scaleX || scaleY != other.scaleY || markupEnabled != other.markupEnabled) return false;
+			if (color.r != other.color.r || color.g != other.color.g || color.b != other.color.b || color.a != other.color.a)
+				return false;
+			if (truncate == null ? other.truncate != null : !truncate.equals(other.truncate)) return false;
+			int length = end - start;
+			if (length != other.end - other.start) return false;
+			CharSequence text = this.text, otherText = other.text;
+			for (int i = 0; i < length; i++)
+				if (text.charAt(start + i) != otherText.charAt(other.start + i)) return false;
+			return true;
+		}
+	}
+}
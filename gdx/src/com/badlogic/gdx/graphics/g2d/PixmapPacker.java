@@ -199,7 +199,38 @@ public class PixmapPacker implements Disposable {
 		current = page;
 	}
 
-	private Node insert (Node node, Rectangle rect) {
+	/** @return true if the pixmap can be packed into the current page, false if packing it would add a page. */
+	public synchronized boolean fits (Pixmap image) {
+		int borderPixels = (padding + (duplicateBorder ? 1 : 0)) << 1;
+		return fits(current.root, image.getWidth() + borderPixels, image.getHeight() + borderPixels);
+	}
+
+	static boolean fits (Node node, int width, int height) {
+		if (node.leafName == null && node.leftChild != null && node.rightChild != null)
+			return fits(node.leftChild, width, height) || fits(node.rightChild, width, height);
+		return node.leafName == null && node.rect.width >= width && node.rect.height >= height;
+	}
+
+	/** Removes all the pixmaps packed into the page and clears its pixmap, so the page can be reused. The page becomes the page
+	 * pixmaps are packed into next. Its texture, if it has one, is reuploaded by the next
+	 * {@link Page#updateTexture(TextureFilter, TextureFilter, boolean) updateTexture} call. */
+	public synchronized void clearPage (Page page) {
+		if (!pages.contains(page, true)) throw new IllegalArgumentException("The page does not belong to this packer.");
+		Blending blending = Pixmap.getBlending();
+		Pixmap.setBlending(Blending.None);
+		page.image.setColor(0, 0, 0, 0);
+		page.image.fill();
+		Pixmap.setBlending(blending);
+		page.clear(pageWidth, pageHeight);
+		current = page;
+	}
+
+	/** @return the index of the page pixmaps are currently packed into. */
+	public synchronized int getCurrentPageIndex () {
+		return pages.indexOf(current, true);
+	}
+
+	static Node insert (Node node, Rectangle rect) {
 		if (node.leafName == null && node.leftChild != null && node.rightChild != null) {
 			Node newNode = insert(node.leftChild, rect);
 			if (newNode == null) newNode = insert(node.rightChild, rect);
@@ -387,6 +418,14 @@ public class PixmapPacker implements Disposable {
 		final Array<String> addedRects = new Array();
 		boolean dirty;
 
+		/** Removes all the rects, so the whole page can be packed again. */
+		void clear (int width, int height) {
+			root = new Node(0, 0, width, height, null, null, null);
+			rects.clear();
+			addedRects.clear();
+			dirty = true;
+		}
+
 		public Pixmap getPixmap () {
 			return image;
 		}
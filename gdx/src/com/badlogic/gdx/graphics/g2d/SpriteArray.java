@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Stores many sprites which share a texture as arrays of their transforms and draws them with any {@link Batch}. Each sprite is a
+ * position, rotation, scale and index of a region, stored in parallel arrays which can be changed directly. A sprite is centered
+ * on its position, the size is the region size times the scale.
+ * <p>
+ * {@link #draw(Batch)} computes the vertices of all sprites the same way as
+ * {@link Batch#draw(TextureRegion, float, float, float, float, float, float, float, float, float)} and submits them with
+ * {@link Batch#draw(Texture, float[], int, int)}. When an executor is set, the vertices are computed in slices on the executor's
+ * threads, while the calling thread computes the last slice.
+ * <p>
+ * The regions must all be from the same texture. */
+public class SpriteArray {
+	static private final int SPRITE_SIZE = 20;
+	/** Fewer sprites per slice are computed on the calling thread, as the overhead would outweigh the gain. */
+	static private final int MIN_SLICE_SIZE = 512;
+
+	/** The sprites' center positions. */
+	public float[] x, y;
+	/** The sprites' rotations in degrees, counterclockwise. */
+	public float[] rotation;
+	/** The sprites' uniform scales. */
+	public float[] scale;
+	/** The sprites' indices into the {@link #getRegions() regions}. */
+	public int[] region;
+	/** The sprites' packed colors. When null, which is the default, the batch color is used for all sprites. */
+	public float[] color;
+	/** The number of sprites. */
+	public int size;
+
+	private final Array<TextureRegion> regions = new Array();
+	private float[] vertices = new float[0];
+	private AsyncExecutor executor;
+	private final Array<Slice> slices = new Array();
+	private final Array<AsyncResult<Void>> results = new Array();
+
+	public SpriteArray () {
+		this(64);
+	}
+
+	public SpriteArray (int capacity) {
+		x = new float[capacity];
+		y = new float[capacity];
+		rotation = new float[capacity];
+		scale = new float[capacity];
+		region = new int[capacity];
+	}
+
+	/** Adds a region which sprites can use.
+	 * @return The index of the region.
+	 * @throws IllegalArgumentException if the region's texture is not the texture of the other regions. */
+	public int addRegion (TextureRegion region) {
+		if (regions.size > 0 && regions.first().getTexture() != region.getTexture())
+			throw new IllegalArgumentException("All regions must use the same texture.");
+		regions.add(region);
+		return regions.size - 1;
+	}
+
+	public Array<TextureRegion> getRegions () {
+		return regions;
+	}
+
+	/** Adds a sprite, growing the arrays if needed. If {@link #color} is not null, the new sprite's color is white.
+	 * @return The index of the sprite. */
+	public int add (float x, float y, float rotation, float scale, int region) {
+		if (size == this.x.length) ensureCapacity(Math.max(8, (int)(size * 1.75f)) - size);
+		int index = size++;
+		this.x[index] = x;
+		this.y[index] = y;
+		this.rotation[index] = rotation;
+		this.scale[index] = scale;
+		this.region[index] = region;
+		if (color != null) color[index] = Color.WHITE.toFloatBits();
+		return index;
+	}
+
+	/** Increases the size of the arrays, if needed, so that additionalCapacity sprites can be added without growing. */
+	public void ensureCapacity (int additionalCapacity) {
+		int capacity = size + additionalCapacity;
+		if (capacity <= x.length) return;
+		x = copy(x, capacity);
+		y = copy(y, capacity);
+		rotation = copy(rotation, capacity);
+		scale = copy(scale, capacity);
+		int[] newRegion = new int[capacity];
+		System.arraycopy(region, 0, newRegion, 0, size);
+		region = newRegion;
+		if (color != null) color = copy(color, capacity);
+	}
+
+	private float[] copy (float[] array, int capacity) {
+		float[] newArray = new float[capacity];
+		System.arraycopy(array, 0, newArray, 0, Math.min(size, array.length));
+		return newArray;
+	}
+
+	/** Creates the {@link #color} array with every sprite white, so each sprite can have its own color. */
+	public void enableColors () {
+		if (color != null) return;
+		color = new float[x.length];
+		float white = Color.WHITE.toFloatBits();
+		for (int i = 0; i < size; i++)
+			color[i] = white;
+	}
+
+	/** Removes all sprites. The regions are kept. */
+	public void clear () {
+		size = 0;
+	}
+
+	/** Sets the executor used to compute the vertices in parallel.
+	 * @param executor May be null to compute the vertices on the calling thread.
+	 * @param slices The number of slices the sprites are split into, usually the executor's number of threads plus one for the
+	 *           calling thread. */
+	public void setExecutor (AsyncExecutor executor, int slices) {
+		if (executor != null && slices < 1) throw new IllegalArgumentException("slices must be > 0: " + slices);
+		this.executor = executor;
+		this.slices.clear();
+		if (executor == null) return;
+		for (int i = 0; i < slices; i++)
+			this.slices.add(new Slice());
+	}
+
+	/** Computes the vertices of all sprites and submits them to the batch.
+	 * @throws IllegalStateException if no region was added. */
+	public void draw (Batch batch) {
+		if (size == 0) return;
+		if (regions.size == 0) throw new IllegalStateException("No regions were added.");
+		int count = size * SPRITE_SIZE;
+		if (vertices.length < count) vertices = new float[count];
+		float batchColor = batch.getPackedColor();
+
+		if (executor == null || slices.size < 2 || size < slices.size * MIN_SLICE_SIZE)
+			computeVertices(0, size, batchColor);
+		else {
+			int sliceCount = slices.size, sliceSize = (size + sliceCount - 1) / sliceCount;
+			Array<AsyncResult<Void>> results = this.results;
+			for (int i = 0; i < sliceCount - 1; i++) {
+				Slice slice = slices.get(i);
+				slice.start = i * sliceSize;
+				slice.end = Math.min(size, slice.start + sliceSize);
+				slice.batchColor = batchColor;
+				results.add(executor.submit(slice));
+			}
+			computeVertices(Math.min(size, (sliceCount - 1) * sliceSize), size, batchColor);
+			try {
+				for (int i = 0; i < results.size; i++)
+					results.get(i).get();
+			} finally {
+				results.clear();
+			}
+		}
+
+		batch.draw(regions.first().getTexture(), vertices, 0, count);
+	}
+
+	/** Computes the vertices of the sprites from start, inclusive, to end, exclusive. */
+	protected void computeVertices (int start, int end, float batchColor) {
+		float[] vertices = this.vertices, x = this.x, y = this.y, rotation = this.rotation, scale = this.scale, color = this.color;
+		int[] regionIndices = this.region;
+		Object[] regions = this.regions.items;
+		int idx = start * SPRITE_SIZE;
+		for (int i = start; i < end; i++) {
+			TextureRegion region = (TextureRegion)regions[regionIndices[i]];
+			float s = scale[i];
+			float halfWidth = region.getRegionWidth() * 0.5f * s, halfHeight = region.getRegionHeight() * 0.5f * s;
+			float worldX = x[i], worldY = y[i];
+
+			// Corners relative to the center, counterclockwise from the bottom left.
+			float x1, y1, x2, y2, x3, y3, x4, y4;
+			float degrees = rotation[i];
+			if (degrees != 0) {
+				float cos = MathUtils.cosDeg(degrees), sin = MathUtils.sinDeg(degrees);
+				float cosX = cos * halfWidth, sinX = sin * halfWidth, cosY = cos * halfHeight, sinY = sin * halfHeight;
+				x1 = -cosX + sinY;
+				y1 = -sinX - cosY;
+				x2 = -cosX - sinY;
+				y2 = -sinX + cosY;
+				x3 = -x1;
+				y3 = -y1;
+				x4 = -x2;
+				y4 = -y2;
+			} else {
+				x1 = -halfWidth;
+				y1 = -halfHeight;
+				x2 = -halfWidth;
+				y2 = halfHeight;
+				x3 = halfWidth;
+				y3 = halfHeight;
+				x4 = halfWidth;
+				y4 = -halfHeight;
+			}
+
+			float u = region.u, v = region.v2, u2 = region.u2, v2 = region.v;
+			float c = color != null ? color[i] : batchColor;
+
+			vertices[idx++] = x1 + worldX;
+			vertices[idx++] = y1 + worldY;
+			vertices[idx++] = c;
+			vertices[idx++] = u;
+			vertices[idx++] = v;
+
+			vertices[idx++] = x2 + worldX;
+			vertices[idx++] = y2 + worldY;
+			vertices[idx++] = c;
+			vertices[idx++] = u;
+			vertices[idx++] = v2;
+
+			vertices[idx++] = x3 + worldX;
+			vertices[idx++] = y3 + worldY;
+			vertices[idx++] = c;
+			vertices[idx++] = u2;
+			vertices[idx++] = v2;
+
+			vertices[idx++] = x4 + worldX;
+			vertices[idx++] = y4 + worldY;
+			vertices[idx++] = c;
+			vertices[idx++] = u2;
+			vertices[idx++] = v;
+		}
+	}
+
+	private class Slice implements AsyncTask<Void> {
+		int start, end;
+		float batchColor;
+
+		public Void call () {
+			computeVertices(start, end, batchColor);
+			return null;
+		}
+	}
+}
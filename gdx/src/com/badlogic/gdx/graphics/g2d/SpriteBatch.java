@@ -34,6 +34,11 @@ import com.badlogic.gdx.utils.NumberUtils;
  * @author mzechner
  * @author Nathan Sweet */
 public class SpriteBatch implements Batch {
+	/** The vertex data type of the mesh of new SpriteBatches. When null, which is the default, a VBO with VAO is used if GL30 is
+	 * available, else a vertex array. {@link Mesh.VertexDataType#VertexBufferObjectStreaming} avoids re-specifying the buffer
+	 * on every flush. */
+	static public Mesh.VertexDataType defaultVertexDataType;
+
 	private Mesh mesh;
 
 	final float[] vertices;
@@ -91,9 +96,12 @@ public class SpriteBatch implements Batch {
 		// 32767 is max index, so 32767 / 6 - (32767 / 6 % 3) = 5460.
 		if (size > 5460) throw new IllegalArgumentException("Can't have more than 5460 sprites per batch: " + size);
 
-		Mesh.VertexDataType vertexDataType = Mesh.VertexDataType.VertexArray;
-		if (Gdx.gl30 != null) {
-			vertexDataType = Mesh.VertexDataType.VertexBufferObjectWithVAO;
+		Mesh.VertexDataType vertexDataType = defaultVertexDataType;
+		if (vertexDataType == null) {
+			vertexDataType = Mesh.VertexDataType.VertexArray;
+			if (Gdx.gl30 != null) {
+				vertexDataType = Mesh.VertexDataType.VertexBufferObjectWithVAO;
+			}
 		}
 		mesh = new Mesh(vertexDataType, false, size * 4, size * 6, new VertexAttribute(Usage.Position, 2,
 			ShaderProgram.POSITION_ATTRIBUTE), new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
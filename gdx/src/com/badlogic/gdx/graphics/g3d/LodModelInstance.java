@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.Pool;
+
+/** A {@link RenderableProvider} with several levels of detail, each a {@link ModelInstance}, of which only the one matching the
+ * size on screen is rendered. The levels are ordered from the most to the least detailed, each with the minimum screen size at
+ * which it is used: the height on screen of the bounding sphere of the first level, as a fraction of the viewport height. When
+ * smaller than the screen size of the last level, nothing is rendered.
+ * <p>
+ * The level is selected for the {@link #camera} when the renderables are requested, or by {@link #update(Camera)}. To avoid
+ * switching back and forth when the size is close to a threshold, a finer level is only selected when the size is
+ * {@link #hysteresis} above its threshold and a coarser level only when the size is that much below the threshold of the current
+ * level. The levels can be instances of different models, for example created with the simplifier of gdx-tools, or of different
+ * nodes of the same model.
+ * <p>
+ * All levels share the {@link #transform} of this instance. */
+public class LodModelInstance implements RenderableProvider {
+	/** The levels of detail, from the most to the least detailed. */
+	public final ModelInstance[] levels;
+	/** The minimum screen size of each level, decreasing. */
+	public final float[] screenSizes;
+	/** The world transform, shared by the levels. */
+	public final Matrix4 transform;
+	/** The relative margin around the thresholds before the level changes. */
+	public float hysteresis = 0.1f;
+	/** The camera to select the level for when the renderables are requested, or null to render the last selected level. */
+	public Camera camera;
+
+	private final Vector3 center = new Vector3();
+	private float radius;
+	private int level = -1;
+	private final Vector3 tmpV = new Vector3();
+
+	/** Creates an instance of each model.
+	 * @param models The models of the levels, from the most to the least detailed.
+	 * @param screenSizes The minimum screen size of each level, see {@link LodModelInstance}. */
+	public LodModelInstance (final Model[] models, final float[] screenSizes) {
+		this(createInstances(models), screenSizes);
+	}
+
+	/** @param levels The instances of the levels, from the most to the least detailed. Their transform is replaced with the
+	 *           {@link #transform} of this instance.
+	 * @param screenSizes The minimum screen size of each level, see {@link LodModelInstance}. */
+	public LodModelInstance (final ModelInstance[] levels, final float[] screenSizes) {
+		if (levels.length == 0) throw new GdxRuntimeException("At least one level is required");
+		if (levels.length != screenSizes.length)
+			throw new GdxRuntimeException("The number of screen sizes must match the number of levels: " + screenSizes.length
+				+ " != " + levels.length);
+		for (int i = 1; i < screenSizes.length; i++)
+			if (screenSizes[i] > screenSizes[i - 1]) throw new GdxRuntimeException("Screen sizes must be decreasing");
+		this.levels = levels;
+		this.screenSizes = screenSizes;
+		this.transform = levels[0].transform;
+		for (int i = 1; i < levels.length; i++)
+			levels[i].transform = transform;
+		calculateBounds();
+	}
+
+	private static ModelInstance[] createInstances (final Model[] models) {
+		final ModelInstance[] instances = new ModelInstance[models.length];
+		for (int i = 0; i < models.length; i++)
+			instances[i] = new ModelInstance(models[i]);
+		return instances;
+	}
+
+	/** Calculates the bounding sphere of the first level, used for the screen size. Call it after the nodes of the first level
+	 * changed, for example after an animation moved them. */
+	public void calculateBounds () {
+		final BoundingBox box = levels[0].calculateBoundingBox(new BoundingBox());
+		box.getCenter(center);
+		radius = box.getDimensions(tmpV).len() * 0.5f;
+	}
+
+	/** @return The height of the bounding sphere on screen, as a fraction of the viewport height of the camera. */
+	public float getScreenSize (final Camera camera) {
+		final float scale = Math.max(Math.max(transform.getScaleX(), transform.getScaleY()), transform.getScaleZ());
+		final float worldRadius = radius * scale;
+		if (camera instanceof PerspectiveCamera) {
+			final float distance = tmpV.set(center).mul(transform).dst(camera.position);
+			if (distance <= worldRadius) return Float.POSITIVE_INFINITY;
+			final float tan = (float)Math.tan(((PerspectiveCamera)camera).fieldOfView * 0.5f * MathUtils.degreesToRadians);
+			return worldRadius / (distance * tan);
+		}
+		final float zoom = camera instanceof OrthographicCamera ? ((OrthographicCamera)camera).zoom : 1f;
+		return 2f * worldRadius / (camera.viewportHeight * zoom);
+	}
+
+	/** Selects the level for the camera.
+	 * @return The selected level, or -1 if nothing is rendered. */
+	public int update (final Camera camera) {
+		final float size = getScreenSize(camera);
+		final int n = levels.length;
+		if (level == -1) {
+			// Nothing selected yet, no hysteresis.
+			level = 0;
+			while (level < n && size < screenSizes[level])
+				level++;
+		} else {
+			final int current = level;
+			while (level > 0 && size >= screenSizes[level - 1] * (1f + hysteresis))
+				level--;
+			if (level == current) while (level < n && size < screenSizes[level] * (1f - hysteresis))
+				level++;
+		}
+		return getLevel();
+	}
+
+	/** @return The last selected level, or -1 if nothing is rendered. */
+	public int getLevel () {
+		return level < levels.length ? level : -1;
+	}
+
+	/** Selects a level regardless of the screen size, until the next {@link #update(Camera)}.
+	 * @param level The level, or -1 to render nothing. */
+	public void setLevel (int level) {
+		if (level < -1 || level >= levels.length) throw new GdxRuntimeException("Invalid level: " + level);
+		this.level = level == -1 ? levels.length : level;
+	}
+
+	@Override
+	public void getRenderables (Array<Renderable> renderables, Pool<Renderable> pool) {
+		if (camera != null) update(camera);
+		else if (level == -1) level = 0;
+		if (level < levels.length) levels[level].getRenderables(renderables, pool);
+	}
+}
@@ -233,32 +233,40 @@ public class Model implements Disposable {
 	}
 
 	private void convertMesh (ModelMesh modelMesh) {
-		int numIndices = 0;
-		for (ModelMeshPart part : modelMesh.parts) {
-			numIndices += part.indices.length;
-		}
 		VertexAttributes attributes = new VertexAttributes(modelMesh.attributes);
-		int numVertices = modelMesh.vertices.length / (attributes.vertexSize / 4);
-
-		Mesh mesh = new Mesh(true, numVertices, numIndices, attributes);
+		// Vertices and indices which are already in buffers, eg mapped from a file, are used by the mesh without copying.
+		final boolean buffered = modelMesh.vertexBuffer != null;
+		Mesh mesh;
+		if (buffered)
+			mesh = new Mesh(true, modelMesh.vertexBuffer, modelMesh.indexBuffer, attributes);
+		else {
+			int numIndices = 0;
+			for (ModelMeshPart part : modelMesh.parts) {
+				numIndices += part.indices.length;
+			}
+			int numVertices = modelMesh.vertices.length / (attributes.vertexSize / 4);
+			mesh = new Mesh(true, numVertices, numIndices, attributes);
+		}
 		meshes.add(mesh);
 		disposables.add(mesh);
 
-		BufferUtils.copy(modelMesh.vertices, mesh.getVerticesBuffer(), modelMesh.vertices.length, 0);
+		if (!buffered) {
+			BufferUtils.copy(modelMesh.vertices, mesh.getVerticesBuffer(), modelMesh.vertices.length, 0);
+			mesh.getIndicesBuffer().clear();
+		}
 		int offset = 0;
-		mesh.getIndicesBuffer().clear();
 		for (ModelMeshPart part : modelMesh.parts) {
 			MeshPart meshPart = new MeshPart();
 			meshPart.id = part.id;
 			meshPart.primitiveType = part.primitiveType;
 			meshPart.indexOffset = offset;
-			meshPart.numVertices = part.indices.length;
+			meshPart.numVertices = buffered ? part.indexCount : part.indices.length;
 			meshPart.mesh = mesh;
-			mesh.getIndicesBuffer().put(part.indices);
+			if (!buffered) mesh.getIndicesBuffer().put(part.indices);
 			offset += meshPart.numVertices;
 			meshParts.add(meshPart);
 		}
-		mesh.getIndicesBuffer().position(0);
+		if (!buffered) mesh.getIndicesBuffer().position(0);
 	}
 
 	private void loadMaterials (Iterable<ModelMaterial> modelMaterials, TextureProvider textureProvider) {
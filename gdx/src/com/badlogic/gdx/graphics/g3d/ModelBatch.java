@@ -19,6 +19,11 @@ package com.badlogic.gdx.graphics.g3d;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
 import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
@@ -26,9 +31,14 @@ import com.badlogic.gdx.graphics.g3d.utils.DefaultTextureBinder;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
 import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.ShaderProvider;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.collision.BoundingBoxTree;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.Pool;
 
 /** Batches {@link Renderable} instances, fetches {@link Shader}s for them, sorts them and then renders them. Fetching the shaders
@@ -39,6 +49,9 @@ import com.badlogic.gdx.utils.Pool;
  * 
  * To provide multiple {@link Renderable}s at once a {@link RenderableProvider} can be used, e.g. a {@link ModelInstance}.
  * 
+ * When {@link #setInstancing(boolean) instancing} is enabled, renderables which only differ in their world transform are drawn
+ * with a single instanced draw call.
+ * 
  * @author xoppa, badlogic */
 public class ModelBatch implements Disposable {
 	protected static class RenderablePool extends Pool<Renderable> {
@@ -66,6 +79,45 @@ public class ModelBatch implements Disposable {
 		}
 	}
 
+	/** Renderables which share the mesh part, material, environment and shader, so they can be drawn instanced. The hash code and
+	 * equality are those of the first renderable. */
+	protected static class InstanceGroup {
+		/** The first renderable of the group, which is drawn for all of them. */
+		public Renderable renderable;
+		/** The world transforms of the renderables, 16 floats per renderable. */
+		public final FloatArray transforms = new FloatArray();
+
+		public int size () {
+			return transforms.size / 16;
+		}
+
+		@Override
+		public int hashCode () {
+			final Renderable r = renderable;
+			int result = System.identityHashCode(r.mesh);
+			result = 31 * result + r.meshPartOffset;
+			result = 31 * result + r.meshPartSize;
+			result = 31 * result + r.primitiveType;
+			result = 31 * result + r.material.attributesHash();
+			result = 31 * result + System.identityHashCode(r.environment);
+			return 31 * result + System.identityHashCode(r.shader);
+		}
+
+		@Override
+		public boolean equals (Object obj) {
+			if (!(obj instanceof InstanceGroup)) return false;
+			final Renderable r1 = renderable, r2 = ((InstanceGroup)obj).renderable;
+			return r1.mesh == r2.mesh && r1.meshPartOffset == r2.meshPartOffset && r1.meshPartSize == r2.meshPartSize
+				&& r1.primitiveType == r2.primitiveType && r1.environment == r2.environment && r1.shader == r2.shader
+				&& r1.material.same(r2.material, true);
+		}
+	}
+
+	/** The instance attributes of meshes drawn instanced by a ModelBatch, the four columns of the world transform. */
+	public static final VertexAttributes instanceAttributes = new VertexAttributes(new VertexAttribute(Usage.Generic, 4,
+		"a_worldTrans0", 0), new VertexAttribute(Usage.Generic, 4, "a_worldTrans1", 1), new VertexAttribute(Usage.Generic, 4,
+		"a_worldTrans2", 2), new VertexAttribute(Usage.Generic, 4, "a_worldTrans3", 3));
+
 	protected Camera camera;
 	protected final RenderablePool renderablesPool = new RenderablePool();
 	/** list of Renderables to be rendered in the current batch **/
@@ -77,6 +129,18 @@ public class ModelBatch implements Disposable {
 	protected final ShaderProvider shaderProvider;
 	/** the {@link RenderableSorter} **/
 	protected final RenderableSorter sorter;
+	private boolean instancing;
+	private final ObjectMap<InstanceGroup, InstanceGroup> instanceGroups = new ObjectMap<InstanceGroup, InstanceGroup>();
+	/** The first renderable of each group of two or more renderables, which is drawn instanced for the whole group. */
+	private final IdentityMap<Renderable, InstanceGroup> instancedRenderables = new IdentityMap<Renderable, InstanceGroup>();
+	private final InstanceGroup instanceKey = new InstanceGroup();
+	private final Array<RenderableProvider> visibleProviders = new Array<RenderableProvider>();
+	private final Pool<InstanceGroup> instanceGroupPool = new Pool<InstanceGroup>() {
+		@Override
+		protected InstanceGroup newObject () {
+			return new InstanceGroup();
+		}
+	};
 
 	/** Construct a ModelBatch, using this constructor makes you responsible for calling context.begin() and context.end() yourself.
 	 * @param context The {@link RenderContext} to use.
@@ -198,25 +262,105 @@ public class ModelBatch implements Disposable {
 		return sorter;
 	}
 
+	/** Sets whether renderables which share the mesh part, material, environment and shader are drawn with a single instanced
+	 * draw call, which saves a draw call and the uniform updates for each of them. Only opaque renderables without bones which
+	 * use a {@link DefaultShader} are drawn instanced. Instanced rendering is enabled on their meshes with the
+	 * {@link #instanceAttributes}, and the shader provider is asked for a shader for the instanced mesh, which with the default
+	 * shaders defines instancedFlag. Custom shader sources must implement it to be used with instancing. Instanced renderables
+	 * are drawn in the order of their first renderable. Requires OpenGL ES 3.0 and meshes using vertex buffer objects. */
+	public void setInstancing (boolean instancing) {
+		if (instancing && Gdx.gl30 == null) throw new GdxRuntimeException("Instancing requires OpenGL ES 3.0");
+		this.instancing = instancing;
+	}
+
+	public boolean isInstancing () {
+		return instancing;
+	}
+
 	/** Flushes the batch, causing all {@link Renderable}s in the batch to be rendered. Can only be called after the call to
 	 * {@link #begin(Camera)} and before the call to {@link #end()}. */
 	public void flush () {
 		sorter.sort(camera, renderables);
+		if (instancing) groupInstances();
 		Shader currentShader = null;
 		for (int i = 0; i < renderables.size; i++) {
 			final Renderable renderable = renderables.get(i);
+			final InstanceGroup group = instancing ? instancedRenderables.get(renderable) : null;
+			if (group != null) {
+				renderable.mesh.setInstanceData(group.transforms.items, 0, group.transforms.size);
+				renderable.shader = shaderProvider.getShader(renderable);
+			}
 			if (currentShader != renderable.shader) {
 				if (currentShader != null) currentShader.end();
 				currentShader = renderable.shader;
 				currentShader.begin(camera, context);
 			}
 			currentShader.render(renderable);
+			// Without instances the mesh is drawn normally again.
+			if (group != null) renderable.mesh.setInstanceData(group.transforms.items, 0, 0);
 		}
 		if (currentShader != null) currentShader.end();
+		if (instancing) clearInstances();
 		renderablesPool.flush();
 		renderables.clear();
 	}
 
+	/** Whether the renderable may be drawn instanced with others. */
+	protected boolean canInstance (final Renderable renderable) {
+		if (renderable.bones != null || !(renderable.shader instanceof DefaultShader)) return false;
+		// BaseShader skips degenerate transforms, which would skip the whole group if it was the first.
+		if (renderable.worldTransform.det3x3() == 0) return false;
+		final Mesh mesh = renderable.mesh;
+		if (mesh.isVertexArray()) return false;
+		if (mesh.isInstanced() && mesh.getInstanceAttributes() != instanceAttributes) return false;
+		final BlendingAttribute blending = (BlendingAttribute)renderable.material.get(BlendingAttribute.Type);
+		return blending == null || !blending.blended;
+	}
+
+	/** Moves the renderables which can be drawn instanced into groups. The first renderable of each group stays in place, the
+	 * others are removed from the renderables. */
+	private void groupInstances () {
+		final Array<Renderable> renderables = this.renderables;
+		int n = 0;
+		for (int i = 0; i < renderables.size; i++) {
+			final Renderable renderable = renderables.get(i);
+			if (canInstance(renderable)) {
+				instanceKey.renderable = renderable;
+				InstanceGroup group = instanceGroups.get(instanceKey);
+				if (group != null) {
+					group.transforms.addAll(renderable.worldTransform.val);
+					continue;
+				}
+				group = instanceGroupPool.obtain();
+				group.renderable = renderable;
+				group.transforms.addAll(renderable.worldTransform.val);
+				instanceGroups.put(group, group);
+			}
+			renderables.set(n++, renderable);
+		}
+		renderables.truncate(n);
+		instanceKey.renderable = null;
+
+		for (InstanceGroup group : instanceGroups.values()) {
+			final int size = group.size();
+			if (size < 2) continue;
+			instancedRenderables.put(group.renderable, group);
+			final Mesh mesh = group.renderable.mesh;
+			if (mesh.getMaxInstances() < size)
+				mesh.enableInstancedRendering(false, MathUtils.nextPowerOfTwo(size), instanceAttributes);
+		}
+	}
+
+	private void clearInstances () {
+		for (InstanceGroup group : instanceGroups.values()) {
+			group.renderable = null;
+			group.transforms.clear();
+			instanceGroupPool.free(group);
+		}
+		instanceGroups.clear();
+		instancedRenderables.clear();
+	}
+
 	/** End rendering one or more {@link Renderable}s. Must be called after a call to {@link #begin(Camera)}. This will flush the
 	 * batch, causing any renderables provided using one of the render() methods to be rendered. After a call to this method the
 	 * OpenGL context can be altered again. */
@@ -280,6 +424,32 @@ public class ModelBatch implements Disposable {
 			render(renderableProvider, environment);
 	}
 
+	/** Adds the renderables of the renderable providers in the tree which are visible to the camera, see
+	 * {@link BoundingBoxTree#query(com.badlogic.gdx.math.Frustum, Array)}. Renderable providers outside of the frustum are not
+	 * asked for their renderables. Can only be called after a call to {@link #begin(Camera)} and before a call to {@link #end()}.
+	 * @param renderableProviders the tree of renderable providers */
+	public void render (final BoundingBoxTree<? extends RenderableProvider> renderableProviders) {
+		render(renderableProviders, null);
+	}
+
+	/** Adds the renderables of the renderable providers in the tree which are visible to the camera, see
+	 * {@link BoundingBoxTree#query(com.badlogic.gdx.math.Frustum, Array)}. Renderable providers outside of the frustum are not
+	 * asked for their renderables. Any environment set on the returned renderables will be replaced with the given environment,
+	 * unless it is null. Can only be called after a call to {@link #begin(Camera)} and before a call to {@link #end()}.
+	 * @param renderableProviders the tree of renderable providers
+	 * @param environment the {@link Environment} to use for the renderables, may be null */
+	public void render (final BoundingBoxTree<? extends RenderableProvider> renderableProviders, final Environment environment) {
+		final Array<RenderableProvider> visible = visibleProviders;
+		renderableProviders.query(camera.frustum, visible);
+		for (int i = 0; i < visible.size; i++) {
+			if (environment == null)
+				render(visible.get(i));
+			else
+				render(visible.get(i), environment);
+		}
+		visible.clear();
+	}
+
 	/** Calls {@link RenderableProvider#getRenderables(Array, Pool)} and adds all returned {@link Renderable} instances to the
 	 * current batch to be rendered. Any shaders set on the returned renderables will be replaced with the given {@link Shader}.
 	 * Can only be called after a call to {@link #begin(Camera)} and before a call to {@link #end()}.
@@ -0,0 +1,295 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.utils.MeshBuilder;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.Pool;
+
+/** Merges the renderables of static {@link ModelInstance}s into few meshes, so scenery made of many instances sharing few
+ * materials takes few draw calls. The world transform of each renderable is applied to its vertices, so the merged renderables
+ * have the identity transform. The renderables are grouped by the cubic cell of {@link #cellSize} containing the center of their
+ * bounds, then by vertex attributes, {@link Material} and primitive type. Each group is merged into one mesh part, and a new mesh
+ * is started when the vertices wouldn't fit in the short indices of a mesh.
+ * <p>
+ * When the {@link #camera} is set, only the renderables of the cells whose bounds intersect its frustum are rendered. Renderables
+ * with {@link Renderable#bones} and renderables of meshes without indices are not merged and always rendered.
+ * <p>
+ * Add the instances between {@link #begin()} and {@link #end()}. The instances are not used after {@link #end()}, but the
+ * materials are shared. The cache owns the merged meshes, dispose it when no longer needed. */
+public class StaticModelCache implements RenderableProvider, Disposable {
+	/** The size of the cells the renderables are grouped by. */
+	public final float cellSize;
+	/** The camera to cull the cells with when the renderables are requested, or null to render all cells. */
+	public Camera camera;
+	/** The number of cells rendered by the last call to {@link #getRenderables(Array, Pool)}, for profiling. */
+	public int visibleCells;
+
+	/** A group of merged renderables. */
+	public static class Cell {
+		/** The bounds of the renderables of the cell, in world space. */
+		public final BoundingBox bounds = new BoundingBox();
+		/** The merged renderables. */
+		public final Array<Renderable> renderables = new Array<Renderable>();
+	}
+
+	private static class Item {
+		Renderable renderable;
+		final BoundingBox bounds = new BoundingBox();
+		long cell;
+	}
+
+	private final Array<Cell> cells = new Array<Cell>();
+	private final Array<Renderable> unmerged = new Array<Renderable>();
+	private final Array<Mesh> meshes = new Array<Mesh>();
+	private final Array<Item> items = new Array<Item>();
+	private final Array<MeshPart> pendingParts = new Array<MeshPart>();
+	private final Array<Renderable> pendingRenderables = new Array<Renderable>();
+	private final Array<Renderable> tmp = new Array<Renderable>();
+	private final Pool<Renderable> renderablePool = new Pool<Renderable>() {
+		@Override
+		protected Renderable newObject () {
+			return new Renderable();
+		}
+	};
+	private final Array<Renderable> obtained = new Array<Renderable>();
+	/** The vertices and indices of the meshes of the added renderables, read once per mesh. */
+	private final ObjectMap<Mesh, float[]> meshVertices = new ObjectMap<Mesh, float[]>();
+	private final ObjectMap<Mesh, short[]> meshIndices = new ObjectMap<Mesh, short[]>();
+	private final MeshBuilder meshBuilder = new MeshBuilder();
+	private final Vector3 tmpV = new Vector3();
+	private boolean building;
+
+	private final Comparator<Item> comparator = new Comparator<Item>() {
+		@Override
+		public int compare (Item item1, Item item2) {
+			if (item1.cell != item2.cell) return item1.cell < item2.cell ? -1 : 1;
+			final Renderable r1 = item1.renderable, r2 = item2.renderable;
+			final int vc = r1.mesh.getVertexAttributes().compareTo(r2.mesh.getVertexAttributes());
+			if (vc != 0) return vc;
+			final int mc = r1.material.compareTo(r2.material);
+			if (mc != 0) return mc;
+			return r1.primitiveType - r2.primitiveType;
+		}
+	};
+
+	/** @param cellSize The size of the cells, see {@link StaticModelCache}. Larger cells give fewer draw calls, smaller cells cull
+	 *           more precisely. */
+	public StaticModelCache (float cellSize) {
+		if (cellSize <= 0) throw new IllegalArgumentException("cellSize must be > 0: " + cellSize);
+		this.cellSize = cellSize;
+	}
+
+	/** Clears the cache, disposing the merged meshes, to add renderables until {@link #end()}. */
+	public void begin () {
+		if (building) throw new GdxRuntimeException("Call end() first");
+		building = true;
+		clear();
+	}
+
+	/** Adds the renderable, whose members are used until {@link #end()}. See {@link StaticModelCache} for which renderables are
+	 * merged. Renderables which are not merged are copied. */
+	public void add (Renderable renderable) {
+		if (!building) throw new GdxRuntimeException("Call begin() first");
+		if (renderable.bones != null || renderable.mesh.getNumIndices() == 0) {
+			unmerged.add(new Renderable().set(renderable));
+			return;
+		}
+		final Item item = new Item();
+		item.renderable = renderable;
+		final float[] vertices = getVertices(renderable.mesh);
+		final short[] indices = getIndices(renderable.mesh);
+		final VertexAttributes attributes = renderable.mesh.getVertexAttributes();
+		final int stride = attributes.vertexSize / 4;
+		final int position = attributes.getOffset(Usage.Position);
+		final int positionSize = attributes.findByUsage(Usage.Position).numComponents;
+		final Matrix4 transform = renderable.worldTransform;
+		item.bounds.inf();
+		for (int i = renderable.meshPartOffset, n = i + renderable.meshPartSize; i < n; i++) {
+			final int o = (indices[i] & 0xffff) * stride + position;
+			tmpV.set(vertices[o], positionSize > 1 ? vertices[o + 1] : 0, positionSize > 2 ? vertices[o + 2] : 0);
+			item.bounds.ext(tmpV.mul(transform));
+		}
+		item.bounds.getCenter(tmpV);
+		item.cell = cellKey(tmpV);
+		items.add(item);
+	}
+
+	/** Adds the renderables of the provider, see {@link #add(Renderable)}. */
+	public void add (RenderableProvider renderableProvider) {
+		renderableProvider.getRenderables(tmp, renderablePool);
+		obtained.addAll(tmp);
+		for (int i = 0; i < tmp.size; i++)
+			add(tmp.get(i));
+		tmp.clear();
+	}
+
+	/** Adds the renderables of the providers, see {@link #add(Renderable)}. */
+	public <T extends RenderableProvider> void add (Iterable<T> renderableProviders) {
+		for (RenderableProvider renderableProvider : renderableProviders)
+			add(renderableProvider);
+	}
+
+	private float[] getVertices (Mesh mesh) {
+		float[] vertices = meshVertices.get(mesh);
+		if (vertices == null) {
+			vertices = new float[mesh.getNumVertices() * mesh.getVertexSize() / 4];
+			mesh.getVertices(vertices);
+			meshVertices.put(mesh, vertices);
+		}
+		return vertices;
+	}
+
+	private short[] getIndices (Mesh mesh) {
+		short[] indices = meshIndices.get(mesh);
+		if (indices == null) {
+			indices = new short[mesh.getNumIndices()];
+			mesh.getIndices(indices);
+			meshIndices.put(mesh, indices);
+		}
+		return indices;
+	}
+
+	private long cellKey (Vector3 center) {
+		final long x = (long)Math.floor(center.x / cellSize) & 0x1fffff;
+		final long y = (long)Math.floor(center.y / cellSize) & 0x1fffff;
+		final long z = (long)Math.floor(center.z / cellSize) & 0x1fffff;
+		return (x << 42) | (y << 21) | z;
+	}
+
+	/** Merges the added renderables. */
+	public void end () {
+		if (!building) throw new GdxRuntimeException("Call begin() first");
+		building = false;
+		// Attributes#compareTo sorts the attributes when needed, which would reenter the shared Sort instance while sorting the items.
+		for (int i = 0; i < items.size; i++)
+			items.get(i).renderable.material.sort();
+		items.sort(comparator);
+
+		Cell cell = null;
+		long cellKey = 0;
+		VertexAttributes attributes = null;
+		Material material = null;
+		int primitiveType = 0;
+		for (int i = 0; i < items.size; i++) {
+			final Item item = items.get(i);
+			final Renderable renderable = item.renderable;
+			final boolean sameCell = cell != null && item.cell == cellKey;
+			// A part uses at most as many vertices as it has indices.
+			final int maxVertices = Math.min(renderable.meshPartSize, renderable.mesh.getNumVertices());
+			final boolean sameMesh = sameCell && renderable.mesh.getVertexAttributes().equals(attributes)
+				&& meshBuilder.getNumVertices() + maxVertices <= Short.MAX_VALUE;
+			final boolean samePart = sameMesh && renderable.primitiveType == primitiveType
+				&& renderable.material.same(material, true);
+			if (!samePart) {
+				if (!sameMesh) {
+					if (attributes != null) endMesh();
+					meshBuilder.begin(attributes = renderable.mesh.getVertexAttributes());
+				}
+				if (!sameCell) {
+					cells.add(cell = new Cell());
+					cell.bounds.inf();
+					cellKey = item.cell;
+				}
+				final Renderable merged = new Renderable();
+				merged.material = material = renderable.material;
+				merged.primitiveType = primitiveType = renderable.primitiveType;
+				cell.renderables.add(merged);
+				pendingRenderables.add(merged);
+				pendingParts.add(meshBuilder.part("", primitiveType));
+			}
+			cell.bounds.ext(item.bounds);
+			meshBuilder.setVertexTransform(renderable.worldTransform);
+			meshBuilder.addMesh(getVertices(renderable.mesh), getIndices(renderable.mesh), renderable.meshPartOffset,
+				renderable.meshPartSize);
+		}
+		if (attributes != null) endMesh();
+
+		items.clear();
+		meshVertices.clear();
+		meshIndices.clear();
+		renderablePool.freeAll(obtained);
+		obtained.clear();
+	}
+
+	/** Creates the mesh of the parts built since the previous mesh. The offset and size of a part are only known once the next part
+	 * starts or the mesh ends. */
+	private void endMesh () {
+		meshes.add(meshBuilder.end());
+		for (int i = 0; i < pendingParts.size; i++) {
+			final MeshPart part = pendingParts.get(i);
+			final Renderable renderable = pendingRenderables.get(i);
+			renderable.mesh = part.mesh;
+			renderable.meshPartOffset = part.indexOffset;
+			renderable.meshPartSize = part.numVertices;
+		}
+		pendingParts.clear();
+		pendingRenderables.clear();
+	}
+
+	/** @return The cells, valid after {@link #end()}. */
+	public Array<Cell> getCells () {
+		return cells;
+	}
+
+	@Override
+	public void getRenderables (Array<Renderable> renderables, Pool<Renderable> pool) {
+		if (building) throw new GdxRuntimeException("Call end() first");
+		int visible = 0;
+		for (int i = 0; i < cells.size; i++) {
+			final Cell cell = cells.get(i);
+			if (camera != null && !camera.frustum.boundsInFrustum(cell.bounds)) continue;
+			addRenderables(cell.renderables, renderables, pool);
+			visible++;
+		}
+		addRenderables(unmerged, renderables, pool);
+		visibleCells = visible;
+	}
+
+	/** Adds copies of the cached renderables, as the batch sets the environment and shader of the renderables it is given. */
+	private void addRenderables (Array<Renderable> cached, Array<Renderable> renderables, Pool<Renderable> pool) {
+		for (int i = 0; i < cached.size; i++)
+			renderables.add(pool.obtain().set(cached.get(i)));
+	}
+
+	private void clear () {
+		for (int i = 0; i < meshes.size; i++)
+			meshes.get(i).dispose();
+		meshes.clear();
+		cells.clear();
+		unmerged.clear();
+	}
+
+	@Override
+	public void dispose () {
+		if (building) throw new GdxRuntimeException("Call end() first");
+		clear();
+	}
+}
@@ -0,0 +1,323 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.environment;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A directional light casting shadows with a {@link CascadedShadowMap}. The view frustum of the camera, up to the
+ * {@link #shadowDistance}, is split into cascades which each get a square part of the depth map of the same resolution, so the
+ * cascades near the camera have more texels per unit. Each cascade covers the bounding sphere of its part of the frustum and is
+ * moved in whole texels, so the shadows don't shimmer when the camera moves or rotates.
+ * <p>
+ * When static casters are cached they are rendered to a separate depth map, which is only rendered again for the cascades which
+ * moved, see {@link #render(ModelBatch, Iterable, Iterable)}. To move less often, the cascades are then moved in steps of 1/32 of
+ * their size instead of single texels, at the cost of some resolution.
+ * @deprecated Experimental, likely to change, do not use! */
+public class CascadedShadowLight extends DirectionalLight implements CascadedShadowMap, Disposable {
+	/** The maximum number of cascades. */
+	public static final int MAX_CASCADES = 4;
+
+	/** Blends between uniform (0) and logarithmic (1) split distances. */
+	public float splitLambda = 0.75f;
+	/** The distance from the camera up to which shadows are rendered. */
+	public float shadowDistance;
+	/** The distance towards the light beyond the cascades from which casters are still rendered. */
+	public float casterDistance;
+	/** The number of cascades whose static casters were rendered, for profiling. */
+	public int staticCascadesRendered;
+
+	protected final int cascadeSize;
+	protected final int cascadeCount;
+	protected final int snapTexels;
+	protected FrameBuffer fbo;
+	protected FrameBuffer staticFbo;
+	protected final OrthographicCamera[] cams;
+	protected final float[] splits;
+	protected final float[] projViewTrans;
+	protected final Matrix4 firstProjViewTrans = new Matrix4();
+	protected final Matrix4[] staticProjViewTrans;
+	protected final boolean[] staticDirty;
+	protected final TextureDescriptor textureDesc;
+	protected final TextureDescriptor staticTextureDesc;
+	protected int currentCascade = -1;
+	protected boolean currentStatic;
+
+	private final Vector3 up = new Vector3();
+	private final Vector3 center = new Vector3();
+	private final Vector3 tmpV = new Vector3();
+	private final Vector3[] corners = new Vector3[8];
+	private final Matrix4 lightView = new Matrix4();
+	private final Matrix4 lightViewInv = new Matrix4();
+	private final Matrix4 tmpM = new Matrix4();
+
+	/** @param cascadeSize The width and height in pixels of the depth map of each cascade.
+	 * @param cascadeCount The number of cascades, from 1 to {@link #MAX_CASCADES}.
+	 * @param shadowDistance See {@link #shadowDistance}.
+	 * @param casterDistance See {@link #casterDistance}.
+	 * @param cacheStaticCasters Whether to render the static casters to a separate depth map which is only updated when needed.
+	 * @deprecated Experimental, likely to change, do not use! */
+	public CascadedShadowLight (int cascadeSize, int cascadeCount, float shadowDistance, float casterDistance,
+		boolean cacheStaticCasters) {
+		if (cascadeCount < 1 || cascadeCount > MAX_CASCADES)
+			throw new GdxRuntimeException("Cascade count must be between 1 and " + MAX_CASCADES + ": " + cascadeCount);
+		this.cascadeSize = cascadeSize;
+		this.cascadeCount = cascadeCount;
+		this.shadowDistance = shadowDistance;
+		this.casterDistance = casterDistance;
+		snapTexels = cacheStaticCasters ? Math.max(1, cascadeSize / 32) : 1;
+		fbo = new FrameBuffer(Format.RGBA8888, cascadeSize * cascadeCount, cascadeSize, true);
+		textureDesc = createTextureDescriptor();
+		if (cacheStaticCasters) {
+			staticFbo = new FrameBuffer(Format.RGBA8888, cascadeSize * cascadeCount, cascadeSize, true);
+			staticTextureDesc = createTextureDescriptor();
+			staticProjViewTrans = new Matrix4[cascadeCount];
+			staticDirty = new boolean[cascadeCount];
+			for (int i = 0; i < cascadeCount; i++) {
+				staticProjViewTrans[i] = new Matrix4();
+				staticDirty[i] = true;
+			}
+		} else {
+			staticTextureDesc = null;
+			staticProjViewTrans = null;
+			staticDirty = null;
+		}
+		cams = new OrthographicCamera[cascadeCount];
+		for (int i = 0; i < cascadeCount; i++)
+			cams[i] = new OrthographicCamera();
+		splits = new float[cascadeCount];
+		projViewTrans = new float[cascadeCount * 16];
+		for (int i = 0; i < corners.length; i++)
+			corners[i] = new Vector3();
+	}
+
+	private static TextureDescriptor createTextureDescriptor () {
+		TextureDescriptor desc = new TextureDescriptor();
+		desc.minFilter = desc.magFilter = Texture.TextureFilter.Nearest;
+		desc.uWrap = desc.vWrap = Texture.TextureWrap.ClampToEdge;
+		return desc;
+	}
+
+	/** Fits the cascades to the view frustum of the camera, which must be {@link Camera#update() updated}. */
+	public void update (final Camera camera) {
+		final float near = camera.near;
+		final float far = Math.min(camera.far, shadowDistance);
+		final float depth = camera.far - near;
+
+		up.set(Math.abs(direction.y) > 0.99f ? Vector3.Z : Vector3.Y);
+		lightView.setToLookAt(direction, up);
+		lightViewInv.set(lightView).tra();
+
+		float splitNear = near;
+		for (int i = 0; i < cascadeCount; i++) {
+			final float t = (float)(i + 1) / cascadeCount;
+			final float log = near * (float)Math.pow(far / near, t);
+			final float uniform = near + (far - near) * t;
+			final float splitFar = splitLambda * log + (1f - splitLambda) * uniform;
+			splits[i] = splitFar;
+
+			// The corners of the part of the frustum between the splits and the center of their bounding sphere.
+			final float tNear = (splitNear - near) / depth, tFar = (splitFar - near) / depth;
+			center.setZero();
+			for (int j = 0; j < 4; j++) {
+				final Vector3 nearPoint = camera.frustum.planePoints[j], farPoint = camera.frustum.planePoints[j + 4];
+				corners[j].set(nearPoint).lerp(farPoint, tNear);
+				corners[j + 4].set(nearPoint).lerp(farPoint, tFar);
+				center.add(corners[j]).add(corners[j + 4]);
+			}
+			center.scl(1f / 8f);
+			float radius = 0f;
+			for (int j = 0; j < 8; j++)
+				radius = Math.max(radius, corners[j].dst2(center));
+			// Rounded up, so it is the same regardless of the orientation of the camera.
+			radius = (float)Math.ceil(Math.sqrt(radius) * 16.0) / 16f;
+
+			// Large enough to contain the sphere wherever the center is snapped to.
+			final float half = radius / (1f - 2f * snapTexels / cascadeSize);
+			final float snap = 2f * half / cascadeSize * snapTexels;
+			center.mul(lightView);
+			center.x = (float)Math.floor(center.x / snap) * snap;
+			center.y = (float)Math.floor(center.y / snap) * snap;
+			center.z = (float)Math.floor(center.z / snap) * snap;
+			center.z += half + casterDistance;
+			center.mul(lightViewInv);
+
+			final OrthographicCamera cam = cams[i];
+			cam.viewportWidth = cam.viewportHeight = 2f * half;
+			cam.near = 0f;
+			cam.far = 2f * half + casterDistance;
+			cam.position.set(center);
+			cam.direction.set(direction).nor();
+			cam.up.set(up);
+			cam.normalizeUp();
+			cam.update();
+
+			// Maps the cascade to its part of the depth map.
+			tmpM.idt();
+			tmpM.val[Matrix4.M00] = 1f / cascadeCount;
+			tmpM.val[Matrix4.M03] = (2f * i + 1f) / cascadeCount - 1f;
+			tmpM.mul(cam.combined);
+			System.arraycopy(tmpM.val, 0, projViewTrans, i * 16, 16);
+			if (i == 0) firstProjViewTrans.set(tmpM);
+
+			splitNear = splitFar;
+		}
+	}
+
+	/** Renders the casters to the depth maps with the cascades {@link #update(Camera) fitted} to the camera. If the static casters
+	 * are cached, they are only rendered again for the cascades which moved since they were last rendered or after
+	 * {@link #invalidateStaticCasters()}, and the dynamic casters are rendered to the other depth map. Otherwise all casters are
+	 * rendered to the one depth map.
+	 * @param shadowBatch A {@link ModelBatch} rendering depth, like one with a
+	 *           {@link com.badlogic.gdx.graphics.g3d.utils.DepthShaderProvider}. */
+	public void render (final ModelBatch shadowBatch, final Iterable<? extends RenderableProvider> staticCasters,
+		final Iterable<? extends RenderableProvider> dynamicCasters) {
+		if (staticFbo != null) {
+			for (int i = 0; i < cascadeCount; i++) {
+				if (!isStaticDirty(i)) continue;
+				begin(i, true);
+				shadowBatch.begin(cams[i]);
+				if (staticCasters != null) shadowBatch.render(staticCasters);
+				shadowBatch.end();
+				end();
+			}
+		}
+		for (int i = 0; i < cascadeCount; i++) {
+			begin(i, false);
+			shadowBatch.begin(cams[i]);
+			if (staticFbo == null && staticCasters != null) shadowBatch.render(staticCasters);
+			if (dynamicCasters != null) shadowBatch.render(dynamicCasters);
+			shadowBatch.end();
+			end();
+		}
+	}
+
+	/** @return Whether the static casters of the cascade must be rendered again, always false if they are not cached. */
+	public boolean isStaticDirty (int cascade) {
+		if (staticFbo == null) return false;
+		if (staticDirty[cascade]) return true;
+		final float[] rendered = staticProjViewTrans[cascade].val, current = cams[cascade].combined.val;
+		for (int i = 0; i < 16; i++)
+			if (rendered[i] != current[i]) return true;
+		return false;
+	}
+
+	/** Causes the static casters to be rendered again by the next {@link #render(ModelBatch, Iterable, Iterable)}, for example
+	 * after one of them moved or the direction of the light changed. */
+	public void invalidateStaticCasters () {
+		if (staticDirty == null) return;
+		for (int i = 0; i < cascadeCount; i++)
+			staticDirty[i] = true;
+	}
+
+	/** Binds the frame buffer and clears the part of the cascade, to render to it with {@link #getCamera(int)} until
+	 * {@link #end()}.
+	 * @param staticCasters Whether to render to the depth map of the static casters, which must be cached. */
+	public void begin (int cascade, boolean staticCasters) {
+		if (currentCascade != -1) throw new GdxRuntimeException("Call end() first.");
+		if (staticCasters && staticFbo == null) throw new GdxRuntimeException("Static casters are not cached.");
+		currentCascade = cascade;
+		currentStatic = staticCasters;
+		final int x = cascade * cascadeSize;
+		(staticCasters ? staticFbo : fbo).begin();
+		Gdx.gl.glViewport(x, 0, cascadeSize, cascadeSize);
+		Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+		Gdx.gl.glScissor(x, 0, cascadeSize, cascadeSize);
+		Gdx.gl.glClearColor(1, 1, 1, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+		Gdx.gl.glScissor(x + 1, 1, cascadeSize - 2, cascadeSize - 2);
+	}
+
+	public void end () {
+		if (currentCascade == -1) throw new GdxRuntimeException("Call begin() first.");
+		Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+		if (currentStatic) {
+			staticFbo.end();
+			staticProjViewTrans[currentCascade].set(cams[currentCascade].combined);
+			staticDirty[currentCascade] = false;
+			staticCascadesRendered++;
+		} else
+			fbo.end();
+		currentCascade = -1;
+	}
+
+	public FrameBuffer getFrameBuffer () {
+		return fbo;
+	}
+
+	/** @return The frame buffer of the static casters, or null if they are not cached. */
+	public FrameBuffer getStaticFrameBuffer () {
+		return staticFbo;
+	}
+
+	public Camera getCamera (int cascade) {
+		return cams[cascade];
+	}
+
+	@Override
+	public int getCascadeCount () {
+		return cascadeCount;
+	}
+
+	@Override
+	public float[] getCascadeSplits () {
+		return splits;
+	}
+
+	@Override
+	public float[] getCascadeProjViewTrans () {
+		return projViewTrans;
+	}
+
+	@Override
+	public Matrix4 getProjViewTrans () {
+		return firstProjViewTrans;
+	}
+
+	@Override
+	public TextureDescriptor getDepthMap () {
+		textureDesc.texture = fbo.getColorBufferTexture();
+		return textureDesc;
+	}
+
+	@Override
+	public TextureDescriptor getStaticDepthMap () {
+		if (staticFbo == null) return null;
+		staticTextureDesc.texture = staticFbo.getColorBufferTexture();
+		return staticTextureDesc;
+	}
+
+	@Override
+	public void dispose () {
+		if (fbo != null) fbo.dispose();
+		fbo = null;
+		if (staticFbo != null) staticFbo.dispose();
+		staticFbo = null;
+	}
+}
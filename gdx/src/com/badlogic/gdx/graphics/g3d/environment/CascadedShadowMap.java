@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.environment;
+
+import com.badlogic.gdx.graphics.g3d.utils.TextureDescriptor;
+
+/** A {@link ShadowMap} split into cascades along the view direction of the camera. The cascades are side by side in the
+ * {@link #getDepthMap() depth map}, which is as high as a single cascade. Each fragment uses the first cascade whose split
+ * distance is beyond its distance from the camera. {@link #getProjViewTrans()} returns the matrix of the first cascade. */
+public interface CascadedShadowMap extends ShadowMap {
+	/** @return The number of cascades, at least 1. The shaders are created for a fixed number of cascades. */
+	int getCascadeCount ();
+
+	/** @return The combined projection and view matrices of the cascades, 16 values per cascade in the layout of
+	 *         {@link com.badlogic.gdx.math.Matrix4#val}, which map the world to the cascade's part of the depth map. */
+	float[] getCascadeProjViewTrans ();
+
+	/** @return The far distance from the camera of each cascade. */
+	float[] getCascadeSplits ();
+
+	/** @return The depth map of the static casters in the same layout as the {@link #getDepthMap() depth map}, which then only
+	 *         contains the dynamic casters, or null if all casters are in the depth map. */
+	TextureDescriptor getStaticDepthMap ();
+}
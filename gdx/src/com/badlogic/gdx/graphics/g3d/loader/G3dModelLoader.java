@@ -123,7 +123,7 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 		}
 	}
 
-	private int parseType (String type) {
+	protected int parseType (String type) {
 		if (type.equals("TRIANGLES")) {
 			return GL20.GL_TRIANGLES;
 		} else if (type.equals("LINES")) {
@@ -140,7 +140,7 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 		}
 	}
 
-	private VertexAttribute[] parseAttributes (JsonValue attributes) {
+	protected VertexAttribute[] parseAttributes (JsonValue attributes) {
 		Array<VertexAttribute> vertexAttributes = new Array<VertexAttribute>();
 		int unit = 0;
 		int blendWeightCount = 0;
@@ -171,7 +171,7 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 		return vertexAttributes.toArray(VertexAttribute.class);
 	}
 
-	private void parseMaterials (ModelData model, JsonValue json, String materialDir) {
+	protected void parseMaterials (ModelData model, JsonValue json, String materialDir) {
 		JsonValue materials = json.get("materials");
 		if (materials == null) {
 			// we should probably create some default material in this case
@@ -273,7 +273,7 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 			throw new GdxRuntimeException("Expected Vector2 values <> than two.");
 	}
 
-	private Array<ModelNode> parseNodes (ModelData model, JsonValue json) {
+	protected Array<ModelNode> parseNodes (ModelData model, JsonValue json) {
 		JsonValue nodes = json.get("nodes");
 		if (nodes != null) {
 			model.nodes.ensureCapacity(nodes.size);
@@ -367,7 +367,7 @@ public class G3dModelLoader extends ModelLoader<ModelLoader.ModelParameters> {
 		return jsonNode;
 	}
 
-	private void parseAnimations (ModelData model, JsonValue json) {
+	protected void parseAnimations (ModelData model, JsonValue json) {
 		JsonValue animations = json.get("animations");
 		if (animations == null) return;
 
@@ -0,0 +1,222 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.ReadableByteChannel;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.UBJsonReader;
+
+/** Loads models in the G3DM format, a chunked binary variant of the G3D format whose vertices and indices are used by the meshes
+ * as they are stored, without parsing them into arrays. Files on the file system are mapped into memory, other files are read into
+ * a single direct buffer. The G3DM converter of gdx-tools converts G3DJ and G3DB files to this format.
+ * <p>
+ * A file starts with the {@link #MAGIC} and {@link #VERSION} as little endian ints, followed by chunks. Each chunk consists of
+ * its type and the length of its data as little endian ints and the data, padded to a multiple of 4 bytes. Unknown chunks are
+ * skipped.
+ * <ul>
+ * <li>{@link #META}: the model in the G3DB format, without the vertices of the meshes and the indices of the mesh parts. Each mesh
+ * part has the number of its indices as "count" instead.</li>
+ * <li>{@link #VERTICES}: the vertices of a mesh as little endian floats, one chunk per mesh in the order of the meshes.</li>
+ * <li>{@link #INDICES}: the indices of all parts of a mesh as little endian shorts, one chunk per mesh in the order of the
+ * meshes.</li>
+ * </ul> */
+public class G3dmModelLoader extends G3dModelLoader {
+	public static final int MAGIC = chunkType("G3DM");
+	public static final int VERSION = 1;
+	public static final int META = chunkType("META");
+	public static final int VERTICES = chunkType("VERT");
+	public static final int INDICES = chunkType("INDX");
+
+	public G3dmModelLoader () {
+		this(null);
+	}
+
+	public G3dmModelLoader (FileHandleResolver resolver) {
+		super(newReader(), resolver);
+	}
+
+	/** The META chunk is written by {@link com.badlogic.gdx.utils.UBJsonWriter}, which does not use the old format of G3DB files. */
+	static private UBJsonReader newReader () {
+		UBJsonReader reader = new UBJsonReader();
+		reader.oldFormat = false;
+		return reader;
+	}
+
+	@Override
+	public ModelData parseModel (FileHandle handle) {
+		ByteBuffer data = read(handle);
+		data.order(ByteOrder.LITTLE_ENDIAN);
+		if (data.remaining() < 8 || data.getInt() != MAGIC) throw new GdxRuntimeException("Not a G3DM file: " + handle);
+		int fileVersion = data.getInt();
+		if (fileVersion != VERSION) throw new GdxRuntimeException("G3DM version not supported: " + fileVersion);
+
+		JsonValue json = null;
+		Array<ByteBuffer> vertices = new Array<ByteBuffer>(), indices = new Array<ByteBuffer>();
+		while (data.remaining() >= 8) {
+			int type = data.getInt(), length = data.getInt();
+			if (length < 0 || length > data.remaining())
+				throw new GdxRuntimeException("Invalid chunk length " + length + " at " + (data.position() - 8) + ": " + handle);
+			ByteBuffer chunk = data.duplicate();
+			chunk.limit(data.position() + length);
+			chunk = chunk.slice();
+			if (type == META) {
+				byte[] bytes = new byte[length];
+				chunk.get(bytes);
+				json = reader.parse(new ByteArrayInputStream(bytes));
+			} else if (type == VERTICES)
+				vertices.add(chunk);
+			else if (type == INDICES) //
+				indices.add(chunk);
+			data.position(Math.min(data.limit(), data.position() + (length + 3 & ~3)));
+		}
+		if (json == null) throw new GdxRuntimeException("No META chunk: " + handle);
+
+		ModelData model = new ModelData();
+		JsonValue version = json.require("version");
+		model.version[0] = version.getShort(0);
+		model.version[1] = version.getShort(1);
+		if (model.version[0] != VERSION_HI || model.version[1] != VERSION_LO)
+			throw new GdxRuntimeException("Model version not supported");
+
+		model.id = json.getString("id", "");
+		parseMeshes(model, json, vertices, indices);
+		parseMaterials(model, json, handle.parent().path());
+		parseNodes(model, json);
+		parseAnimations(model, json);
+		return model;
+	}
+
+	private void parseMeshes (ModelData model, JsonValue json, Array<ByteBuffer> vertices, Array<ByteBuffer> indices) {
+		JsonValue meshes = json.get("meshes");
+		int meshCount = meshes == null ? 0 : meshes.size;
+		if (vertices.size != meshCount || indices.size != meshCount)
+			throw new GdxRuntimeException("Expected vertices and indices for " + meshCount + " meshes, found " + vertices.size
+				+ " and " + indices.size);
+		if (meshes == null) return;
+
+		model.meshes.ensureCapacity(meshes.size);
+		int i = 0;
+		for (JsonValue mesh = meshes.child; mesh != null; mesh = mesh.next, i++) {
+			ModelMesh modelMesh = new ModelMesh();
+			String id = mesh.getString("id", "");
+			modelMesh.id = id;
+			modelMesh.attributes = parseAttributes(mesh.require("attributes"));
+			modelMesh.vertexBuffer = toNativeOrder(vertices.get(i), false);
+			modelMesh.indexBuffer = toNativeOrder(indices.get(i), true);
+
+			JsonValue meshParts = mesh.require("parts");
+			modelMesh.parts = new ModelMeshPart[meshParts.size];
+			int j = 0, indexCount = 0;
+			for (JsonValue meshPart = meshParts.child; meshPart != null; meshPart = meshPart.next, j++) {
+				ModelMeshPart part = new ModelMeshPart();
+				part.id = meshPart.getString("id", null);
+				if (part.id == null) throw new GdxRuntimeException("Not id given for mesh part");
+				String type = meshPart.getString("type", null);
+				if (type == null) throw new GdxRuntimeException("No primitive type given for mesh part '" + part.id + "'");
+				part.primitiveType = parseType(type);
+				part.indexCount = meshPart.require("count").asInt();
+				indexCount += part.indexCount;
+				modelMesh.parts[j] = part;
+			}
+			if (indexCount * 2 != modelMesh.indexBuffer.remaining())
+				throw new GdxRuntimeException("Mesh '" + id + "' has " + modelMesh.indexBuffer.remaining() / 2
+					+ " indices, its parts " + indexCount);
+			model.meshes.add(modelMesh);
+		}
+	}
+
+	/** Returns the little endian chunk in the native byte order, copying it only on big endian platforms. */
+	private ByteBuffer toNativeOrder (ByteBuffer chunk, boolean shorts) {
+		chunk.order(ByteOrder.LITTLE_ENDIAN);
+		if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) return chunk;
+		ByteBuffer copy = BufferUtils.newByteBuffer(chunk.remaining());
+		if (shorts)
+			copy.asShortBuffer().put(chunk.asShortBuffer());
+		else
+			copy.asFloatBuffer().put(chunk.asFloatBuffer());
+		return copy;
+	}
+
+	/** Maps the file into memory if it is on the file system, otherwise reads it into a direct buffer. The meshes of the model
+	 * reference the returned buffer. */
+	protected ByteBuffer read (FileHandle handle) {
+		File file = handle.type() == FileType.Classpath ? null : handle.file();
+		if (file != null && file.isFile()) {
+			RandomAccessFile input = null;
+			try {
+				input = new RandomAccessFile(file, "r");
+				FileChannel channel = input.getChannel();
+				// The mapping stays valid after the channel is closed.
+				return channel.map(MapMode.READ_ONLY, 0, channel.size());
+			} catch (IOException ex) {
+				throw new GdxRuntimeException("Error mapping file: " + handle, ex);
+			} finally {
+				StreamUtils.closeQuietly(input);
+			}
+		}
+
+		int length = (int)handle.length();
+		if (length <= 0) {
+			// The length is unknown, eg for compressed Android assets.
+			byte[] bytes = handle.readBytes();
+			ByteBuffer data = BufferUtils.newByteBuffer(bytes.length);
+			data.put(bytes);
+			data.flip();
+			return data;
+		}
+		InputStream input = handle.read();
+		try {
+			ReadableByteChannel channel = Channels.newChannel(input);
+			ByteBuffer data = BufferUtils.newByteBuffer(length);
+			while (data.hasRemaining())
+				if (channel.read(data) == -1) break;
+			data.flip();
+			return data;
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error reading file: " + handle, ex);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
+	/** @return The four character type as it is read from a little endian int. */
+	static public int chunkType (String type) {
+		if (type.length() != 4) throw new IllegalArgumentException("type must have 4 characters: " + type);
+		return type.charAt(0) | type.charAt(1) << 8 | type.charAt(2) << 16 | type.charAt(3) << 24;
+	}
+}
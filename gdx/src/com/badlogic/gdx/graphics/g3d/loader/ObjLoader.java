@@ -19,6 +19,7 @@ package com.badlogic.gdx.graphics.g3d.loader;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Arrays;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetManager;
@@ -44,6 +45,12 @@ import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ShortArray;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /** {@link ModelLoader} to load Wavefront OBJ files. Only intended for testing basic models/meshes and educational usage. The
  * Wavefront specification is NOT fully implemented, only a subset of the specification is supported. Especially the
@@ -60,12 +67,21 @@ import com.badlogic.gdx.utils.FloatArray;
  * materials. In that case the MTL filename (might be case-sensitive) is expected to be located relative to the OBJ file. The MTL
  * file might reference one or more texture files, in which case those filename(s) are expected to be located relative to the MTL
  * file.</p>
+ * 
+ * The file is parsed without creating objects per line, in parallel if an executor is {@link #setExecutor(AsyncExecutor, int)
+ * set}. Each group becomes an indexed mesh in which corners with the same position, texture coordinates and normal share a
+ * vertex. Groups with more than {@link #MAX_VERTICES} vertices are split into several meshes.</p>
  * @author mzechner, espitz, xoppa */
 public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 	/** Set to false to prevent a warning from being logged when this class is used. Do not change this value, unless you are
 	 * absolutely sure what you are doing. Consult the documentation for more information. */
 	public static boolean logWarning = false;
 
+	/** The maximum number of vertices of a mesh, so the vertices can be indexed with shorts. */
+	public static final int MAX_VERTICES = Short.MAX_VALUE;
+	/** Files are not split into smaller chunks than this to be parsed in parallel, as the overhead would outweigh the gain. */
+	static private final int MIN_CHUNK_SIZE = 256 * 1024;
+
 	public static class ObjLoaderParameters extends ModelLoader.ModelParameters {
 		public boolean flipV;
 
@@ -77,10 +93,8 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 		}
 	}
 
-	final FloatArray verts = new FloatArray(300);
-	final FloatArray norms = new FloatArray(300);
-	final FloatArray uvs = new FloatArray(200);
-	final Array<Group> groups = new Array<Group>(10);
+	private AsyncExecutor executor;
+	private int slices = 1;
 
 	public ObjLoader () {
 		this(null);
@@ -90,6 +104,16 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 		super(resolver);
 	}
 
+	/** Sets the executor used to parse large files in parallel.
+	 * @param executor May be null to parse files on the calling thread.
+	 * @param slices The maximum number of chunks a file is split into, usually the executor's number of threads plus one for the
+	 *           calling thread. */
+	public void setExecutor (AsyncExecutor executor, int slices) {
+		if (executor != null && slices < 1) throw new IllegalArgumentException("slices must be > 0: " + slices);
+		this.executor = executor;
+		this.slices = executor == null ? 1 : slices;
+	}
+
 	/** Directly load the model on the calling thread. The model with not be managed by an {@link AssetManager}. */
 	public Model loadModel (final FileHandle fileHandle, boolean flipV) {
 		return loadModel(fileHandle, new ObjLoaderParameters(flipV));
@@ -103,224 +127,552 @@ public class ObjLoader extends ModelLoader<ObjLoader.ObjLoaderParameters> {
 	protected ModelData loadModelData (FileHandle file, boolean flipV) {
 		if (logWarning)
 			Gdx.app.error("ObjLoader", "Wavefront (OBJ) is not fully supported, consult the documentation for more information");
-		String line;
-		String[] tokens;
-		char firstChar;
-		MtlLoader mtl = new MtlLoader();
+
+		// The vertices are counted first, so each chunk can resolve relative indices and parse its vertices into the shared arrays.
+		Array<Chunk> chunks = split(file.readBytes(), flipV);
+		run(chunks, true);
+		int vertexCount = 0, normalCount = 0, uvCount = 0;
+		for (Chunk chunk : chunks) {
+			chunk.vertexBase = vertexCount;
+			chunk.normalBase = normalCount;
+			chunk.uvBase = uvCount;
+			vertexCount += chunk.vertexCount;
+			normalCount += chunk.normalCount;
+			uvCount += chunk.uvCount;
+		}
+		float[] verts = new float[vertexCount * 3], norms = new float[normalCount * 3], uvs = new float[uvCount * 2];
+		for (Chunk chunk : chunks) {
+			chunk.totalVertices = vertexCount;
+			chunk.totalNormals = normalCount;
+			chunk.totalUVs = uvCount;
+			chunk.verts = verts;
+			chunk.norms = norms;
+			chunk.uvs = uvs;
+		}
+		run(chunks, false);
 
 		// Create a "default" Group and set it as the active group, in case
 		// there are no groups or objects defined in the OBJ file.
+		MtlLoader mtl = new MtlLoader();
+		Array<Group> groups = new Array<Group>(10);
 		Group activeGroup = new Group("default");
 		groups.add(activeGroup);
+		for (Chunk chunk : chunks) {
+			int start = 0;
+			for (Event event : chunk.events) {
+				activeGroup.addFaces(chunk, start, event.face);
+				start = event.face;
+				if (event.type == Chunk.GROUP) {
+					// This implementation only supports single object or group
+					// definitions. i.e. "o group_a group_b" will set group_a
+					// as the active group, while group_b will simply be
+					// ignored.
+					activeGroup = getGroup(groups, event.name == null ? "default" : event.name);
+				} else if (event.type == Chunk.MATERIAL)
+					activeGroup.materialName = event.name == null ? "default" : event.name;
+				else if (event.type == Chunk.LIBRARY) //
+					mtl.load(file.parent().child(event.name));
+			}
+			activeGroup.addFaces(chunk, start, chunk.faces.size);
+		}
 
-		BufferedReader reader = new BufferedReader(new InputStreamReader(file.read()), 4096);
+		final ModelData data = new ModelData();
+		MeshAssembler assembler = new MeshAssembler(verts, norms, uvs);
 		int id = 0;
-		try {
-			while ((line = reader.readLine()) != null) {
+		for (Group group : groups) {
+			// If the "default" group or any others were not used, skip them
+			if (group.numFaces < 1) continue;
+			assembler.addGroup(data, group, ++id);
+			data.materials.add(mtl.getMaterial(group.materialName));
+		}
+		// If there are no groups left, there is no valid Model to return
+		if (id == 0) return null;
+		return data;
+	}
 
-				tokens = line.split("\\s+");
-				if (tokens.length < 1) break;
+	/** Splits the file at line ends into up to {@link #slices} chunks of at least {@link #MIN_CHUNK_SIZE} bytes. */
+	private Array<Chunk> split (byte[] data, boolean flipV) {
+		int count = Math.max(1, Math.min(slices, data.length / MIN_CHUNK_SIZE));
+		Array<Chunk> chunks = new Array<Chunk>(count);
+		int start = 0;
+		for (int i = 1; i <= count; i++) {
+			int end = i == count ? data.length : Math.max(start, (int)((long)data.length * i / count));
+			while (end > start && end < data.length && data[end - 1] != '\n')
+				end++;
+			chunks.add(new Chunk(data, start, end, flipV));
+			start = end;
+		}
+		return chunks;
+	}
 
-				if (tokens[0].length() == 0) {
-					continue;
-				} else if ((firstChar = tokens[0].toLowerCase().charAt(0)) == '#') {
-					continue;
-				} else if (firstChar == 'v') {
-					if (tokens[0].length() == 1) {
-						verts.add(Float.parseFloat(tokens[1]));
-						verts.add(Float.parseFloat(tokens[2]));
-						verts.add(Float.parseFloat(tokens[3]));
-					} else if (tokens[0].charAt(1) == 'n') {
-						norms.add(Float.parseFloat(tokens[1]));
-						norms.add(Float.parseFloat(tokens[2]));
-						norms.add(Float.parseFloat(tokens[3]));
-					} else if (tokens[0].charAt(1) == 't') {
-						uvs.add(Float.parseFloat(tokens[1]));
-						uvs.add((flipV ? 1 - Float.parseFloat(tokens[2]) : Float.parseFloat(tokens[2])));
+	/** Counts or parses the chunks, in parallel if there is more than one. */
+	private void run (Array<Chunk> chunks, boolean counting) {
+		for (Chunk chunk : chunks)
+			chunk.counting = counting;
+		if (chunks.size == 1) {
+			chunks.first().call();
+			return;
+		}
+		Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>(chunks.size - 1);
+		for (int i = 0; i < chunks.size - 1; i++)
+			results.add(executor.submit(chunks.get(i)));
+		chunks.peek().call();
+		for (AsyncResult<Void> result : results)
+			result.get();
+	}
+
+	private Group getGroup (Array<Group> groups, String name) {
+		for (Group group : groups) {
+			if (group.name.equals(name)) return group;
+		}
+		Group group = new Group(name);
+		groups.add(group);
+		return group;
+	}
+
+	private class Group {
+		final String name;
+		String materialName;
+		/** The chunks and the start and end of the ranges of their faces which belong to this group. */
+		final Array<Chunk> chunks = new Array<Chunk>();
+		final IntArray ranges = new IntArray();
+		int numFaces;
+
+		Group (String name) {
+			this.name = name;
+			this.materialName = "default";
+		}
+
+		void addFaces (Chunk chunk, int start, int end) {
+			if (end <= start) return;
+			chunks.add(chunk);
+			ranges.add(start);
+			ranges.add(end);
+			numFaces += (end - start) / 9;
+		}
+	}
+
+	/** A group, material or material library statement, which applies to the faces from the given index on. */
+	static private class Event {
+		final int type, face;
+		/** May be null if no name was given. */
+		final String name;
+
+		Event (int type, int face, String name) {
+			this.type = type;
+			this.face = face;
+			this.name = name;
+		}
+	}
+
+	/** Parses a range of whole lines of a file, without allocating per line. Counts the vertices first, then parses them into the
+	 * arrays shared by all chunks and collects the triangles and the {@link Event}s. */
+	static private class Chunk implements AsyncTask<Void> {
+		static final int OTHER = 0, VERTEX = 1, NORMAL = 2, UV = 3, FACE = 4, GROUP = 5, MATERIAL = 6, LIBRARY = 7;
+		static private final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13,
+			1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+		final byte[] data;
+		final int start, end;
+		final boolean flipV;
+		boolean counting;
+		int position;
+
+		int vertexCount, normalCount, uvCount;
+		/** The number of vertices in the preceding chunks and in the whole file. */
+		int vertexBase, normalBase, uvBase, totalVertices, totalNormals, totalUVs;
+		float[] verts, norms, uvs;
+
+		/** The position, texture coordinates and normal index of each corner of the triangles, -1 if not given. */
+		final IntArray faces = new IntArray();
+		final Array<Event> events = new Array<Event>();
+		private final IntArray polygon = new IntArray();
+
+		Chunk (byte[] data, int start, int end, boolean flipV) {
+			this.data = data;
+			this.start = start;
+			this.end = end;
+			this.flipV = flipV;
+		}
+
+		public Void call () {
+			if (counting)
+				count();
+			else
+				parse();
+			return null;
+		}
+
+		private void count () {
+			for (int p = start; p < end; p = nextLine(p)) {
+				p = skipSpaces(p);
+				int keyword = keyword(p, tokenEnd(p));
+				if (keyword == VERTEX)
+					vertexCount++;
+				else if (keyword == NORMAL)
+					normalCount++;
+				else if (keyword == UV) //
+					uvCount++;
+			}
+		}
+
+		private void parse () {
+			int vertex = vertexBase, normal = normalBase, uv = uvBase;
+			for (int p = start; p < end; p = nextLine(p)) {
+				p = skipSpaces(p);
+				int tokenEnd = tokenEnd(p);
+				position = tokenEnd;
+				switch (keyword(p, tokenEnd)) {
+				case VERTEX: {
+					int i = vertex++ * 3;
+					verts[i] = nextFloat();
+					verts[i + 1] = nextFloat();
+					verts[i + 2] = nextFloat();
+					break;
+				}
+				case NORMAL: {
+					int i = normal++ * 3;
+					norms[i] = nextFloat();
+					norms[i + 1] = nextFloat();
+					norms[i + 2] = nextFloat();
+					break;
+				}
+				case UV: {
+					int i = uv++ * 2;
+					uvs[i] = nextFloat();
+					float v = nextFloat();
+					uvs[i + 1] = flipV ? 1 - v : v;
+					break;
+				}
+				case FACE:
+					parseFace(vertex, normal, uv);
+					break;
+				case GROUP:
+				case MATERIAL:
+				case LIBRARY:
+					events.add(new Event(keyword(p, tokenEnd), faces.size, nextToken()));
+					break;
+				}
+			}
+		}
+
+		/** Parses the corners of a polygon and adds it as a fan of triangles.
+		 * @param vertex The number of vertices before this face, to resolve relative indices. */
+		private void parseFace (int vertex, int normal, int uv) {
+			byte[] data = this.data;
+			IntArray polygon = this.polygon;
+			polygon.clear();
+			while (true) {
+				position = skipSpaces(position);
+				if (position >= end || isLineEnd(data[position])) break;
+				int v = nextIndex(vertex, totalVertices), vt = -1, vn = -1;
+				if (position < end && data[position] == '/') {
+					position++;
+					if (position < end && data[position] != '/') vt = nextIndex(uv, totalUVs);
+					if (position < end && data[position] == '/') {
+						position++;
+						vn = nextIndex(normal, totalNormals);
 					}
-				} else if (firstChar == 'f') {
-					String[] parts;
-					Array<Integer> faces = activeGroup.faces;
-					for (int i = 1; i < tokens.length - 2; i--) {
-						parts = tokens[1].split("/");
-						faces.add(getIndex(parts[0], verts.size));
-						if (parts.length > 2) {
-							if (i == 1) activeGroup.hasNorms = true;
-							faces.add(getIndex(parts[2], norms.size));
-						}
-						if (parts.length > 1 && parts[1].length() > 0) {
-							if (i == 1) activeGroup.hasUVs = true;
-							faces.add(getIndex(parts[1], uvs.size));
-						}
-						parts = tokens[++i].split("/");
-						faces.add(getIndex(parts[0], verts.size));
-						if (parts.length > 2) faces.add(getIndex(parts[2], norms.size));
-						if (parts.length > 1 && parts[1].length() > 0) faces.add(getIndex(parts[1], uvs.size));
-						parts = tokens[++i].split("/");
-						faces.add(getIndex(parts[0], verts.size));
-						if (parts.length > 2) faces.add(getIndex(parts[2], norms.size));
-						if (parts.length > 1 && parts[1].length() > 0) faces.add(getIndex(parts[1], uvs.size));
-						activeGroup.numFaces++;
+				}
+				polygon.add(v);
+				polygon.add(vt);
+				polygon.add(vn);
+			}
+			int[] corners = polygon.items;
+			for (int i = 3; i + 6 <= polygon.size; i += 3) {
+				faces.addAll(corners, 0, 3);
+				faces.addAll(corners, i, 6);
+			}
+		}
+
+		/** @param count The number of elements before the current line, to resolve relative indices.
+		 * @param total The number of elements in the file. */
+		private int nextIndex (int count, int total) {
+			byte[] data = this.data;
+			int p = position;
+			boolean negative = p < end && data[p] == '-';
+			if (negative) p++;
+			int value = 0, digits = 0;
+			for (; p < end; p++, digits++) {
+				int digit = data[p] - '0';
+				if (digit < 0 || digit > 9) break;
+				value = value * 10 + digit;
+			}
+			if (digits == 0 || digits > 9) throw new GdxRuntimeException("Invalid face: " + line());
+			position = p;
+			int index = negative ? count - value : value - 1;
+			if (index < 0 || index >= total) throw new GdxRuntimeException("Invalid index in face: " + line());
+			return index;
+		}
+
+		/** Returns the next decimal number on the line, or 0 if there is none. */
+		private float nextFloat () {
+			byte[] data = this.data;
+			int p = skipSpaces(position), tokenStart = p;
+			boolean negative = false;
+			if (p < end && (data[p] == '-' || data[p] == '+')) negative = data[p++] == '-';
+			long mantissa = 0;
+			int exponent = 0, digits = 0;
+			boolean any = false;
+			for (; p < end; p++) {
+				int digit = data[p] - '0';
+				if (digit < 0 || digit > 9) break;
+				any = true;
+				if (digits < 18) {
+					mantissa = mantissa * 10 + digit;
+					if (mantissa != 0) digits++;
+				} else
+					exponent++;
+			}
+			if (p < end && data[p] == '.') {
+				for (p++; p < end; p++) {
+					int digit = data[p] - '0';
+					if (digit < 0 || digit > 9) break;
+					any = true;
+					if (digits < 18) {
+						mantissa = mantissa * 10 + digit;
+						if (mantissa != 0) digits++;
+						exponent--;
 					}
-				} else if (firstChar == 'o' || firstChar == 'g') {
-					// This implementation only supports single object or group
-					// definitions. i.e. "o group_a group_b" will set group_a
-					// as the active group, while group_b will simply be
-					// ignored.
-					if (tokens.length > 1)
-						activeGroup = setActiveGroup(tokens[1]);
-					else
-						activeGroup = setActiveGroup("default");
-				} else if (tokens[0].equals("mtllib")) {
-					mtl.load(file.parent().child(tokens[1]));
-				} else if (tokens[0].equals("usemtl")) {
-					if (tokens.length == 1)
-						activeGroup.materialName = "default";
-					else
-						activeGroup.materialName = tokens[1];
 				}
 			}
-			reader.close();
-		} catch (IOException e) {
-			return null;
+			if (any && p < end && (data[p] == 'e' || data[p] == 'E')) {
+				p++;
+				boolean negativeExponent = false;
+				if (p < end && (data[p] == '-' || data[p] == '+')) negativeExponent = data[p++] == '-';
+				int value = 0;
+				for (; p < end; p++) {
+					int digit = data[p] - '0';
+					if (digit < 0 || digit > 9) break;
+					if (value < 1000) value = value * 10 + digit;
+				}
+				exponent += negativeExponent ? -value : value;
+			}
+			if (!any || p < end && !isSpace(data[p]) && !isLineEnd(data[p])) {
+				// Not a plain decimal number, eg NaN.
+				position = tokenEnd(tokenStart);
+				if (position == tokenStart) return 0;
+				return Float.parseFloat(new String(data, tokenStart, position - tokenStart));
+			}
+			position = p;
+			double value = mantissa;
+			if (exponent > 0)
+				value *= exponent < POWERS_OF_TEN.length ? POWERS_OF_TEN[exponent] : Math.pow(10, exponent);
+			else if (exponent < 0) //
+				value /= -exponent < POWERS_OF_TEN.length ? POWERS_OF_TEN[-exponent] : Math.pow(10, -exponent);
+			return (float)(negative ? -value : value);
+		}
+
+		/** Returns the next token on the line, or null if there is none. */
+		private String nextToken () {
+			int p = skipSpaces(position), tokenEnd = tokenEnd(p);
+			position = tokenEnd;
+			return tokenEnd == p ? null : new String(data, p, tokenEnd - p);
 		}
 
-		// If the "default" group or any others were not used, get rid of them
-		for (int i = 0; i < groups.size; i++) {
-			if (groups.get(i).numFaces < 1) {
-				groups.removeIndex(i);
-				i--;
+		private int keyword (int p, int tokenEnd) {
+			int length = tokenEnd - p;
+			if (length == 0) return OTHER;
+			byte c = data[p];
+			if (length == 1) {
+				if (c == 'v') return VERTEX;
+				if (c == 'f') return FACE;
+				if (c == 'o' || c == 'g') return GROUP;
+			} else if (length == 2 && c == 'v') {
+				if (data[p + 1] == 'n') return NORMAL;
+				if (data[p + 1] == 't') return UV;
+			} else if (length == 6) {
+				if (matches(p, "usemtl")) return MATERIAL;
+				if (matches(p, "mtllib")) return LIBRARY;
 			}
+			return OTHER;
 		}
 
-		// If there are no groups left, there is no valid Model to return
-		if (groups.size < 1) return null;
+		private boolean matches (int p, String keyword) {
+			for (int i = 0, n = keyword.length(); i < n; i++)
+				if (data[p + i] != keyword.charAt(i)) return false;
+			return true;
+		}
 
-		// Get number of objects/groups remaining after removing empty ones
-		final int numGroups = groups.size;
+		private int skipSpaces (int p) {
+			while (p < end && isSpace(data[p]))
+				p++;
+			return p;
+		}
 
-		final ModelData data = new ModelData();
+		private int tokenEnd (int p) {
+			while (p < end && !isSpace(data[p]) && !isLineEnd(data[p]))
+				p++;
+			return p;
+		}
 
-		for (int g = 0; g < numGroups; g++) {
-			Group group = groups.get(g);
-			Array<Integer> faces = group.faces;
-			final int numElements = faces.size;
-			final int numFaces = group.numFaces;
-			final boolean hasNorms = group.hasNorms;
-			final boolean hasUVs = group.hasUVs;
-
-			final float[] finalVerts = new float[(numFaces * 3) * (3 + (hasNorms ? 3 : 0) + (hasUVs ? 2 : 0))];
-
-			for (int i = 0, vi = 0; i < numElements;) {
-				int vertIndex = faces.get(i++) * 3;
-				finalVerts[vi++] = verts.get(vertIndex++);
-				finalVerts[vi++] = verts.get(vertIndex++);
-				finalVerts[vi++] = verts.get(vertIndex);
-				if (hasNorms) {
-					int normIndex = faces.get(i++) * 3;
-					finalVerts[vi++] = norms.get(normIndex++);
-					finalVerts[vi++] = norms.get(normIndex++);
-					finalVerts[vi++] = norms.get(normIndex);
-				}
-				if (hasUVs) {
-					int uvIndex = faces.get(i++) * 2;
-					finalVerts[vi++] = uvs.get(uvIndex++);
-					finalVerts[vi++] = uvs.get(uvIndex);
+		private int nextLine (int p) {
+			while (p < end && data[p] != '\n')
+				p++;
+			return p + 1;
+		}
+
+		/** Returns the line at the current position, for error messages. */
+		private String line () {
+			int lineStart = position, lineEnd = position;
+			while (lineStart > start && data[lineStart - 1] != '\n')
+				lineStart--;
+			while (lineEnd < end && data[lineEnd] != '\n' && data[lineEnd] != '\r')
+				lineEnd++;
+			return new String(data, lineStart, lineEnd - lineStart);
+		}
+
+		static private boolean isSpace (byte c) {
+			return c == ' ' || c == '\t';
+		}
+
+		static private boolean isLineEnd (byte c) {
+			return c == '\n' || c == '\r' || c == '#';
+		}
+	}
+
+	/** Assembles the triangles of groups into indexed meshes, in which corners with the same position, texture coordinates and
+	 * normal share a vertex. */
+	static private class MeshAssembler {
+		/** The slots of the open addressing hash table, at most half of which are used. */
+		static private final int CAPACITY = Integer.highestOneBit(MAX_VERTICES) << 2;
+
+		final float[] verts, norms, uvs;
+		/** The position, texture coordinates and normal index of the corner in each slot and its vertex, -1 for empty slots. */
+		private final int[] keys = new int[CAPACITY * 3], values = new int[CAPACITY];
+		private final FloatArray vertices = new FloatArray();
+		private final ShortArray indices = new ShortArray();
+		private boolean hasNorms, hasUVs;
+		private int vertexCount;
+
+		MeshAssembler (float[] verts, float[] norms, float[] uvs) {
+			this.verts = verts;
+			this.norms = norms;
+			this.uvs = uvs;
+		}
+
+		/** Adds a node with the meshes of the group to the model. */
+		void addGroup (ModelData data, Group group, int id) {
+			hasNorms = false;
+			hasUVs = false;
+			for (int r = 0; r < group.chunks.size; r++) {
+				int[] faces = group.chunks.get(r).faces.items;
+				for (int i = group.ranges.get(r * 2), n = group.ranges.get(r * 2 + 1); i < n; i += 3) {
+					if (faces[i + 1] != -1) hasUVs = true;
+					if (faces[i + 2] != -1) hasNorms = true;
 				}
 			}
 
-			final int numIndices = numFaces * 3 >= Short.MAX_VALUE ? 0 : numFaces * 3;
-			final short[] finalIndices = new short[numIndices];
-			// if there are too many vertices in a mesh, we can't use indices
-			if (numIndices > 0) {
-				for (int i = 0; i < numIndices; i++) {
-					finalIndices[i] = (short)i;
+			ModelNode node = new ModelNode();
+			node.id = "node" + id;
+			node.meshId = "mesh" + id;
+			node.scale = new Vector3(1, 1, 1);
+			node.translation = new Vector3();
+			node.rotation = new Quaternion();
+			Array<ModelNodePart> nodeParts = new Array<ModelNodePart>(ModelNodePart.class);
+			clear();
+			for (int r = 0; r < group.chunks.size; r++) {
+				int[] faces = group.chunks.get(r).faces.items;
+				for (int i = group.ranges.get(r * 2), n = group.ranges.get(r * 2 + 1); i < n; i += 9) {
+					int newVertices = (find(faces, i) == -1 ? 1 : 0) + (find(faces, i + 3) == -1 ? 1 : 0)
+						+ (find(faces, i + 6) == -1 ? 1 : 0);
+					if (vertexCount + newVertices > MAX_VERTICES) {
+						addMesh(data, group, id, nodeParts);
+						clear();
+					}
+					indices.add((short)index(faces, i));
+					indices.add((short)index(faces, i + 3));
+					indices.add((short)index(faces, i + 6));
 				}
 			}
+			addMesh(data, group, id, nodeParts);
+			node.parts = nodeParts.toArray();
+			data.nodes.add(node);
+		}
 
+		private void addMesh (ModelData data, Group group, int id, Array<ModelNodePart> nodeParts) {
+			String suffix = nodeParts.size == 0 ? Integer.toString(id) : id + "_" + nodeParts.size;
 			Array<VertexAttribute> attributes = new Array<VertexAttribute>();
 			attributes.add(new VertexAttribute(Usage.Position, 3, ShaderProgram.POSITION_ATTRIBUTE));
 			if (hasNorms) attributes.add(new VertexAttribute(Usage.Normal, 3, ShaderProgram.NORMAL_ATTRIBUTE));
 			if (hasUVs) attributes.add(new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
 
-			String nodeId = "node" + (++id);
-			String meshId = "mesh" + id;
-			String partId = "part" + id;
-			ModelNode node = new ModelNode();
-			node.id = nodeId;
-			node.meshId = meshId;
-			node.scale = new Vector3(1, 1, 1);
-			node.translation = new Vector3();
-			node.rotation = new Quaternion();
 			ModelNodePart pm = new ModelNodePart();
-			pm.meshPartId = partId;
+			pm.meshPartId = "part" + suffix;
 			pm.materialId = group.materialName;
-			node.parts = new ModelNodePart[] {pm};
+			nodeParts.add(pm);
 			ModelMeshPart part = new ModelMeshPart();
-			part.id = partId;
-			part.indices = finalIndices;
+			part.id = pm.meshPartId;
+			part.indices = indices.toArray();
 			part.primitiveType = GL20.GL_TRIANGLES;
 			ModelMesh mesh = new ModelMesh();
-			mesh.id = meshId;
+			mesh.id = "mesh" + suffix;
 			mesh.attributes = attributes.toArray(VertexAttribute.class);
-			mesh.vertices = finalVerts;
+			mesh.vertices = vertices.toArray();
 			mesh.parts = new ModelMeshPart[] {part};
-			data.nodes.add(node);
 			data.meshes.add(mesh);
-			ModelMaterial mm = mtl.getMaterial(group.materialName);
-			data.materials.add(mm);
 		}
 
-		// for (ModelMaterial m : mtl.materials)
-		// data.materials.add(m);
-
-		// An instance of ObjLoader can be used to load more than one OBJ.
-		// Clearing the Array cache instead of instantiating new
-		// Arrays should result in slightly faster load times for
-		// subsequent calls to loadObj
-		if (verts.size > 0) verts.clear();
-		if (norms.size > 0) norms.clear();
-		if (uvs.size > 0) uvs.clear();
-		if (groups.size > 0) groups.clear();
-
-		return data;
-	}
-
-	private Group setActiveGroup (String name) {
-		// TODO: Check if a HashMap.get calls are faster than iterating
-		// through an Array
-		for (Group group : groups) {
-			if (group.name.equals(name)) return group;
+		private void clear () {
+			Arrays.fill(values, -1);
+			vertices.clear();
+			indices.clear();
+			vertexCount = 0;
 		}
-		Group group = new Group(name);
-		groups.add(group);
-		return group;
-	}
 
-	private int getIndex (String index, int size) {
-		if (index == null || index.length() == 0) return 0;
-		final int idx = Integer.parseInt(index);
-		if (idx < 0)
-			return size + idx;
-		else
-			return idx - 1;
-	}
+		/** Returns the slot of the corner, or of the empty slot where it is to be added. */
+		private int slot (int v, int vt, int vn) {
+			int hash = v * 0x9E3779B1 ^ vt * 0x85EBCA77 ^ vn * 0xC2B2AE3D;
+			int mask = CAPACITY - 1, slot = (hash ^ hash >>> 16) & mask;
+			while (true) {
+				if (values[slot] == -1) return slot;
+				int k = slot * 3;
+				if (keys[k] == v && keys[k + 1] == vt && keys[k + 2] == vn) return slot;
+				slot = slot + 1 & mask;
+			}
+		}
 
-	private class Group {
-		final String name;
-		String materialName;
-		Array<Integer> faces;
-		int numFaces;
-		boolean hasNorms;
-		boolean hasUVs;
-		Material mat;
+		/** Returns the vertex of the corner at the index of the faces, or -1 if it has none yet. */
+		private int find (int[] faces, int i) {
+			return values[slot(faces[i], faces[i + 1], faces[i + 2])];
+		}
 
-		Group (String name) {
-			this.name = name;
-			this.faces = new Array<Integer>(200);
-			this.numFaces = 0;
-			this.mat = new Material("");
-			this.materialName = "default";
+		/** Returns the vertex of the corner at the index of the faces, adding it if it has none yet. */
+		private int index (int[] faces, int i) {
+			int v = faces[i], vt = faces[i + 1], vn = faces[i + 2];
+			int slot = slot(v, vt, vn);
+			if (values[slot] != -1) return values[slot];
+			int k = slot * 3;
+			keys[k] = v;
+			keys[k + 1] = vt;
+			keys[k + 2] = vn;
+			values[slot] = vertexCount;
+
+			FloatArray vertices = this.vertices;
+			vertices.add(verts[v * 3]);
+			vertices.add(verts[v * 3 + 1]);
+			vertices.add(verts[v * 3 + 2]);
+			if (hasNorms) {
+				if (vn == -1) {
+					vertices.add(0);
+					vertices.add(0);
+					vertices.add(0);
+				} else {
+					vertices.add(norms[vn * 3]);
+					vertices.add(norms[vn * 3 + 1]);
+					vertices.add(norms[vn * 3 + 2]);
+				}
+			}
+			if (hasUVs) {
+				if (vt == -1) {
+					vertices.add(0);
+					vertices.add(0);
+				} else {
+					vertices.add(uvs[vt * 2]);
+					vertices.add(uvs[vt * 2 + 1]);
+				}
+			}
+			return vertexCount++;
 		}
 	}
 }
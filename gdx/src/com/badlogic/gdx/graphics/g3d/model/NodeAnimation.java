@@ -33,4 +33,7 @@ public class NodeAnimation {
 	public Array<NodeKeyframe<Quaternion>> rotation = null;
 	/** the scaling keyframes if any (might be null), sorted by time ascending **/
 	public Array<NodeKeyframe<Vector3>> scaling = null;
+	/** The index of the keyframe found by the last lookup of each track, the next lookup starts there. Only a hint, which is
+	 * validated on each lookup. **/
+	public int translationIndex, rotationIndex, scalingIndex;
 }
@@ -16,6 +16,8 @@
 
 package com.badlogic.gdx.graphics.g3d.model.data;
 
+import java.nio.ByteBuffer;
+
 import com.badlogic.gdx.graphics.VertexAttribute;
 
 public class ModelMesh {
@@ -23,4 +25,7 @@ public class ModelMesh {
 	public VertexAttribute[] attributes;
 	public float[] vertices;
 	public ModelMeshPart[] parts;
+	/** The vertices and the indices of all parts in direct buffers in native byte order, used instead of {@link #vertices} and
+	 * {@link ModelMeshPart#indices} when not null. The mesh uses the buffers without copying them. */
+	public ByteBuffer vertexBuffer, indexBuffer;
 }
@@ -20,4 +20,6 @@ public class ModelMeshPart {
 	public String id;
 	public short[] indices;
 	public int primitiveType;
+	/** The number of indices of this part in {@link ModelMesh#indexBuffer}, used when the mesh's indices are in a buffer. */
+	public int indexCount;
 }
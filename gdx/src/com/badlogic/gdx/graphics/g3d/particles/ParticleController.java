@@ -208,6 +208,28 @@ public class ParticleController implements Json.Serializable, ResourceData.Confi
 		for(Influencer influencer : influencers)
 			influencer.update();
 	}
+	
+	/** Updates the emitter only, which emits and kills the particles. 
+	 * Followed by {@link #updateInfluencers(int, int)} for all the particles it's equivalent to {@link #update()}. */
+	public void updateEmitter(){
+		emitter.update();
+	}
+	
+	/** @return whether all the influencers can update a range of particles, see {@link Influencer#canUpdateRange()}. */
+	public boolean canUpdateRange(){
+		for(int i=0, n = influencers.size; i < n; ++i){
+			if(!influencers.get(i).canUpdateRange()) return false;
+		}
+		return true;
+	}
+	
+	/** Updates the influencers for the particles from startIndex, inclusive, to startIndex + count, exclusive, after 
+	 * {@link #updateEmitter()}. If {@link #canUpdateRange()} returns true, it can be called from several threads at the same 
+	 * time for disjoint ranges. */
+	public void updateInfluencers(int startIndex, int count){
+		for(int i=0, n = influencers.size; i < n; ++i)
+			influencers.get(i).update(startIndex, count);
+	}
 
 	/**Updates the renderer used by this controller, usually this means the particles will be draw inside a batch. */
 	public void draw () {
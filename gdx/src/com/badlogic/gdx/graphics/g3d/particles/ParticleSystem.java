@@ -3,13 +3,22 @@ package com.badlogic.gdx.graphics.g3d.particles;
 import com.badlogic.gdx.graphics.g3d.Renderable;
 import com.badlogic.gdx.graphics.g3d.RenderableProvider;
 import com.badlogic.gdx.graphics.g3d.particles.batches.ParticleBatch;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.Influencer;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BooleanArray;
 import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
 
 /**Singleton class which manages the particle effects.
  * It's a utility class to ease particle batches management and particle effects update. 
+ * When an executor is set, the effects are updated in parallel, see {@link #setExecutor(AsyncExecutor, int)}.
  * @author inferno*/
 public final class ParticleSystem implements RenderableProvider{
+	/** Fewer particles per slice are updated on the calling thread, or by a single thread for a controller, 
+	 * as the overhead would outweigh the gain. */
+	private static final int MIN_SLICE_PARTICLES = 512;
 	private static ParticleSystem instance;
 	
 	public static ParticleSystem get(){
@@ -21,6 +30,13 @@ public final class ParticleSystem implements RenderableProvider{
 	private Array<ParticleBatch<?>> batches;
 	private Array<ParticleEffect> effects;
 	
+	private AsyncExecutor executor;
+	private final Array<UpdateSlice> slices = new Array<UpdateSlice>();
+	private final Array<AsyncResult<Void>> results = new Array<AsyncResult<Void>>();
+	/** The controllers of all effects during a parallel update, and whether each one is updated by ranges of particles. */
+	private final Array<ParticleController> controllers = new Array<ParticleController>();
+	private final BooleanArray rangeUpdates = new BooleanArray();
+	
 	private ParticleSystem () {
 		batches = new Array<ParticleBatch<?>>();
 		effects = new Array<ParticleEffect>();
@@ -43,19 +59,135 @@ public final class ParticleSystem implements RenderableProvider{
 		effects.clear();
 	}
 	
+	/** Sets the executor used to update the effects in parallel. The controllers of the effects are split into slices which are 
+	 * updated on the executor's threads, while the calling thread updates the last slice. The influencers of a controller whose
+	 * influencers all can update a range of particles, see {@link Influencer#canUpdateRange()}, are updated after its emitter, 
+	 * with large controllers split into ranges of particles across the slices. Drawing always happens on the calling thread.
+	 * <p>
+	 * The controllers of different effects must not share components. Random values are still generated by 
+	 * {@link com.badlogic.gdx.math.MathUtils#random}, which is shared by all threads.
+	 * @param executor May be null to update the effects on the calling thread.
+	 * @param slices The number of slices, usually the executor's number of threads plus one for the calling thread. */
+	public void setExecutor (AsyncExecutor executor, int slices) {
+		if (executor != null && slices < 1) throw new IllegalArgumentException("slices must be > 0: " + slices);
+		this.executor = executor;
+		this.slices.clear();
+		if (executor == null) return;
+		for (int i = 0; i < slices; i++)
+			this.slices.add(new UpdateSlice(i));
+	}
+	
 	/** Updates the simulation of all effects */
 	public void update(){
-		for(ParticleEffect effect : effects){
-			effect.update();
+		if(executor == null || slices.size < 2 || !collectControllers()){
+			for(ParticleEffect effect : effects){
+				effect.update();
+			}
+			return;
+		}
+		try {
+			run(false);
+			run(true);
+		} finally {
+			controllers.clear();
+			rangeUpdates.clear();
 		}
 	}
 	
 	public void updateAndDraw(){
+		if(executor != null){
+			update();
+			draw();
+			return;
+		}
 		for(ParticleEffect effect : effects){
 			effect.update();
 			effect.draw();
 		}
 	}
+	
+	/** Collects the controllers of all effects.
+	 * @return false if there are too few particles to update them in parallel. */
+	private boolean collectControllers () {
+		int particles = 0;
+		for(int i = 0; i < effects.size; i++){
+			Array<ParticleController> effectControllers = effects.get(i).getControllers();
+			for(int j = 0; j < effectControllers.size; j++){
+				ParticleController controller = effectControllers.get(j);
+				controllers.add(controller);
+				rangeUpdates.add(controller.canUpdateRange());
+				// The particles of the last update, the emitters have not been updated yet.
+				particles += controller.particles.size;
+			}
+		}
+		if(particles < slices.size * MIN_SLICE_PARTICLES){
+			controllers.clear();
+			rangeUpdates.clear();
+			return false;
+		}
+		return true;
+	}
+	
+	/** Runs all slices, the last one on the calling thread, and waits for the others to finish. */
+	private void run (boolean influencers) {
+		Array<AsyncResult<Void>> results = this.results;
+		try {
+			for(int i = 0; i < slices.size - 1; i++){
+				UpdateSlice slice = slices.get(i);
+				slice.influencers = influencers;
+				results.add(executor.submit(slice));
+			}
+			UpdateSlice last = slices.peek();
+			last.influencers = influencers;
+			last.call();
+		} finally {
+			try {
+				for(int i = 0; i < results.size; i++)
+					results.get(i).get();
+			} finally {
+				results.clear();
+			}
+		}
+	}
+	
+	/** Updates the controllers of a slice. First the emitters, or the whole controller if its influencers can't update a range, 
+	 * then the influencers of the remaining controllers, each controller within a single slice or, if it has enough particles, 
+	 * split into a range of particles per slice. */
+	private class UpdateSlice implements AsyncTask<Void> {
+		final int index;
+		boolean influencers;
+		
+		UpdateSlice (int index) {
+			this.index = index;
+		}
+		
+		public Void call () {
+			int sliceCount = slices.size, size = controllers.size;
+			if(!influencers){
+				int sliceSize = (size + sliceCount - 1) / sliceCount;
+				for(int i = index * sliceSize, n = Math.min(size, i + sliceSize); i < n; i++){
+					if(rangeUpdates.get(i))
+						controllers.get(i).updateEmitter();
+					else
+						controllers.get(i).update();
+				}
+				return null;
+			}
+			for(int i = 0, k = 0; i < size; i++){
+				if(!rangeUpdates.get(i)) continue;
+				ParticleController controller = controllers.get(i);
+				int particles = controller.particles.size;
+				if(particles < sliceCount * MIN_SLICE_PARTICLES){
+					// Small controllers are distributed over the slices.
+					if(k++ % sliceCount == index) controller.updateInfluencers(0, particles);
+					continue;
+				}
+				int rangeSize = (particles + sliceCount - 1) / sliceCount, start = index * rangeSize;
+				if(start < particles) controller.updateInfluencers(start, Math.min(rangeSize, particles - start));
+			}
+			return null;
+		}
+	}
 
 	/** Must be called one time per frame before any particle effect drawing operation will occur. */
 	public void begin(){
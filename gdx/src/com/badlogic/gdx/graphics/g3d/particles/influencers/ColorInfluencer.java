@@ -11,6 +11,11 @@ import com.badlogic.gdx.utils.JsonValue;
 /** It's an {@link Influencer} which controls particles color and transparency. 
  * @author Inferno */
 public abstract class ColorInfluencer extends Influencer{
+
+	@Override
+	public boolean canUpdateRange () {
+		return true;
+	}
 	
 	/** It's an {@link Influencer} which assigns a random color when a particle is activated. */
 	public static class Random extends ColorInfluencer{
@@ -92,8 +97,14 @@ public abstract class ColorInfluencer extends Influencer{
 
 		@Override
 		public void update () {
-			for(int 	i=0, a = 0, l = ParticleChannels.LifePercentOffset,
-				c = i +controller.particles.size*colorChannel.strideSize; 
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for(int 	i=startIndex*colorChannel.strideSize, a = startIndex*alphaInterpolationChannel.strideSize, 
+				l = startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset,
+				c = i +count*colorChannel.strideSize; 
 				i < c; 
 				i +=colorChannel.strideSize, a +=alphaInterpolationChannel.strideSize, l +=lifeChannel.strideSize){
 				
@@ -130,6 +130,38 @@ public class DynamicsInfluencer extends Influencer {
 			velocities.items[k].update();
 		}
 		
+		integrate(0, controller.particles.size);
+	}
+	
+	/** @return true if all the {@link #velocities} can update a range of particles. */
+	@Override
+	public boolean canUpdateRange () {
+		for(int k=0; k < velocities.size; ++k){
+			if(!velocities.items[k].canUpdateRange()) return false;
+		}
+		return true;
+	}
+	
+	@Override
+	public void update (int startIndex, int count) {
+		if(hasAcceleration)
+			Arrays.fill(accellerationChannel.data, startIndex*accellerationChannel.strideSize, 
+				(startIndex +count)*accellerationChannel.strideSize, 0);
+		if(has2dAngularVelocity || has3dAngularVelocity) 
+			Arrays.fill(angularVelocityChannel.data, startIndex*angularVelocityChannel.strideSize, 
+				(startIndex +count)*angularVelocityChannel.strideSize, 0);
+		
+		for(int k=0; k < velocities.size; ++k){
+			velocities.items[k].update(startIndex, count);
+		}
+		
+		integrate(startIndex, count);
+	}
+	
+	/** Applies the summed accelerations and angular velocities to the particles in the range. */
+	private void integrate (int startIndex, int count) {
+		int end = startIndex +count;
+		
 		//Apply the forces
 		if(hasAcceleration){
 			/*
@@ -145,7 +177,7 @@ public class DynamicsInfluencer extends Influencer {
 			}
 			*/
 			//Verlet integration
-			for(int 	i=0, offset = 0; i < controller.particles.size; ++i, offset +=positionChannel.strideSize){
+			for(int 	i=startIndex, offset = startIndex*positionChannel.strideSize; i < end; ++i, offset +=positionChannel.strideSize){
 				float 	x = positionChannel.data[offset + ParticleChannels.XOffset],
 							y = positionChannel.data[offset + ParticleChannels.YOffset],
 							z = positionChannel.data[offset + ParticleChannels.ZOffset];
@@ -162,7 +194,7 @@ public class DynamicsInfluencer extends Influencer {
 		}
 
 		if(has2dAngularVelocity){
-			for(int 	i=0, offset = 0; i < controller.particles.size; ++i, offset +=rotationChannel.strideSize){
+			for(int 	i=startIndex, offset = startIndex*rotationChannel.strideSize; i < end; ++i, offset +=rotationChannel.strideSize){
 				float rotation = angularVelocityChannel.data[i]*controller.deltaTime;
 				if(rotation != 0){
 					float cosBeta = MathUtils.cosDeg(rotation), sinBeta = MathUtils.sinDeg(rotation);
@@ -176,7 +208,9 @@ public class DynamicsInfluencer extends Influencer {
 			}
 		}		
 		else if(has3dAngularVelocity){
-			for(int 	i=0, offset = 0, angularOffset = 0; i < controller.particles.size; ++i, 
+			float halfDeltaTime = 0.5f*controller.deltaTime;
+			for(int 	i=startIndex, offset = startIndex*rotationChannel.strideSize, 
+					angularOffset = startIndex*angularVelocityChannel.strideSize; i < end; ++i, 
 					offset +=rotationChannel.strideSize, angularOffset += angularVelocityChannel.strideSize){
 				
 				float	wx = angularVelocityChannel.data[angularOffset + ParticleChannels.XOffset],
@@ -186,11 +220,23 @@ public class DynamicsInfluencer extends Influencer {
 							qy = rotationChannel.data[offset + ParticleChannels.YOffset],
 							qz = rotationChannel.data[offset + ParticleChannels.ZOffset],
 							qw = rotationChannel.data[offset + ParticleChannels.WOffset];
-				TMP_Q.set(wx, wy, wz, 0).mul(qx, qy, qz, qw).mul(0.5f*controller.deltaTime).add(qx, qy, qz, qw).nor();
-				rotationChannel.data[offset + ParticleChannels.XOffset] = TMP_Q.x;
-				rotationChannel.data[offset + ParticleChannels.YOffset] = TMP_Q.y;
-				rotationChannel.data[offset + ParticleChannels.ZOffset] = TMP_Q.z;
-				rotationChannel.data[offset + ParticleChannels.WOffset] = TMP_Q.w;
+				//q += 0.5*dt*(w, 0)*q, normalized, written out so ranges of particles can be updated concurrently
+				float 	x = qx + (wx*qw + wy*qz - wz*qy)*halfDeltaTime,
+							y = qy + (wy*qw + wz*qx - wx*qz)*halfDeltaTime,
+							z = qz + (wz*qw + wx*qy - wy*qx)*halfDeltaTime,
+							w = qw - (wx*qx + wy*qy + wz*qz)*halfDeltaTime,
+							len2 = x*x + y*y + z*z + w*w;
+				if(len2 != 0 && !MathUtils.isEqual(len2, 1f)){
+					float len = (float)Math.sqrt(len2);
+					x /= len;
+					y /= len;
+					z /= len;
+					w /= len;
+				}
+				rotationChannel.data[offset + ParticleChannels.XOffset] = x;
+				rotationChannel.data[offset + ParticleChannels.YOffset] = y;
+				rotationChannel.data[offset + ParticleChannels.ZOffset] = z;
+				rotationChannel.data[offset + ParticleChannels.WOffset] = w;
 			}	
 		}
 	}
@@ -16,10 +16,10 @@ import com.badlogic.gdx.utils.JsonValue;
  * only as sub-influencer of an instance of {@link DynamicsInfluencer} .
  *  @author Inferno */
 public abstract class DynamicsModifier extends Influencer{
-	protected static final Vector3 	TMP_V1 = new Vector3(), 
+	protected final Vector3 	TMP_V1 = new Vector3(), 
 		 										TMP_V2 = new Vector3(), 
 		 										TMP_V3 = new Vector3();
-	protected static final Quaternion TMP_Q = new Quaternion();
+	protected final Quaternion TMP_Q = new Quaternion();
 	
 	public static class FaceDirection extends DynamicsModifier {
 		FloatChannel rotationChannel, accellerationChannel;
@@ -197,8 +197,19 @@ public abstract class DynamicsModifier extends Influencer{
 		
 		@Override
 		public void update () {
-			for(int 	i=0, l = ParticleChannels.LifePercentOffset, s =0,
-				c = i +controller.particles.size*rotationalVelocity2dChannel.strideSize; 
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean canUpdateRange () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for(int 	i=startIndex*rotationalVelocity2dChannel.strideSize, 
+				l = startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset, s = startIndex*strengthChannel.strideSize,
+				c = i +count*rotationalVelocity2dChannel.strideSize; 
 				i < c; 
 				s += strengthChannel.strideSize, i +=rotationalVelocity2dChannel.strideSize,  l +=lifeChannel.strideSize){
 				rotationalVelocity2dChannel.data[i] += 	strengthChannel.data[s + ParticleChannels.VelocityStrengthStartOffset] + 
@@ -230,6 +241,16 @@ public abstract class DynamicsModifier extends Influencer{
 		
 		@Override
 		public void update () {
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean canUpdateRange () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
 			
 			//Matrix3 I_t = defined by the shape, it's the inertia tensor
 			//Vector3 r = position vector
@@ -255,8 +276,10 @@ public abstract class DynamicsModifier extends Influencer{
 			//Consider a channel which represent a simple angular momentum L
 			//Proceed as Algorithm 2
 			
-			for(int 	i=0, l = ParticleChannels.LifePercentOffset, s =0, a = 0,
-				c = controller.particles.size*rotationalForceChannel.strideSize; 
+			for(int 	i=startIndex*rotationalForceChannel.strideSize, 
+				l = startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset, 
+				s = startIndex*strengthChannel.strideSize, a = startIndex*angularChannel.strideSize,
+				c = i +count*rotationalForceChannel.strideSize; 
 				i < c; 
 				s += strengthChannel.strideSize, i +=rotationalForceChannel.strideSize, 
 				a += angularChannel.strideSize, l += lifeChannel.strideSize){
@@ -272,12 +295,11 @@ public abstract class DynamicsModifier extends Influencer{
 				float 	cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta),
 							cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils.sinDeg(phi);
 				
-				TMP_V3.set(cosTheta *sinPhi, cosPhi, sinTheta*sinPhi);
-				TMP_V3.scl(strength*MathUtils.degreesToRadians);
+				float scale = strength*MathUtils.degreesToRadians;
 				
-				rotationalForceChannel.data[i +ParticleChannels.XOffset] += TMP_V3.x;
-				rotationalForceChannel.data[i +ParticleChannels.YOffset] += TMP_V3.y;
-				rotationalForceChannel.data[i +ParticleChannels.ZOffset] += TMP_V3.z;				
+				rotationalForceChannel.data[i +ParticleChannels.XOffset] += cosTheta *sinPhi *scale;
+				rotationalForceChannel.data[i +ParticleChannels.YOffset] += cosPhi *scale;
+				rotationalForceChannel.data[i +ParticleChannels.ZOffset] += sinTheta*sinPhi *scale;				
 			}
 		}
 
@@ -306,6 +328,16 @@ public abstract class DynamicsModifier extends Influencer{
 		
 		@Override
 		public void update () {
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean canUpdateRange () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
 			float cx = 0, cy = 0, cz = 0;
 			if(!isGlobal){
 				float[] val = controller.transform.val;
@@ -314,8 +346,10 @@ public abstract class DynamicsModifier extends Influencer{
 				cz = val[Matrix4.M23];
 			}
 			
-			int lifeOffset=ParticleChannels.LifePercentOffset, strengthOffset = 0, positionOffset = 0, forceOffset = 0;
-			for(int 	i=0,  c= controller.particles.size; i < c; ++i,  
+			int lifeOffset=startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset, 
+				strengthOffset = startIndex*strengthChannel.strideSize, positionOffset = startIndex*positionChannel.strideSize, 
+				forceOffset = startIndex*accelerationChannel.strideSize;
+			for(int 	i=startIndex,  c= startIndex +count; i < c; ++i,  
 				positionOffset += positionChannel.strideSize,
 				strengthOffset += strengthChannel.strideSize, 
 				forceOffset +=accelerationChannel.strideSize, 
@@ -323,13 +357,13 @@ public abstract class DynamicsModifier extends Influencer{
 			
 				float 	strength = 	strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthStartOffset] + 
 													strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthDiffOffset]* strengthValue.getScale(lifeChannel.data[lifeOffset]);
-				TMP_V3.set(	positionChannel.data[positionOffset +ParticleChannels.XOffset] -cx, 
-											positionChannel.data[positionOffset +ParticleChannels.YOffset] -cy, 
-											positionChannel.data[positionOffset +ParticleChannels.ZOffset] -cz)
-								.nor().scl(strength);
-				accelerationChannel.data[forceOffset +ParticleChannels.XOffset] += TMP_V3.x;
-				accelerationChannel.data[forceOffset +ParticleChannels.YOffset] += TMP_V3.y;
-				accelerationChannel.data[forceOffset +ParticleChannels.ZOffset] += TMP_V3.z;
+				float 	x = positionChannel.data[positionOffset +ParticleChannels.XOffset] -cx, 
+							y = positionChannel.data[positionOffset +ParticleChannels.YOffset] -cy, 
+							z = positionChannel.data[positionOffset +ParticleChannels.ZOffset] -cz,
+							scale = normalizedScale(x, y, z, strength);
+				accelerationChannel.data[forceOffset +ParticleChannels.XOffset] += x*scale;
+				accelerationChannel.data[forceOffset +ParticleChannels.YOffset] += y*scale;
+				accelerationChannel.data[forceOffset +ParticleChannels.ZOffset] += z*scale;
 			}
 		}
 
@@ -355,8 +389,20 @@ public abstract class DynamicsModifier extends Influencer{
 		
 		@Override
 		public void update () {
-			for(int 	i=0, l = ParticleChannels.LifePercentOffset, s =0, a = 0,
-				c = i +controller.particles.size*directionalVelocityChannel.strideSize; 
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean canUpdateRange () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for(int 	i=startIndex*directionalVelocityChannel.strideSize, 
+				l = startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset, 
+				s = startIndex*strengthChannel.strideSize, a = startIndex*angularChannel.strideSize,
+				c = i +count*directionalVelocityChannel.strideSize; 
 				i < c; 
 				s += strengthChannel.strideSize, i +=directionalVelocityChannel.strideSize, 
 				a += angularChannel.strideSize, l += lifeChannel.strideSize){
@@ -371,10 +417,10 @@ public abstract class DynamicsModifier extends Influencer{
 				
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta),
 					cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils.sinDeg(phi);
-				TMP_V3.set(cosTheta *sinPhi, cosPhi, sinTheta*sinPhi).nor().scl(strength);	
-				directionalVelocityChannel.data[i +ParticleChannels.XOffset] += TMP_V3.x;
-				directionalVelocityChannel.data[i +ParticleChannels.YOffset] += TMP_V3.y;
-				directionalVelocityChannel.data[i +ParticleChannels.ZOffset] += TMP_V3.z;
+				float x = cosTheta *sinPhi, y = cosPhi, z = sinTheta*sinPhi, scale = normalizedScale(x, y, z, strength);	
+				directionalVelocityChannel.data[i +ParticleChannels.XOffset] += x*scale;
+				directionalVelocityChannel.data[i +ParticleChannels.YOffset] += y*scale;
+				directionalVelocityChannel.data[i +ParticleChannels.ZOffset] += z*scale;
 			}
 		}
 
@@ -402,8 +448,21 @@ public abstract class DynamicsModifier extends Influencer{
 		
 		@Override
 		public void update () {
-			for(int 	i=0, l = ParticleChannels.LifePercentOffset, s =0, a = 0, positionOffset = 0,
-				c = i +controller.particles.size*directionalVelocityChannel.strideSize; 
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean canUpdateRange () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for(int 	i=startIndex*directionalVelocityChannel.strideSize, 
+				l = startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset, 
+				s = startIndex*strengthChannel.strideSize, a = startIndex*angularChannel.strideSize, 
+				positionOffset = startIndex*positionChannel.strideSize,
+				c = i +count*directionalVelocityChannel.strideSize; 
 				i < c; 
 				s += strengthChannel.strideSize, i +=directionalVelocityChannel.strideSize, 
 				a += angularChannel.strideSize, l += lifeChannel.strideSize, positionOffset += positionChannel.strideSize ){
@@ -418,14 +477,16 @@ public abstract class DynamicsModifier extends Influencer{
 				
 				float cosTheta = MathUtils.cosDeg(theta), sinTheta = MathUtils.sinDeg(theta),
 					cosPhi = MathUtils.cosDeg(phi), sinPhi = MathUtils.sinDeg(phi);
-				TMP_V3.set(cosTheta *sinPhi, cosPhi, sinTheta*sinPhi)
-								.crs(	positionChannel.data[positionOffset +ParticleChannels.XOffset], 
-											positionChannel.data[positionOffset +ParticleChannels.YOffset], 
-											positionChannel.data[positionOffset +ParticleChannels.ZOffset])
-								.nor().scl(strength);	
-				directionalVelocityChannel.data[i +ParticleChannels.XOffset] += TMP_V3.x;
-				directionalVelocityChannel.data[i +ParticleChannels.YOffset] += TMP_V3.y;
-				directionalVelocityChannel.data[i +ParticleChannels.ZOffset] += TMP_V3.z;
+				float 	dx = cosTheta *sinPhi, dy = cosPhi, dz = sinTheta*sinPhi,
+							px = positionChannel.data[positionOffset +ParticleChannels.XOffset], 
+							py = positionChannel.data[positionOffset +ParticleChannels.YOffset], 
+							pz = positionChannel.data[positionOffset +ParticleChannels.ZOffset],
+							//Cross product of the direction and the position
+							x = dy*pz - dz*py, y = dz*px - dx*pz, z = dx*py - dy*px,
+							scale = normalizedScale(x, y, z, strength);	
+				directionalVelocityChannel.data[i +ParticleChannels.XOffset] += x*scale;
+				directionalVelocityChannel.data[i +ParticleChannels.YOffset] += y*scale;
+				directionalVelocityChannel.data[i +ParticleChannels.ZOffset] += z*scale;
 			}
 		}
 
@@ -451,18 +512,30 @@ public abstract class DynamicsModifier extends Influencer{
 		
 		@Override
 		public void update () {
-			int lifeOffset=ParticleChannels.LifePercentOffset, strengthOffset = 0, forceOffset = 0;
-			for(int 	i=0,  c= controller.particles.size; i < c; ++i,  
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public boolean canUpdateRange () {
+			return true;
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			int lifeOffset=startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset, 
+				strengthOffset = startIndex*strengthChannel.strideSize, forceOffset = startIndex*accelerationChannel.strideSize;
+			for(int 	i=startIndex,  c= startIndex +count; i < c; ++i,  
 				strengthOffset += strengthChannel.strideSize, 
 				forceOffset +=accelerationChannel.strideSize, 
 				lifeOffset += lifeChannel.strideSize){
 			
 				float 	strength = 	strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthStartOffset] + 
 													strengthChannel.data[strengthOffset + ParticleChannels.VelocityStrengthDiffOffset]* strengthValue.getScale(lifeChannel.data[lifeOffset]);
-				TMP_V3.set(MathUtils.random(-1, 1f), MathUtils.random(-1, 1f), MathUtils.random(-1, 1f)).nor().scl(strength);
-				accelerationChannel.data[forceOffset +ParticleChannels.XOffset] += TMP_V3.x;
-				accelerationChannel.data[forceOffset +ParticleChannels.YOffset] += TMP_V3.y;
-				accelerationChannel.data[forceOffset +ParticleChannels.ZOffset] += TMP_V3.z;
+				float x = MathUtils.random(-1, 1f), y = MathUtils.random(-1, 1f), z = MathUtils.random(-1, 1f),
+					scale = normalizedScale(x, y, z, strength);
+				accelerationChannel.data[forceOffset +ParticleChannels.XOffset] += x*scale;
+				accelerationChannel.data[forceOffset +ParticleChannels.YOffset] += y*scale;
+				accelerationChannel.data[forceOffset +ParticleChannels.ZOffset] += z*scale;
 			}
 		}
 
@@ -487,6 +560,14 @@ public abstract class DynamicsModifier extends Influencer{
 		lifeChannel = controller.particles.addChannel(ParticleChannels.Life);
 	}
 	
+	/** @return the factor which scales the vector to the given length, like {@link Vector3#nor()} followed by 
+	 * {@link Vector3#scl(float)} but without a temporary vector, so ranges of particles can be updated concurrently. */
+	static float normalizedScale (float x, float y, float z, float length) {
+		float len2 = x * x + y * y + z * z;
+		if (len2 == 0f || len2 == 1f) return length;
+		return length / (float)Math.sqrt(len2);
+	}
+	
 	@Override
 	public void write (Json json) {
 		super.write(json);
@@ -6,5 +6,15 @@ import com.badlogic.gdx.graphics.g3d.particles.ParticleControllerComponent;
  * of the particles(i.e color, scale, graphical representation, velocity, etc...).
  * @author Inferno */
 public abstract class Influencer extends ParticleControllerComponent {
-	
+
+	/** @return whether {@link #update(int, int)} can be called instead of {@link #update()}, concurrently for disjoint ranges of
+	 *         particles. Subclasses which override {@link #update()} must override both methods to support it. */
+	public boolean canUpdateRange () {
+		return false;
+	}
+
+	/** Updates the particles from startIndex, inclusive, to startIndex + count, exclusive. Only called if
+	 * {@link #canUpdateRange()} returns true, instead of {@link #update()}, possibly from several threads at the same time for
+	 * disjoint ranges. Does nothing by default, like {@link #update()}. */
+	public void update (int startIndex, int count) {}
 }
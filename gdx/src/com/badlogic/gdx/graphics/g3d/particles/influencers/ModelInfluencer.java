@@ -16,6 +16,11 @@ import com.badlogic.gdx.utils.Pool;
  * @author Inferno */
 public abstract class ModelInfluencer extends Influencer{
 
+	@Override
+	public boolean canUpdateRange () {
+		return true;
+	}
+
 	/** Assigns the first model of {@link ModelInfluencer#models} to the particles.*/
 	public static class Single extends ModelInfluencer{
 
@@ -35,7 +35,18 @@ public class ParticleControllerFinalizerInfluencer extends Influencer {
 
 	@Override
 	public void update () {
-		for(int i=0, positionOffset = 0, c = controller.particles.size;
+		update(0, controller.particles.size);
+	}
+
+	@Override
+	public boolean canUpdateRange () {
+		return true;
+	}
+
+	/** Updates the controllers of the particles in the range, each particle has its own controller. */
+	@Override
+	public void update (int startIndex, int count) {
+		for(int i=startIndex, positionOffset = startIndex*positionChannel.strideSize, c = startIndex +count;
 			i< c; 
 			++i, positionOffset += positionChannel.strideSize){
 			ParticleController particleController = controllerChannel.data[i];
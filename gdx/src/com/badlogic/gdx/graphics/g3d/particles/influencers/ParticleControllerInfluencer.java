@@ -18,6 +18,11 @@ import com.badlogic.gdx.utils.Pool;
  * @author Inferno */
 public abstract class ParticleControllerInfluencer extends Influencer{
 
+	@Override
+	public boolean canUpdateRange () {
+		return true;
+	}
+
 	/** Assigns the first controller of {@link ParticleControllerInfluencer#templates} to the particles.*/
 	public static class Single extends ParticleControllerInfluencer{
 
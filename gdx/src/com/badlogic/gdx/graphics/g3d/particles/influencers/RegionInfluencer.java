@@ -11,6 +11,11 @@ import com.badlogic.gdx.utils.JsonValue;
 /** It's an {@link Influencer} which assigns a region of a {@link Texture} to the particles.
  * @author Inferno */
 public abstract class RegionInfluencer extends Influencer {
+
+	@Override
+	public boolean canUpdateRange () {
+		return true;
+	}
 	
 	/** Assigns the first region of {@link RegionInfluencer#regions} to the particles.*/
 	public static class Single extends RegionInfluencer{
@@ -109,8 +114,13 @@ public abstract class RegionInfluencer extends Influencer {
 		
 		@Override
 		public void update () {
-			for(int 	i=0, l = ParticleChannels.LifePercentOffset,
-				c = controller.particles.size*regionChannel.strideSize; 
+			update(0, controller.particles.size);
+		}
+
+		@Override
+		public void update (int startIndex, int count) {
+			for(int 	i=startIndex*regionChannel.strideSize, l = startIndex*lifeChannel.strideSize + ParticleChannels.LifePercentOffset,
+				c = i +count*regionChannel.strideSize; 
 				i < c; 
 				i +=regionChannel.strideSize, l +=lifeChannel.strideSize){
 				AspectTextureRegion region = regions.get( (int)(lifeChannel.data[l]*(regions.size-1)));
@@ -54,6 +54,11 @@ public class SpawnInfluencer extends Influencer {
 		}
 	}
 
+	@Override
+	public boolean canUpdateRange () {
+		return true;
+	}
+
 	@Override
 	public SpawnInfluencer copy () {
 		return new SpawnInfluencer(this);
@@ -8,7 +8,7 @@ import com.badlogic.gdx.utils.JsonValue;
  * particles on a geometric primitive. 
  * @author Inferno */
 public abstract class PrimitiveSpawnShapeValue extends SpawnShapeValue {
-	protected static final Vector3 TMP_V1 = new Vector3();
+	protected final Vector3 TMP_V1 = new Vector3();
 	static public enum SpawnSide {
 		both, top, bottom
 	}
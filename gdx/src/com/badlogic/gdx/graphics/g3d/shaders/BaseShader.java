@@ -221,6 +221,17 @@ public abstract class BaseShader implements Shader {
 		return tempArray.items;
 	}
 
+	private final IntArray tempInstanceArray = new IntArray();
+
+	private final int[] getInstanceAttributeLocations (final VertexAttributes attrs) {
+		tempInstanceArray.clear();
+		if (attrs == null) return null;
+		final int n = attrs.size();
+		for (int i = 0; i < n; i++)
+			tempInstanceArray.add(program.getAttributeLocation(attrs.get(i).alias));
+		return tempInstanceArray.items;
+	}
+
 	private Attributes combinedAttributes = new Attributes();
 
 	@Override
@@ -236,9 +247,10 @@ public abstract class BaseShader implements Shader {
 		for (int u, i = 0; i < localUniforms.size; ++i)
 			if (setters.get(u = localUniforms.get(i)) != null) setters.get(u).set(this, u, renderable, combinedAttributes);
 		if (currentMesh != renderable.mesh) {
-			if (currentMesh != null) currentMesh.unbind(program, tempArray.items);
+			if (currentMesh != null) currentMesh.unbind(program, tempArray.items, tempInstanceArray.items);
 			currentMesh = renderable.mesh;
-			currentMesh.bind(program, getAttributeLocations(renderable.mesh.getVertexAttributes()));
+			currentMesh.bind(program, getAttributeLocations(renderable.mesh.getVertexAttributes()),
+				getInstanceAttributeLocations(renderable.mesh.getInstanceAttributes()));
 		}
 		renderable.mesh.render(program, renderable.primitiveType, renderable.meshPartOffset, renderable.meshPartSize, false);
 	}
@@ -246,7 +258,7 @@ public abstract class BaseShader implements Shader {
 	@Override
 	public void end () {
 		if (currentMesh != null) {
-			currentMesh.unbind(program, tempArray.items);
+			currentMesh.unbind(program, tempArray.items, tempInstanceArray.items);
 			currentMesh = null;
 		}
 		program.end();
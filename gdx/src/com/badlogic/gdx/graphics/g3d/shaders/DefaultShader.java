@@ -37,6 +37,7 @@ import com.badlogic.gdx.graphics.g3d.attributes.PointLightsAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.SpotLightsAttribute;
 import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
 import com.badlogic.gdx.graphics.g3d.environment.AmbientCubemap;
+import com.badlogic.gdx.graphics.g3d.environment.CascadedShadowMap;
 import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
 import com.badlogic.gdx.graphics.g3d.environment.PointLight;
 import com.badlogic.gdx.graphics.g3d.environment.SpotLight;
@@ -458,6 +459,8 @@ public class DefaultShader extends BaseShader {
 	protected final int u_shadowMapProjViewTrans = register(new Uniform("u_shadowMapProjViewTrans"));
 	protected final int u_shadowTexture = register(new Uniform("u_shadowTexture"));
 	protected final int u_shadowPCFOffset = register(new Uniform("u_shadowPCFOffset"));
+	protected final int u_shadowMapSplits = register(new Uniform("u_shadowMapSplits"));
+	protected final int u_staticShadowTexture = register(new Uniform("u_staticShadowTexture"));
 	// FIXME Cache vertex attribute locations...
 
 	protected int dirLightsLoc;
@@ -481,6 +484,13 @@ public class DefaultShader extends BaseShader {
 	protected final boolean lighting;
 	protected final boolean environmentCubemap;
 	protected final boolean shadowMap;
+	/** The number of cascades of the {@link CascadedShadowMap}, or 0 if the shadow map is not cascaded. */
+	protected final int shadowMapCascades;
+	/** Whether the {@link CascadedShadowMap} has a separate depth map for static casters. */
+	protected final boolean staticShadowMap;
+	/** Whether the mesh is drawn instanced, with the world transform of each instance in the a_worldTrans0 to a_worldTrans3
+	 * instance attributes, see {@link com.badlogic.gdx.graphics.Mesh#enableInstancedRendering(boolean, int, VertexAttribute...)}. */
+	protected final boolean instanced;
 	protected final AmbientCubemap ambientCubemap = new AmbientCubemap();
 	protected final DirectionalLight directionalLights[];
 	protected final PointLight pointLights[];
@@ -521,6 +531,9 @@ public class DefaultShader extends BaseShader {
 		this.environmentCubemap = attributes.has(CubemapAttribute.EnvironmentMap)
 			|| (lighting && attributes.has(CubemapAttribute.EnvironmentMap));
 		this.shadowMap = lighting && renderable.environment.shadowMap != null;
+		this.shadowMapCascades = lighting ? getShadowMapCascades(renderable.environment) : 0;
+		this.staticShadowMap = lighting && hasStaticShadowMap(renderable.environment);
+		this.instanced = renderable.mesh.getNumInstances() > 0;
 		this.renderable = renderable;
 		attributesMask = attributes.getMask() | optionalAttributes;
 		vertexMask = renderable.mesh.getVertexAttributes().getMask();
@@ -649,6 +662,9 @@ public class DefaultShader extends BaseShader {
 					prefix += "#define fogFlag\n";
 				}
 				if (renderable.environment.shadowMap != null) prefix += "#define shadowMapFlag\n";
+				final int shadowMapCascades = getShadowMapCascades(renderable.environment);
+				if (shadowMapCascades > 0) prefix += "#define shadowMapCascades " + shadowMapCascades + "\n";
+				if (hasStaticShadowMap(renderable.environment)) prefix += "#define staticShadowMapFlag\n";
 				if (attributes.has(CubemapAttribute.EnvironmentMap)) prefix += "#define environmentCubemapFlag\n";
 			}
 		}
@@ -698,14 +714,28 @@ public class DefaultShader extends BaseShader {
 		if ((attributesMask & FloatAttribute.AlphaTest) == FloatAttribute.AlphaTest)
 			prefix += "#define " + FloatAttribute.AlphaTestAlias + "Flag\n";
 		if (renderable.bones != null && config.numBones > 0) prefix += "#define numBones " + config.numBones + "\n";
+		if (renderable.mesh.getNumInstances() > 0) prefix += "#define instancedFlag\n";
 		return prefix;
 	}
 
+	private static int getShadowMapCascades (final Environment environment) {
+		return environment.shadowMap instanceof CascadedShadowMap ? ((CascadedShadowMap)environment.shadowMap).getCascadeCount()
+			: 0;
+	}
+
+	private static boolean hasStaticShadowMap (final Environment environment) {
+		return environment.shadowMap instanceof CascadedShadowMap
+			&& ((CascadedShadowMap)environment.shadowMap).getStaticDepthMap() != null;
+	}
+
 	@Override
 	public boolean canRender (final Renderable renderable) {
 		final Attributes attributes = combineAttributes(renderable);
 		return (attributesMask == (attributes.getMask() | optionalAttributes))
-			&& (vertexMask == renderable.mesh.getVertexAttributes().getMask()) && (renderable.environment != null) == lighting;
+			&& (vertexMask == renderable.mesh.getVertexAttributes().getMask()) && (renderable.environment != null) == lighting
+			&& (renderable.mesh.getNumInstances() > 0) == instanced
+			&& (!lighting || (getShadowMapCascades(renderable.environment) == shadowMapCascades
+				&& hasStaticShadowMap(renderable.environment) == staticShadowMap));
 	}
 
 	@Override
@@ -867,9 +897,21 @@ public class DefaultShader extends BaseShader {
 		}
 
 		if (lights != null && lights.shadowMap != null) {
-			set(u_shadowMapProjViewTrans, lights.shadowMap.getProjViewTrans());
-			set(u_shadowTexture, lights.shadowMap.getDepthMap());
-			set(u_shadowPCFOffset, 1.f / (2f * lights.shadowMap.getDepthMap().texture.getWidth()));
+			if (shadowMapCascades > 0) {
+				final CascadedShadowMap shadowMap = (CascadedShadowMap)lights.shadowMap;
+				if (has(u_shadowMapProjViewTrans))
+					program.setUniformMatrix4fv(loc(u_shadowMapProjViewTrans), shadowMap.getCascadeProjViewTrans(), 0,
+						shadowMapCascades * 16);
+				if (has(u_shadowMapSplits))
+					program.setUniform1fv(loc(u_shadowMapSplits), shadowMap.getCascadeSplits(), 0, shadowMapCascades);
+				set(u_shadowTexture, shadowMap.getDepthMap());
+				if (staticShadowMap) set(u_staticShadowTexture, shadowMap.getStaticDepthMap());
+				set(u_shadowPCFOffset, 1.f / (2f * shadowMap.getDepthMap().texture.getHeight()));
+			} else {
+				set(u_shadowMapProjViewTrans, lights.shadowMap.getProjViewTrans());
+				set(u_shadowTexture, lights.shadowMap.getDepthMap());
+				set(u_shadowPCFOffset, 1.f / (2f * lights.shadowMap.getDepthMap().texture.getWidth()));
+			}
 		}
 
 		lightsSet = true;
@@ -74,9 +74,43 @@ varying vec3 v_lightSpecular;
 #ifdef shadowMapFlag
 uniform sampler2D u_shadowTexture;
 uniform float u_shadowPCFOffset;
-varying vec3 v_shadowMapUv;
 #define separateAmbientFlag
 
+#ifdef shadowMapCascades
+#ifdef staticShadowMapFlag
+uniform sampler2D u_staticShadowTexture;
+#endif //staticShadowMapFlag
+uniform float u_shadowMapSplits[shadowMapCascades];
+varying vec3 v_shadowMapUvs[shadowMapCascades];
+varying float v_shadowMapDepth;
+
+float getShadowness(vec3 uv, vec2 offset)
+{
+    const vec4 bitShifts = vec4(1.0, 1.0 / 255.0, 1.0 / 65025.0, 1.0 / 160581375.0);
+    float shadowness = step(uv.z, dot(texture2D(u_shadowTexture, uv.xy + offset), bitShifts));
+    #ifdef staticShadowMapFlag
+    shadowness *= step(uv.z, dot(texture2D(u_staticShadowTexture, uv.xy + offset), bitShifts));
+    #endif //staticShadowMapFlag
+    return shadowness;
+}
+
+float getShadow()
+{
+	// Uses the first cascade whose split is beyond the fragment, the last one otherwise
+	vec3 uv = v_shadowMapUvs[shadowMapCascades - 1];
+	for (int i = shadowMapCascades - 2; i >= 0; i--) {
+		if (v_shadowMapDepth < u_shadowMapSplits[i]) uv = v_shadowMapUvs[i];
+	}
+	// The cascades are side by side in the shadow texture, which is as high as a single cascade
+	vec2 offset = vec2(u_shadowPCFOffset / float(shadowMapCascades), u_shadowPCFOffset);
+	return (getShadowness(uv, offset) +
+			getShadowness(uv, vec2(-offset.x, offset.y)) +
+			getShadowness(uv, vec2(offset.x, -offset.y)) +
+			getShadowness(uv, -offset)) * 0.25;
+}
+#else
+varying vec3 v_shadowMapUv;
+
 float getShadowness(vec2 offset)
 {
     const vec4 bitShifts = vec4(1.0, 1.0 / 255.0, 1.0 / 65025.0, 1.0 / 160581375.0);
@@ -91,6 +125,7 @@ float getShadow()
 			getShadowness(vec2(u_shadowPCFOffset, -u_shadowPCFOffset)) +
 			getShadowness(vec2(-u_shadowPCFOffset, -u_shadowPCFOffset))) * 0.25;
 }
+#endif //shadowMapCascades
 #endif //shadowMapFlag
 
 #if defined(ambientFlag) && defined(separateAmbientFlag)
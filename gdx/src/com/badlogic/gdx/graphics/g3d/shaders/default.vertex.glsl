@@ -98,7 +98,14 @@ attribute vec2 a_boneWeight7;
 #endif
 #endif
 
+#ifdef instancedFlag
+attribute vec4 a_worldTrans0;
+attribute vec4 a_worldTrans1;
+attribute vec4 a_worldTrans2;
+attribute vec4 a_worldTrans3;
+#else
 uniform mat4 u_worldTrans;
+#endif // instancedFlag
 
 #if defined(numBones)
 #if numBones > 0
@@ -173,8 +180,14 @@ uniform PointLight u_pointLights[numPointLights];
 #endif //ambientFlag
 
 #ifdef shadowMapFlag
+#ifdef shadowMapCascades
+uniform mat4 u_shadowMapProjViewTrans[shadowMapCascades];
+varying vec3 v_shadowMapUvs[shadowMapCascades];
+varying float v_shadowMapDepth;
+#else
 uniform mat4 u_shadowMapProjViewTrans;
 varying vec3 v_shadowMapUv;
+#endif //shadowMapCascades
 #define separateAmbientFlag
 #endif //shadowMapFlag
 
@@ -232,23 +245,41 @@ void main() {
 		#endif //boneWeight7Flag
 	#endif //skinningFlag
 
+	#ifdef instancedFlag
+		mat4 worldTrans = mat4(a_worldTrans0, a_worldTrans1, a_worldTrans2, a_worldTrans3);
+	#else
+		mat4 worldTrans = u_worldTrans;
+	#endif // instancedFlag
+
 	#ifdef skinningFlag
-		vec4 pos = u_worldTrans * skinning * vec4(a_position, 1.0);
+		vec4 pos = worldTrans * skinning * vec4(a_position, 1.0);
 	#else
-		vec4 pos = u_worldTrans * vec4(a_position, 1.0);
+		vec4 pos = worldTrans * vec4(a_position, 1.0);
 	#endif
 		
 	gl_Position = u_projViewTrans * pos;
 		
 	#ifdef shadowMapFlag
+	#ifdef shadowMapCascades
+		for (int i = 0; i < shadowMapCascades; i++) {
+			vec4 spos = u_shadowMapProjViewTrans[i] * pos;
+			v_shadowMapUvs[i].xy = (spos.xy / spos.w) * 0.5 + 0.5;
+			v_shadowMapUvs[i].z = min(spos.z * 0.5 + 0.5, 0.998);
+		}
+		v_shadowMapDepth = gl_Position.w;
+	#else
 		vec4 spos = u_shadowMapProjViewTrans * pos;
 		v_shadowMapUv.xy = (spos.xy / spos.w) * 0.5 + 0.5;
 		v_shadowMapUv.z = min(spos.z * 0.5 + 0.5, 0.998);
+	#endif //shadowMapCascades
 	#endif //shadowMapFlag
 	
 	#if defined(normalFlag)
 		#if defined(skinningFlag)
-			vec3 normal = normalize((u_worldTrans * skinning * vec4(a_normal, 0.0)).xyz);
+			vec3 normal = normalize((worldTrans * skinning * vec4(a_normal, 0.0)).xyz);
+		#elif defined(instancedFlag)
+			// Without an inverse in GLSL ES 1.0 the world transform is used, which is exact for rotation and uniform scale
+			vec3 normal = normalize(mat3(a_worldTrans0.xyz, a_worldTrans1.xyz, a_worldTrans2.xyz) * a_normal);
 		#else
 			vec3 normal = normalize(u_normalMatrix * a_normal);
 		#endif
@@ -1,5 +1,14 @@
 attribute vec3 a_position;
+
+#ifdef instancedFlag
+attribute vec4 a_worldTrans0;
+attribute vec4 a_worldTrans1;
+attribute vec4 a_worldTrans2;
+attribute vec4 a_worldTrans3;
+uniform mat4 u_projViewTrans;
+#else
 uniform mat4 u_projViewWorldTrans;
+#endif // instancedFlag
 
 #if defined(diffuseTextureFlag) && defined(blendedFlag)
 #define blendedTextureFlag
@@ -111,10 +120,16 @@ void main() {
 		#endif //boneWeight7Flag
 	#endif //skinningFlag
 
+	#ifdef instancedFlag
+		mat4 projViewWorldTrans = u_projViewTrans * mat4(a_worldTrans0, a_worldTrans1, a_worldTrans2, a_worldTrans3);
+	#else
+		mat4 projViewWorldTrans = u_projViewWorldTrans;
+	#endif // instancedFlag
+
 	#ifdef skinningFlag
-		vec4 pos = u_projViewWorldTrans * skinning * vec4(a_position, 1.0);
+		vec4 pos = projViewWorldTrans * skinning * vec4(a_position, 1.0);
 	#else
-		vec4 pos = u_projViewWorldTrans * vec4(a_position, 1.0);
+		vec4 pos = projViewWorldTrans * vec4(a_position, 1.0);
 	#endif
 
 	#ifdef PackedDepthFlag
@@ -0,0 +1,123 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.utils.AnimationController.AnimationListener;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Updates many {@link AnimationController}s at once. Updating a controller applies its animations to the nodes of its
+ * {@link ModelInstance} and recalculates the node transforms and bone matrices, see {@link ModelInstance#calculateTransforms()}.
+ * When an executor is set, the controllers are updated in slices on the executor's threads, while the calling thread updates the
+ * last slice.
+ * <p>
+ * Only one controller per ModelInstance can be added, as the controllers of an instance change the same nodes. When an executor
+ * is set, {@link AnimationListener}s are called on the thread which updates their controller. */
+public class AnimationControllerGroup {
+	/** Fewer controllers per slice are updated on the calling thread, as the overhead would outweigh the gain. */
+	static private final int MIN_SLICE_SIZE = 8;
+
+	private final Array<AnimationController> controllers = new Array();
+	private final ObjectSet<ModelInstance> targets = new ObjectSet();
+	private AsyncExecutor executor;
+	private final Array<Slice> slices = new Array();
+	private final Array<AsyncResult<Void>> results = new Array();
+
+	/** @throws IllegalArgumentException if a controller of the same ModelInstance was already added. */
+	public void add (AnimationController controller) {
+		if (!targets.add(controller.target))
+			throw new IllegalArgumentException("A controller of the same ModelInstance was already added.");
+		controllers.add(controller);
+	}
+
+	/** @return Whether the controller was removed. */
+	public boolean remove (AnimationController controller) {
+		if (!controllers.removeValue(controller, true)) return false;
+		targets.remove(controller.target);
+		return true;
+	}
+
+	public void clear () {
+		controllers.clear();
+		targets.clear();
+	}
+
+	/** Returns the controllers, which must not be modified. */
+	public Array<AnimationController> getControllers () {
+		return controllers;
+	}
+
+	/** Sets the executor used to update the controllers in parallel.
+	 * @param executor May be null to update the controllers on the calling thread.
+	 * @param slices The number of slices the controllers are split into, usually the executor's number of threads plus one for the
+	 *           calling thread. */
+	public void setExecutor (AsyncExecutor executor, int slices) {
+		if (executor != null && slices < 1) throw new IllegalArgumentException("slices must be > 0: " + slices);
+		this.executor = executor;
+		this.slices.clear();
+		if (executor == null) return;
+		for (int i = 0; i < slices; i++)
+			this.slices.add(new Slice());
+	}
+
+	/** Updates all controllers, see {@link AnimationController#update(float)}. Returns when all controllers are updated.
+	 * @param delta The time elapsed since the last update. */
+	public void update (float delta) {
+		int size = controllers.size;
+		if (executor == null || slices.size < 2 || size < slices.size * MIN_SLICE_SIZE) {
+			update(0, size, delta);
+			return;
+		}
+		int sliceCount = slices.size, sliceSize = (size + sliceCount - 1) / sliceCount;
+		Array<AsyncResult<Void>> results = this.results;
+		for (int i = 0; i < sliceCount - 1; i++) {
+			Slice slice = slices.get(i);
+			slice.start = i * sliceSize;
+			slice.end = Math.min(size, slice.start + sliceSize);
+			slice.delta = delta;
+			results.add(executor.submit(slice));
+		}
+		update(Math.min(size, (sliceCount - 1) * sliceSize), size, delta);
+		try {
+			for (int i = 0; i < results.size; i++)
+				results.get(i).get();
+		} finally {
+			results.clear();
+		}
+	}
+
+	/** Updates the controllers from start, inclusive, to end, exclusive. */
+	protected void update (int start, int end, float delta) {
+		Object[] controllers = this.controllers.items;
+		for (int i = start; i < end; i++)
+			((AnimationController)controllers[i]).update(delta);
+	}
+
+	private class Slice implements AsyncTask<Void> {
+		int start, end;
+		float delta;
+
+		public Void call () {
+			update(start, end, delta);
+			return null;
+		}
+	}
+}
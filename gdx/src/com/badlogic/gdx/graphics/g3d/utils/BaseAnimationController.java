@@ -95,7 +95,8 @@ public class BaseAnimationController {
 			return new Transform();
 		}
 	};
-	private final static ObjectMap<Node, Transform> transforms = new ObjectMap<Node, Transform>();
+	private final ObjectMap<Node, Transform> transforms = new ObjectMap<Node, Transform>();
+	private final Transform tmpTransform = new Transform();
 	private boolean applying = false;
 	/** The {@link ModelInstance} on which the animations are being performed. */
 	public final ModelInstance target;
@@ -117,7 +118,7 @@ public class BaseAnimationController {
 	 * @param weight The blend weight of this animation relative to the previous applied animations. */
 	protected void apply (final Animation animation, final float time, final float weight) {
 		if (!applying) throw new GdxRuntimeException("You must call begin() before adding an animation");
-		applyAnimation(transforms, transformPool, weight, animation, time);
+		applyAnimation(transforms, transformPool, weight, animation, time, tmpTransform);
 	}
 
 	/** End applying multiple animations to the instance and update it to reflect the changes. */
@@ -135,7 +136,7 @@ public class BaseAnimationController {
 	/** Apply a single animation to the {@link ModelInstance} and update the it to reflect the changes. */
 	protected void applyAnimation (final Animation animation, final float time) {
 		if (applying) throw new GdxRuntimeException("Call end() first");
-		applyAnimation(null, null, 1.f, animation, time);
+		applyAnimation(null, null, 1.f, animation, time, tmpTransform);
 		target.calculateTransforms();
 	}
 
@@ -156,23 +157,40 @@ public class BaseAnimationController {
 		}
 	}
 
+	/** Only used by {@link #applyAnimation(ObjectMap, Pool, float, Animation, float)}. */
 	private final static Transform tmpT = new Transform();
 
-	private final static <T> int getFirstKeyframeIndexAtTime (final Array<NodeKeyframe<T>> arr, final float time) {
+	/** Returns the index of the first keyframe at or before the time which is followed by a keyframe at or after the time, or 0 if
+	 * the time is outside of the keyframes. The index returned by the previous lookup of the same keyframes is tried first, then
+	 * the one after it, as the time usually advances a little between updates; otherwise the keyframes are binary searched.
+	 * @param hint the index returned by the previous lookup, may be out of range */
+	final static <T> int getFirstKeyframeIndexAtTime (final Array<NodeKeyframe<T>> arr, final float time, final int hint) {
+		final Object[] keyframes = arr.items;
 		final int n = arr.size - 1;
-		for (int i = 0; i < n; i++) {
-			if (time >= arr.get(i).keytime && time <= arr.get(i + 1).keytime) {
-				return i;
-			}
+		// A time equal to the start of a keyframe is found in the keyframe before, unless it is the first keyframe.
+		if (hint >= 0 && hint < n) {
+			final float start = ((NodeKeyframe)keyframes[hint]).keytime;
+			if ((time > start || (time == start && hint == 0)) && time <= ((NodeKeyframe)keyframes[hint + 1]).keytime) return hint;
+			if (hint + 1 < n && time > ((NodeKeyframe)keyframes[hint + 1]).keytime
+				&& time <= ((NodeKeyframe)keyframes[hint + 2]).keytime) return hint + 1;
+		}
+		if (n < 1 || !(time >= ((NodeKeyframe)keyframes[0]).keytime && time <= ((NodeKeyframe)keyframes[n]).keytime)) return 0;
+		int low = 0, high = n - 1;
+		while (low < high) {
+			final int mid = (low + high) >>> 1;
+			if (((NodeKeyframe)keyframes[mid + 1]).keytime >= time)
+				high = mid;
+			else
+				low = mid + 1;
 		}
-		return 0;
+		return low;
 	}
 
 	private final static Vector3 getTranslationAtTime (final NodeAnimation nodeAnim, final float time, final Vector3 out) {
 		if (nodeAnim.translation == null) return out.set(nodeAnim.node.translation);
 		if (nodeAnim.translation.size == 1) return out.set(nodeAnim.translation.get(0).value);
 
-		int index = getFirstKeyframeIndexAtTime(nodeAnim.translation, time);
+		int index = nodeAnim.translationIndex = getFirstKeyframeIndexAtTime(nodeAnim.translation, time, nodeAnim.translationIndex);
 		final NodeKeyframe firstKeyframe = nodeAnim.translation.get(index);
 		out.set((Vector3)firstKeyframe.value);
 
@@ -188,7 +206,7 @@ public class BaseAnimationController {
 		if (nodeAnim.rotation == null) return out.set(nodeAnim.node.rotation);
 		if (nodeAnim.rotation.size == 1) return out.set(nodeAnim.rotation.get(0).value);
 
-		int index = getFirstKeyframeIndexAtTime(nodeAnim.rotation, time);
+		int index = nodeAnim.rotationIndex = getFirstKeyframeIndexAtTime(nodeAnim.rotation, time, nodeAnim.rotationIndex);
 		final NodeKeyframe firstKeyframe = nodeAnim.rotation.get(index);
 		out.set((Quaternion)firstKeyframe.value);
 
@@ -204,7 +222,7 @@ public class BaseAnimationController {
 		if (nodeAnim.scaling == null) return out.set(nodeAnim.node.scale);
 		if (nodeAnim.scaling.size == 1) return out.set(nodeAnim.scaling.get(0).value);
 
-		int index = getFirstKeyframeIndexAtTime(nodeAnim.scaling, time);
+		int index = nodeAnim.scalingIndex = getFirstKeyframeIndexAtTime(nodeAnim.scaling, time, nodeAnim.scalingIndex);
 		final NodeKeyframe firstKeyframe = nodeAnim.scaling.get(index);
 		out.set((Vector3)firstKeyframe.value);
 
@@ -216,27 +234,27 @@ public class BaseAnimationController {
 		return out;
 	}
 
-	private final static Transform getNodeAnimationTransform (final NodeAnimation nodeAnim, final float time) {
-		final Transform transform = tmpT;
+	private final static Transform getNodeAnimationTransform (final NodeAnimation nodeAnim, final float time,
+		final Transform transform) {
 		getTranslationAtTime(nodeAnim, time, transform.translation);
 		getRotationAtTime(nodeAnim, time, transform.rotation);
 		getScalingAtTime(nodeAnim, time, transform.scale);
 		return transform;
 	}
 
-	private final static void applyNodeAnimationDirectly (final NodeAnimation nodeAnim, final float time) {
+	private final static void applyNodeAnimationDirectly (final NodeAnimation nodeAnim, final float time, final Transform tmp) {
 		final Node node = nodeAnim.node;
 		node.isAnimated = true;
-		final Transform transform = getNodeAnimationTransform(nodeAnim, time);
+		final Transform transform = getNodeAnimationTransform(nodeAnim, time, tmp);
 		transform.toMatrix4(node.localTransform);
 	}
 
 	private final static void applyNodeAnimationBlending (final NodeAnimation nodeAnim, final ObjectMap<Node, Transform> out,
-		final Pool<Transform> pool, final float alpha, final float time) {
+		final Pool<Transform> pool, final float alpha, final float time, final Transform tmp) {
 
 		final Node node = nodeAnim.node;
 		node.isAnimated = true;
-		final Transform transform = getNodeAnimationTransform(nodeAnim, time);
+		final Transform transform = getNodeAnimationTransform(nodeAnim, time, tmp);
 
 		Transform t = out.get(node, null);
 		if (t != null) {
@@ -252,18 +270,29 @@ public class BaseAnimationController {
 		}
 	}
 
-	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones. */
+	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones. Uses a shared temporary
+	 * transform, so it must not be called from multiple threads at once. */
 	protected static void applyAnimation (final ObjectMap<Node, Transform> out, final Pool<Transform> pool, final float alpha,
 		final Animation animation, final float time) {
+		applyAnimation(out, pool, alpha, animation, time, tmpT);
+	}
 
+	/** Helper method to apply one animation to either an objectmap for blending or directly to the bones. Animations of different
+	 * {@link ModelInstance}s can be applied on multiple threads at once, as long as each thread uses its own map, pool and
+	 * temporary transform.
+	 * @param tmp The transform used to compute the transform of each node. */
+	protected static void applyAnimation (final ObjectMap<Node, Transform> out, final Pool<Transform> pool, final float alpha,
+		final Animation animation, final float time, final Transform tmp) {
+		// Indexed loops, the animation and its iterators may be shared by the instances of a model.
+		final Array<NodeAnimation> nodeAnimations = animation.nodeAnimations;
 		if (out == null) {
-			for (final NodeAnimation nodeAnim : animation.nodeAnimations)
-				applyNodeAnimationDirectly(nodeAnim, time);
+			for (int i = 0, n = nodeAnimations.size; i < n; i++)
+				applyNodeAnimationDirectly(nodeAnimations.get(i), time, tmp);
 		} else {
 			for (final Node node : out.keys())
 				node.isAnimated = false;
-			for (final NodeAnimation nodeAnim : animation.nodeAnimations)
-				applyNodeAnimationBlending(nodeAnim, out, pool, alpha, time);
+			for (int i = 0, n = nodeAnimations.size; i < n; i++)
+				applyNodeAnimationBlending(nodeAnimations.get(i), out, pool, alpha, time, tmp);
 			for (final ObjectMap.Entry<Node, Transform> e : out.entries()) {
 				if (!e.key.isAnimated) {
 					e.key.isAnimated = true;
@@ -276,8 +305,8 @@ public class BaseAnimationController {
 	/** Remove the specified animation, by marking the affected nodes as not animated. When switching animation, this should be call
 	 * prior to applyAnimation(s). */
 	protected void removeAnimation (final Animation animation) {
-		for (final NodeAnimation nodeAnim : animation.nodeAnimations) {
-			nodeAnim.node.isAnimated = false;
-		}
+		final Array<NodeAnimation> nodeAnimations = animation.nodeAnimations;
+		for (int i = 0, n = nodeAnimations.size; i < n; i++)
+			nodeAnimations.get(i).node.isAnimated = false;
 	}
 }
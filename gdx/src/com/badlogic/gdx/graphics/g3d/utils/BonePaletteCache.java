@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.model.Animation;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.graphics.g3d.utils.BaseAnimationController.Transform;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Caches the bone matrices of skinned {@link ModelInstance}s per animation and quantized time, so instances of the same
+ * {@link Model} which play the same animation at about the same time share one bone palette. Each palette is evaluated once, by
+ * applying the animation to the first instance which needs it, and the {@link NodePart#bones} of the instances are then set to
+ * reference the cached matrices instead of being recalculated.
+ * <p>
+ * Times are rounded to a multiple of the frame duration. The least recently used palettes are evicted when more than the maximum
+ * number are cached; instances keep referencing an evicted palette until they are posed again.
+ * <p>
+ * Only the bone matrices are cached: when a palette is found in the cache, the node transforms of the instance are not updated,
+ * so nodes without bones do not follow the animation. The cached matrices must not be modified, call
+ * {@link #restore(ModelInstance)} before animating an instance otherwise, eg with an {@link AnimationController}. All instances of
+ * a model which use the cache must have the same nodes. This class is not thread safe. */
+public class BonePaletteCache {
+	private final float frameDuration;
+	private final int maxPalettes;
+	private final ObjectMap<Palette, Palette> palettes = new ObjectMap<Palette, Palette>();
+	/** The least and most recently used palettes. */
+	private Palette head, tail;
+	private final Palette lookup = new Palette();
+	/** The bone matrices of the parts which currently reference a cached palette. */
+	private final IdentityMap<NodePart, Matrix4[]> ownBones = new IdentityMap<NodePart, Matrix4[]>();
+	private final Array<NodePart> parts = new Array<NodePart>();
+	private final Transform tmpTransform = new Transform();
+
+	/** The number of times a palette was found in the cache or had to be evaluated. */
+	public int hits, misses;
+
+	/** @param frameDuration The time in seconds between two cached palettes of an animation, eg 1 / 30f.
+	 * @param maxPalettes The maximum number of cached palettes. */
+	public BonePaletteCache (float frameDuration, int maxPalettes) {
+		if (frameDuration <= 0) throw new IllegalArgumentException("frameDuration must be > 0: " + frameDuration);
+		if (maxPalettes < 1) throw new IllegalArgumentException("maxPalettes must be > 0: " + maxPalettes);
+		this.frameDuration = frameDuration;
+		this.maxPalettes = maxPalettes;
+	}
+
+	/** Poses the instance with the animation at the time, rounded to a multiple of the frame duration.
+	 * @param animationId The ID of the animation within the instance's {@link Model}. */
+	public void apply (ModelInstance instance, String animationId, float time) {
+		Animation animation = instance.model.getAnimation(animationId);
+		if (animation == null) throw new GdxRuntimeException("Unknown animation: " + animationId);
+		Array<NodePart> parts = this.parts;
+		collectParts(instance.nodes, parts);
+		try {
+			lookup.animation = animation;
+			lookup.frame = (int)Math.floor(time / frameDuration + 0.5f);
+			Palette palette = palettes.get(lookup);
+			if (palette != null) {
+				if (!matches(palette, parts))
+					throw new IllegalArgumentException("The instance does not have the nodes the palette was evaluated with.");
+				hits++;
+				unlink(palette);
+			} else {
+				misses++;
+				palette = evaluate(instance, animationId, lookup.frame * frameDuration, parts);
+				palette.animation = animation;
+				palette.frame = lookup.frame;
+				palettes.put(palette, palette);
+				if (palettes.size > maxPalettes) {
+					Palette evicted = head;
+					unlink(evicted);
+					palettes.remove(evicted);
+				}
+			}
+			link(palette);
+
+			for (int i = 0; i < parts.size; i++) {
+				NodePart part = parts.get(i);
+				if (!ownBones.containsKey(part)) ownBones.put(part, part.bones);
+				part.bones = palette.bones[i];
+			}
+		} finally {
+			lookup.animation = null;
+			parts.clear();
+		}
+	}
+
+	/** Applies the animation to the instance and copies the resulting bone matrices. */
+	private Palette evaluate (ModelInstance instance, String animationId, float time, Array<NodePart> parts) {
+		restoreBones(parts);
+		// Nodes which are not animated by this animation are in their rest pose, regardless of previous animations.
+		for (int i = 0; i < instance.nodes.size; i++)
+			resetAnimated(instance.nodes.get(i));
+		BaseAnimationController.applyAnimation(null, null, 1f, instance.getAnimation(animationId), time, tmpTransform);
+		instance.calculateTransforms();
+
+		Palette palette = new Palette();
+		palette.bones = new Matrix4[parts.size][];
+		for (int i = 0; i < parts.size; i++) {
+			Matrix4[] source = parts.get(i).bones;
+			Matrix4[] bones = new Matrix4[source.length];
+			for (int j = 0; j < source.length; j++)
+				bones[j] = new Matrix4(source[j]);
+			palette.bones[i] = bones;
+		}
+		return palette;
+	}
+
+	private boolean matches (Palette palette, Array<NodePart> parts) {
+		if (palette.bones.length != parts.size) return false;
+		for (int i = 0; i < parts.size; i++)
+			if (palette.bones[i].length != parts.get(i).bones.length) return false;
+		return true;
+	}
+
+	/** Sets the bones of the instance back to its own matrices and recalculates them, so the instance can be animated
+	 * independently of the cache again. Must also be called when an instance is no longer posed by the cache, as the cache keeps
+	 * a reference to the instance's own matrices until then. */
+	public void restore (ModelInstance instance) {
+		Array<NodePart> parts = this.parts;
+		collectParts(instance.nodes, parts);
+		restoreBones(parts);
+		parts.clear();
+		instance.calculateTransforms();
+	}
+
+	private void restoreBones (Array<NodePart> parts) {
+		for (int i = 0; i < parts.size; i++) {
+			NodePart part = parts.get(i);
+			Matrix4[] bones = ownBones.remove(part);
+			if (bones != null) part.bones = bones;
+		}
+	}
+
+	/** Removes all cached palettes. Instances keep referencing their palette until they are posed again or restored. */
+	public void clear () {
+		palettes.clear();
+		head = null;
+		tail = null;
+	}
+
+	/** @return The number of cached palettes. */
+	public int size () {
+		return palettes.size;
+	}
+
+	private void collectParts (Array<Node> nodes, Array<NodePart> out) {
+		for (int i = 0; i < nodes.size; i++)
+			collectParts(nodes.get(i), out);
+	}
+
+	private void collectParts (Node node, Array<NodePart> out) {
+		for (int i = 0; i < node.parts.size; i++) {
+			NodePart part = node.parts.get(i);
+			if (part.bones != null) out.add(part);
+		}
+		for (int i = 0, n = node.getChildCount(); i < n; i++)
+			collectParts(node.getChild(i), out);
+	}
+
+	private void resetAnimated (Node node) {
+		node.isAnimated = false;
+		for (int i = 0, n = node.getChildCount(); i < n; i++)
+			resetAnimated(node.getChild(i));
+	}
+
+	private void link (Palette palette) {
+		palette.previous = tail;
+		palette.next = null;
+		if (tail != null) tail.next = palette;
+		tail = palette;
+		if (head == null) head = palette;
+	}
+
+	private void unlink (Palette palette) {
+		if (palette.previous != null)
+			palette.previous.next = palette.next;
+		else
+			head = palette.next;
+		if (palette.next != null)
+			palette.next.previous = palette.previous;
+		else
+			tail = palette.previous;
+		palette.previous = null;
+		palette.next = null;
+	}
+
+	static private class Palette {
+		Animation animation;
+		int frame;
+		/** The bone matrices per skinned node part, in the order of the instance's nodes. */
+		Matrix4[][] bones;
+		Palette previous, next;
+
+		public int hashCode () {
+			return 31 * animation.hashCode() + frame;
+		}
+
+		public boolean equals (Object obj) {
+			if (!(obj instanceof Palette)) return false;
+			Palette other = (Palette)obj;
+			return animation == other.animation && frame == other.frame;
+		}
+	}
+}
@@ -1304,7 +1304,14 @@ public class MeshBuilder implements MeshPartBuilder {
 
 	private static IntIntMap indicesMap = null;
 
-	private void addMesh (float[] vertices, short[] indices, int indexOffset, int numIndices) {
+	/** Adds the part of a mesh given by its vertices and indices, copying only the vertices it uses, transformed by the
+	 * {@link #setVertexTransform(Matrix4) vertex transform}. Allows to add several parts of a mesh, or the same mesh several times,
+	 * without reading its vertices and indices each time.
+	 * @param vertices The vertices of the mesh, with the attributes of this builder.
+	 * @param indices The indices of the mesh.
+	 * @param indexOffset The offset in the indices of the part.
+	 * @param numIndices The number of indices of the part. */
+	public void addMesh (float[] vertices, short[] indices, int indexOffset, int numIndices) {
 		if (indicesMap == null)
 			indicesMap = new IntIntMap(numIndices);
 		else {
@@ -1312,8 +1319,9 @@ public class MeshBuilder implements MeshPartBuilder {
 			indicesMap.ensureCapacity(numIndices);
 		}
 		ensureIndices(numIndices);
-		ensureVertices(vertices.length < numIndices ? vertices.length : numIndices); // a bit naive perhaps?
-		for (int i = 0; i < numIndices; i++) {
+		final int numVertices = vertices.length / stride;
+		ensureVertices(numVertices < numIndices ? numVertices : numIndices); // a bit naive perhaps?
+		for (int i = indexOffset, end = indexOffset + numIndices; i < end; i++) {
 			final int sidx = indices[i];
 			int didx = indicesMap.get(sidx, -1);
 			if (didx < 0) {
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/** A {@link RenderableSorter} which computes a 64 bit key for each renderable once per sort and sorts the keys with a radix sort,
+ * instead of comparing renderables. Opaque renderables are grouped by shader, material and mesh, which reduces shader switches
+ * and texture bindings, and are then sorted front to back. Blended renderables are rendered after the opaque ones, back to front.
+ * <p>
+ * Shaders, materials and meshes are numbered in the order they are first encountered during a sort, materials with equal
+ * attributes get the same number. When there are more than fit in the key, numbers are reused so grouping is less effective, but
+ * the sort is still correct.
+ * @see #computeKey(Camera, Renderable) */
+public class RadixRenderableSorter implements RenderableSorter {
+	static private final int SHADER_BITS = 10, MATERIAL_BITS = 12, MESH_BITS = 12;
+	static private final long BLENDED = 1L << 63;
+
+	private final ObjectIntMap<Shader> shaderIds = new ObjectIntMap<Shader>();
+	private final ObjectIntMap<Material> materialIds = new ObjectIntMap<Material>();
+	private final ObjectIntMap<Mesh> meshIds = new ObjectIntMap<Mesh>();
+	private final Vector3 tmpV = new Vector3();
+	private long[] keys = new long[0], sortedKeys = new long[0];
+	private Object[] sorted = new Object[0];
+	private final int[] counts = new int[8 * 256];
+
+	@Override
+	public void sort (final Camera camera, final Array<Renderable> renderables) {
+		final int n = renderables.size;
+		if (n < 2) return;
+		if (keys.length < n) {
+			keys = new long[n];
+			sortedKeys = new long[n];
+			sorted = new Object[n];
+		}
+		final Object[] items = renderables.items;
+		final long[] keys = this.keys;
+		for (int i = 0; i < n; i++)
+			keys[i] = computeKey(camera, (Renderable)items[i]);
+		shaderIds.clear();
+		materialIds.clear();
+		meshIds.clear();
+		radixSort(items, n);
+	}
+
+	/** Returns the key of the renderable, renderables are rendered in the order of their keys from low to high, as unsigned
+	 * numbers. The default key of an opaque renderable is, from the most significant bit: 0, 10 bits shader, 12 bits material, 12
+	 * bits mesh and 29 bits distance to the camera. The key of a blended renderable is: 1, 31 bits inverted distance to the camera,
+	 * 10 bits shader, 12 bits material and 10 bits mesh. */
+	protected long computeKey (final Camera camera, final Renderable renderable) {
+		renderable.worldTransform.getTranslation(tmpV);
+		// The bits of a positive float have the same order as the float.
+		final long distance = NumberUtils.floatToRawIntBits(camera.position.dst2(tmpV)) & 0x7fffffffL;
+		final long shader = renderable.shader == null ? 0 : id(shaderIds, renderable.shader, SHADER_BITS);
+		final long material = id(materialIds, renderable.material, MATERIAL_BITS);
+		final long mesh = id(meshIds, renderable.mesh, MESH_BITS);
+		final BlendingAttribute blending = (BlendingAttribute)renderable.material.get(BlendingAttribute.Type);
+		if (blending != null && blending.blended)
+			return BLENDED | (~distance & 0x7fffffffL) << 32 | shader << 22 | material << 10 | (mesh & 0x3ff);
+		return shader << 53 | material << 41 | mesh << 29 | distance >>> 2;
+	}
+
+	private <T> long id (final ObjectIntMap<T> ids, final T object, final int bits) {
+		int id = ids.get(object, -1);
+		if (id == -1) {
+			id = ids.size;
+			ids.put(object, id);
+		}
+		return id & ((1 << bits) - 1);
+	}
+
+	/** Sorts the items by their keys, one byte per pass from the least significant byte. Bytes which are the same for all keys are
+	 * skipped. */
+	private void radixSort (final Object[] items, final int n) {
+		final int[] counts = this.counts;
+		for (int i = 0, c = counts.length; i < c; i++)
+			counts[i] = 0;
+		long[] keys = this.keys, sortedKeys = this.sortedKeys;
+		for (int i = 0; i < n; i++) {
+			final long key = keys[i];
+			for (int b = 0; b < 8; b++)
+				counts[b << 8 | (int)(key >>> (b << 3)) & 0xff]++;
+		}
+
+		Object[] source = items, target = sorted;
+		for (int b = 0; b < 8; b++) {
+			final int offset = b << 8, shift = b << 3;
+			if (counts[offset | (int)(keys[0] >>> shift) & 0xff] == n) continue;
+			for (int i = 0, total = 0; i < 256; i++) {
+				final int count = counts[offset + i];
+				counts[offset + i] = total;
+				total += count;
+			}
+			for (int i = 0; i < n; i++) {
+				final long key = keys[i];
+				final int index = counts[offset | (int)(key >>> shift) & 0xff]++;
+				sortedKeys[index] = key;
+				target[index] = source[i];
+			}
+			long[] tempKeys = keys;
+			keys = sortedKeys;
+			sortedKeys = tempKeys;
+			Object[] temp = source;
+			source = target;
+			target = temp;
+		}
+		if (source != items) System.arraycopy(source, 0, items, 0, n);
+		final Object[] sorted = this.sorted;
+		for (int i = 0; i < n; i++)
+			sorted[i] = null;
+	}
+}
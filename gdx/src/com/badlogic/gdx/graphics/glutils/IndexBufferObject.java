@@ -52,6 +52,7 @@ public class IndexBufferObject implements IndexData {
 	boolean isDirty = true;
 	boolean isBound = false;
 	final int usage;
+	private final boolean ownsBuffer;
 
 	// used to work around bug: https://android-review.googlesource.com/#/c/73175/
 	private final boolean empty;
@@ -82,6 +83,23 @@ public class IndexBufferObject implements IndexData {
 		byteBuffer.flip();
 		bufferHandle = Gdx.gl20.glGenBuffer();
 		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
+		ownsBuffer = true;
+	}
+
+	/** Creates a new IndexBufferObject which uploads the given indices without copying them, eg indices mapped from a file. The
+	 * buffer is not disposed by this IndexBufferObject.
+	 * 
+	 * @param isStatic whether the index buffer is static
+	 * @param data the indices from position 0 to the limit, in native byte order */
+	public IndexBufferObject (boolean isStatic, ByteBuffer data) {
+		empty = data.limit() == 0;
+		byteBuffer = data;
+		isDirect = true;
+
+		buffer = byteBuffer.asShortBuffer();
+		bufferHandle = Gdx.gl20.glGenBuffer();
+		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
+		ownsBuffer = false;
 	}
 
 	/** @return the number of indices currently stored in this buffer */
@@ -178,6 +196,6 @@ public class IndexBufferObject implements IndexData {
 		Gdx.gl20.glDeleteBuffer(bufferHandle);
 		bufferHandle = 0;
 
-		BufferUtils.disposeUnsafeByteBuffer(byteBuffer);
+		if (ownsBuffer) BufferUtils.disposeUnsafeByteBuffer(byteBuffer);
 	}
 }
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.glutils;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A vertex buffer object which holds attributes per instance rather than per vertex, used by {@link com.badlogic.gdx.graphics.Mesh}
+ * for instanced rendering. The attributes are bound via glVertexAttribPointer() according to their aliases, with a divisor of 1
+ * so each instance advances the attributes by one element. Requires OpenGL ES 3.0.
+ * <p>
+ * InstanceBufferObjects must be disposed via the {@link #dispose()} method when no longer needed. */
+public class InstanceBufferObject {
+	private final VertexAttributes attributes;
+	private final FloatBuffer buffer;
+	private final ByteBuffer byteBuffer;
+	private int bufferHandle;
+	private final int usage;
+	boolean isDirty = false;
+	boolean isBound = false;
+
+	/** @param isStatic whether the instance data is static.
+	 * @param numInstances the maximum number of instances
+	 * @param attributes the {@link VertexAttribute}s of each instance. */
+	public InstanceBufferObject (boolean isStatic, int numInstances, VertexAttribute... attributes) {
+		this(isStatic, numInstances, new VertexAttributes(attributes));
+	}
+
+	/** @param isStatic whether the instance data is static.
+	 * @param numInstances the maximum number of instances
+	 * @param attributes the {@link VertexAttributes} of each instance. */
+	public InstanceBufferObject (boolean isStatic, int numInstances, VertexAttributes attributes) {
+		if (Gdx.gl30 == null) throw new GdxRuntimeException("Instanced rendering requires OpenGL ES 3.0");
+		this.attributes = attributes;
+		byteBuffer = BufferUtils.newUnsafeByteBuffer(attributes.vertexSize * numInstances);
+		buffer = byteBuffer.asFloatBuffer();
+		buffer.flip();
+		byteBuffer.flip();
+		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
+		bufferHandle = Gdx.gl20.glGenBuffer();
+	}
+
+	public VertexAttributes getAttributes () {
+		return attributes;
+	}
+
+	/** @return the number of instances set */
+	public int getNumInstances () {
+		return buffer.limit() * 4 / attributes.vertexSize;
+	}
+
+	/** @return the maximum number of instances */
+	public int getNumMaxInstances () {
+		return byteBuffer.capacity() / attributes.vertexSize;
+	}
+
+	/** Returns the underlying FloatBuffer and marks it as dirty, causing the buffer contents to be uploaded on the next call to
+	 * bind. */
+	public FloatBuffer getBuffer () {
+		isDirty = true;
+		return buffer;
+	}
+
+	/** Sets the instance data, count floats starting at offset. The number of instances is count divided by the number of floats
+	 * per instance. */
+	public void setInstanceData (float[] data, int offset, int count) {
+		isDirty = true;
+		BufferUtils.copy(data, byteBuffer, count, offset);
+		buffer.position(0);
+		buffer.limit(count);
+		bufferChanged();
+	}
+
+	/** Updates a portion of the instance data. Does not change the number of instances.
+	 * @param targetOffset the offset in number of floats of the instance data to update */
+	public void updateInstanceData (int targetOffset, float[] data, int sourceOffset, int count) {
+		isDirty = true;
+		final int pos = byteBuffer.position();
+		byteBuffer.position(targetOffset * 4);
+		BufferUtils.copy(data, sourceOffset, count, byteBuffer);
+		byteBuffer.position(pos);
+		buffer.position(0);
+		bufferChanged();
+	}
+
+	private void bufferChanged () {
+		// Without instances nothing is drawn instanced, so the upload can wait.
+		if (isBound && buffer.limit() > 0) {
+			final GL20 gl = Gdx.gl20;
+			gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+			byteBuffer.limit(buffer.limit() * 4);
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
+			isDirty = false;
+		}
+	}
+
+	/** Binds this InstanceBufferObject, must be called after the vertices of the mesh have been bound.
+	 * @param shader the shader */
+	public void bind (final ShaderProgram shader) {
+		bind(shader, null);
+	}
+
+	/** Binds this InstanceBufferObject, must be called after the vertices of the mesh have been bound.
+	 * @param shader the shader
+	 * @param locations array containing the attribute locations, or null to look them up by alias. */
+	public void bind (final ShaderProgram shader, final int[] locations) {
+		final GL30 gl = Gdx.gl30;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		if (isDirty) {
+			byteBuffer.limit(buffer.limit() * 4);
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
+			isDirty = false;
+		}
+
+		final int numAttributes = attributes.size();
+		for (int i = 0; i < numAttributes; i++) {
+			final VertexAttribute attribute = attributes.get(i);
+			final int location = locations == null ? shader.getAttributeLocation(attribute.alias) : locations[i];
+			if (location < 0) continue;
+			shader.enableVertexAttribute(location);
+			shader.setVertexAttribute(location, attribute.numComponents, attribute.type, attribute.normalized,
+				attributes.vertexSize, attribute.offset);
+			gl.glVertexAttribDivisor(location, 1);
+		}
+		isBound = true;
+	}
+
+	/** Unbinds this InstanceBufferObject, must be called before the vertices of the mesh are unbound.
+	 * @param shader the shader */
+	public void unbind (final ShaderProgram shader) {
+		unbind(shader, null);
+	}
+
+	/** Unbinds this InstanceBufferObject, must be called before the vertices of the mesh are unbound.
+	 * @param shader the shader
+	 * @param locations array containing the attribute locations, or null to look them up by alias. */
+	public void unbind (final ShaderProgram shader, final int[] locations) {
+		final GL30 gl = Gdx.gl30;
+		final int numAttributes = attributes.size();
+		for (int i = 0; i < numAttributes; i++) {
+			final int location = locations == null ? shader.getAttributeLocation(attributes.get(i).alias) : locations[i];
+			if (location < 0) continue;
+			// The divisor is part of the vertex array state, reset it so the location can be used for vertex attributes again.
+			gl.glVertexAttribDivisor(location, 0);
+			shader.disableVertexAttribute(location);
+		}
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		isBound = false;
+	}
+
+	/** Invalidates the InstanceBufferObject so a new OpenGL buffer handle is created. Use this in case of a context loss. */
+	public void invalidate () {
+		bufferHandle = Gdx.gl20.glGenBuffer();
+		isDirty = true;
+	}
+
+	/** Disposes of all resources this InstanceBufferObject uses. */
+	public void dispose () {
+		GL20 gl = Gdx.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		gl.glDeleteBuffer(bufferHandle);
+		bufferHandle = 0;
+		BufferUtils.disposeUnsafeByteBuffer(byteBuffer);
+	}
+}
@@ -83,6 +83,17 @@ public class VertexBufferObject implements VertexData {
 		setUsage(isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW);
 	}
 	
+	/** Constructs a new interleaved VertexBufferObject which uploads the given vertices without copying them, eg vertices mapped
+	 * from a file. The buffer is not disposed by this VertexBufferObject.
+	 * 
+	 * @param isStatic whether the vertex data is static.
+	 * @param data the vertices from position 0 to the limit, in native byte order.
+	 * @param attributes the {@link VertexAttributes}. */
+	public VertexBufferObject (boolean isStatic, ByteBuffer data, VertexAttributes attributes) {
+		this(isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW, data, false, attributes);
+		isDirty = true;
+	}
+
 	protected VertexBufferObject (int usage, ByteBuffer data, boolean ownsBuffer, VertexAttributes attributes) {
 		bufferHandle = Gdx.gl20.glGenBuffer();
 		
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.glutils;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.utils.BufferUtils;
+
+/** A {@link VertexData} implementation for vertices which change every time they are drawn, eg by a batch. The vertex buffer object
+ * is a ring with room for several uploads of the maximum number of vertices. Each upload is written after the previous one with
+ * glBufferSubData and the attribute pointers are offset to it, so the driver never has to wait for the GPU to finish drawing the
+ * previous vertices. When the ring is full, its storage is orphaned with glBufferData and a null buffer, which lets the driver
+ * hand out new memory while the old one is still in use.
+ * <p>
+ * VertexBufferObjectStreaming must be disposed via the {@link #dispose()} method when no longer needed. */
+public class VertexBufferObjectStreaming implements VertexData {
+	final VertexAttributes attributes;
+	final FloatBuffer buffer;
+	final ByteBuffer byteBuffer;
+	final int ringSize;
+	int bufferHandle;
+	/** The byte offset of the current vertices in the vertex buffer object, and where the next upload will be written. */
+	int offset, writeOffset;
+	boolean isDirty = false;
+	boolean isBound = false;
+	private ShaderProgram boundShader;
+	private int[] boundLocations;
+
+	/** Creates a ring with room for 3 uploads of numVertices. */
+	public VertexBufferObjectStreaming (int numVertices, VertexAttribute... attributes) {
+		this(numVertices, 3, new VertexAttributes(attributes));
+	}
+
+	/** @param numVertices the maximum number of vertices per upload
+	 * @param segments the number of uploads of numVertices which fit in the ring before it is orphaned */
+	public VertexBufferObjectStreaming (int numVertices, int segments, VertexAttributes attributes) {
+		if (segments < 1) throw new IllegalArgumentException("segments must be > 0: " + segments);
+		this.attributes = attributes;
+		byteBuffer = BufferUtils.newByteBuffer(this.attributes.vertexSize * numVertices);
+		buffer = byteBuffer.asFloatBuffer();
+		buffer.flip();
+		byteBuffer.flip();
+		ringSize = byteBuffer.capacity() * segments;
+		bufferHandle = createBufferObject();
+	}
+
+	private int createBufferObject () {
+		int result = Gdx.gl20.glGenBuffer();
+		Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, result);
+		Gdx.gl20.glBufferData(GL20.GL_ARRAY_BUFFER, ringSize, null, GL20.GL_STREAM_DRAW);
+		Gdx.gl20.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		offset = 0;
+		writeOffset = 0;
+		return result;
+	}
+
+	@Override
+	public VertexAttributes getAttributes () {
+		return attributes;
+	}
+
+	@Override
+	public int getNumVertices () {
+		return buffer.limit() * 4 / attributes.vertexSize;
+	}
+
+	@Override
+	public int getNumMaxVertices () {
+		return byteBuffer.capacity() / attributes.vertexSize;
+	}
+
+	@Override
+	public FloatBuffer getBuffer () {
+		isDirty = true;
+		return buffer;
+	}
+
+	@Override
+	public void setVertices (float[] vertices, int offset, int count) {
+		isDirty = true;
+		BufferUtils.copy(vertices, byteBuffer, count, offset);
+		buffer.position(0);
+		buffer.limit(count);
+		bufferChanged();
+	}
+
+	@Override
+	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
+		isDirty = true;
+		final int pos = byteBuffer.position();
+		byteBuffer.position(targetOffset * 4);
+		BufferUtils.copy(vertices, sourceOffset, count, byteBuffer);
+		byteBuffer.position(pos);
+		bufferChanged();
+	}
+
+	/** The previous vertices may still be in use by the GPU, so the changed vertices are uploaded again as a whole and the
+	 * attributes are pointed to them. */
+	private void bufferChanged () {
+		if (isBound) {
+			upload(Gdx.gl20);
+			setAttributePointers(boundShader, boundLocations);
+		}
+	}
+
+	private void upload (GL20 gl) {
+		int size = buffer.limit() * 4;
+		byteBuffer.position(0);
+		byteBuffer.limit(size);
+		if (writeOffset + size > ringSize) {
+			gl.glBufferData(GL20.GL_ARRAY_BUFFER, ringSize, null, GL20.GL_STREAM_DRAW);
+			writeOffset = 0;
+		}
+		if (size > 0) gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, writeOffset, size, byteBuffer);
+		offset = writeOffset;
+		writeOffset += size;
+		isDirty = false;
+	}
+
+	/** Binds this VertexBufferObjectStreaming for rendering via glDrawArrays or glDrawElements
+	 *
+	 * @param shader the shader */
+	@Override
+	public void bind (final ShaderProgram shader) {
+		bind(shader, null);
+	}
+
+	@Override
+	public void bind (final ShaderProgram shader, final int[] locations) {
+		final GL20 gl = Gdx.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		if (isDirty) upload(gl);
+		setAttributePointers(shader, locations);
+		boundShader = shader;
+		boundLocations = locations;
+		isBound = true;
+	}
+
+	private void setAttributePointers (ShaderProgram shader, int[] locations) {
+		final int numAttributes = attributes.size();
+		for (int i = 0; i < numAttributes; i++) {
+			final VertexAttribute attribute = attributes.get(i);
+			final int location = locations == null ? shader.getAttributeLocation(attribute.alias) : locations[i];
+			if (location < 0) continue;
+			shader.enableVertexAttribute(location);
+			shader.setVertexAttribute(location, attribute.numComponents, attribute.type, attribute.normalized,
+				attributes.vertexSize, offset + attribute.offset);
+		}
+	}
+
+	/** Unbinds this VertexBufferObjectStreaming.
+	 *
+	 * @param shader the shader */
+	@Override
+	public void unbind (final ShaderProgram shader) {
+		unbind(shader, null);
+	}
+
+	@Override
+	public void unbind (final ShaderProgram shader, final int[] locations) {
+		final GL20 gl = Gdx.gl20;
+		final int numAttributes = attributes.size();
+		if (locations == null) {
+			for (int i = 0; i < numAttributes; i++)
+				shader.disableVertexAttribute(attributes.get(i).alias);
+		} else {
+			for (int i = 0; i < numAttributes; i++) {
+				final int location = locations[i];
+				if (location >= 0) shader.disableVertexAttribute(location);
+			}
+		}
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		boundShader = null;
+		boundLocations = null;
+		isBound = false;
+	}
+
+	/** Invalidates the VertexBufferObjectStreaming so a new OpenGL buffer handle is created. Use this in case of a context loss. */
+	@Override
+	public void invalidate () {
+		bufferHandle = createBufferObject();
+		isDirty = true;
+	}
+
+	/** Disposes of all resources this VertexBufferObjectStreaming uses. */
+	@Override
+	public void dispose () {
+		GL20 gl = Gdx.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		gl.glDeleteBuffer(bufferHandle);
+		bufferHandle = 0;
+	}
+
+	/** Returns the VBO handle
+	 * @return the VBO handle */
+	public int getBufferHandle () {
+		return bufferHandle;
+	}
+}
@@ -140,9 +140,11 @@ public class AtlasTmxMapLoader extends BaseTmxMapLoader<AtlasTmxMapLoader.AtlasT
 			if (parameter != null) {
 				convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 				flipY = parameter.flipY;
+				packTileLayers = parameter.packTileLayers;
 			} else {
 				convertObjectToTileSpace = false;
 				flipY = true;
+				packTileLayers = false;
 			}
 
 			FileHandle tmxFile = resolve(fileName);
@@ -206,9 +208,11 @@ public class AtlasTmxMapLoader extends BaseTmxMapLoader<AtlasTmxMapLoader.AtlasT
 		if (parameter != null) {
 			convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 			flipY = parameter.flipY;
+			packTileLayers = parameter.packTileLayers;
 		} else {
 			convertObjectToTileSpace = false;
 			flipY = true;
+			packTileLayers = false;
 		}
 
 		try {
@@ -47,6 +47,9 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 		/** Whether to flip all Y coordinates so that Y positive is down. All LibGDX renderers require flipped Y coordinates, and
 		 * thus flipY set to true. This parameter is included for non-rendering related purposes of TMX files, or custom renderers. */
 		public boolean flipY = true;
+		/** Whether to load tile layers as {@link PackedTiledMapTileLayer}, which store each cell in an int instead of a {@link Cell}
+		 * object. */
+		public boolean packTileLayers = false;
 	}
 
 	protected static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
@@ -58,6 +61,7 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 	protected Element root;
 	protected boolean convertObjectToTileSpace;
 	protected boolean flipY = true;
+	protected boolean packTileLayers;
 
 	protected int mapTileWidth;
 	protected int mapTileHeight;
@@ -76,24 +80,37 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 			int height = element.getIntAttribute("height", 0);
 			int tileWidth = element.getParent().getIntAttribute("tilewidth", 0);
 			int tileHeight = element.getParent().getIntAttribute("tileheight", 0);
-			TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+			TiledMapTileSets tilesets = map.getTileSets();
+			TiledMapTileLayer layer = packTileLayers ? new PackedTiledMapTileLayer(width, height, tileWidth, tileHeight, tilesets)
+				: new TiledMapTileLayer(width, height, tileWidth, tileHeight);
 
 			loadBasicLayerInfo(layer, element);
 
 			int[] ids = getTileIds(element, width, height);
-			TiledMapTileSets tilesets = map.getTileSets();
-			for (int y = 0; y < height; y++) {
-				for (int x = 0; x < width; x++) {
-					int id = ids[y * width + x];
-					boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
-					boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
-					boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
-
-					TiledMapTile tile = tilesets.getTile(id & ~MASK_CLEAR);
-					if (tile != null) {
-						Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
-						cell.setTile(tile);
-						layer.setCell(x, flipY ? height - 1 - y : y, cell);
+			if (packTileLayers) {
+				PackedTiledMapTileLayer packedLayer = (PackedTiledMapTileLayer)layer;
+				for (int y = 0; y < height; y++) {
+					for (int x = 0; x < width; x++) {
+						int id = ids[y * width + x];
+						if (tilesets.getTile(id & ~MASK_CLEAR) == null) continue;
+						packedLayer.setValue(x, flipY ? height - 1 - y : y, packTileLayerCell(id & ~MASK_CLEAR,
+							(id & FLAG_FLIP_HORIZONTALLY) != 0, (id & FLAG_FLIP_VERTICALLY) != 0, (id & FLAG_FLIP_DIAGONALLY) != 0));
+					}
+				}
+			} else {
+				for (int y = 0; y < height; y++) {
+					for (int x = 0; x < width; x++) {
+						int id = ids[y * width + x];
+						boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
+						boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
+						boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
+
+						TiledMapTile tile = tilesets.getTile(id & ~MASK_CLEAR);
+						if (tile != null) {
+							Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
+							cell.setTile(tile);
+							layer.setCell(x, flipY ? height - 1 - y : y, cell);
+						}
 					}
 				}
 			}
@@ -290,6 +307,22 @@ public abstract class BaseTmxMapLoader<P extends AssetLoaderParameters<TiledMap>
 		return cell;
 	}
 
+	/** Returns the value of a cell of a {@link PackedTiledMapTileLayer}, with the same flips and rotation as
+	 * {@link #createTileLayerCell(boolean, boolean, boolean)}. */
+	protected int packTileLayerCell (int id, boolean flipHorizontally, boolean flipVertically, boolean flipDiagonally) {
+		if (flipDiagonally) {
+			if (flipHorizontally && flipVertically)
+				return PackedTiledMapTileLayer.pack(id, true, false, Cell.ROTATE_270);
+			else if (flipHorizontally)
+				return PackedTiledMapTileLayer.pack(id, false, false, Cell.ROTATE_270);
+			else if (flipVertically)
+				return PackedTiledMapTileLayer.pack(id, false, false, Cell.ROTATE_90);
+			else
+				return PackedTiledMapTileLayer.pack(id, false, true, Cell.ROTATE_270);
+		}
+		return PackedTiledMapTileLayer.pack(id, flipHorizontally, flipVertically, Cell.ROTATE_0);
+	}
+
 	static public int[] getTileIds (Element element, int width, int height) {
 		Element data = element.getChildByName("data");
 		String encoding = data.getAttribute("encoding", null);
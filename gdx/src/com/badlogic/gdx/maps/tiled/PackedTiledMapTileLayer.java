@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A {@link TiledMapTileLayer} storing each cell as a single int instead of a {@link Cell} object: the id of its tile in the
+ * {@link TiledMapTileSets} of the layer in the low bits, with its flips and rotation in the high bits, like the TMX format.
+ * Empty cells are 0. This uses 4 bytes per cell whatever the number of tiles, so large maps use much less memory and are faster
+ * to iterate.
+ * <p>
+ * {@link #getCell(int, int)} returns a single {@link Cell} owned by the layer, which is overwritten by the next call. It must
+ * not be kept or changed, and threads reading the layer concurrently must use {@link #getCell(int, int, Cell)} with their own
+ * cell. Only tiles in the tile sets of the layer can be set. */
+public class PackedTiledMapTileLayer extends TiledMapTileLayer {
+	static public final int FLIP_HORIZONTALLY = 0x80000000;
+	static public final int FLIP_VERTICALLY = 0x40000000;
+	static public final int ROTATION_MASK = 0x30000000;
+	static public final int ROTATION_SHIFT = 28;
+	static public final int TILE_ID_MASK = 0x0fffffff;
+
+	private final TiledMapTileSets tileSets;
+	private final int[] values;
+	private final Cell cell = new Cell();
+
+	/** @param tileSets the tile sets containing the tiles of the layer, usually {@link TiledMap#getTileSets()}.
+	 * @see TiledMapTileLayer#TiledMapTileLayer(int, int, int, int) */
+	public PackedTiledMapTileLayer (int width, int height, int tileWidth, int tileHeight, TiledMapTileSets tileSets) {
+		super(width, height, tileWidth, tileHeight);
+		this.tileSets = tileSets;
+		values = new int[width * height];
+	}
+
+	/** Creates a layer storing its values itself, by overriding {@link #getValue(int, int)} and {@link #setValue(int, int, int)}. */
+	protected PackedTiledMapTileLayer (int width, int height, int tileWidth, int tileHeight, TiledMapTileSets tileSets,
+		int[] values) {
+		super(width, height, tileWidth, tileHeight);
+		this.tileSets = tileSets;
+		this.values = values;
+	}
+
+	/** @return the packed value of the cell at (x, y), 0 if empty or outside the layer. */
+	public int getValue (int x, int y) {
+		if (x < 0 || x >= getWidth()) return 0;
+		if (y < 0 || y >= getHeight()) return 0;
+		return values[y * getWidth() + x];
+	}
+
+	/** Sets the packed value of the cell at (x, y), see {@link #pack(int, boolean, boolean, int)}. */
+	public void setValue (int x, int y, int value) {
+		if (x < 0 || x >= getWidth()) return;
+		if (y < 0 || y >= getHeight()) return;
+		values[y * getWidth() + x] = value;
+		cellChanged(x, y);
+	}
+
+	/** @return the packed values, row by row from the bottom, or null if the layer doesn't store them in a single array. Changes
+	 *         made to the array directly are not notified to the listeners. */
+	public int[] getValues () {
+		return values;
+	}
+
+	/** Returns the {@link Cell} at the given coordinates in a cell owned by the layer, overwritten by the next call. */
+	@Override
+	public Cell getCell (int x, int y) {
+		return getCell(x, y, cell);
+	}
+
+	@Override
+	public Cell getCell (int x, int y, Cell cell) {
+		int value = getValue(x, y);
+		if (value == 0) return null;
+		cell.setTile(tileSets.getTile(value & TILE_ID_MASK));
+		cell.setFlipHorizontally((value & FLIP_HORIZONTALLY) != 0);
+		cell.setFlipVertically((value & FLIP_VERTICALLY) != 0);
+		cell.setRotation((value & ROTATION_MASK) >>> ROTATION_SHIFT);
+		return cell;
+	}
+
+	/** Stores the tile, flips and rotation of the cell. The cell is not kept, later changes to it have no effect.
+	 * @throws GdxRuntimeException if the tile is not in the tile sets of the layer. */
+	@Override
+	public void setCell (int x, int y, Cell cell) {
+		int value = 0;
+		if (cell != null && cell.getTile() != null) {
+			int id = cell.getTile().getId();
+			if ((id & TILE_ID_MASK) != id || tileSets.getTile(id) != cell.getTile())
+				throw new GdxRuntimeException("Tile is not in the tile sets of the layer: " + id);
+			value = pack(id, cell.getFlipHorizontally(), cell.getFlipVertically(), cell.getRotation());
+		}
+		setValue(x, y, value);
+	}
+
+	public TiledMapTileSets getTileSets () {
+		return tileSets;
+	}
+
+	/** @param id the id of the tile in the tile sets, at most {@link #TILE_ID_MASK}, or 0 for an empty cell.
+	 * @param rotation one of the {@link Cell} ROTATE constants.
+	 * @return the packed value of a cell. */
+	static public int pack (int id, boolean flipHorizontally, boolean flipVertically, int rotation) {
+		if (id == 0) return 0;
+		int value = id | (rotation & 3) << ROTATION_SHIFT;
+		if (flipHorizontally) value |= FLIP_HORIZONTALLY;
+		if (flipVertically) value |= FLIP_VERTICALLY;
+		return value;
+	}
+}
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+/** A {@link PackedTiledMapTileLayer} storing its values in square regions of regionSize by regionSize cells, which are only
+ * allocated when set. The cells of a missing region are empty. Used by {@link StreamingTiledMap} to keep only part of huge
+ * layers in memory.
+ * <p>
+ * Regions are indexed from the bottom left of the layer. The values of a region are stored row by row from its bottom. */
+public class PagedTiledMapTileLayer extends PackedTiledMapTileLayer {
+	private final int regionSize, regionColumns, regionRows;
+	private final int[][] regions;
+
+	/** @param regionSize the number of cells along each side of a region.
+	 * @see PackedTiledMapTileLayer#PackedTiledMapTileLayer(int, int, int, int, TiledMapTileSets) */
+	public PagedTiledMapTileLayer (int width, int height, int tileWidth, int tileHeight, TiledMapTileSets tileSets,
+		int regionSize) {
+		super(width, height, tileWidth, tileHeight, tileSets, null);
+		if (regionSize < 1) throw new IllegalArgumentException("regionSize must be > 0: " + regionSize);
+		this.regionSize = regionSize;
+		regionColumns = (width + regionSize - 1) / regionSize;
+		regionRows = (height + regionSize - 1) / regionSize;
+		regions = new int[regionColumns * regionRows][];
+	}
+
+	@Override
+	public int getValue (int x, int y) {
+		if (x < 0 || x >= getWidth()) return 0;
+		if (y < 0 || y >= getHeight()) return 0;
+		int[] region = regions[y / regionSize * regionColumns + x / regionSize];
+		if (region == null) return 0;
+		return region[y % regionSize * regionSize + x % regionSize];
+	}
+
+	/** Sets the value, allocating its region if it is missing. */
+	@Override
+	public void setValue (int x, int y, int value) {
+		if (x < 0 || x >= getWidth()) return;
+		if (y < 0 || y >= getHeight()) return;
+		int index = y / regionSize * regionColumns + x / regionSize;
+		int[] region = regions[index];
+		if (region == null) {
+			if (value == 0) return;
+			regions[index] = region = new int[regionSize * regionSize];
+		}
+		region[y % regionSize * regionSize + x % regionSize] = value;
+		cellChanged(x, y);
+	}
+
+	/** @return the values of the region, or null if it is missing. */
+	public int[] getRegion (int regionX, int regionY) {
+		if (regionX < 0 || regionX >= regionColumns) return null;
+		if (regionY < 0 || regionY >= regionRows) return null;
+		return regions[regionY * regionColumns + regionX];
+	}
+
+	/** Sets the values of the region, which are kept. The listeners are notified of each cell of the region.
+	 * @param values regionSize * regionSize values, or null to remove the region. */
+	public void setRegion (int regionX, int regionY, int[] values) {
+		if (regionX < 0 || regionX >= regionColumns) return;
+		if (regionY < 0 || regionY >= regionRows) return;
+		if (values != null && values.length != regionSize * regionSize)
+			throw new IllegalArgumentException("values must have regionSize * regionSize elements: " + values.length);
+		int index = regionY * regionColumns + regionX;
+		if (values == null && regions[index] == null) return;
+		regions[index] = values;
+		for (int y = regionY * regionSize, yEnd = Math.min(getHeight(), y + regionSize); y < yEnd; y++)
+			for (int x = regionX * regionSize, xEnd = Math.min(getWidth(), x + regionSize); x < xEnd; x++)
+				cellChanged(x, y);
+	}
+
+	public boolean hasRegion (int regionX, int regionY) {
+		return getRegion(regionX, regionY) != null;
+	}
+
+	public int getRegionSize () {
+		return regionSize;
+	}
+
+	/** @return the number of regions along the width of the layer. */
+	public int getRegionColumns () {
+		return regionColumns;
+	}
+
+	/** @return the number of regions along the height of the layer. */
+	public int getRegionRows () {
+		return regionRows;
+	}
+}
@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.tiled.StreamingTmxMapLoader.LayerData;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntSet;
+import com.badlogic.gdx.utils.IntSet.IntSetIterator;
+
+/** A {@link TiledMap} loaded by {@link StreamingTmxMapLoader}, whose tile layers are {@link PagedTiledMapTileLayer} read from the
+ * TMX file region by region. All the layers are split in regions of the same size, a region is read for every streamed layer at
+ * once.
+ * <p>
+ * {@link #updateRegions(AssetManager, int, int, int, int)} pages regions in and out as the view moves: the regions around the
+ * view are loaded as {@link Region} assets, decoded on the {@link AssetManager}'s thread and set in the layers when the manager is
+ * updated, and the regions away from the view are unloaded. The regions read when the map was loaded stay loaded. */
+public class StreamingTiledMap extends TiledMap {
+	private final StreamingTmxMapLoader loader;
+	private final FileHandle file;
+	private final String fileName;
+	private final int regionSize;
+	private final boolean flipY;
+	private final Array<PagedTiledMapTileLayer> streamedLayers = new Array();
+	private final Array<LayerData> layerData = new Array();
+	private final IntSet requestedRegions = new IntSet();
+	private int regionColumns, regionRows;
+	private int margin = 1;
+
+	StreamingTiledMap (StreamingTmxMapLoader loader, FileHandle file, String fileName, int regionSize, boolean flipY) {
+		this.loader = loader;
+		this.file = file;
+		this.fileName = fileName;
+		this.regionSize = regionSize;
+		this.flipY = flipY;
+	}
+
+	void addLayer (PagedTiledMapTileLayer layer, LayerData data) {
+		streamedLayers.add(layer);
+		layerData.add(data);
+		regionColumns = Math.max(regionColumns, layer.getRegionColumns());
+		regionRows = Math.max(regionRows, layer.getRegionRows());
+	}
+
+	/** Reads the regions overlapping the rectangle, in tiles, and sets them in the streamed layers. The data of each layer is
+	 * decoded once for all the regions. Must be called on the rendering thread, see {@link #readRegion(int, int)} otherwise. */
+	public void loadRegions (int x, int y, int width, int height) {
+		for (int i = 0; i < streamedLayers.size; i++) {
+			PagedTiledMapTileLayer layer = streamedLayers.get(i);
+			int x1 = Math.max(0, x) / regionSize * regionSize;
+			int y1 = Math.max(0, y) / regionSize * regionSize;
+			int x2 = (int)Math.min(layer.getWidth(), ((long)x + width + regionSize - 1) / regionSize * regionSize);
+			int y2 = (int)Math.min(layer.getHeight(), ((long)y + height + regionSize - 1) / regionSize * regionSize);
+			if (x1 >= x2 || y1 >= y2) continue;
+			int[] values = read(i, x1, y1, x2 - x1, y2 - y1);
+			for (int regionY = y1 / regionSize; regionY * regionSize < y2; regionY++)
+				for (int regionX = x1 / regionSize; regionX * regionSize < x2; regionX++)
+					layer.setRegion(regionX, regionY, copyRegion(values, x2 - x1, regionX * regionSize - x1, regionY * regionSize - y1,
+						Math.min(regionSize, x2 - regionX * regionSize), Math.min(regionSize, y2 - regionY * regionSize)));
+		}
+	}
+
+	/** Reads the region of each streamed layer from the file, without changing the layers. Can be called from any thread.
+	 * @return the values of the region for each layer of {@link #getStreamedLayers()}, null for layers without the region. */
+	public int[][] readRegion (int regionX, int regionY) {
+		int[][] regions = new int[streamedLayers.size][];
+		for (int i = 0; i < streamedLayers.size; i++) {
+			PagedTiledMapTileLayer layer = streamedLayers.get(i);
+			int x = regionX * regionSize, y = regionY * regionSize;
+			int width = Math.min(regionSize, layer.getWidth() - x), height = Math.min(regionSize, layer.getHeight() - y);
+			if (regionX < 0 || regionY < 0 || width <= 0 || height <= 0) continue;
+			regions[i] = copyRegion(read(i, x, y, width, height), width, 0, 0, width, height);
+		}
+		return regions;
+	}
+
+	/** Sets the region of each streamed layer, as returned by {@link #readRegion(int, int)}. */
+	public void setRegion (int regionX, int regionY, int[][] regions) {
+		for (int i = 0; i < streamedLayers.size; i++)
+			if (regions[i] != null) streamedLayers.get(i).setRegion(regionX, regionY, regions[i]);
+	}
+
+	/** Removes the region from each streamed layer. */
+	public void removeRegion (int regionX, int regionY) {
+		for (int i = 0; i < streamedLayers.size; i++)
+			streamedLayers.get(i).setRegion(regionX, regionY, null);
+	}
+
+	/** Loads through the asset manager the regions overlapping the rectangle, in tiles, and the regions around it up to the margin,
+	 * and unloads the regions it loaded which are further away. The regions are set in the layers by {@link AssetManager#update()}.
+	 * A {@link RegionLoader} is set on the manager if it has none. */
+	public void updateRegions (AssetManager manager, int x, int y, int width, int height) {
+		if (manager.getLoader(Region.class) == null) manager.setLoader(Region.class, new RegionLoader(new InternalFileHandleResolver()));
+		int x1 = Math.max(0, (int)Math.floor(x / (double)regionSize) - margin);
+		int y1 = Math.max(0, (int)Math.floor(y / (double)regionSize) - margin);
+		int x2 = Math.min(regionColumns - 1, (int)Math.floor((x + width - 1) / (double)regionSize) + margin);
+		int y2 = Math.min(regionRows - 1, (int)Math.floor((y + height - 1) / (double)regionSize) + margin);
+
+		// Regions one further than the margin are kept, so regions at the edge aren't reloaded when the view moves back and forth.
+		for (IntSetIterator iter = requestedRegions.iterator(); iter.hasNext;) {
+			int key = iter.next(), regionX = key % regionColumns, regionY = key / regionColumns;
+			if (regionX >= x1 - 1 && regionX <= x2 + 1 && regionY >= y1 - 1 && regionY <= y2 + 1) continue;
+			iter.remove();
+			manager.unload(getRegionFileName(regionX, regionY));
+		}
+
+		for (int regionY = y1; regionY <= y2; regionY++) {
+			for (int regionX = x1; regionX <= x2; regionX++) {
+				int key = regionY * regionColumns + regionX;
+				if (requestedRegions.contains(key) || isRegionLoaded(regionX, regionY)) continue;
+				requestedRegions.add(key);
+				RegionLoader.Parameters parameter = new RegionLoader.Parameters();
+				parameter.map = this;
+				parameter.regionX = regionX;
+				parameter.regionY = regionY;
+				manager.load(getRegionFileName(regionX, regionY), Region.class, parameter);
+			}
+		}
+	}
+
+	/** @return whether the region is set in any of the streamed layers. */
+	public boolean isRegionLoaded (int regionX, int regionY) {
+		for (int i = 0; i < streamedLayers.size; i++)
+			if (streamedLayers.get(i).hasRegion(regionX, regionY)) return true;
+		return false;
+	}
+
+	/** @return the name of the {@link Region} asset loaded by {@link #updateRegions(AssetManager, int, int, int, int)}. */
+	public String getRegionFileName (int regionX, int regionY) {
+		return fileName + "#" + regionX + "," + regionY;
+	}
+
+	/** Sets the number of regions around the view loaded by {@link #updateRegions(AssetManager, int, int, int, int)}. Default is
+	 * 1. */
+	public void setMargin (int margin) {
+		this.margin = margin;
+	}
+
+	public int getMargin () {
+		return margin;
+	}
+
+	public int getRegionSize () {
+		return regionSize;
+	}
+
+	/** @return the tile layers read from the file region by region. */
+	public Array<PagedTiledMapTileLayer> getStreamedLayers () {
+		return streamedLayers;
+	}
+
+	/** Reads the values of a rectangle of a streamed layer, in the coordinates of the layer. */
+	private int[] read (int layerIndex, int x, int y, int width, int height) {
+		PagedTiledMapTileLayer layer = streamedLayers.get(layerIndex);
+		int layerHeight = layer.getHeight();
+		int[] ids = new int[width * height];
+		StreamingTmxMapLoader.readIds(file, layerData.get(layerIndex), layer.getWidth(), layerHeight, x,
+			flipY ? layerHeight - y - height : y, width, height, ids);
+		TiledMapTileSets tileSets = getTileSets();
+		int[] values = new int[width * height];
+		for (int row = 0; row < height; row++) {
+			int idRow = flipY ? height - 1 - row : row;
+			for (int col = 0; col < width; col++) {
+				int id = ids[idRow * width + col];
+				int tileId = id & ~BaseTmxMapLoader.MASK_CLEAR;
+				if (tileId == 0 || tileSets.getTile(tileId) == null) continue;
+				values[row * width + col] = loader.packTileLayerCell(tileId, (id & BaseTmxMapLoader.FLAG_FLIP_HORIZONTALLY) != 0,
+					(id & BaseTmxMapLoader.FLAG_FLIP_VERTICALLY) != 0, (id & BaseTmxMapLoader.FLAG_FLIP_DIAGONALLY) != 0);
+			}
+		}
+		return values;
+	}
+
+	private int[] copyRegion (int[] values, int stride, int x, int y, int width, int height) {
+		int[] region = new int[regionSize * regionSize];
+		for (int row = 0; row < height; row++)
+			System.arraycopy(values, (y + row) * stride + x, region, row * regionSize, width);
+		return region;
+	}
+
+	/** A region of a {@link StreamingTiledMap} loaded by an {@link AssetManager}. Disposing it, by unloading it, removes the region
+	 * from the map. */
+	static public class Region implements Disposable {
+		public final StreamingTiledMap map;
+		public final int regionX, regionY;
+
+		public Region (StreamingTiledMap map, int regionX, int regionY) {
+			this.map = map;
+			this.regionX = regionX;
+			this.regionY = regionY;
+		}
+
+		@Override
+		public void dispose () {
+			map.removeRegion(regionX, regionY);
+		}
+	}
+
+	/** Loads a {@link Region}, reading it from the file asynchronously and setting it in the map synchronously. The file name is
+	 * only used to identify the region, see {@link StreamingTiledMap#getRegionFileName(int, int)}. */
+	static public class RegionLoader extends AsynchronousAssetLoader<Region, RegionLoader.Parameters> {
+		static public class Parameters extends AssetLoaderParameters<Region> {
+			public StreamingTiledMap map;
+			public int regionX, regionY;
+		}
+
+		private int[][] regions;
+
+		public RegionLoader (FileHandleResolver resolver) {
+			super(resolver);
+		}
+
+		@Override
+		public void loadAsync (AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+			regions = parameter.map.readRegion(parameter.regionX, parameter.regionY);
+		}
+
+		@Override
+		public Region loadSync (AssetManager manager, String fileName, FileHandle file, Parameters parameter) {
+			parameter.map.setRegion(parameter.regionX, parameter.regionY, regions);
+			regions = null;
+			return new Region(parameter.map, parameter.regionX, parameter.regionY);
+		}
+
+		@Override
+		public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, Parameters parameter) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,491 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.maps.ImageResolver;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+/** Loads TMX maps as a {@link StreamingTiledMap} without reading the data of the tile layers up front. The file is scanned once
+ * to find where the data of each layer is, and only the rest of the document is parsed by the {@link XmlReader}. The tile layers
+ * are {@link PagedTiledMapTileLayer}, of which only the regions overlapping the rectangle given by the {@link Parameters} are
+ * decoded when loading, further regions can be read later, see {@link StreamingTiledMap#updateRegions(AssetManager, int, int,
+ * int, int)}.
+ * <p>
+ * Layers with CSV or base64 data are streamed, optionally compressed with zlib or gzip. Reading a region decodes the data from the
+ * start of the layer to the last row of the region. The chunks of layers stored in chunks, as in infinite maps, are decoded only
+ * if they overlap the region, cells outside the layer's size are ignored. Layers with XML data are loaded entirely. */
+public class StreamingTmxMapLoader extends TmxMapLoader {
+	public static class Parameters extends TmxMapLoader.Parameters {
+		/** The number of tiles along each side of the regions in which the tile layers are read. */
+		public int regionSize = 64;
+		/** The rectangle of tiles read when loading the map, in the coordinates of the layers. The whole layers are read if the
+		 * width or height is negative. */
+		public int x, y, width = -1, height = -1;
+	}
+
+	final IntMap<LayerData> layerData = new IntMap();
+	private FileHandle tmxFile;
+	private String fileName;
+	private int layerIndex;
+	private int regionSize = 64;
+	private int loadX, loadY, loadWidth = -1, loadHeight = -1;
+
+	public StreamingTmxMapLoader () {
+		super(new InternalFileHandleResolver());
+	}
+
+	public StreamingTmxMapLoader (FileHandleResolver resolver) {
+		super(resolver);
+	}
+
+	@Override
+	public TiledMap load (String fileName, TmxMapLoader.Parameters parameters) {
+		setParameters(fileName, parameters);
+		return super.load(fileName, parameters);
+	}
+
+	@Override
+	public void loadAsync (AssetManager manager, String fileName, FileHandle tmxFile, TmxMapLoader.Parameters parameter) {
+		setParameters(fileName, parameter);
+		super.loadAsync(manager, fileName, tmxFile, parameter);
+	}
+
+	private void setParameters (String fileName, TmxMapLoader.Parameters parameter) {
+		this.fileName = fileName;
+		if (parameter instanceof Parameters) {
+			Parameters streaming = (Parameters)parameter;
+			regionSize = streaming.regionSize;
+			loadX = streaming.x;
+			loadY = streaming.y;
+			loadWidth = streaming.width;
+			loadHeight = streaming.height;
+		} else {
+			regionSize = 64;
+			loadX = 0;
+			loadY = 0;
+			loadWidth = -1;
+			loadHeight = -1;
+		}
+	}
+
+	@Override
+	protected TiledMap createTiledMap () {
+		return new StreamingTiledMap(this, tmxFile, fileName, regionSize, flipY);
+	}
+
+	@Override
+	protected TiledMap loadTilemap (Element root, FileHandle tmxFile, ImageResolver imageResolver) {
+		layerIndex = 0;
+		StreamingTiledMap map = (StreamingTiledMap)super.loadTilemap(root, tmxFile, imageResolver);
+		if (loadWidth < 0 || loadHeight < 0)
+			map.loadRegions(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+		else
+			map.loadRegions(loadX, loadY, loadWidth, loadHeight);
+		layerData.clear();
+		return map;
+	}
+
+	@Override
+	protected void loadTileLayer (TiledMap map, Element element) {
+		if (!element.getName().equals("layer")) return;
+		LayerData data = layerData.get(layerIndex++);
+		if (data == null) {
+			super.loadTileLayer(map, element);
+			return;
+		}
+		int width = element.getIntAttribute("width", 0);
+		int height = element.getIntAttribute("height", 0);
+		int tileWidth = element.getParent().getIntAttribute("tilewidth", 0);
+		int tileHeight = element.getParent().getIntAttribute("tileheight", 0);
+		PagedTiledMapTileLayer layer = new PagedTiledMapTileLayer(width, height, tileWidth, tileHeight, map.getTileSets(),
+			regionSize);
+		loadBasicLayerInfo(layer, element);
+		Element properties = element.getChildByName("properties");
+		if (properties != null) {
+			loadProperties(layer.getProperties(), properties);
+		}
+		map.getLayers().add(layer);
+		((StreamingTiledMap)map).addLayer(layer, data);
+	}
+
+	/** Scans the file for the data of the tile layers, which is left out of the parsed document. */
+	@Override
+	protected Element parseMap (FileHandle tmxFile) throws IOException {
+		this.tmxFile = tmxFile;
+		layerData.clear();
+		ByteArrayOutputStream document = new ByteArrayOutputStream(4096);
+		ByteArrayOutputStream tag = new ByteArrayOutputStream(256);
+		Array<String> openTags = new Array();
+		int layers = 0;
+		Scanner scanner = new Scanner(tmxFile.read());
+		try {
+			int b;
+			while ((b = scanner.read()) != -1) {
+				document.write(b);
+				if (b != '<') continue;
+				String text = scanner.readTag(tag);
+				tag.writeTo(document);
+				if (text.startsWith("/")) {
+					if (openTags.size > 0) openTags.pop();
+					continue;
+				}
+				if (text.startsWith("?") || text.startsWith("!")) continue;
+				String name = tagName(text);
+				if (name.equals("layer")) layers++;
+				if (text.endsWith("/>")) continue;
+				if (name.equals("data") && openTags.size > 0 && openTags.peek().equals("layer")) {
+					Element dataElement = parseTag(text);
+					String encoding = dataElement.getAttribute("encoding", null);
+					if (encoding != null) {
+						LayerData data = new LayerData(encoding, dataElement.getAttribute("compression", null));
+						scanData(scanner, data, tag);
+						layerData.put(layers - 1, data);
+						document.write("</data>".getBytes("UTF-8"));
+						continue;
+					}
+				}
+				openTags.add(name);
+			}
+		} finally {
+			StreamUtils.closeQuietly(scanner.input);
+		}
+		return xml.parse(new String(document.toByteArray(), "UTF-8"));
+	}
+
+	/** Records where the data of the layer and its chunks start, up to the end of the data element. */
+	private void scanData (Scanner scanner, LayerData data, ByteArrayOutputStream tag) throws IOException {
+		data.offset = scanner.offset;
+		int b;
+		while ((b = scanner.read()) != -1) {
+			if (b != '<') continue;
+			String text = scanner.readTag(tag);
+			if (text.startsWith("/data")) return;
+			if (tagName(text).equals("chunk")) {
+				Element chunk = parseTag(text);
+				data.chunks.add(new ChunkData(chunk.getIntAttribute("x"), chunk.getIntAttribute("y"), chunk.getIntAttribute("width"),
+					chunk.getIntAttribute("height"), scanner.offset));
+			}
+		}
+		throw new GdxRuntimeException("Unexpected end of file in the data of a layer.");
+	}
+
+	private String tagName (String text) {
+		int i = 0, n = text.length();
+		while (i < n) {
+			char c = text.charAt(i);
+			if (c == ' ' || c == '\t' || c == '\r' || c == '\n' || c == '/' || c == '>') break;
+			i++;
+		}
+		return text.substring(0, i);
+	}
+
+	private Element parseTag (String text) {
+		int end = text.endsWith("/>") ? text.length() - 2 : text.length() - 1;
+		return xml.parse("<" + text.substring(0, end) + "/>");
+	}
+
+	/** Reads the global tile ids in a rectangle of a layer, in TMX coordinates where the first row is at the top. Ids outside of
+	 * the data are 0. Can be called from any thread. */
+	static void readIds (FileHandle file, LayerData data, int layerWidth, int layerHeight, int x, int y, int width, int height,
+		int[] ids) {
+		try {
+			if (data.chunks.size > 0) {
+				for (int i = 0; i < data.chunks.size; i++) {
+					ChunkData chunk = data.chunks.get(i);
+					int x1 = Math.max(x, chunk.x), x2 = Math.min(x + width, chunk.x + chunk.width);
+					int y1 = Math.max(y, chunk.y), y2 = Math.min(y + height, chunk.y + chunk.height);
+					if (x1 >= x2 || y1 >= y2) continue;
+					InputStream input = open(file, data, chunk.offset);
+					try {
+						readIds(input, data, chunk.width, x1 - chunk.x, y1 - chunk.y, x2 - x1, y2 - y1, ids, (y1 - y) * width + x1 - x,
+							width);
+					} finally {
+						StreamUtils.closeQuietly(input);
+					}
+				}
+			} else {
+				InputStream input = open(file, data, data.offset);
+				try {
+					readIds(input, data, layerWidth, x, y, width, height, ids, 0, width);
+				} finally {
+					StreamUtils.closeQuietly(input);
+				}
+			}
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error reading layer data: " + file, ex);
+		}
+	}
+
+	/** Reads the ids of the rectangle from the decoded data of a grid of the given width into the ids, with the given stride. */
+	static private void readIds (InputStream input, LayerData data, int dataWidth, int x, int y, int width, int height, int[] ids,
+		int offset, int stride) throws IOException {
+		if (data.encoding.equals("csv")) {
+			CsvReader reader = new CsvReader(input);
+			for (int i = 0, n = y * dataWidth + x; i < n; i++)
+				reader.next();
+			for (int row = 0; row < height; row++) {
+				for (int col = 0; col < width; col++)
+					ids[offset + row * stride + col] = reader.next();
+				if (row < height - 1) {
+					for (int i = 0, n = dataWidth - width; i < n; i++)
+						reader.next();
+				}
+			}
+		} else {
+			skip(input, ((long)y * dataWidth + x) * 4);
+			byte[] bytes = new byte[width * 4];
+			for (int row = 0; row < height; row++) {
+				readFully(input, bytes);
+				for (int col = 0, i = 0; col < width; col++, i += 4)
+					ids[offset + row * stride + col] = (bytes[i] & 0xff) | (bytes[i + 1] & 0xff) << 8 | (bytes[i + 2] & 0xff) << 16
+						| (bytes[i + 3] & 0xff) << 24;
+				if (row < height - 1) skip(input, (dataWidth - width) * 4);
+			}
+		}
+	}
+
+	/** Opens the decoded data at the offset in the file, as bytes for base64 and as text for CSV. */
+	static private InputStream open (FileHandle file, LayerData data, long offset) throws IOException {
+		InputStream input = new BufferedInputStream(file.read(), 8192);
+		try {
+			skip(input, offset);
+			if (data.encoding.equals("csv")) return input;
+			if (!data.encoding.equals("base64")) throw new GdxRuntimeException("Unsupported encoding: " + data.encoding);
+			input = new Base64Input(input);
+			if (data.compression == null) return input;
+			if (data.compression.equals("zlib")) return new InflaterInputStream(input);
+			if (data.compression.equals("gzip")) return new GZIPInputStream(input, 8192);
+			throw new GdxRuntimeException("Unsupported compression: " + data.compression);
+		} catch (IOException ex) {
+			StreamUtils.closeQuietly(input);
+			throw ex;
+		} catch (RuntimeException ex) {
+			StreamUtils.closeQuietly(input);
+			throw ex;
+		}
+	}
+
+	static private void skip (InputStream input, long count) throws IOException {
+		while (count > 0) {
+			long skipped = input.skip(count);
+			if (skipped <= 0) {
+				if (input.read() == -1) throw new GdxRuntimeException("Unexpected end of layer data.");
+				skipped = 1;
+			}
+			count -= skipped;
+		}
+	}
+
+	static private void readFully (InputStream input, byte[] bytes) throws IOException {
+		for (int offset = 0; offset < bytes.length;) {
+			int count = input.read(bytes, offset, bytes.length - offset);
+			if (count == -1) throw new GdxRuntimeException("Unexpected end of layer data.");
+			offset += count;
+		}
+	}
+
+	/** Where the data of a tile layer is in the file. */
+	static class LayerData {
+		final String encoding, compression;
+		long offset;
+		final Array<ChunkData> chunks = new Array();
+
+		LayerData (String encoding, String compression) {
+			this.encoding = encoding;
+			this.compression = compression;
+		}
+	}
+
+	static class ChunkData {
+		final int x, y, width, height;
+		final long offset;
+
+		ChunkData (int x, int y, int width, int height, long offset) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.offset = offset;
+		}
+	}
+
+	/** Reads the file byte by byte, counting the offset. */
+	static private class Scanner {
+		final InputStream input;
+		final byte[] buffer = new byte[65536];
+		int position, limit;
+		long offset;
+
+		Scanner (InputStream input) {
+			this.input = input;
+		}
+
+		int read () throws IOException {
+			if (position == limit) {
+				limit = input.read(buffer);
+				position = 0;
+				if (limit <= 0) {
+					limit = 0;
+					return -1;
+				}
+			}
+			offset++;
+			return buffer[position++] & 0xff;
+		}
+
+		/** Reads the rest of a tag after its '<', including the '>', and returns it. Comments are read up to their end. */
+		String readTag (ByteArrayOutputStream tag) throws IOException {
+			tag.reset();
+			int b;
+			while ((b = read()) != -1) {
+				tag.write(b);
+				if (b != '>') continue;
+				if (tag.size() >= 3 && startsWithComment(tag) && !endsWithComment(tag)) continue;
+				break;
+			}
+			return tag.toString("UTF-8");
+		}
+
+		private boolean startsWithComment (ByteArrayOutputStream tag) {
+			byte[] bytes = tag.toByteArray();
+			return bytes.length >= 3 && bytes[0] == '!' && bytes[1] == '-' && bytes[2] == '-';
+		}
+
+		private boolean endsWithComment (ByteArrayOutputStream tag) {
+			byte[] bytes = tag.toByteArray();
+			int n = bytes.length;
+			return n >= 6 && bytes[n - 2] == '-' && bytes[n - 3] == '-';
+		}
+	}
+
+	/** Decodes base64 text up to the end of the element. */
+	static private class Base64Input extends InputStream {
+		static private final byte[] values = new byte[128];
+		static {
+			for (int i = 0; i < values.length; i++)
+				values[i] = -1;
+			String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+			for (int i = 0; i < chars.length(); i++)
+				values[chars.charAt(i)] = (byte)i;
+		}
+
+		private final InputStream input;
+		private final byte[] decoded = new byte[3];
+		private int position, count;
+		private boolean ended;
+
+		Base64Input (InputStream input) {
+			this.input = input;
+		}
+
+		public int read () throws IOException {
+			if (position == count && !decode()) return -1;
+			return decoded[position++] & 0xff;
+		}
+
+		public int read (byte[] bytes, int offset, int length) throws IOException {
+			if (length == 0) return 0;
+			int n = 0;
+			while (n < length) {
+				if (position == count && !decode()) break;
+				int copy = Math.min(length - n, count - position);
+				System.arraycopy(decoded, position, bytes, offset + n, copy);
+				position += copy;
+				n += copy;
+			}
+			return n == 0 ? -1 : n;
+		}
+
+		/** Decodes the next 4 characters. */
+		private boolean decode () throws IOException {
+			if (ended) return false;
+			int bits = 0, chars = 0;
+			while (chars < 4) {
+				int c = input.read();
+				if (c == -1 || c == '<' || c == '=') {
+					ended = true;
+					break;
+				}
+				if (c >= 128 || values[c] == -1) continue;
+				bits = bits << 6 | values[c];
+				chars++;
+			}
+			position = 0;
+			if (chars == 4) {
+				count = 3;
+			} else if (chars == 3) {
+				bits <<= 6;
+				count = 2;
+			} else if (chars == 2) {
+				bits <<= 12;
+				count = 1;
+			} else
+				return false;
+			decoded[0] = (byte)(bits >> 16);
+			decoded[1] = (byte)(bits >> 8);
+			decoded[2] = (byte)bits;
+			return true;
+		}
+
+		public void close () throws IOException {
+			input.close();
+		}
+	}
+
+	/** Reads the comma separated ids of CSV data. */
+	static private class CsvReader {
+		private final InputStream input;
+
+		CsvReader (InputStream input) {
+			this.input = input;
+		}
+
+		int next () throws IOException {
+			long value = 0;
+			boolean digits = false;
+			while (true) {
+				int c = input.read();
+				if (c >= '0' && c <= '9') {
+					value = value * 10 + c - '0';
+					digits = true;
+				} else if (c == ',') {
+					if (digits) break;
+				} else if (c == -1 || c == '<') {
+					if (digits) break;
+					throw new GdxRuntimeException("Unexpected end of layer data.");
+				}
+			}
+			return (int)value;
+		}
+	}
+}
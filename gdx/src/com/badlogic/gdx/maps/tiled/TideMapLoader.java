@@ -44,11 +44,14 @@ import java.util.StringTokenizer;
 public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoader.Parameters> {
 
 	public static class Parameters extends AssetLoaderParameters<TiledMap> {
-
+		/** Whether to load tile layers as {@link PackedTiledMapTileLayer}, which store each cell in an int instead of a {@link Cell}
+		 * object. Each distinct animated tile is then added to the tile sets. */
+		public boolean packTileLayers = false;
 	}
 
 	private XmlReader xml = new XmlReader();
 	private Element root;
+	private boolean packTileLayers;
 
 	public TideMapLoader () {
 		super(new InternalFileHandleResolver());
@@ -59,6 +62,11 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 	}
 
 	public TiledMap load (String fileName) {
+		return load(fileName, new Parameters());
+	}
+
+	public TiledMap load (String fileName, Parameters parameter) {
+		packTileLayers = parameter != null && parameter.packTileLayers;
 		try {
 			FileHandle tideFile = resolve(fileName);
 			root = xml.parse(tideFile);
@@ -78,6 +86,7 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 
 	@Override
 	public TiledMap load (AssetManager assetManager, String fileName, FileHandle tideFile, Parameters parameter) {
+		packTileLayers = parameter != null && parameter.packTileLayers;
 		try {
 			return loadMap(root, tideFile, new AssetManagerImageResolver(assetManager));
 		} catch (Exception e) {
@@ -115,8 +124,10 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 			loadTileSheet(map, tilesheet, tmxFile, imageResolver);
 		}
 		Element layers = root.getChildByName("Layers");
+		// Animated tiles added to the tile sets by packed layers, by interval and frames, shared by all the layers.
+		ObjectMap<String, TiledMapTile> animatedTiles = packTileLayers ? new ObjectMap<String, TiledMapTile>() : null;
 		for (Element layer : layers.getChildrenByName("Layer")) {
-			loadLayer(map, layer);
+			loadLayer(map, layer, animatedTiles);
 		}
 		return map;
 	}
@@ -198,7 +209,7 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 		}
 	}
 
-	private void loadLayer (TiledMap map, Element element) {
+	private void loadLayer (TiledMap map, Element element, ObjectMap<String, TiledMapTile> animatedTiles) {
 		if (element.getName().equals("Layer")) {
 			String id = element.getAttribute("Id");
 			String visible = element.getAttribute("Visible");
@@ -215,12 +226,15 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 			int tileSizeX = Integer.parseInt(tileSizeParts[0]);
 			int tileSizeY = Integer.parseInt(tileSizeParts[1]);
 
-			TiledMapTileLayer layer = new TiledMapTileLayer(layerSizeX, layerSizeY, tileSizeX, tileSizeY);
+			TiledMapTileSets tilesets = map.getTileSets();
+			PackedTiledMapTileLayer packedLayer = packTileLayers ? new PackedTiledMapTileLayer(layerSizeX, layerSizeY, tileSizeX,
+				tileSizeY, tilesets) : null;
+			TiledMapTileLayer layer = packTileLayers ? packedLayer
+				: new TiledMapTileLayer(layerSizeX, layerSizeY, tileSizeX, tileSizeY);
 			layer.setName(id);
 			layer.setVisible(visible.equalsIgnoreCase("True"));
 			Element tileArray = element.getChildByName("TileArray");
 			Array<Element> rows = tileArray.getChildrenByName("Row");
-			TiledMapTileSets tilesets = map.getTileSets();
 			TiledMapTileSet currentTileSet = null;
 			int firstgid = 0;
 			int x, y;
@@ -237,6 +251,10 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 					} else if (name.equals("Null")) {
 						x += currentChild.getIntAttribute("Count");
 					} else if (name.equals("Static")) {
+						if (packTileLayers) {
+							packedLayer.setValue(x++, y, firstgid + currentChild.getIntAttribute("Index"));
+							continue;
+						}
 						Cell cell = new Cell();
 						cell.setTile(currentTileSet.getTile(firstgid + currentChild.getIntAttribute("Index")));
 						layer.setCell(x++, y, cell);
@@ -245,6 +263,7 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 						int interval = currentChild.getInt("Interval");
 						Element frames = currentChild.getChildByName("Frames");
 						Array<StaticTiledMapTile> frameTiles = new Array<StaticTiledMapTile>();
+						StringBuilder key = packTileLayers ? new StringBuilder().append(interval) : null;
 						for (int frameChild = 0, frameChildCount = frames.getChildCount(); frameChild < frameChildCount; frameChild++) {
 							Element frame = frames.getChild(frameChild);
 							String frameName = frame.getName();
@@ -253,7 +272,23 @@ public class TideMapLoader extends SynchronousAssetLoader<TiledMap, TideMapLoade
 								firstgid = currentTileSet.getProperties().get("firstgid", Integer.class);
 							} else if (frameName.equals("Static")) {
 								frameTiles.add((StaticTiledMapTile)currentTileSet.getTile(firstgid + frame.getIntAttribute("Index")));
+								if (key != null) key.append(',').append(firstgid + frame.getIntAttribute("Index"));
+							}
+						}
+						if (packTileLayers) {
+							// The animated tile is added to the tile sets once, with the next free id.
+							TiledMapTile tile = animatedTiles.get(key.toString());
+							if (tile == null) {
+								int tileId = 1;
+								for (TiledMapTileSet tileset : tilesets)
+									tileId += tileset.size();
+								tile = new AnimatedTiledMapTile(interval / 1000f, frameTiles);
+								tile.setId(tileId);
+								currentTileSet.putTile(tileId, tile);
+								animatedTiles.put(key.toString(), tile);
 							}
+							packedLayer.setValue(x++, y, tile.getId());
+							continue;
 						}
 						Cell cell = new Cell();
 						cell.setTile(new AnimatedTiledMapTile(interval / 1000f, frameTiles));
@@ -17,6 +17,7 @@
 package com.badlogic.gdx.maps.tiled;
 
 import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.utils.Array;
 
 /** @brief Layer for a TiledMap */
 public class TiledMapTileLayer extends MapLayer {
@@ -29,6 +30,8 @@ public class TiledMapTileLayer extends MapLayer {
 
 	private Cell[][] cells;
 
+	private final Array<CellListener> listeners = new Array(false, 2);
+
 	/** @return layer's width in tiles */
 	public int getWidth () {
 		return width;
@@ -61,7 +64,6 @@ public class TiledMapTileLayer extends MapLayer {
 		this.height = height;
 		this.tileWidth = tileWidth;
 		this.tileHeight = tileHeight;
-		this.cells = new Cell[width][height];
 	}
 
 	/** @param x X coordinate
@@ -70,9 +72,19 @@ public class TiledMapTileLayer extends MapLayer {
 	public Cell getCell (int x, int y) {
 		if (x < 0 || x >= width) return null;
 		if (y < 0 || y >= height) return null;
+		if (cells == null) return null;
 		return cells[x][y];
 	}
 
+	/** Returns the {@link Cell} at the given coordinates, which may be stored in the given cell by layers which don't keep
+	 * {@link Cell} instances, see {@link PackedTiledMapTileLayer}. Several threads can read the layer at once by each passing
+	 * their own cell.
+	 * @param cell a cell which may be set and returned instead of the stored one.
+	 * @return {@link Cell} at (x, y) */
+	public Cell getCell (int x, int y, Cell cell) {
+		return getCell(x, y);
+	}
+
 	/** Sets the {@link Cell} at the given coordinates.
 	 * 
 	 * @param x X coordinate
@@ -81,7 +93,30 @@ public class TiledMapTileLayer extends MapLayer {
 	public void setCell (int x, int y, Cell cell) {
 		if (x < 0 || x >= width) return;
 		if (y < 0 || y >= height) return;
+		if (cells == null) cells = new Cell[width][height];
 		cells[x][y] = cell;
+		cellChanged(x, y);
+	}
+
+	/** Notifies the listeners that the cell at the given coordinates was set. */
+	protected void cellChanged (int x, int y) {
+		for (int i = 0, n = listeners.size; i < n; i++)
+			listeners.get(i).cellChanged(this, x, y);
+	}
+
+	/** Adds a listener notified by {@link #setCell(int, int, Cell)}. Changes made to a {@link Cell} after it was set are not
+	 * notified. */
+	public void addListener (CellListener listener) {
+		if (!listeners.contains(listener, true)) listeners.add(listener);
+	}
+
+	public void removeListener (CellListener listener) {
+		listeners.removeValue(listener, true);
+	}
+
+	/** Notified when the cell at some coordinates of a {@link TiledMapTileLayer} is set. */
+	static public interface CellListener {
+		public void cellChanged (TiledMapTileLayer layer, int x, int y);
 	}
 
 	/** @brief represents a cell in a TiledLayer: TiledMapTile, flip and rotation properties. */
@@ -74,8 +74,9 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 		try {
 			this.convertObjectToTileSpace = parameters.convertObjectToTileSpace;
 			this.flipY = parameters.flipY;
+			this.packTileLayers = parameters.packTileLayers;
 			FileHandle tmxFile = resolve(fileName);
-			root = xml.parse(tmxFile);
+			root = parseMap(tmxFile);
 			ObjectMap<String, Texture> textures = new ObjectMap<String, Texture>();
 			Array<FileHandle> textureFiles = loadTilesets(root, tmxFile);
 			textureFiles.addAll(loadImages(root, tmxFile));
@@ -102,9 +103,11 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 		if (parameter != null) {
 			convertObjectToTileSpace = parameter.convertObjectToTileSpace;
 			flipY = parameter.flipY;
+			packTileLayers = parameter.packTileLayers;
 		} else {
 			convertObjectToTileSpace = false;
 			flipY = true;
+			packTileLayers = false;
 		}
 		try {
 			map = loadTilemap(root, tmxFile, new AssetManagerImageResolver(manager));
@@ -127,7 +130,7 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 	public Array<AssetDescriptor> getDependencies (String fileName, FileHandle tmxFile, Parameters parameter) {
 		Array<AssetDescriptor> dependencies = new Array<AssetDescriptor>();
 		try {
-			root = xml.parse(tmxFile);
+			root = parseMap(tmxFile);
 			boolean generateMipMaps = (parameter != null ? parameter.generateMipMaps : false);
 			TextureLoader.TextureParameter texParams = new TextureParameter();
 			texParams.genMipMaps = generateMipMaps;
@@ -153,7 +156,7 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 	 * @param imageResolver the {@link ImageResolver}
 	 * @return the {@link TiledMap} */
 	protected TiledMap loadTilemap (Element root, FileHandle tmxFile, ImageResolver imageResolver) {
-		TiledMap map = new TiledMap();
+		TiledMap map = createTiledMap();
 
 		String mapOrientation = root.getAttribute("orientation", null);
 		int mapWidth = root.getIntAttribute("width", 0);
@@ -211,6 +214,16 @@ public class TmxMapLoader extends BaseTmxMapLoader<TmxMapLoader.Parameters> {
 		return map;
 	}
 
+	/** Parses the TMX file, before its tilesets are loaded. */
+	protected Element parseMap (FileHandle tmxFile) throws IOException {
+		return xml.parse(tmxFile);
+	}
+
+	/** Returns the map filled by {@link #loadTilemap(Element, FileHandle, ImageResolver)}. */
+	protected TiledMap createTiledMap () {
+		return new TiledMap();
+	}
+
 	/** Loads the tilesets
 	 * @param root the root XML element
 	 * @return a list of filenames for images containing tiles
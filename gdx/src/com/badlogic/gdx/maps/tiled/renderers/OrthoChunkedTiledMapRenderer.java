@@ -0,0 +1,730 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled.renderers;
+
+import static com.badlogic.gdx.graphics.g2d.Batch.*;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.SpriteCache;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.MapLayer;
+import com.badlogic.gdx.maps.MapLayers;
+import com.badlogic.gdx.maps.MapObject;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapImageLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.CellListener;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Renders ortho tiles by caching geometry on the GPU in chunks. Each tile layer is split in chunks of chunkSize by chunkSize
+ * tiles, each with its own mesh, and only the chunks in view are drawn. A chunk is built when it first enters the view and is
+ * only rebuilt when one of its tiles is set with {@link TiledMapTileLayer#setCell(int, int, Cell)}, or after
+ * {@link #invalidate()}. When more chunks than the maximum are cached, the ones drawn least recently are evicted and their meshes
+ * are reused.
+ * <p>
+ * With an executor, see {@link #setExecutor(AsyncExecutor)}, the vertices of the chunks are computed on its threads and only
+ * uploaded on the rendering thread, and the chunks around the view are built ahead of time. A chunk entering the view is not
+ * drawn until it is built, a changed chunk is drawn as it was until it is rebuilt.
+ * <p>
+ * Like with {@link OrthoCachedTiledMapRenderer}, animated tiles are drawn with the frame they had when their chunk was built.
+ * Changing a {@link Cell} after it was set, the tiles of a {@link TiledMapImageLayer} or the opacity of a layer requires
+ * {@link #invalidate(MapLayer)}. */
+public class OrthoChunkedTiledMapRenderer implements TiledMapRenderer, Disposable {
+	static protected final int NUM_VERTICES = 20;
+
+	protected final TiledMap map;
+	protected final float unitScale;
+	protected final int chunkSize;
+	protected final int maxChunks;
+	protected final ShaderProgram shader;
+	protected final Matrix4 projectionMatrix = new Matrix4();
+	protected final Rectangle viewBounds = new Rectangle();
+
+	protected boolean blending;
+	protected float maxTileWidth, maxTileHeight;
+	protected int prefetch = 1;
+	protected AsyncExecutor executor;
+
+	/** The number of chunks built, for profiling. */
+	public int chunksBuilt;
+	/** The number of chunks drawn by the last call to render, for profiling. */
+	public int chunksRendered;
+
+	private final ObjectMap<MapLayer, LayerChunks> layerChunks = new ObjectMap();
+	private final Array<Chunk> cachedChunks = new Array(false, 64);
+	private final Array<Mesh> freeMeshes = new Array(false, 16);
+	private int frame;
+
+	private final CellListener listener = new CellListener() {
+		public void cellChanged (TiledMapTileLayer layer, int x, int y) {
+			LayerChunks chunks = layerChunks.get(layer);
+			if (chunks == null) return;
+			Chunk chunk = chunks.get(x / chunkSize, y / chunkSize);
+			if (chunk != null) chunk.version++;
+		}
+	};
+
+	/** Creates a renderer with a unit scale of 1, chunks of 32 by 32 tiles and at most 256 cached chunks. */
+	public OrthoChunkedTiledMapRenderer (TiledMap map) {
+		this(map, 1, 32, 256);
+	}
+
+	/** Creates a renderer with chunks of 32 by 32 tiles and at most 256 cached chunks. */
+	public OrthoChunkedTiledMapRenderer (TiledMap map, float unitScale) {
+		this(map, unitScale, 32, 256);
+	}
+
+	/** @param chunkSize The number of tiles along each side of a chunk, at most 90 so the vertices of a chunk can be indexed by
+	 *           shorts.
+	 * @param maxChunks The maximum number of chunks cached at once. It is exceeded when more chunks are in view. */
+	public OrthoChunkedTiledMapRenderer (TiledMap map, float unitScale, int chunkSize, int maxChunks) {
+		if (chunkSize < 1 || chunkSize > 90) throw new IllegalArgumentException("chunkSize must be between 1 and 90: " + chunkSize);
+		this.map = map;
+		this.unitScale = unitScale;
+		this.chunkSize = chunkSize;
+		this.maxChunks = maxChunks;
+		shader = SpriteCache.createDefaultShader();
+	}
+
+	@Override
+	public void setView (OrthographicCamera camera) {
+		projectionMatrix.set(camera.combined);
+		float width = camera.viewportWidth * camera.zoom + maxTileWidth * 2 * unitScale;
+		float height = camera.viewportHeight * camera.zoom + maxTileHeight * 2 * unitScale;
+		viewBounds.set(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
+	}
+
+	@Override
+	public void setView (Matrix4 projection, float x, float y, float width, float height) {
+		projectionMatrix.set(projection);
+		x -= maxTileWidth * unitScale;
+		y -= maxTileHeight * unitScale;
+		width += maxTileWidth * 2 * unitScale;
+		height += maxTileHeight * 2 * unitScale;
+		viewBounds.set(x, y, width, height);
+	}
+
+	@Override
+	public void render () {
+		beginRender();
+		MapLayers mapLayers = map.getLayers();
+		for (int i = 0, j = mapLayers.getCount(); i < j; i++)
+			renderLayer(mapLayers.get(i));
+		endRender();
+	}
+
+	@Override
+	public void render (int[] layers) {
+		beginRender();
+		MapLayers mapLayers = map.getLayers();
+		for (int i : layers)
+			renderLayer(mapLayers.get(i));
+		endRender();
+	}
+
+	/** Uploads the chunks built by the executor and begins the shader. Called by the render methods, which draw the layers
+	 * between this and {@link #endRender()}. */
+	protected void beginRender () {
+		frame++;
+		chunksRendered = 0;
+		for (int i = 0, n = cachedChunks.size; i < n; i++) {
+			Chunk chunk = cachedChunks.get(i);
+			if (chunk.pending != null && chunk.pending.isDone()) upload(chunk);
+		}
+		if (blending) {
+			Gdx.gl.glEnable(GL20.GL_BLEND);
+			Gdx.gl.glBlendFunc(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+		}
+		Gdx.gl20.glDepthMask(false);
+		shader.begin();
+		shader.setUniformMatrix("u_projectionViewMatrix", projectionMatrix);
+		shader.setUniformi("u_texture", 0);
+	}
+
+	/** Ends the shader and evicts the chunks drawn least recently if more than the maximum are cached. */
+	protected void endRender () {
+		shader.end();
+		Gdx.gl20.glDepthMask(true);
+		if (blending) Gdx.gl.glDisable(GL20.GL_BLEND);
+		evict();
+	}
+
+	protected void renderLayer (MapLayer layer) {
+		if (!layer.isVisible()) return;
+		if (layer instanceof TiledMapTileLayer)
+			renderTileLayer((TiledMapTileLayer)layer);
+		else if (layer instanceof TiledMapImageLayer) //
+			renderImageLayer((TiledMapImageLayer)layer);
+		renderObjects(layer);
+	}
+
+	@Override
+	public void renderObjects (MapLayer layer) {
+		for (MapObject object : layer.getObjects()) {
+			renderObject(object);
+		}
+	}
+
+	@Override
+	public void renderObject (MapObject object) {
+	}
+
+	/** Draws the chunks of the layer in view, building the missing or changed ones. Only valid while rendering, see
+	 * {@link #beginRender()}. */
+	@Override
+	public void renderTileLayer (TiledMapTileLayer layer) {
+		LayerChunks chunks = getChunks(layer);
+		final float chunkWidth = layer.getTileWidth() * unitScale * chunkSize;
+		final float chunkHeight = layer.getTileHeight() * unitScale * chunkSize;
+
+		final int col1 = Math.max(0, (int)Math.floor(viewBounds.x / chunkWidth));
+		final int col2 = Math.min(chunks.cols - 1, (int)Math.floor((viewBounds.x + viewBounds.width) / chunkWidth));
+		final int row1 = Math.max(0, (int)Math.floor(viewBounds.y / chunkHeight));
+		final int row2 = Math.min(chunks.rows - 1, (int)Math.floor((viewBounds.y + viewBounds.height) / chunkHeight));
+
+		for (int row = row1; row <= row2; row++)
+			for (int col = col1; col <= col2; col++)
+				renderChunk(chunks.obtain(col, row));
+
+		if (executor == null || prefetch <= 0) return;
+		for (int row = Math.max(0, row1 - prefetch), n = Math.min(chunks.rows - 1, row2 + prefetch); row <= n; row++) {
+			for (int col = Math.max(0, col1 - prefetch), m = Math.min(chunks.cols - 1, col2 + prefetch); col <= m; col++) {
+				if (row >= row1 && row <= row2 && col >= col1 && col <= col2) continue;
+				Chunk chunk = chunks.obtain(col, row);
+				chunk.lastFrame = frame;
+				if (chunk.needsBuild()) build(chunk);
+			}
+		}
+	}
+
+	/** Draws the image of the layer. Only valid while rendering, see {@link #beginRender()}. */
+	@Override
+	public void renderImageLayer (TiledMapImageLayer layer) {
+		if (layer.getTextureRegion() == null) return;
+		renderChunk(getChunks(layer).obtain(0, 0));
+	}
+
+	private void renderChunk (Chunk chunk) {
+		chunk.lastFrame = frame;
+		if (chunk.needsBuild()) {
+			build(chunk);
+			if (chunk.pending != null && chunk.pending.isDone()) upload(chunk);
+		}
+		ChunkVertices vertices = chunk.drawn;
+		if (chunk.mesh == null || vertices.quads == 0) return;
+		chunksRendered++;
+		Mesh mesh = chunk.mesh;
+		mesh.bind(shader);
+		Array<Texture> textures = vertices.textures;
+		IntArray counts = vertices.counts;
+		for (int i = 0, offset = 0; i < textures.size; i++) {
+			int count = counts.get(i) * 6;
+			textures.get(i).bind();
+			mesh.render(shader, GL20.GL_TRIANGLES, offset, count, false);
+			offset += count;
+		}
+		mesh.unbind(shader);
+	}
+
+	private LayerChunks getChunks (MapLayer layer) {
+		LayerChunks chunks = layerChunks.get(layer);
+		if (chunks == null) {
+			if (layer instanceof TiledMapTileLayer) {
+				TiledMapTileLayer tileLayer = (TiledMapTileLayer)layer;
+				chunks = new LayerChunks(layer, (tileLayer.getWidth() + chunkSize - 1) / chunkSize,
+					(tileLayer.getHeight() + chunkSize - 1) / chunkSize);
+				tileLayer.addListener(listener);
+			} else
+				chunks = new LayerChunks(layer, 1, 1);
+			layerChunks.put(layer, chunks);
+		}
+		return chunks;
+	}
+
+	/** Computes the vertices of the chunk, on the executor if there is one, otherwise immediately. */
+	private void build (final Chunk chunk) {
+		final int version = chunk.version;
+		if (executor != null) {
+			chunk.pending = executor.submit(new AsyncTask<Void>() {
+				public Void call () {
+					computeVertices(chunk, chunk.building);
+					chunk.building.version = version;
+					return null;
+				}
+			});
+		} else {
+			computeVertices(chunk, chunk.building);
+			chunk.building.version = version;
+			swap(chunk);
+		}
+	}
+
+	private void upload (Chunk chunk) {
+		try {
+			chunk.pending.get();
+		} finally {
+			chunk.pending = null;
+		}
+		swap(chunk);
+	}
+
+	/** Makes the vertices last computed for the chunk the drawn ones and uploads them to its mesh. */
+	private void swap (Chunk chunk) {
+		ChunkVertices built = chunk.building;
+		chunk.building = chunk.drawn;
+		chunk.drawn = built;
+		chunk.builtVersion = built.version;
+		chunksBuilt++;
+		if (built.quads == 0) return;
+		if (chunk.mesh == null) chunk.mesh = obtainMesh(chunk.layer instanceof TiledMapTileLayer);
+		chunk.mesh.setVertices(built.vertices, 0, built.quads * NUM_VERTICES);
+	}
+
+	/** Returns a mesh with indices for the quads of a chunk of a tile layer, or for a single quad. */
+	private Mesh obtainMesh (boolean tiles) {
+		if (tiles && freeMeshes.size > 0) return freeMeshes.pop();
+		int quads = tiles ? chunkSize * chunkSize : 1;
+		Mesh mesh = new Mesh(true, quads * 4, quads * 6, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE),
+			new VertexAttribute(Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		short[] indices = new short[quads * 6];
+		short j = 0;
+		for (int i = 0; i < indices.length; i += 6, j += 4) {
+			indices[i + 0] = j;
+			indices[i + 1] = (short)(j + 1);
+			indices[i + 2] = (short)(j + 2);
+			indices[i + 3] = (short)(j + 2);
+			indices[i + 4] = (short)(j + 3);
+			indices[i + 5] = j;
+		}
+		mesh.setIndices(indices);
+		return mesh;
+	}
+
+	/** Removes the chunks drawn least recently while more than the maximum are cached, except the ones drawn this frame or being
+	 * built. */
+	private void evict () {
+		while (cachedChunks.size > maxChunks) {
+			int oldest = -1;
+			for (int i = 0, n = cachedChunks.size; i < n; i++) {
+				Chunk chunk = cachedChunks.get(i);
+				if (chunk.lastFrame == frame || chunk.pending != null) continue;
+				if (oldest == -1 || chunk.lastFrame < cachedChunks.get(oldest).lastFrame) oldest = i;
+			}
+			if (oldest == -1) return;
+			free(cachedChunks.removeIndex(oldest));
+		}
+	}
+
+	private void free (Chunk chunk) {
+		LayerChunks chunks = layerChunks.get(chunk.layer);
+		chunks.chunks[chunk.y * chunks.cols + chunk.x] = null;
+		if (chunk.mesh == null) return;
+		if (chunk.layer instanceof TiledMapTileLayer)
+			freeMeshes.add(chunk.mesh);
+		else
+			chunk.mesh.dispose();
+		chunk.mesh = null;
+	}
+
+	/** Computes the vertices of the tiles of the chunk, from the top row to the bottom one so tiles taller than the layer's tiles
+	 * overlap the row above them. Called from the executor's threads if there is one. */
+	private void computeVertices (Chunk chunk, ChunkVertices out) {
+		out.clear();
+		if (chunk.layer instanceof TiledMapImageLayer) {
+			computeImageVertices((TiledMapImageLayer)chunk.layer, out);
+			return;
+		}
+		TiledMapTileLayer layer = (TiledMapTileLayer)chunk.layer;
+		final float color = Color.toFloatBits(1, 1, 1, layer.getOpacity());
+
+		final float layerTileWidth = layer.getTileWidth() * unitScale;
+		final float layerTileHeight = layer.getTileHeight() * unitScale;
+
+		final int col1 = chunk.x * chunkSize;
+		final int col2 = Math.min(layer.getWidth(), col1 + chunkSize);
+		final int row1 = chunk.y * chunkSize;
+		final int row2 = Math.min(layer.getHeight(), row1 + chunkSize);
+
+		for (int row = row2 - 1; row >= row1; row--) {
+			for (int col = col1; col < col2; col++) {
+				final TiledMapTileLayer.Cell cell = layer.getCell(col, row, out.cell);
+				if (cell == null) continue;
+
+				final TiledMapTile tile = cell.getTile();
+				if (tile == null) continue;
+
+				final boolean flipX = cell.getFlipHorizontally();
+				final boolean flipY = cell.getFlipVertically();
+				final int rotations = cell.getRotation();
+
+				final TextureRegion region = tile.getTextureRegion();
+				final Texture texture = region.getTexture();
+
+				final float x1 = col * layerTileWidth + tile.getOffsetX() * unitScale;
+				final float y1 = row * layerTileHeight + tile.getOffsetY() * unitScale;
+				final float x2 = x1 + region.getRegionWidth() * unitScale;
+				final float y2 = y1 + region.getRegionHeight() * unitScale;
+
+				final float adjustX = 0.5f / texture.getWidth();
+				final float adjustY = 0.5f / texture.getHeight();
+				final float u1 = region.getU() + adjustX;
+				final float v1 = region.getV2() - adjustY;
+				final float u2 = region.getU2() - adjustX;
+				final float v2 = region.getV() + adjustY;
+
+				final int idx = out.add(texture);
+				final float[] vertices = out.vertices;
+
+				vertices[idx + X1] = x1;
+				vertices[idx + Y1] = y1;
+				vertices[idx + C1] = color;
+				vertices[idx + U1] = u1;
+				vertices[idx + V1] = v1;
+
+				vertices[idx + X2] = x1;
+				vertices[idx + Y2] = y2;
+				vertices[idx + C2] = color;
+				vertices[idx + U2] = u1;
+				vertices[idx + V2] = v2;
+
+				vertices[idx + X3] = x2;
+				vertices[idx + Y3] = y2;
+				vertices[idx + C3] = color;
+				vertices[idx + U3] = u2;
+				vertices[idx + V3] = v2;
+
+				vertices[idx + X4] = x2;
+				vertices[idx + Y4] = y1;
+				vertices[idx + C4] = color;
+				vertices[idx + U4] = u2;
+				vertices[idx + V4] = v1;
+
+				if (flipX) {
+					float temp = vertices[idx + U1];
+					vertices[idx + U1] = vertices[idx + U3];
+					vertices[idx + U3] = temp;
+					temp = vertices[idx + U2];
+					vertices[idx + U2] = vertices[idx + U4];
+					vertices[idx + U4] = temp;
+				}
+				if (flipY) {
+					float temp = vertices[idx + V1];
+					vertices[idx + V1] = vertices[idx + V3];
+					vertices[idx + V3] = temp;
+					temp = vertices[idx + V2];
+					vertices[idx + V2] = vertices[idx + V4];
+					vertices[idx + V4] = temp;
+				}
+				if (rotations != 0) {
+					switch (rotations) {
+					case Cell.ROTATE_90: {
+						float tempV = vertices[idx + V1];
+						vertices[idx + V1] = vertices[idx + V2];
+						vertices[idx + V2] = vertices[idx + V3];
+						vertices[idx + V3] = vertices[idx + V4];
+						vertices[idx + V4] = tempV;
+
+						float tempU = vertices[idx + U1];
+						vertices[idx + U1] = vertices[idx + U2];
+						vertices[idx + U2] = vertices[idx + U3];
+						vertices[idx + U3] = vertices[idx + U4];
+						vertices[idx + U4] = tempU;
+						break;
+					}
+					case Cell.ROTATE_180: {
+						float tempU = vertices[idx + U1];
+						vertices[idx + U1] = vertices[idx + U3];
+						vertices[idx + U3] = tempU;
+						tempU = vertices[idx + U2];
+						vertices[idx + U2] = vertices[idx + U4];
+						vertices[idx + U4] = tempU;
+						float tempV = vertices[idx + V1];
+						vertices[idx + V1] = vertices[idx + V3];
+						vertices[idx + V3] = tempV;
+						tempV = vertices[idx + V2];
+						vertices[idx + V2] = vertices[idx + V4];
+						vertices[idx + V4] = tempV;
+						break;
+					}
+					case Cell.ROTATE_270: {
+						float tempV = vertices[idx + V1];
+						vertices[idx + V1] = vertices[idx + V4];
+						vertices[idx + V4] = vertices[idx + V3];
+						vertices[idx + V3] = vertices[idx + V2];
+						vertices[idx + V2] = tempV;
+
+						float tempU = vertices[idx + U1];
+						vertices[idx + U1] = vertices[idx + U4];
+						vertices[idx + U4] = vertices[idx + U3];
+						vertices[idx + U3] = vertices[idx + U2];
+						vertices[idx + U2] = tempU;
+						break;
+					}
+					}
+				}
+			}
+		}
+	}
+
+	private void computeImageVertices (TiledMapImageLayer layer, ChunkVertices out) {
+		final TextureRegion region = layer.getTextureRegion();
+		if (region == null) return;
+		final float color = Color.toFloatBits(1.0f, 1.0f, 1.0f, layer.getOpacity());
+
+		final float x1 = layer.getX() * unitScale;
+		final float y1 = layer.getY() * unitScale;
+		final float x2 = x1 + region.getRegionWidth() * unitScale;
+		final float y2 = y1 + region.getRegionHeight() * unitScale;
+
+		final float u1 = region.getU();
+		final float v1 = region.getV2();
+		final float u2 = region.getU2();
+		final float v2 = region.getV();
+
+		final int idx = out.add(region.getTexture());
+		final float[] vertices = out.vertices;
+
+		vertices[idx + X1] = x1;
+		vertices[idx + Y1] = y1;
+		vertices[idx + C1] = color;
+		vertices[idx + U1] = u1;
+		vertices[idx + V1] = v1;
+
+		vertices[idx + X2] = x1;
+		vertices[idx + Y2] = y2;
+		vertices[idx + C2] = color;
+		vertices[idx + U2] = u1;
+		vertices[idx + V2] = v2;
+
+		vertices[idx + X3] = x2;
+		vertices[idx + Y3] = y2;
+		vertices[idx + C3] = color;
+		vertices[idx + U3] = u2;
+		vertices[idx + V3] = v2;
+
+		vertices[idx + X4] = x2;
+		vertices[idx + Y4] = y1;
+		vertices[idx + C4] = color;
+		vertices[idx + U4] = u2;
+		vertices[idx + V4] = v1;
+	}
+
+	/** Causes every cached chunk to be rebuilt when it is next drawn. */
+	public void invalidate () {
+		for (int i = 0, n = cachedChunks.size; i < n; i++)
+			cachedChunks.get(i).version++;
+	}
+
+	/** Causes the cached chunks of the layer to be rebuilt when they are next drawn. */
+	public void invalidate (MapLayer layer) {
+		for (int i = 0, n = cachedChunks.size; i < n; i++) {
+			Chunk chunk = cachedChunks.get(i);
+			if (chunk.layer == layer) chunk.version++;
+		}
+	}
+
+	/** Causes the chunk with the tile at the given coordinates of the layer to be rebuilt when it is next drawn. */
+	public void invalidate (TiledMapTileLayer layer, int x, int y) {
+		listener.cellChanged(layer, x, y);
+	}
+
+	/** Sets the executor computing the vertices of the chunks, or null to compute them on the rendering thread when they are
+	 * drawn. The executor is not disposed by this renderer. */
+	public void setExecutor (AsyncExecutor executor) {
+		this.executor = executor;
+	}
+
+	/** Sets the number of chunks around the view built ahead of time with the executor. Default is 1. */
+	public void setPrefetch (int prefetch) {
+		this.prefetch = prefetch;
+	}
+
+	public int getPrefetch () {
+		return prefetch;
+	}
+
+	/** @return The number of chunks currently cached. */
+	public int getCachedChunks () {
+		return cachedChunks.size;
+	}
+
+	public int getChunkSize () {
+		return chunkSize;
+	}
+
+	public int getMaxChunks () {
+		return maxChunks;
+	}
+
+	/** Sets the maximum tile size, used to expand the view so tiles larger than the layer's tiles or with an offset are drawn at
+	 * the edges of the view. */
+	public void setMaxTileSize (float maxPixelWidth, float maxPixelHeight) {
+		this.maxTileWidth = maxPixelWidth;
+		this.maxTileHeight = maxPixelHeight;
+	}
+
+	public void setBlending (boolean blending) {
+		this.blending = blending;
+	}
+
+	public ShaderProgram getShader () {
+		return shader;
+	}
+
+	public float getUnitScale () {
+		return unitScale;
+	}
+
+	public Rectangle getViewBounds () {
+		return viewBounds;
+	}
+
+	/** Disposes the meshes and the shader. Chunks still being built by the executor are waited for. */
+	@Override
+	public void dispose () {
+		for (int i = 0, n = cachedChunks.size; i < n; i++) {
+			Chunk chunk = cachedChunks.get(i);
+			if (chunk.pending != null) {
+				try {
+					chunk.pending.get();
+				} catch (GdxRuntimeException ignored) {
+				}
+				chunk.pending = null;
+			}
+			if (chunk.mesh != null) chunk.mesh.dispose();
+			chunk.mesh = null;
+		}
+		cachedChunks.clear();
+		for (Mesh mesh : freeMeshes)
+			mesh.dispose();
+		freeMeshes.clear();
+		for (MapLayer layer : layerChunks.keys())
+			if (layer instanceof TiledMapTileLayer) ((TiledMapTileLayer)layer).removeListener(listener);
+		layerChunks.clear();
+		shader.dispose();
+	}
+
+	private class LayerChunks {
+		final MapLayer layer;
+		final int cols, rows;
+		final Chunk[] chunks;
+
+		LayerChunks (MapLayer layer, int cols, int rows) {
+			this.layer = layer;
+			this.cols = cols;
+			this.rows = rows;
+			chunks = new Chunk[cols * rows];
+		}
+
+		Chunk get (int x, int y) {
+			if (x < 0 || x >= cols || y < 0 || y >= rows) return null;
+			return chunks[y * cols + x];
+		}
+
+		Chunk obtain (int x, int y) {
+			int index = y * cols + x;
+			Chunk chunk = chunks[index];
+			if (chunk == null) {
+				chunk = new Chunk(layer, x, y);
+				chunks[index] = chunk;
+				cachedChunks.add(chunk);
+			}
+			return chunk;
+		}
+	}
+
+	/** The cached tiles of a part of a layer, or the image of a {@link TiledMapImageLayer}. */
+	static private class Chunk {
+		final MapLayer layer;
+		/** The position of the chunk in the layer, in chunks. */
+		final int x, y;
+		Mesh mesh;
+		ChunkVertices drawn = new ChunkVertices(), building = new ChunkVertices();
+		AsyncResult<Void> pending;
+		/** Incremented when the tiles of the chunk change. */
+		int version;
+		int builtVersion = -1;
+		int lastFrame;
+
+		Chunk (MapLayer layer, int x, int y) {
+			this.layer = layer;
+			this.x = x;
+			this.y = y;
+		}
+
+		boolean needsBuild () {
+			return pending == null && builtVersion != version;
+		}
+	}
+
+	/** The vertices of the quads of a chunk, in runs of quads with the same texture. */
+	static private class ChunkVertices {
+		float[] vertices = new float[NUM_VERTICES * 16];
+		int quads;
+		final Array<Texture> textures = new Array();
+		final IntArray counts = new IntArray();
+		/** Passed to {@link TiledMapTileLayer#getCell(int, int, Cell)} so packed layers can be read by several threads. */
+		final Cell cell = new Cell();
+		int version;
+
+		void clear () {
+			quads = 0;
+			textures.clear();
+			counts.clear();
+		}
+
+		/** Adds a quad with the texture and returns the index of its first vertex component. */
+		int add (Texture texture) {
+			int index = quads * NUM_VERTICES;
+			if (index + NUM_VERTICES > vertices.length) {
+				float[] newVertices = new float[vertices.length * 2];
+				System.arraycopy(vertices, 0, newVertices, 0, index);
+				vertices = newVertices;
+			}
+			quads++;
+			int last = textures.size - 1;
+			if (last >= 0 && textures.get(last) == texture)
+				counts.incr(last, 1);
+			else {
+				textures.add(texture);
+				counts.add(1);
+			}
+			return index;
+		}
+	}
+}
@@ -0,0 +1,453 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math.collision;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.utils.Array;
+
+/** A dynamic bounding volume hierarchy of axis aligned {@link BoundingBox bounding boxes}, which finds the items visible in a
+ * {@link Frustum} or overlapping a box without testing every item. Each item is a leaf of a balanced binary tree whose inner nodes
+ * bound their children. A frustum query skips subtrees outside of the frustum, and does not test the descendants of a node
+ * completely inside of it.
+ * <p>
+ * Items are referenced by the proxy returned from {@link #add(Object, BoundingBox)}. The bounds of a leaf can be enlarged by a
+ * margin, so items which move a little do not need to be reinserted on every {@link #update(int, BoundingBox)}.
+ * <p>
+ * For example, to render only the visible model instances:
+ *
+ * <pre>
+ * int proxy = tree.add(instance, instance.calculateBoundingBox(bounds).mul(instance.transform));
+ * ...
+ * modelBatch.begin(camera);
+ * modelBatch.render(tree, environment);
+ * modelBatch.end();
+ * </pre> */
+public class BoundingBoxTree<T> {
+	static private final int NULL = -1;
+
+	private final float margin;
+	private int root = NULL, freeList = NULL;
+	/** Min x, y, z and max x, y, z per node. */
+	private float[] bounds;
+	/** The parent of a node, or the next node of the free list. */
+	private int[] parent;
+	/** The children of an inner node, {@link #NULL} for leaves. */
+	private int[] child1, child2;
+	/** 0 for leaves, -1 for free nodes. */
+	private int[] height;
+	private Object[] items;
+	private int[] stack = new int[64], masks = new int[64];
+
+	/** The number of items. */
+	public int size;
+	/** The number of nodes tested against the frustum or box by the last query. */
+	public int nodesTested;
+	/** The number of tested nodes which were outside of the frustum or box, their descendants were not tested. */
+	public int nodesCulled;
+	/** The number of tested nodes which were completely inside of the frustum, their descendants were not tested. */
+	public int nodesInside;
+
+	public BoundingBoxTree () {
+		this(16, 0);
+	}
+
+	/** @param margin The amount by which the bounds of each item are enlarged on each side. */
+	public BoundingBoxTree (int initialCapacity, float margin) {
+		if (margin < 0) throw new IllegalArgumentException("margin must be >= 0: " + margin);
+		this.margin = margin;
+		bounds = new float[0];
+		parent = new int[0];
+		child1 = new int[0];
+		child2 = new int[0];
+		height = new int[0];
+		items = new Object[0];
+		grow(Math.max(1, initialCapacity * 2 - 1));
+	}
+
+	/** Adds the item with the given bounds, which are copied.
+	 * @return The proxy of the item. */
+	public int add (T item, BoundingBox bounds) {
+		int proxy = allocateNode();
+		setBounds(proxy, bounds);
+		items[proxy] = item;
+		height[proxy] = 0;
+		insertLeaf(proxy);
+		size++;
+		return proxy;
+	}
+
+	/** Updates the bounds of the item. The item is only reinserted if the bounds are no longer contained in its enlarged bounds.
+	 * @return Whether the item was reinserted. */
+	public boolean update (int proxy, BoundingBox bounds) {
+		checkProxy(proxy);
+		float[] nodeBounds = this.bounds;
+		int i = proxy * 6;
+		if (nodeBounds[i] <= bounds.min.x && nodeBounds[i + 1] <= bounds.min.y && nodeBounds[i + 2] <= bounds.min.z
+			&& nodeBounds[i + 3] >= bounds.max.x && nodeBounds[i + 4] >= bounds.max.y && nodeBounds[i + 5] >= bounds.max.z)
+			return false;
+		removeLeaf(proxy);
+		setBounds(proxy, bounds);
+		insertLeaf(proxy);
+		return true;
+	}
+
+	/** Removes the item. The proxy may be reused by later calls to {@link #add(Object, BoundingBox)}.
+	 * @return The item. */
+	public T remove (int proxy) {
+		checkProxy(proxy);
+		T item = (T)items[proxy];
+		removeLeaf(proxy);
+		freeNode(proxy);
+		size--;
+		return item;
+	}
+
+	public T get (int proxy) {
+		checkProxy(proxy);
+		return (T)items[proxy];
+	}
+
+	/** Sets the given box to the enlarged bounds of the item.
+	 * @return The out argument. */
+	public BoundingBox getBounds (int proxy, BoundingBox out) {
+		checkProxy(proxy);
+		float[] bounds = this.bounds;
+		int i = proxy * 6;
+		return out.set(out.min.set(bounds[i], bounds[i + 1], bounds[i + 2]), out.max.set(bounds[i + 3], bounds[i + 4], bounds[i + 5]));
+	}
+
+	/** Removes all items. */
+	public void clear () {
+		int capacity = height.length;
+		for (int i = 0; i < capacity; i++) {
+			parent[i] = i + 1 < capacity ? i + 1 : NULL;
+			height[i] = -1;
+			items[i] = null;
+		}
+		freeList = 0;
+		root = NULL;
+		size = 0;
+	}
+
+	/** @return The height of the tree, 0 for a single item and -1 if empty. */
+	public int getHeight () {
+		return root == NULL ? -1 : height[root];
+	}
+
+	/** Adds the items whose bounds are in the frustum to the array. Like {@link Frustum#boundsInFrustum(BoundingBox)}, an item is
+	 * visible unless its bounds are completely behind one of the planes. Updates {@link #nodesTested}, {@link #nodesCulled} and
+	 * {@link #nodesInside}. */
+	public void query (Frustum frustum, Array<? super T> out) {
+		nodesTested = 0;
+		nodesCulled = 0;
+		nodesInside = 0;
+		if (root == NULL) return;
+		Plane[] planes = frustum.planes;
+		float[] bounds = this.bounds;
+		int[] child1 = this.child1, child2 = this.child2;
+		int top = push(0, root, (1 << planes.length) - 1);
+		outer:
+		while (top > 0) {
+			top--;
+			int node = stack[top], mask = masks[top];
+			// Planes the parent is completely in front of are cleared from the mask and not tested again.
+			if (mask != 0) {
+				nodesTested++;
+				int i = node * 6;
+				float minX = bounds[i], minY = bounds[i + 1], minZ = bounds[i + 2];
+				float maxX = bounds[i + 3], maxY = bounds[i + 4], maxZ = bounds[i + 5];
+				float centerX = (minX + maxX) * 0.5f, centerY = (minY + maxY) * 0.5f, centerZ = (minZ + maxZ) * 0.5f;
+				float extentX = (maxX - minX) * 0.5f, extentY = (maxY - minY) * 0.5f, extentZ = (maxZ - minZ) * 0.5f;
+				for (int p = 0, n = planes.length; p < n; p++) {
+					int bit = 1 << p;
+					if ((mask & bit) == 0) continue;
+					Plane plane = planes[p];
+					float nx = plane.normal.x, ny = plane.normal.y, nz = plane.normal.z;
+					float distance = nx * centerX + ny * centerY + nz * centerZ + plane.d;
+					float radius = Math.abs(nx) * extentX + Math.abs(ny) * extentY + Math.abs(nz) * extentZ;
+					if (distance + radius < 0) {
+						nodesCulled++;
+						continue outer;
+					}
+					if (distance - radius >= 0) mask &= ~bit;
+				}
+				if (mask == 0) nodesInside++;
+			}
+			if (child1[node] == NULL)
+				out.add((T)items[node]);
+			else {
+				top = push(top, child1[node], mask);
+				top = push(top, child2[node], mask);
+			}
+		}
+	}
+
+	/** Adds the items whose bounds overlap the given box to the array. Updates {@link #nodesTested} and {@link #nodesCulled}. */
+	public void query (BoundingBox box, Array<? super T> out) {
+		nodesTested = 0;
+		nodesCulled = 0;
+		nodesInside = 0;
+		if (root == NULL) return;
+		float[] bounds = this.bounds;
+		int[] child1 = this.child1, child2 = this.child2;
+		float minX = box.min.x, minY = box.min.y, minZ = box.min.z, maxX = box.max.x, maxY = box.max.y, maxZ = box.max.z;
+		int top = push(0, root, 0);
+		while (top > 0) {
+			int node = stack[--top];
+			nodesTested++;
+			int i = node * 6;
+			if (bounds[i] > maxX || bounds[i + 1] > maxY || bounds[i + 2] > maxZ || bounds[i + 3] < minX || bounds[i + 4] < minY
+				|| bounds[i + 5] < minZ) {
+				nodesCulled++;
+				continue;
+			}
+			if (child1[node] == NULL)
+				out.add((T)items[node]);
+			else {
+				top = push(top, child1[node], 0);
+				top = push(top, child2[node], 0);
+			}
+		}
+	}
+
+	private int push (int top, int node, int mask) {
+		if (top == stack.length) {
+			int[] newStack = new int[top << 1], newMasks = new int[top << 1];
+			System.arraycopy(stack, 0, newStack, 0, top);
+			System.arraycopy(masks, 0, newMasks, 0, top);
+			stack = newStack;
+			masks = newMasks;
+		}
+		stack[top] = node;
+		masks[top] = mask;
+		return top + 1;
+	}
+
+	private void checkProxy (int proxy) {
+		if (proxy < 0 || proxy >= height.length || height[proxy] != 0)
+			throw new IllegalArgumentException("Invalid proxy: " + proxy);
+	}
+
+	private void setBounds (int node, BoundingBox box) {
+		float[] bounds = this.bounds;
+		float margin = this.margin;
+		int i = node * 6;
+		bounds[i] = box.min.x - margin;
+		bounds[i + 1] = box.min.y - margin;
+		bounds[i + 2] = box.min.z - margin;
+		bounds[i + 3] = box.max.x + margin;
+		bounds[i + 4] = box.max.y + margin;
+		bounds[i + 5] = box.max.z + margin;
+	}
+
+	private int allocateNode () {
+		if (freeList == NULL) grow(height.length << 1);
+		int node = freeList;
+		freeList = parent[node];
+		parent[node] = NULL;
+		child1[node] = NULL;
+		child2[node] = NULL;
+		height[node] = 0;
+		return node;
+	}
+
+	private void freeNode (int node) {
+		parent[node] = freeList;
+		height[node] = -1;
+		items[node] = null;
+		freeList = node;
+	}
+
+	private void grow (int capacity) {
+		int oldCapacity = height.length;
+		float[] newBounds = new float[capacity * 6];
+		System.arraycopy(bounds, 0, newBounds, 0, bounds.length);
+		bounds = newBounds;
+		parent = copy(parent, capacity);
+		child1 = copy(child1, capacity);
+		child2 = copy(child2, capacity);
+		height = copy(height, capacity);
+		Object[] newItems = new Object[capacity];
+		System.arraycopy(items, 0, newItems, 0, oldCapacity);
+		items = newItems;
+		for (int i = oldCapacity; i < capacity; i++) {
+			parent[i] = i + 1 < capacity ? i + 1 : freeList;
+			height[i] = -1;
+		}
+		freeList = oldCapacity;
+	}
+
+	private int[] copy (int[] array, int capacity) {
+		int[] newArray = new int[capacity];
+		System.arraycopy(array, 0, newArray, 0, array.length);
+		return newArray;
+	}
+
+	/** Inserts the leaf next to the sibling which enlarges the surface area of the tree the least, then rebalances the ancestors. */
+	private void insertLeaf (int leaf) {
+		if (root == NULL) {
+			root = leaf;
+			parent[leaf] = NULL;
+			return;
+		}
+
+		int index = root;
+		while (child1[index] != NULL) {
+			int c1 = child1[index], c2 = child2[index];
+			float area = area(index), combinedArea = unionArea(index, leaf);
+			// The cost of making a new parent for this node and the leaf.
+			float cost = 2 * combinedArea;
+			// The minimum cost of pushing the leaf further down the tree.
+			float inheritanceCost = 2 * (combinedArea - area);
+			float cost1 = unionArea(leaf, c1) + inheritanceCost;
+			if (child1[c1] != NULL) cost1 -= area(c1);
+			float cost2 = unionArea(leaf, c2) + inheritanceCost;
+			if (child1[c2] != NULL) cost2 -= area(c2);
+			if (cost < cost1 && cost < cost2) break;
+			index = cost1 < cost2 ? c1 : c2;
+		}
+
+		int sibling = index;
+		int oldParent = parent[sibling];
+		int newParent = allocateNode();
+		parent[newParent] = oldParent;
+		setUnion(newParent, leaf, sibling);
+		height[newParent] = height[sibling] + 1;
+		if (oldParent != NULL) {
+			if (child1[oldParent] == sibling)
+				child1[oldParent] = newParent;
+			else
+				child2[oldParent] = newParent;
+		} else
+			root = newParent;
+		child1[newParent] = sibling;
+		child2[newParent] = leaf;
+		parent[sibling] = newParent;
+		parent[leaf] = newParent;
+
+		refit(parent[leaf]);
+	}
+
+	private void removeLeaf (int leaf) {
+		if (leaf == root) {
+			root = NULL;
+			return;
+		}
+		int oldParent = parent[leaf], grandParent = parent[oldParent];
+		int sibling = child1[oldParent] == leaf ? child2[oldParent] : child1[oldParent];
+		if (grandParent != NULL) {
+			if (child1[grandParent] == oldParent)
+				child1[grandParent] = sibling;
+			else
+				child2[grandParent] = sibling;
+			parent[sibling] = grandParent;
+			freeNode(oldParent);
+			refit(grandParent);
+		} else {
+			root = sibling;
+			parent[sibling] = NULL;
+			freeNode(oldParent);
+		}
+		parent[leaf] = NULL;
+	}
+
+	/** Rebalances the node and its ancestors and updates their bounds and heights. */
+	private void refit (int index) {
+		while (index != NULL) {
+			index = balance(index);
+			int c1 = child1[index], c2 = child2[index];
+			height[index] = 1 + Math.max(height[c1], height[c2]);
+			setUnion(index, c1, c2);
+			index = parent[index];
+		}
+	}
+
+	/** Rotates the taller child of the node up if the heights of its children differ by more than one.
+	 * @return The node which replaced the given node. */
+	private int balance (int a) {
+		if (child1[a] == NULL || height[a] < 2) return a;
+		int b = child1[a], c = child2[a];
+		int balance = height[c] - height[b];
+		if (balance > 1) return rotate(a, c, b, false);
+		if (balance < -1) return rotate(a, b, c, true);
+		return a;
+	}
+
+	/** Makes the child the parent of the node, the child keeps its taller child and gives the other to the node.
+	 * @param other The other child of the node. */
+	private int rotate (int node, int child, int other, boolean first) {
+		int f = child1[child], g = child2[child];
+		child1[child] = node;
+		parent[child] = parent[node];
+		parent[node] = child;
+		int newParent = parent[child];
+		if (newParent != NULL) {
+			if (child1[newParent] == node)
+				child1[newParent] = child;
+			else
+				child2[newParent] = child;
+		} else
+			root = child;
+
+		int kept = f, given = g;
+		if (height[f] <= height[g]) {
+			kept = g;
+			given = f;
+		}
+		child2[child] = kept;
+		if (first)
+			child1[node] = given;
+		else
+			child2[node] = given;
+		parent[given] = node;
+		setUnion(node, other, given);
+		setUnion(child, node, kept);
+		height[node] = 1 + Math.max(height[other], height[given]);
+		height[child] = 1 + Math.max(height[node], height[kept]);
+		return child;
+	}
+
+	private void setUnion (int target, int a, int b) {
+		float[] bounds = this.bounds;
+		int t = target * 6, i = a * 6, j = b * 6;
+		bounds[t] = Math.min(bounds[i], bounds[j]);
+		bounds[t + 1] = Math.min(bounds[i + 1], bounds[j + 1]);
+		bounds[t + 2] = Math.min(bounds[i + 2], bounds[j + 2]);
+		bounds[t + 3] = Math.max(bounds[i + 3], bounds[j + 3]);
+		bounds[t + 4] = Math.max(bounds[i + 4], bounds[j + 4]);
+		bounds[t + 5] = Math.max(bounds[i + 5], bounds[j + 5]);
+	}
+
+	/** Returns half the surface area of the node's bounds. */
+	private float area (int node) {
+		float[] bounds = this.bounds;
+		int i = node * 6;
+		float x = bounds[i + 3] - bounds[i], y = bounds[i + 4] - bounds[i + 1], z = bounds[i + 5] - bounds[i + 2];
+		return x * y + y * z + z * x;
+	}
+
+	/** Returns half the surface area of the union of the nodes' bounds. */
+	private float unionArea (int a, int b) {
+		float[] bounds = this.bounds;
+		int i = a * 6, j = b * 6;
+		float x = Math.max(bounds[i + 3], bounds[j + 3]) - Math.min(bounds[i], bounds[j]);
+		float y = Math.max(bounds[i + 4], bounds[j + 4]) - Math.min(bounds[i + 1], bounds[j + 1]);
+		float z = Math.max(bounds[i + 5], bounds[j + 5]) - Math.min(bounds[i + 2], bounds[j + 2]);
+		return x * y + y * z + z * x;
+	}
+}
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** Reads JSON one token at a time without building a DOM of {@link JsonValue}s, so large files can be processed with little
+ * memory. Objects and arrays are reported by start and end tokens. A value is reported by a token for its type, and the getters
+ * convert it like the as* methods of {@link JsonValue}. Inside an object, {@link #getName()} returns the name of the value or
+ * object or array that was just started. <br>
+ * <br>
+ * A large array can be processed one element at a time:
+ *
+ * <pre>
+ * reader.nextToken(); // startArray
+ * while (reader.nextToken() != Token.endArray) {
+ * 	Enemy enemy = json.readValue(Enemy.class, null, reader);
+ * 	...
+ * }
+ * </pre>
+ *
+ * Parts that are needed as a whole can be read with {@link #readValue()}, parts that are not needed can be skipped with
+ * {@link #skipValue()}.
+ * @see Json#readValue(Class, Class, BaseJsonStreamReader) */
+abstract public class BaseJsonStreamReader {
+	protected Token token;
+	protected String name;
+	protected int depth;
+	/** Holds the current value, reused for every value token. */
+	protected final JsonValue value = new JsonValue(ValueType.nullValue);
+
+	/** Advances to the next token.
+	 * @return The new current token, {@link Token#end} after the root value was read completely.
+	 * @throws SerializationException if the JSON is invalid. */
+	abstract public Token nextToken ();
+
+	/** Closes the underlying stream, if any. */
+	abstract public void close ();
+
+	/** Returns the current token, or null if {@link #nextToken()} was not called yet. */
+	public Token getToken () {
+		return token;
+	}
+
+	/** Returns the name of the current value, object or array.
+	 * @return May be null if it is not inside an object. */
+	public String getName () {
+		return name;
+	}
+
+	/** Returns the number of objects and arrays the current token is in. A start token is counted as inside the object or array it
+	 * starts, an end token as outside of it. */
+	public int getDepth () {
+		return depth;
+	}
+
+	/** Returns true if the current token is {@link Token#nullValue}. */
+	public boolean isNull () {
+		return token == Token.nullValue;
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public String getString () {
+		return value().asString();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public float getFloat () {
+		return value().asFloat();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public double getDouble () {
+		return value().asDouble();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public long getLong () {
+		return value().asLong();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public int getInt () {
+		return value().asInt();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public short getShort () {
+		return value().asShort();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public byte getByte () {
+		return value().asByte();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public char getChar () {
+		return value().asChar();
+	}
+
+	/** @throws IllegalStateException if the current token is not a value. */
+	public boolean getBoolean () {
+		return value().asBoolean();
+	}
+
+	private JsonValue value () {
+		if (token == null || !token.isValue()) throw new IllegalStateException("Current token is not a value: " + token);
+		return value;
+	}
+
+	/** If the current token starts an object or array, skips all of its children. Afterward the current token is the end of the
+	 * object or array. Does nothing for other tokens. */
+	public void skipValue () {
+		if (token != Token.startObject && token != Token.startArray) return;
+		int containerDepth = depth;
+		while (depth >= containerDepth)
+			if (nextToken() == Token.end) throw new SerializationException("Error parsing JSON, unexpected end.");
+	}
+
+	/** Reads the current value, or the current object or array with all of its children, into a new JsonValue. Afterward the current
+	 * token is the last token of the value.
+	 * @throws IllegalStateException if the current token is an end token. */
+	public JsonValue readValue () {
+		if (token == null) throw new IllegalStateException("nextToken must be called first.");
+		JsonValue result;
+		switch (token) {
+		case startObject:
+			result = new JsonValue(ValueType.object);
+			result.setName(name);
+			readChildren(result);
+			return result;
+		case startArray:
+			result = new JsonValue(ValueType.array);
+			result.setName(name);
+			readChildren(result);
+			return result;
+		case stringValue:
+			result = new JsonValue(value.asString());
+			break;
+		case doubleValue:
+			result = new JsonValue(value.asDouble(), value.asString());
+			break;
+		case longValue:
+			result = new JsonValue(value.asLong(), value.asString());
+			break;
+		case booleanValue:
+			result = new JsonValue(value.asBoolean());
+			break;
+		case nullValue:
+			result = new JsonValue(ValueType.nullValue);
+			break;
+		default:
+			throw new IllegalStateException("Current token is not a value, object or array: " + token);
+		}
+		result.setName(name);
+		return result;
+	}
+
+	/** Reads the remaining children of the object or array the current token is in, or which the current token starts, and appends
+	 * them to the specified object or array. Afterward the current token is the end of the object or array. */
+	public void readChildren (JsonValue parent) {
+		JsonValue last = parent.child;
+		if (last != null) {
+			while (last.next != null)
+				last = last.next;
+		}
+		int containerDepth = depth;
+		while (true) {
+			if (nextToken() == Token.end) throw new SerializationException("Error parsing JSON, unexpected end.");
+			if (depth < containerDepth) break;
+			JsonValue child = readValue();
+			if (last == null)
+				parent.child = child;
+			else {
+				last.next = child;
+				child.prev = last;
+			}
+			last = child;
+			parent.size++;
+		}
+	}
+
+	protected Token startObject (String name) {
+		this.name = name;
+		depth++;
+		return token = Token.startObject;
+	}
+
+	protected Token startArray (String name) {
+		this.name = name;
+		depth++;
+		return token = Token.startArray;
+	}
+
+	protected Token endObject () {
+		name = null;
+		depth--;
+		return token = Token.endObject;
+	}
+
+	protected Token endArray () {
+		name = null;
+		depth--;
+		return token = Token.endArray;
+	}
+
+	protected Token string (String name, String value) {
+		this.name = name;
+		this.value.set(value);
+		return token = value == null ? Token.nullValue : Token.stringValue;
+	}
+
+	protected Token number (String name, double value, String stringValue) {
+		this.name = name;
+		this.value.set(value, stringValue);
+		return token = Token.doubleValue;
+	}
+
+	protected Token number (String name, long value, String stringValue) {
+		this.name = name;
+		this.value.set(value, stringValue);
+		return token = Token.longValue;
+	}
+
+	protected Token bool (String name, boolean value) {
+		this.name = name;
+		this.value.set(value);
+		return token = Token.booleanValue;
+	}
+
+	protected Token end () {
+		name = null;
+		return token = Token.end;
+	}
+
+	static public enum Token {
+		startObject, endObject, startArray, endArray, stringValue, doubleValue, longValue, booleanValue, nullValue, end;
+
+		/** Returns true for the tokens of values, which are not objects or arrays. */
+		public boolean isValue () {
+			return this == stringValue || this == doubleValue || this == longValue || this == booleanValue || this == nullValue;
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A pool that may be used by any number of threads at once without locking. Each thread keeps a small cache of free objects.
+ * When a thread's cache is full, half of it is moved to a shared overflow, which is made of lock-free stacks striped by thread.
+ * When a thread's cache is empty, it takes objects from the overflow before creating new ones. This way objects freed on one
+ * thread can be obtained on another, eg when a worker produces messages that the render thread consumes.
+ * <p>
+ * {@link #getFree()} and {@link #peak} are approximate while other threads use the pool. Objects in the cache of a thread that
+ * has ended are not reused. {@link #clear()} only removes the free objects of the overflow and the calling thread. */
+abstract public class ConcurrentPool<T> extends Pool<T> {
+	private final int cacheSize;
+	private final ThreadLocal<Cache> caches = new ThreadLocal<Cache>() {
+		protected Cache initialValue () {
+			return new Cache(cacheSize, nextStripe.getAndIncrement() & stripeMask);
+		}
+	};
+	private final AtomicReferenceArray<Batch> stripes;
+	private final int stripeMask;
+	private final AtomicInteger nextStripe = new AtomicInteger();
+	private final AtomicInteger free = new AtomicInteger();
+
+	/** Creates a pool with a cache size of 32 and no maximum. */
+	public ConcurrentPool () {
+		this(32, Integer.MAX_VALUE);
+	}
+
+	/** @param cacheSize The number of free objects each thread keeps before moving half of them to the shared overflow, >= 2.
+	 * @param max The maximum number of free objects to store in this pool. */
+	public ConcurrentPool (int cacheSize, int max) {
+		super(0, max);
+		if (cacheSize < 2) throw new IllegalArgumentException("cacheSize must be >= 2: " + cacheSize);
+		this.cacheSize = cacheSize;
+		int stripeCount = MathUtils.nextPowerOfTwo(Runtime.getRuntime().availableProcessors());
+		stripes = new AtomicReferenceArray(stripeCount);
+		stripeMask = stripeCount - 1;
+	}
+
+	public T obtain () {
+		Cache cache = caches.get();
+		if (cache.size == 0 && !refill(cache)) {
+			T object = newObject();
+			if (stats != null) stats.obtained(object, true);
+			return object;
+		}
+		free.decrementAndGet();
+		Object[] items = cache.items;
+		T object = (T)items[--cache.size];
+		items[cache.size] = null;
+		if (stats != null) stats.obtained(object, false);
+		return object;
+	}
+
+	/** Puts the specified object in the calling thread's cache, making it eligible to be returned by {@link #obtain()}. If the
+	 * pool already contains {@link #max} free objects, the specified object is reset but not added to the pool. */
+	public void free (T object) {
+		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		if (object instanceof Poolable) ((Poolable)object).reset();
+		boolean full = free.get() >= max;
+		if (stats != null) stats.freed(object, full);
+		if (full) return;
+		Cache cache = caches.get();
+		if (cache.size == cacheSize) spill(cache);
+		cache.items[cache.size++] = object;
+		int count = free.incrementAndGet();
+		if (count > peak) peak = count;
+	}
+
+	public void freeAll (Array<T> objects) {
+		if (objects == null) throw new IllegalArgumentException("object cannot be null.");
+		for (int i = 0; i < objects.size; i++) {
+			T object = objects.get(i);
+			if (object != null) free(object);
+		}
+	}
+
+	public void clear () {
+		int removed = 0;
+		for (int i = 0, n = stripes.length(); i < n; i++)
+			for (Batch batch = stripes.getAndSet(i, null); batch != null; batch = batch.next)
+				removed += batch.items.length;
+		Cache cache = caches.get();
+		removed += cache.size;
+		for (int i = 0; i < cache.size; i++)
+			cache.items[i] = null;
+		cache.size = 0;
+		free.addAndGet(-removed);
+	}
+
+	public int getFree () {
+		return free.get();
+	}
+
+	/** Moves the older half of the cache to the calling thread's stripe of the overflow. */
+	private void spill (Cache cache) {
+		Object[] items = cache.items;
+		int count = cache.size / 2, remaining = cache.size - count;
+		Batch batch = new Batch(new Object[count]);
+		System.arraycopy(items, 0, batch.items, 0, count);
+		System.arraycopy(items, count, items, 0, remaining);
+		for (int i = remaining; i < cache.size; i++)
+			items[i] = null;
+		cache.size = remaining;
+
+		int index = cache.stripe;
+		do {
+			batch.next = stripes.get(index);
+		} while (!stripes.compareAndSet(index, batch.next, batch));
+	}
+
+	/** Moves a batch from the overflow to the empty cache, trying the calling thread's stripe first.
+	 * @return false if the overflow is empty. */
+	private boolean refill (Cache cache) {
+		for (int i = 0, n = stripes.length(); i < n; i++) {
+			int index = (cache.stripe + i) & stripeMask;
+			while (true) {
+				Batch batch = stripes.get(index);
+				if (batch == null) break;
+				// Batches are never reused, so the stack can't suffer from ABA.
+				if (stripes.compareAndSet(index, batch, batch.next)) {
+					Object[] items = batch.items;
+					System.arraycopy(items, 0, cache.items, 0, items.length);
+					cache.size = items.length;
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	static private class Cache {
+		final Object[] items;
+		final int stripe;
+		int size;
+
+		Cache (int size, int stripe) {
+			items = new Object[size];
+			this.stripe = stripe;
+		}
+	}
+
+	static private class Batch {
+		final Object[] items;
+		Batch next;
+
+		Batch (Object[] items) {
+			this.items = items;
+		}
+	}
+}
@@ -0,0 +1,43 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.reflect.Constructor;
+
+/** {@link ConcurrentPool} that creates new instances of a type using reflection, like {@link ReflectionPool}. */
+public class ConcurrentReflectionPool<T> extends ConcurrentPool<T> {
+	private final Constructor constructor;
+
+	public ConcurrentReflectionPool (Class<T> type) {
+		this(type, 32, Integer.MAX_VALUE);
+	}
+
+	public ConcurrentReflectionPool (Class<T> type, int cacheSize, int max) {
+		super(cacheSize, max);
+		constructor = ReflectionPool.findConstructor(type);
+		if (constructor == null)
+			throw new RuntimeException("Class cannot be created (missing no-arg constructor): " + type.getName());
+	}
+
+	protected T newObject () {
+		try {
+			return (T)constructor.newInstance((Object[])null);
+		} catch (Exception ex) {
+			throw new GdxRuntimeException("Unable to create new instance: " + constructor.getDeclaringClass().getName(), ex);
+		}
+	}
+}
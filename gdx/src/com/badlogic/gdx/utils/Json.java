@@ -30,6 +30,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.BaseJsonStreamReader.Token;
 import com.badlogic.gdx.utils.JsonValue.PrettyPrintSettings;
 import com.badlogic.gdx.utils.JsonWriter.OutputType;
 import com.badlogic.gdx.utils.ObjectMap.Entry;
@@ -53,6 +54,7 @@ public class Json {
 	private boolean quoteLongValues;
 	private boolean ignoreUnknownFields;
 	private boolean enumNames = true;
+	private boolean streaming;
 	private Serializer defaultSerializer;
 	private final ObjectMap<Class, OrderedMap<String, FieldMetadata>> typeToFields = new ObjectMap();
 	private final ObjectMap<String, Class> tagToClass = new ObjectMap();
@@ -75,6 +77,22 @@ public class Json {
 		this.ignoreUnknownFields = ignoreUnknownFields;
 	}
 
+	public boolean getIgnoreUnknownFields () {
+		return ignoreUnknownFields;
+	}
+
+	/** When true, the fromJson methods read the JSON with a {@link JsonStreamReader} instead of parsing it into {@link JsonValue}s
+	 * first, which uses less memory for large files. Objects that are read by a {@link Serializer} or {@link Serializable} are still
+	 * parsed into JsonValues. Default is false.
+	 * @see #readValue(Class, Class, BaseJsonStreamReader) */
+	public void setStreaming (boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	public boolean getStreaming () {
+		return streaming;
+	}
+
 	/** @see JsonWriter#setOutputType(OutputType) */
 	public void setOutputType (OutputType outputType) {
 		this.outputType = outputType;
@@ -135,6 +153,10 @@ public class Json {
 		this.usePrototypes = usePrototypes;
 	}
 
+	public boolean getUsePrototypes () {
+		return usePrototypes;
+	}
+
 	/** Sets the type of elements in a collection. When the element type is known, the class for each element in the collection does
 	 * not need to be written unless different from the element type. */
 	public void setElementType (Class type, String fieldName, Class elementType) {
@@ -651,6 +673,7 @@ public class Json {
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, Reader reader) {
+		if (streaming) return readStream(type, null, new JsonStreamReader(reader));
 		return (T)readValue(type, null, new JsonReader().parse(reader));
 	}
 
@@ -658,12 +681,14 @@ public class Json {
 	 * @param elementType May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, Class elementType, Reader reader) {
+		if (streaming) return readStream(type, elementType, new JsonStreamReader(reader));
 		return (T)readValue(type, elementType, new JsonReader().parse(reader));
 	}
 
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, InputStream input) {
+		if (streaming) return readStream(type, null, new JsonStreamReader(input));
 		return (T)readValue(type, null, new JsonReader().parse(input));
 	}
 
@@ -671,6 +696,7 @@ public class Json {
 	 * @param elementType May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, Class elementType, InputStream input) {
+		if (streaming) return readStream(type, elementType, new JsonStreamReader(input));
 		return (T)readValue(type, elementType, new JsonReader().parse(input));
 	}
 
@@ -678,6 +704,7 @@ public class Json {
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, FileHandle file) {
 		try {
+			if (streaming) return readStream(type, null, new JsonStreamReader(file));
 			return (T)readValue(type, null, new JsonReader().parse(file));
 		} catch (Exception ex) {
 			throw new SerializationException("Error reading file: " + file, ex);
@@ -689,6 +716,7 @@ public class Json {
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, Class elementType, FileHandle file) {
 		try {
+			if (streaming) return readStream(type, elementType, new JsonStreamReader(file));
 			return (T)readValue(type, elementType, new JsonReader().parse(file));
 		} catch (Exception ex) {
 			throw new SerializationException("Error reading file: " + file, ex);
@@ -698,6 +726,7 @@ public class Json {
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, char[] data, int offset, int length) {
+		if (streaming) return readStream(type, null, new JsonStreamReader(data, offset, length));
 		return (T)readValue(type, null, new JsonReader().parse(data, offset, length));
 	}
 
@@ -705,18 +734,21 @@ public class Json {
 	 * @param elementType May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, Class elementType, char[] data, int offset, int length) {
+		if (streaming) return readStream(type, elementType, new JsonStreamReader(data, offset, length));
 		return (T)readValue(type, elementType, new JsonReader().parse(data, offset, length));
 	}
 
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, String json) {
+		if (streaming) return readStream(type, null, new JsonStreamReader(json));
 		return (T)readValue(type, null, new JsonReader().parse(json));
 	}
 
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T fromJson (Class<T> type, Class elementType, String json) {
+		if (streaming) return readStream(type, elementType, new JsonStreamReader(json));
 		return (T)readValue(type, elementType, new JsonReader().parse(json));
 	}
 
@@ -986,6 +1018,169 @@ public class Json {
 		return null;
 	}
 
+	private <T> T readStream (Class<T> type, Class elementType, BaseJsonStreamReader reader) {
+		try {
+			return readValue(type, elementType, reader);
+		} finally {
+			reader.close();
+		}
+	}
+
+	/** Reads the current value of the reader, or the object or array which the current token starts. Objects and arrays are read
+	 * token by token where possible, otherwise they are read into {@link JsonValue}s and passed to
+	 * {@link #readValue(Class, Class, JsonValue)}. Afterward the current token is the last token of the value. If
+	 * {@link BaseJsonStreamReader#nextToken()} was not called yet, it is called first. A class tag is only recognized when it is the
+	 * first value of an object.
+	 * @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T readValue (Class<T> type, Class elementType, BaseJsonStreamReader reader) {
+		Token token = reader.getToken();
+		if (token == null) token = reader.nextToken();
+		switch (token) {
+		case end:
+			return null;
+		case startObject:
+			return (T)readObject(type, elementType, reader);
+		case startArray:
+			return (T)readArray(type, elementType, reader);
+		case endObject:
+		case endArray:
+			throw new IllegalStateException("Current token is not a value, object or array: " + token);
+		}
+
+		if (type == null || classToSerializer.get(type) == null) {
+			switch (token) {
+			case stringValue:
+				if (type == null || type == String.class) return (T)reader.getString();
+				break;
+			case doubleValue:
+			case longValue:
+				try {
+					if (type == null || type == float.class || type == Float.class) return (T)(Float)reader.getFloat();
+					if (type == int.class || type == Integer.class) return (T)(Integer)reader.getInt();
+					if (type == long.class || type == Long.class) return (T)(Long)reader.getLong();
+					if (type == double.class || type == Double.class) return (T)(Double)reader.getDouble();
+				} catch (NumberFormatException ignored) {
+				}
+				break;
+			case booleanValue:
+				if (type == null || type == boolean.class || type == Boolean.class) return (T)(Boolean)reader.getBoolean();
+				break;
+			}
+		}
+		return (T)readValue(type, elementType, reader.readValue());
+	}
+
+	private Object readObject (Class type, Class elementType, BaseJsonStreamReader reader) {
+		Token token = reader.nextToken();
+		if (typeName != null && token == Token.stringValue && typeName.equals(reader.getName())) {
+			String className = reader.getString();
+			type = getClass(className);
+			if (type == null) {
+				try {
+					type = ClassReflection.forName(className);
+				} catch (ReflectionException ex) {
+					throw new SerializationException(ex);
+				}
+			}
+			token = reader.nextToken();
+		}
+
+		if (type == null || classToSerializer.get(type) != null || ClassReflection.isAssignableFrom(Collection.class, type)
+			|| ClassReflection.isAssignableFrom(Serializable.class, type) || type == String.class || type == Integer.class
+			|| type == Boolean.class || type == Float.class || type == Long.class || type == Double.class || type == Short.class
+			|| type == Byte.class || type == Character.class || ClassReflection.isAssignableFrom(Enum.class, type)) {
+			// Read the rest of the object into a JsonValue, without the class tag which was already read.
+			JsonValue jsonData = new JsonValue(JsonValue.ValueType.object);
+			if (token != Token.endObject) {
+				jsonData.child = reader.readValue();
+				jsonData.size = 1;
+				reader.readChildren(jsonData);
+			}
+			return readValue(type, elementType, jsonData);
+		}
+
+		Object object = newInstance(type);
+
+		if (object instanceof ObjectMap) {
+			ObjectMap result = (ObjectMap)object;
+			for (; token != Token.endObject; token = reader.nextToken())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return result;
+		}
+		if (object instanceof ArrayMap) {
+			ArrayMap result = (ArrayMap)object;
+			for (; token != Token.endObject; token = reader.nextToken())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return result;
+		}
+		if (object instanceof Map) {
+			Map result = (Map)object;
+			for (; token != Token.endObject; token = reader.nextToken())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return result;
+		}
+
+		ObjectMap<String, FieldMetadata> fields = getFields(type);
+		for (; token != Token.endObject; token = reader.nextToken()) {
+			String name = reader.getName();
+			FieldMetadata metadata = fields.get(name);
+			if (metadata == null) {
+				if (ignoreUnknownFields) {
+					if (debug) System.out.println("Ignoring unknown field: " + name + " (" + type.getName() + ")");
+					reader.skipValue();
+					continue;
+				} else
+					throw new SerializationException("Field not found: " + name + " (" + type.getName() + ")");
+			}
+			Field field = metadata.field;
+			try {
+				field.set(object, readValue(field.getType(), metadata.elementType, reader));
+			} catch (ReflectionException ex) {
+				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
+			} catch (SerializationException ex) {
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			}
+		}
+		return object;
+	}
+
+	private Object readArray (Class type, Class elementType, BaseJsonStreamReader reader) {
+		if (type != null && classToSerializer.get(type) != null) return readValue(type, elementType, reader.readValue());
+
+		if (type == null || type == Object.class) type = Array.class;
+		if (ClassReflection.isAssignableFrom(Array.class, type)) {
+			Array result = type == Array.class ? new Array() : (Array)newInstance(type);
+			while (reader.nextToken() != Token.endArray)
+				result.add(readValue(elementType, null, reader));
+			return result;
+		}
+		if (ClassReflection.isAssignableFrom(Collection.class, type)) {
+			Collection result = type.isInterface() ? new ArrayList() : (Collection)newInstance(type);
+			while (reader.nextToken() != Token.endArray)
+				result.add(readValue(elementType, null, reader));
+			return result;
+		}
+		if (type.isArray()) {
+			Class componentType = type.getComponentType();
+			if (elementType == null) elementType = componentType;
+			Array values = new Array();
+			while (reader.nextToken() != Token.endArray)
+				values.add(readValue(elementType, null, reader));
+			Object result = ArrayReflection.newInstance(componentType, values.size);
+			for (int i = 0, n = values.size; i < n; i++)
+				ArrayReflection.set(result, i, values.get(i));
+			return result;
+		}
+		return readValue(type, elementType, reader.readValue());
+	}
+
 	private String convertToString (Enum e) {
 		return enumNames ? e.name() : e.toString();
 	}
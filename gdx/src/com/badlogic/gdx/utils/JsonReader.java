@@ -710,7 +710,7 @@ public class JsonReader implements BaseJsonReader {
 		addChild(name, new JsonValue(value));
 	}
 
-	private String unescape (String value) {
+	static String unescape (String value) {
 		int length = value.length();
 		StringBuilder buffer = new StringBuilder(length + 16);
 		for (int i = 0; i < length;) {
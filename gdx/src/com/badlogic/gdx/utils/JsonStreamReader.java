@@ -0,0 +1,384 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Reads JSON one token at a time from a reader, see {@link BaseJsonStreamReader}. Only a small buffer of the input is kept in
+ * memory. Accepts the same relaxed JSON as {@link JsonReader}: unquoted names and values, comments, and newlines or trailing commas
+ * as separators.
+ * @see JsonReader */
+public class JsonStreamReader extends BaseJsonStreamReader {
+	private Reader reader;
+	private char[] data;
+	private int position, limit, line = 1;
+	private boolean[] objects = new boolean[8];
+	private boolean first;
+	private final StringBuilder buffer = new StringBuilder(32);
+
+	/** @param reader Is read as needed and closed when the end is reached. */
+	public JsonStreamReader (Reader reader) {
+		this(reader, 8192);
+	}
+
+	/** @param reader Is read as needed and closed when the end is reached. */
+	public JsonStreamReader (Reader reader, int bufferSize) {
+		if (bufferSize < 2) throw new IllegalArgumentException("bufferSize must be >= 2: " + bufferSize);
+		this.reader = reader;
+		data = new char[bufferSize];
+	}
+
+	/** Reads UTF-8 from the stream, which is closed when the end is reached. */
+	public JsonStreamReader (InputStream input) {
+		this(reader(input));
+	}
+
+	public JsonStreamReader (FileHandle file) {
+		this(file.reader("UTF-8"));
+	}
+
+	public JsonStreamReader (String json) {
+		this(json.toCharArray(), 0, json.length());
+	}
+
+	/** Reads the JSON from the array, which is not copied. */
+	public JsonStreamReader (char[] data, int offset, int length) {
+		this.data = data;
+		position = offset;
+		limit = offset + length;
+	}
+
+	static private Reader reader (InputStream input) {
+		try {
+			return new InputStreamReader(input, "UTF-8");
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	public Token nextToken () {
+		if (token == Token.end) return token;
+		try {
+			if (depth == 0) {
+				skipWhitespace(true);
+				if (token != null) {
+					// The root value was read.
+					if (peek() != -1) throw error("Unexpected characters after the root value");
+					close();
+					return end();
+				}
+				if (peek() == -1) {
+					close();
+					return end();
+				}
+				return readValue(null);
+			}
+
+			boolean object = objects[depth - 1];
+			if (first)
+				skipWhitespace(true);
+			else {
+				// A comma or newline separates values.
+				skipWhitespace(false);
+				int c = peek();
+				if (c == ',') {
+					position++;
+					skipWhitespace(true);
+				} else if (c == '\n') {
+					skipWhitespace(true);
+					if (peek() == ',') {
+						position++;
+						skipWhitespace(true);
+					}
+				} else if (c != (object ? '}' : ']')) {
+					if (c == -1) throw error(object ? "Unmatched brace" : "Unmatched bracket");
+					throw error("Expected ',' or " + (object ? "'}'" : "']'"));
+				}
+			}
+
+			int c = peek();
+			if (c == -1) throw error(object ? "Unmatched brace" : "Unmatched bracket");
+			first = false;
+			if (object) {
+				if (c == '}') {
+					position++;
+					return endObject();
+				}
+				String name = readName();
+				skipWhitespace(true);
+				if (peek() != ':') throw error("Expected ':'");
+				position++;
+				skipWhitespace(true);
+				return readValue(name);
+			}
+			if (c == ']') {
+				position++;
+				return endArray();
+			}
+			return readValue(null);
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	private Token readValue (String name) throws IOException {
+		int c = peek();
+		switch (c) {
+		case '{':
+			position++;
+			push(true);
+			return startObject(name);
+		case '[':
+			position++;
+			push(false);
+			return startArray(name);
+		case '"':
+			position++;
+			return string(name, readQuoted());
+		case -1:
+		case ':':
+		case ',':
+		case '}':
+		case ']':
+			throw error("Expected a value");
+		}
+
+		String value = readUnquoted(false) ? JsonReader.unescape(buffer.toString()) : buffer.toString();
+
+		if (value.equals("true")) return bool(name, true);
+		if (value.equals("false")) return bool(name, false);
+		if (value.equals("null")) return string(name, null);
+
+		// Same as JsonReader.
+		boolean couldBeDouble = false, couldBeLong = true;
+		outer:
+		for (int i = 0, n = value.length(); i < n; i++) {
+			switch (value.charAt(i)) {
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+			case '8':
+			case '9':
+			case '-':
+			case '+':
+				break;
+			case '.':
+			case 'e':
+			case 'E':
+				couldBeDouble = true;
+				couldBeLong = false;
+				break;
+			default:
+				couldBeDouble = false;
+				couldBeLong = false;
+				break outer;
+			}
+		}
+		if (couldBeDouble) {
+			try {
+				return number(name, Double.parseDouble(value), value);
+			} catch (NumberFormatException ignored) {
+			}
+		} else if (couldBeLong) {
+			try {
+				return number(name, Long.parseLong(value), value);
+			} catch (NumberFormatException ignored) {
+			}
+		}
+		return string(name, value);
+	}
+
+	private String readName () throws IOException {
+		int c = peek();
+		if (c == '"') {
+			position++;
+			return readQuoted();
+		}
+		if (c == ':' || c == ',') throw error("Expected a name");
+		if (readUnquoted(true)) return JsonReader.unescape(buffer.toString());
+		return buffer.toString();
+	}
+
+	/** Reads up to and including the closing quote. */
+	private String readQuoted () throws IOException {
+		StringBuilder buffer = this.buffer;
+		buffer.setLength(0);
+		boolean needsUnescape = false;
+		while (true) {
+			int c = read();
+			if (c == -1) throw error("Unclosed string");
+			if (c == '"') break;
+			buffer.append((char)c);
+			if (c == '\\') {
+				needsUnescape = true;
+				c = read();
+				if (c == -1) throw error("Unclosed string");
+				buffer.append((char)c);
+			}
+		}
+		String value = buffer.toString();
+		return needsUnescape ? JsonReader.unescape(value) : value;
+	}
+
+	/** Reads an unquoted name or value into the buffer, without trailing spaces.
+	 * @return true if the string needs to be unescaped. */
+	private boolean readUnquoted (boolean name) throws IOException {
+		StringBuilder buffer = this.buffer;
+		buffer.setLength(0);
+		boolean needsUnescape = false;
+		outer:
+		while (true) {
+			int c = peek();
+			switch (c) {
+			case -1:
+			case '\r':
+			case '\n':
+				break outer;
+			case ':':
+				if (name) break outer;
+				break;
+			case '}':
+			case ']':
+			case ',':
+				if (!name) break outer;
+				break;
+			case '/':
+				int next = peek(1);
+				if (next == '/' || next == '*') break outer;
+				break;
+			case '\\':
+				needsUnescape = true;
+				break;
+			}
+			buffer.append((char)c);
+			position++;
+		}
+		int length = buffer.length();
+		while (length > 0 && buffer.charAt(length - 1) == ' ')
+			length--;
+		buffer.setLength(length);
+		return needsUnescape;
+	}
+
+	/** Skips spaces, tabs, carriage returns, comments and, if newlines is true, newlines. */
+	private void skipWhitespace (boolean newlines) throws IOException {
+		while (true) {
+			int c = peek();
+			switch (c) {
+			case ' ':
+			case '\t':
+			case '\r':
+				position++;
+				continue;
+			case '\n':
+				if (!newlines) return;
+				read();
+				continue;
+			case '/':
+				int next = peek(1);
+				if (next == '/') {
+					// Up to but excluding the newline, which may separate values.
+					position += 2;
+					while ((c = peek()) != -1 && c != '\n')
+						position++;
+					continue;
+				}
+				if (next == '*') {
+					position += 2;
+					while (true) {
+						c = read();
+						if (c == -1) throw error("Unclosed comment");
+						if (c == '*' && peek() == '/') {
+							position++;
+							break;
+						}
+					}
+					continue;
+				}
+				return;
+			default:
+				return;
+			}
+		}
+	}
+
+	private void push (boolean object) {
+		if (depth == objects.length) {
+			boolean[] newObjects = new boolean[objects.length * 2];
+			System.arraycopy(objects, 0, newObjects, 0, objects.length);
+			objects = newObjects;
+		}
+		objects[depth] = object;
+		first = true;
+	}
+
+	private int read () throws IOException {
+		if (position == limit && !fill(1)) return -1;
+		char c = data[position++];
+		if (c == '\n') line++;
+		return c;
+	}
+
+	private int peek () throws IOException {
+		if (position == limit && !fill(1)) return -1;
+		return data[position];
+	}
+
+	private int peek (int ahead) throws IOException {
+		if (position + ahead >= limit && !fill(ahead + 1)) return -1;
+		return data[position + ahead];
+	}
+
+	/** Reads from the reader until at least count chars are available.
+	 * @return false if the end of the input is reached first. */
+	private boolean fill (int count) throws IOException {
+		if (reader == null) return false;
+		int remaining = limit - position;
+		System.arraycopy(data, position, data, 0, remaining);
+		position = 0;
+		limit = remaining;
+		while (limit < count) {
+			int length = reader.read(data, limit, data.length - limit);
+			if (length == -1) return false;
+			limit += length;
+		}
+		return true;
+	}
+
+	private SerializationException error (String message) {
+		int end = Math.min(limit, position + 64);
+		return new SerializationException("Error parsing JSON on line " + line + ", " + message + " near: "
+			+ new String(data, position, end - position));
+	}
+
+	public void close () {
+		if (reader != null) {
+			StreamUtils.closeQuietly(reader);
+			reader = null;
+		}
+	}
+}
@@ -0,0 +1,550 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** An unordered map where the values are ints. This implementation uses open addressing with linear probing and removes keys by
+ * shifting back the keys following them, so there is no stash and no tombstones. Null keys are not allowed. No allocation is
+ * done except when growing the table size. <br>
+ * <br>
+ * Unlike {@link ObjectIntMap}, put never walks the table randomly or rehashes except when the size reaches the threshold, so its
+ * latency is predictable, and lookups touch neighboring memory. Get, containsKey, put and remove are typically O(1) as long as
+ * the keys have well distributed hash codes. Load factors greater than 0.9 make the probe sequences considerably longer.
+ * @see ObjectIntMap */
+public class ObjectIntLinearMap<K> implements Iterable<ObjectIntLinearMap.Entry<K>> {
+	public int size;
+
+	K[] keyTable;
+	int[] valueTable;
+	int capacity;
+
+	private float loadFactor;
+	private int shift, mask, threshold;
+
+	private Entries entries1, entries2;
+	private Values values1, values2;
+	private Keys keys1, keys2;
+
+	/** Creates a new map with an initial capacity of 32 and a load factor of 0.8. This map will hold 25 items before growing the
+	 * backing table. */
+	public ObjectIntLinearMap () {
+		this(32, 0.8f);
+	}
+
+	/** Creates a new map with a load factor of 0.8. This map will hold initialCapacity * 0.8 items before growing the backing
+	 * table. */
+	public ObjectIntLinearMap (int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+
+	/** Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity * loadFactor items
+	 * before growing the backing table. */
+	public ObjectIntLinearMap (int initialCapacity, float loadFactor) {
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		if (initialCapacity > 1 << 30) throw new IllegalArgumentException("initialCapacity is too large: " + initialCapacity);
+		capacity = Math.max(2, MathUtils.nextPowerOfTwo(initialCapacity));
+
+		if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+
+		threshold = (int)(capacity * loadFactor);
+		mask = capacity - 1;
+		shift = Integer.numberOfLeadingZeros(capacity) + 1;
+
+		keyTable = (K[])new Object[capacity];
+		valueTable = new int[capacity];
+	}
+
+	/** Creates a new map identical to the specified map. */
+	public ObjectIntLinearMap (ObjectIntLinearMap<? extends K> map) {
+		this(map.capacity, map.loadFactor);
+		System.arraycopy(map.keyTable, 0, keyTable, 0, map.keyTable.length);
+		System.arraycopy(map.valueTable, 0, valueTable, 0, map.valueTable.length);
+		size = map.size;
+	}
+
+	/** Returns the index of the bucket where the probing for the key starts. Multiplying by the golden ratio spreads hash codes
+	 * which differ only in their high or low bits over the whole table. */
+	private int place (K key) {
+		return key.hashCode() * 0x9E3779B9 >>> shift;
+	}
+
+	/** Returns the index of the key, or -(index + 1) of the empty bucket where the key would be put. */
+	private int locateKey (K key) {
+		K[] keyTable = this.keyTable;
+		int mask = this.mask;
+		for (int i = place(key);; i = i + 1 & mask) {
+			K other = keyTable[i];
+			if (other == null) return -(i + 1);
+			if (other.equals(key)) return i;
+		}
+	}
+
+	public void put (K key, int value) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		int index = locateKey(key);
+		if (index >= 0) {
+			valueTable[index] = value;
+			return;
+		}
+		index = -(index + 1);
+		keyTable[index] = key;
+		valueTable[index] = value;
+		if (size++ >= threshold) resize(capacity << 1);
+	}
+
+	public void putAll (ObjectIntLinearMap<K> map) {
+		ensureCapacity(map.size);
+		K[] keyTable = map.keyTable;
+		int[] valueTable = map.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null) put(key, valueTable[i]);
+		}
+	}
+
+	/** Skips checks for existing keys. */
+	private void putResize (K key, int value) {
+		K[] keyTable = this.keyTable;
+		int mask = this.mask;
+		int index = place(key);
+		while (keyTable[index] != null)
+			index = index + 1 & mask;
+		keyTable[index] = key;
+		valueTable[index] = value;
+	}
+
+	/** @param defaultValue Returned if the key was not associated with a value. */
+	public int get (K key, int defaultValue) {
+		int index = locateKey(key);
+		return index >= 0 ? valueTable[index] : defaultValue;
+	}
+
+	/** Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
+	 * put into the map. */
+	public int getAndIncrement (K key, int defaultValue, int increment) {
+		int index = locateKey(key);
+		if (index >= 0) {
+			int value = valueTable[index];
+			valueTable[index] = value + increment;
+			return value;
+		}
+		index = -(index + 1);
+		keyTable[index] = key;
+		valueTable[index] = defaultValue + increment;
+		if (size++ >= threshold) resize(capacity << 1);
+		return defaultValue;
+	}
+
+	public int remove (K key, int defaultValue) {
+		int index = locateKey(key);
+		if (index < 0) return defaultValue;
+		int oldValue = valueTable[index];
+		removeIndex(index);
+		size--;
+		return oldValue;
+	}
+
+	/** Removes the key at the index. Keys following it in the same run are shifted back when the emptied bucket lies between their
+	 * starting bucket and their index, so every key stays reachable from its starting bucket. */
+	void removeIndex (int index) {
+		K[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		int mask = this.mask;
+		for (int next = index + 1 & mask;; next = next + 1 & mask) {
+			K key = keyTable[next];
+			if (key == null) break;
+			int placement = place(key);
+			if ((next - placement & mask) >= (next - index & mask)) {
+				keyTable[index] = key;
+				valueTable[index] = valueTable[next];
+				index = next;
+			}
+		}
+		keyTable[index] = null;
+	}
+
+	/** Reduces the size of the backing arrays to be the specified capacity or less. If the capacity is already less, nothing is
+	 * done. If the map contains more items than the specified capacity allows, the next highest power of two capacity is used
+	 * instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int minimumCapacity = (int)(size / loadFactor) + 1;
+		if (maximumCapacity < minimumCapacity) maximumCapacity = minimumCapacity;
+		if (capacity <= maximumCapacity) return;
+		resize(MathUtils.nextPowerOfTwo(maximumCapacity));
+	}
+
+	/** Clears the map and reduces the size of the backing arrays to be the specified capacity if they are larger. */
+	public void clear (int maximumCapacity) {
+		if (capacity <= maximumCapacity) {
+			clear();
+			return;
+		}
+		size = 0;
+		resize(MathUtils.nextPowerOfTwo(maximumCapacity));
+	}
+
+	public void clear () {
+		if (size == 0) return;
+		K[] keyTable = this.keyTable;
+		for (int i = capacity; i-- > 0;)
+			keyTable[i] = null;
+		size = 0;
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may be
+	 * an expensive operation. */
+	public boolean containsValue (int value) {
+		K[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		for (int i = capacity; i-- > 0;)
+			if (keyTable[i] != null && valueTable[i] == value) return true;
+		return false;
+	}
+
+	public boolean containsKey (K key) {
+		return locateKey(key) >= 0;
+	}
+
+	/** Returns the key for the specified value, or null if it is not in the map. Note this traverses the entire map and compares
+	 * every value, which may be an expensive operation. */
+	public K findKey (int value) {
+		K[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		for (int i = capacity; i-- > 0;)
+			if (keyTable[i] != null && valueTable[i] == value) return keyTable[i];
+		return null;
+	}
+
+	/** Increases the size of the backing array to accommodate the specified number of additional items. Useful before adding many
+	 * items to avoid multiple backing array resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded >= threshold) resize(MathUtils.nextPowerOfTwo((int)(sizeNeeded / loadFactor) + 1));
+	}
+
+	private void resize (int newSize) {
+		newSize = Math.max(2, newSize);
+		int oldCapacity = capacity;
+
+		capacity = newSize;
+		threshold = (int)(newSize * loadFactor);
+		mask = newSize - 1;
+		shift = Integer.numberOfLeadingZeros(newSize) + 1;
+
+		K[] oldKeyTable = keyTable;
+		int[] oldValueTable = valueTable;
+
+		keyTable = (K[])new Object[newSize];
+		valueTable = new int[newSize];
+
+		if (size > 0) {
+			for (int i = 0; i < oldCapacity; i++) {
+				K key = oldKeyTable[i];
+				if (key != null) putResize(key, oldValueTable[i]);
+			}
+		}
+	}
+
+	public int hashCode () {
+		int h = 0;
+		K[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		for (int i = 0, n = capacity; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null) {
+				h += key.hashCode() * 31;
+
+				int value = valueTable[i];
+				h += value;
+			}
+		}
+		return h;
+	}
+
+	public boolean equals (Object obj) {
+		if (obj == this) return true;
+		if (!(obj instanceof ObjectIntLinearMap)) return false;
+		ObjectIntLinearMap<K> other = (ObjectIntLinearMap)obj;
+		if (other.size != size) return false;
+		K[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		for (int i = 0, n = capacity; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null) {
+				int otherValue = other.get(key, 0);
+				if (otherValue == 0 && !other.containsKey(key)) return false;
+				if (otherValue != valueTable[i]) return false;
+			}
+		}
+		return true;
+	}
+
+	public String toString () {
+		if (size == 0) return "{}";
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('{');
+		K[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		int i = keyTable.length;
+		while (i-- > 0) {
+			K key = keyTable[i];
+			if (key == null) continue;
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable[i]);
+			break;
+		}
+		while (i-- > 0) {
+			K key = keyTable[i];
+			if (key == null) continue;
+			buffer.append(", ");
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable[i]);
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+
+	public Entries<K> iterator () {
+		return entries();
+	}
+
+	/** Returns an iterator for the entries in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Entries<K> entries () {
+		if (entries1 == null) {
+			entries1 = new Entries(this);
+			entries2 = new Entries(this);
+		}
+		if (!entries1.valid) {
+			entries1.reset();
+			entries1.valid = true;
+			entries2.valid = false;
+			return entries1;
+		}
+		entries2.reset();
+		entries2.valid = true;
+		entries1.valid = false;
+		return entries2;
+	}
+
+	/** Returns an iterator for the values in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Values} constructor for nested or multithreaded iteration. */
+	public Values values () {
+		if (values1 == null) {
+			values1 = new Values(this);
+			values2 = new Values(this);
+		}
+		if (!values1.valid) {
+			values1.reset();
+			values1.valid = true;
+			values2.valid = false;
+			return values1;
+		}
+		values2.reset();
+		values2.valid = true;
+		values1.valid = false;
+		return values2;
+	}
+
+	/** Returns an iterator for the keys in the map. Remove is supported. Note that the same iterator instance is returned each time
+	 * this method is called. Use the {@link Keys} constructor for nested or multithreaded iteration. */
+	public Keys<K> keys () {
+		if (keys1 == null) {
+			keys1 = new Keys(this);
+			keys2 = new Keys(this);
+		}
+		if (!keys1.valid) {
+			keys1.reset();
+			keys1.valid = true;
+			keys2.valid = false;
+			return keys1;
+		}
+		keys2.reset();
+		keys2.valid = true;
+		keys1.valid = false;
+		return keys2;
+	}
+
+	static public class Entry<K> {
+		public K key;
+		public int value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	static private class MapIterator<K> {
+		public boolean hasNext;
+
+		final ObjectIntLinearMap<K> map;
+		int nextIndex, currentIndex, emptyIndex;
+		boolean valid = true;
+
+		public MapIterator (ObjectIntLinearMap<K> map) {
+			this.map = map;
+			reset();
+		}
+
+		/** Iteration starts after an empty index and wraps around to it. Removing never shifts a key across an empty index, so
+		 * keys are not shifted from the iterated indices to the indices not iterated yet. */
+		public void reset () {
+			K[] keyTable = map.keyTable;
+			int index = 0;
+			while (keyTable[index] != null)
+				index++;
+			emptyIndex = index;
+			currentIndex = -1;
+			nextIndex = index;
+			findNextIndex();
+		}
+
+		void findNextIndex () {
+			hasNext = false;
+			K[] keyTable = map.keyTable;
+			for (int mask = map.mask; (nextIndex = nextIndex + 1 & mask) != emptyIndex;) {
+				if (keyTable[nextIndex] != null) {
+					hasNext = true;
+					break;
+				}
+			}
+		}
+
+		/** Removing may shift a key which was not iterated yet into the current index, so iteration continues at the current
+		 * index. */
+		public void remove () {
+			if (currentIndex < 0) throw new IllegalStateException("next must be called before remove.");
+			map.removeIndex(currentIndex);
+			nextIndex = currentIndex - 1 & map.mask;
+			findNextIndex();
+			currentIndex = -1;
+			map.size--;
+		}
+	}
+
+	static public class Entries<K> extends MapIterator<K> implements Iterable<Entry<K>>, Iterator<Entry<K>> {
+		private Entry<K> entry = new Entry();
+
+		public Entries (ObjectIntLinearMap<K> map) {
+			super(map);
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry<K> next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			K[] keyTable = map.keyTable;
+			entry.key = keyTable[nextIndex];
+			entry.value = map.valueTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return entry;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public Entries<K> iterator () {
+			return this;
+		}
+
+		public void remove () {
+			super.remove();
+		}
+	}
+
+	static public class Values extends MapIterator<Object> {
+		public Values (ObjectIntLinearMap<?> map) {
+			super((ObjectIntLinearMap<Object>)map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public int next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			int value = map.valueTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return value;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public IntArray toArray () {
+			IntArray array = new IntArray(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+
+	static public class Keys<K> extends MapIterator<K> implements Iterable<K>, Iterator<K> {
+		public Keys (ObjectIntLinearMap<K> map) {
+			super((ObjectIntLinearMap<K>)map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public K next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			K key = map.keyTable[nextIndex];
+			currentIndex = nextIndex;
+			findNextIndex();
+			return key;
+		}
+
+		public Keys<K> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining keys. */
+		public Array<K> toArray () {
+			Array array = new Array(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+
+		/** Adds the remaining keys to the array. */
+		public Array<K> toArray (Array<K> array) {
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+
+		public void remove () {
+			super.remove();
+		}
+	}
+}
@@ -25,6 +25,7 @@ abstract public class Pool<T> {
 	public int peak;
 
 	private final Array<T> freeObjects;
+	PoolStats stats;
 
 	/** Creates a pool with an initial capacity of 16 and no maximum. */
 	public Pool () {
@@ -47,6 +48,12 @@ abstract public class Pool<T> {
 	/** Returns an object from this pool. The object may be new (from {@link #newObject()}) or reused (previously
 	 * {@link #free(Object) freed}). */
 	public T obtain () {
+		if (stats != null) {
+			boolean created = freeObjects.size == 0;
+			T object = created ? newObject() : freeObjects.pop();
+			stats.obtained(object, created);
+			return object;
+		}
 		return freeObjects.size == 0 ? newObject() : freeObjects.pop();
 	}
 
@@ -54,6 +61,7 @@ abstract public class Pool<T> {
 	 * {@link #max} free objects, the specified object is reset but not added to the pool. */
 	public void free (T object) {
 		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		if (stats != null) stats.freed(object, freeObjects.size >= max);
 		if (freeObjects.size < max) {
 			freeObjects.add(object);
 			peak = Math.max(peak, freeObjects.size);
@@ -70,6 +78,7 @@ abstract public class Pool<T> {
 		for (int i = 0; i < objects.size; i++) {
 			T object = objects.get(i);
 			if (object == null) continue;
+			if (stats != null) stats.freed(object, freeObjects.size >= max);
 			if (freeObjects.size < max) freeObjects.add(object);
 			if (object instanceof Poolable) ((Poolable)object).reset();
 		}
@@ -86,6 +95,23 @@ abstract public class Pool<T> {
 		return freeObjects.size;
 	}
 
+	/** Sets the stats which count how this pool is used. When null, which is the default, the cost of the stats is a null check.
+	 * @param stats May be null.
+	 * @throws IllegalArgumentException if the stats are already used by another pool. */
+	public void setStats (PoolStats stats) {
+		if (stats != null) {
+			if (stats.pool != null && stats.pool != this) throw new IllegalArgumentException("stats are used by another pool.");
+			stats.pool = this;
+		}
+		if (this.stats != null && this.stats != stats) this.stats.pool = null;
+		this.stats = stats;
+	}
+
+	/** @return May be null. */
+	public PoolStats getStats () {
+		return stats;
+	}
+
 	/** Objects implementing this interface will have {@link #reset()} called when passed to {@link #free(Object)}. */
 	static public interface Poolable {
 		/** Resets the object for reuse. Object references should be nulled and fields may be set to default values. */
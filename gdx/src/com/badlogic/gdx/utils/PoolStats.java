@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.IdentityMap.Entry;
+
+/** Counts how a {@link Pool} is used, see {@link Pool#setStats(PoolStats)}. A pool which obtains many more objects than it reuses
+ * is too small or its objects are not freed. Optionally the objects which were obtained but not yet freed are tracked, along with
+ * the stack trace of where they were obtained, to find leaks. The methods are synchronized so the stats of a
+ * {@link ConcurrentPool} can be read from any thread. */
+public class PoolStats {
+	public final String name;
+	final boolean trackOutstanding, captureSites;
+	Pool pool;
+	private long obtained, freed, created, discarded;
+	private final IdentityMap<Object, Throwable> outstanding;
+
+	/** Creates stats which only count. */
+	public PoolStats (String name) {
+		this(name, false, false);
+	}
+
+	/** @param trackOutstanding If true, the objects which were obtained but not yet freed are stored. They are kept in memory until
+	 *           freed or {@link #reset()}.
+	 * @param captureSites If true, where each outstanding object was obtained is stored. This creates an exception per obtain,
+	 *           which is slow. */
+	public PoolStats (String name, boolean trackOutstanding, boolean captureSites) {
+		if (captureSites && !trackOutstanding)
+			throw new IllegalArgumentException("trackOutstanding must be true to capture allocation sites.");
+		this.name = name;
+		this.trackOutstanding = trackOutstanding;
+		this.captureSites = captureSites;
+		outstanding = trackOutstanding ? new IdentityMap() : null;
+	}
+
+	/** Called by the pool when an object is obtained.
+	 * @param created True if the object was created by {@link Pool#newObject()}. */
+	public synchronized void obtained (Object object, boolean created) {
+		obtained++;
+		if (created) this.created++;
+		if (trackOutstanding) outstanding.put(object, captureSites ? new Throwable() : null);
+	}
+
+	/** Called by the pool when an object is freed.
+	 * @param discarded True if the pool was full so the object was not stored. */
+	public synchronized void freed (Object object, boolean discarded) {
+		freed++;
+		if (discarded) this.discarded++;
+		if (trackOutstanding) outstanding.remove(object);
+	}
+
+	/** Sets all counts to zero and forgets the outstanding objects. */
+	public synchronized void reset () {
+		obtained = 0;
+		freed = 0;
+		created = 0;
+		discarded = 0;
+		if (trackOutstanding) outstanding.clear();
+	}
+
+	/** Returns a new snapshot of the current stats. */
+	public Snapshot snapshot () {
+		return snapshot(new Snapshot());
+	}
+
+	/** Stores the current stats in the specified snapshot, so it can be reused.
+	 * @return The snapshot. */
+	public synchronized Snapshot snapshot (Snapshot snapshot) {
+		snapshot.name = name;
+		snapshot.obtained = obtained;
+		snapshot.freed = freed;
+		snapshot.created = created;
+		snapshot.discarded = discarded;
+		snapshot.outstanding = trackOutstanding ? outstanding.size : obtained - freed;
+		snapshot.free = pool != null ? pool.getFree() : 0;
+		snapshot.peak = pool != null ? pool.peak : 0;
+		snapshot.sites.clear();
+		if (captureSites) {
+			for (Entry<Object, Throwable> entry : outstanding.entries())
+				snapshot.sites.getAndIncrement(site(entry.value), 0, 1);
+		}
+		return snapshot;
+	}
+
+	/** Returns the first stack frame outside of the pool classes. */
+	private String site (Throwable throwable) {
+		StackTraceElement[] trace = throwable.getStackTrace();
+		for (int i = 0; i < trace.length; i++) {
+			String className = trace[i].getClassName();
+			if (className.equals(PoolStats.class.getName()) || className.equals(Pools.class.getName())) continue;
+			if (pool != null && className.equals(pool.getClass().getName())) continue;
+			if (className.equals(Pool.class.getName()) || className.equals(ConcurrentPool.class.getName())) continue;
+			return trace[i].toString();
+		}
+		return "unknown";
+	}
+
+	/** The stats of a pool at one point in time. */
+	static public class Snapshot {
+		public String name;
+		/** The number of calls to obtain and free. */
+		public long obtained, freed;
+		/** The number of obtained objects that were newly created, and the number of freed objects that were not stored because the
+		 * pool was full. */
+		public long created, discarded;
+		/** The number of objects obtained and not yet freed. */
+		public long outstanding;
+		/** The number of free objects in the pool and its {@link Pool#peak}. */
+		public int free, peak;
+		/** For each place in the code where objects which are still outstanding were obtained, the number of objects. Empty unless
+		 * allocation sites are captured. */
+		public final ObjectIntMap<String> sites = new ObjectIntMap();
+
+		/** Returns the fraction of obtained objects which were reused rather than created, between 0 and 1. */
+		public float getReuseRate () {
+			return obtained == 0 ? 1 : 1 - created / (float)obtained;
+		}
+
+		public String toString () {
+			StringBuilder buffer = new StringBuilder(128);
+			buffer.append(name);
+			buffer.append(": obtained ").append(obtained);
+			buffer.append(", freed ").append(freed);
+			buffer.append(", created ").append(created);
+			buffer.append(", discarded ").append(discarded);
+			buffer.append(", outstanding ").append(outstanding);
+			buffer.append(", free ").append(free);
+			buffer.append(", peak ").append(peak);
+			buffer.append(", reused ").append((int)(getReuseRate() * 100)).append('%');
+			for (ObjectIntMap.Entry<String> entry : sites.entries())
+				buffer.append("\n  ").append(entry.value).append(" obtained at ").append(entry.key);
+			return buffer.toString();
+		}
+	}
+}
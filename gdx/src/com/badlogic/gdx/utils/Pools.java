@@ -16,18 +16,48 @@
 
 package com.badlogic.gdx.utils;
 
+import com.badlogic.gdx.utils.ObjectMap.Entries;
+import com.badlogic.gdx.utils.ObjectMap.Entry;
+import com.badlogic.gdx.utils.ObjectMap.Values;
+import com.badlogic.gdx.utils.reflect.ClassReflection;
+
 /** Stores a map of {@link Pool}s (usually {@link ReflectionPool}s) by type for convenient static access.
  * @author Nathan Sweet */
 public class Pools {
-	static private final ObjectMap<Class, Pool> typePools = new ObjectMap();
+	static private volatile ObjectMap<Class, Pool> typePools = new ObjectMap();
+	static private boolean concurrent;
+	static private boolean stats, trackOutstanding, captureSites;
+
+	/** When true, new pools are {@link ConcurrentReflectionPool}s and the pools may be obtained, set and used from any thread.
+	 * Pools are then added by replacing the map with a copy, so looking up a pool needs no lock. Pools which already exist are not
+	 * replaced, so this should be set before the first pool is requested. Default is false. */
+	static public void setConcurrent (boolean concurrent) {
+		Pools.concurrent = concurrent;
+	}
+
+	static public boolean isConcurrent () {
+		return concurrent;
+	}
 
 	/** Returns a new or existing pool for the specified type, stored in a Class to {@link Pool} map. Note the max size is ignored
 	 * if this is not the first time this pool has been requested. */
 	static public <T> Pool<T> get (Class<T> type, int max) {
 		Pool pool = typePools.get(type);
 		if (pool == null) {
-			pool = new ReflectionPool(type, 4, max);
-			typePools.put(type, pool);
+			if (!concurrent) {
+				pool = new ReflectionPool(type, 4, max);
+				if (stats) pool.setStats(newStats(type));
+				typePools.put(type, pool);
+			} else {
+				synchronized (Pools.class) {
+					pool = typePools.get(type);
+					if (pool == null) {
+						pool = new ConcurrentReflectionPool(type, 32, max);
+						if (stats) pool.setStats(newStats(type));
+						put(type, pool);
+					}
+				}
+			}
 		}
 		return pool;
 	}
@@ -40,7 +70,21 @@ public class Pools {
 
 	/** Sets an existing pool for the specified type, stored in a Class to {@link Pool} map. */
 	static public <T> void set (Class<T> type, Pool<T> pool) {
+		if (!concurrent) {
+			if (stats && pool.getStats() == null) pool.setStats(newStats(type));
+			typePools.put(type, pool);
+		} else {
+			synchronized (Pools.class) {
+				if (stats && pool.getStats() == null) pool.setStats(newStats(type));
+				put(type, pool);
+			}
+		}
+	}
+
+	static private void put (Class type, Pool pool) {
+		ObjectMap<Class, Pool> typePools = new ObjectMap(Pools.typePools);
 		typePools.put(type, pool);
+		Pools.typePools = typePools;
 	}
 
 	/** Obtains an object from the {@link #get(Class) pool}. */
@@ -79,6 +123,42 @@ public class Pools {
 		}
 	}
 
+	/** Enables or disables {@link PoolStats} for the pools which exist and which are created later. Enabling does not replace the
+	 * stats of pools which already have them.
+	 * @see PoolStats#PoolStats(String, boolean, boolean) */
+	static public void setStats (boolean enabled, boolean trackOutstanding, boolean captureSites) {
+		// The lock keeps pools from being created with the old settings while the existing pools are updated. The entries are
+		// iterated with a new iterator, the map's own iterators are not thread safe.
+		synchronized (Pools.class) {
+			Pools.stats = enabled;
+			Pools.trackOutstanding = trackOutstanding;
+			Pools.captureSites = captureSites;
+			for (Entry<Class, Pool> entry : new Entries<Class, Pool>(typePools)) {
+				if (!enabled)
+					entry.value.setStats(null);
+				else if (entry.value.getStats() == null)
+					entry.value.setStats(newStats(entry.key));
+			}
+		}
+	}
+
+	static private PoolStats newStats (Class type) {
+		return new PoolStats(ClassReflection.getSimpleName(type), trackOutstanding, captureSites);
+	}
+
+	/** Returns a snapshot of the stats of each pool which has them, eg to log them or show them in a debug overlay.
+	 * @see #setStats(boolean, boolean, boolean) */
+	static public Array<PoolStats.Snapshot> getStats () {
+		Array<PoolStats.Snapshot> snapshots = new Array();
+		synchronized (Pools.class) {
+			for (Pool pool : new Values<Pool>(typePools)) {
+				PoolStats stats = pool.getStats();
+				if (stats != null) snapshots.add(stats.snapshot());
+			}
+		}
+		return snapshots;
+	}
+
 	private Pools () {
 	}
 }
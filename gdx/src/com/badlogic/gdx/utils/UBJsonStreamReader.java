@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Reads UBJSON one token at a time from a stream, see {@link BaseJsonStreamReader}. Reads the same format as
+ * {@link UBJsonReader}. For best performance the stream should be buffered.
+ * @see UBJsonReader */
+public class UBJsonStreamReader extends BaseJsonStreamReader {
+	public boolean oldFormat = true;
+
+	private DataInputStream din;
+	private final UBJsonReader parser = new UBJsonReader();
+	private boolean[] objects = new boolean[8];
+	/** The type of every value in a strongly typed object or array, else 0. */
+	private byte[] valueTypes = new byte[8];
+	/** The type marker which was already read for the next value or end, else 0. */
+	private byte[] nextTypes = new byte[8];
+	/** The number of values left in an object or array of known size, else -1. */
+	private long[] remaining = new long[8];
+
+	/** @param input Is closed when the end is reached. */
+	public UBJsonStreamReader (InputStream input) {
+		din = input instanceof DataInputStream ? (DataInputStream)input : new DataInputStream(input);
+	}
+
+	public UBJsonStreamReader (FileHandle file) {
+		this(file.read(8192));
+	}
+
+	public Token nextToken () {
+		if (token == Token.end) return token;
+		try {
+			if (depth == 0) {
+				int type = token == null ? din.read() : -1;
+				if (type == -1) {
+					close();
+					return end();
+				}
+				return readValue(null, (byte)type);
+			}
+
+			int index = depth - 1;
+			if (remaining[index] == 0) return objects[index] ? endObject() : endArray();
+			byte type = nextTypes[index];
+			nextTypes[index] = 0;
+			String name = null;
+			if (objects[index]) {
+				if (type == 0) type = din.readByte();
+				if (remaining[index] < 0 && type == '}') return endObject();
+				name = parser.parseString(din, true, type);
+				type = valueTypes[index] != 0 ? valueTypes[index] : din.readByte();
+			} else {
+				if (type == 0) type = valueTypes[index] != 0 ? valueTypes[index] : din.readByte();
+				if (remaining[index] < 0 && type == ']') return endArray();
+			}
+			if (remaining[index] > 0) remaining[index]--;
+			return readValue(name, type);
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	private Token readValue (String name, byte type) throws IOException {
+		DataInputStream din = this.din;
+		switch (type) {
+		case '{':
+		case '[': {
+			boolean object = type == '{';
+			type = din.readByte();
+			byte valueType = 0;
+			if (type == '$') {
+				valueType = din.readByte();
+				type = din.readByte();
+			}
+			long size = -1;
+			if (type == '#') {
+				size = parser.parseSize(din, false, -1);
+				if (size < 0) throw new GdxRuntimeException("Unrecognized data type");
+				type = 0;
+			}
+			push(object, valueType, type, size);
+			return object ? startObject(name) : startArray(name);
+		}
+		case 'a':
+		case 'A': {
+			byte valueType = din.readByte();
+			long size = type == 'A' ? parser.readUInt(din) : (long)parser.readUChar(din);
+			push(false, valueType, (byte)0, size);
+			return startArray(name);
+		}
+		case 'Z':
+			return string(name, null);
+		case 'T':
+			return bool(name, true);
+		case 'F':
+			return bool(name, false);
+		case 'B':
+		case 'U':
+			return number(name, (long)parser.readUChar(din), null);
+		case 'i':
+			return number(name, oldFormat ? (long)din.readShort() : (long)din.readByte(), null);
+		case 'I':
+			return number(name, oldFormat ? (long)din.readInt() : (long)din.readShort(), null);
+		case 'l':
+			return number(name, (long)din.readInt(), null);
+		case 'L':
+			return number(name, din.readLong(), null);
+		case 'd':
+			return number(name, (double)din.readFloat(), null);
+		case 'D':
+			return number(name, din.readDouble(), null);
+		case 's':
+		case 'S':
+			return string(name, parser.parseString(din, type));
+		}
+		throw new GdxRuntimeException("Unrecognized data type");
+	}
+
+	private void push (boolean object, byte valueType, byte nextType, long size) {
+		if (depth == objects.length) {
+			int newSize = depth * 2;
+			boolean[] newObjects = new boolean[newSize];
+			System.arraycopy(objects, 0, newObjects, 0, depth);
+			objects = newObjects;
+			byte[] newValueTypes = new byte[newSize];
+			System.arraycopy(valueTypes, 0, newValueTypes, 0, depth);
+			valueTypes = newValueTypes;
+			byte[] newNextTypes = new byte[newSize];
+			System.arraycopy(nextTypes, 0, newNextTypes, 0, depth);
+			nextTypes = newNextTypes;
+			long[] newRemaining = new long[newSize];
+			System.arraycopy(remaining, 0, newRemaining, 0, depth);
+			remaining = newRemaining;
+		}
+		objects[depth] = object;
+		valueTypes[depth] = valueType;
+		nextTypes[depth] = nextType;
+		remaining[depth] = size;
+	}
+
+	public void close () {
+		if (din != null) {
+			StreamUtils.closeQuietly(din);
+			din = null;
+		}
+	}
+}
@@ -0,0 +1,235 @@
+package com.badlogic.gdx.assets;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+public class AssetManagerTest {
+	private final AssetManager manager = new AssetManager(new FileHandleResolver() {
+		public FileHandle resolve (String fileName) {
+			return new FileHandle(fileName);
+		}
+	}, 4);
+	private final FakeLoader loader = new FakeLoader();
+	private final Array<String> errors = new Array();
+
+	public AssetManagerTest () {
+		manager.setLoader(Fake.class, loader);
+		manager.setErrorListener(new AssetErrorListener() {
+			public void error (AssetDescriptor asset, Throwable throwable) {
+				errors.add(asset.fileName);
+			}
+		});
+	}
+
+	@After
+	public void dispose () {
+		manager.dispose();
+	}
+
+	@Test
+	public void sharedDependencies () {
+		loader.dependencies("a", "c");
+		loader.dependencies("b", "c");
+		manager.load("a", Fake.class);
+		manager.load("b", Fake.class);
+		manager.finishLoading();
+
+		assertEquals(1, loader.loaded.get("c", 0));
+		assertEquals(1, manager.getReferenceCount("a"));
+		assertEquals(1, manager.getReferenceCount("b"));
+		assertEquals(2, manager.getReferenceCount("c"));
+		assertEquals(3, manager.getLoadedAssets());
+		assertEquals(1, manager.getProgress(), 0);
+
+		manager.unload("a");
+		assertEquals(1, manager.getReferenceCount("c"));
+		manager.unload("b");
+		assertFalse(manager.isLoaded("c"));
+		assertEquals(0, manager.getLoadedAssets());
+	}
+
+	@Test
+	public void referenceCounts () {
+		loader.dependencies("a", "b");
+		loader.dependencies("b", "c");
+		manager.load("a", Fake.class);
+		manager.load("c", Fake.class);
+		manager.load("a", Fake.class);
+		manager.finishLoading();
+
+		assertEquals(1, loader.loaded.get("a", 0));
+		assertEquals(1, loader.loaded.get("c", 0));
+		assertEquals(2, manager.getReferenceCount("a"));
+		assertEquals(2, manager.getReferenceCount("b"));
+		assertEquals(3, manager.getReferenceCount("c"));
+
+		manager.unload("a");
+		manager.unload("a");
+		assertFalse(manager.isLoaded("a"));
+		assertFalse(manager.isLoaded("b"));
+		assertEquals(1, manager.getReferenceCount("c"));
+	}
+
+	@Test
+	public void unloadWhileLoading () {
+		loader.dependencies("a", "c");
+		loader.dependencies("b", "c");
+		manager.load("a", Fake.class);
+		manager.load("b", Fake.class);
+		manager.update();
+		manager.unload("a");
+		manager.finishLoading();
+
+		assertFalse(manager.isLoaded("a"));
+		assertEquals(1, manager.getReferenceCount("b"));
+		assertEquals(1, manager.getReferenceCount("c"));
+		manager.unload("b");
+		assertEquals(0, manager.getLoadedAssets());
+	}
+
+	@Test
+	public void unloadDependencyWhileLoading () {
+		loader.dependencies("a", "c");
+		manager.load("a", Fake.class);
+		manager.load("c", Fake.class);
+		manager.update();
+		manager.unload("c");
+		manager.finishLoading();
+
+		assertEquals(1, manager.getReferenceCount("a"));
+		assertEquals(1, manager.getReferenceCount("c"));
+		manager.unload("a");
+		assertEquals(0, manager.getLoadedAssets());
+	}
+
+	@Test
+	public void errorInDependency () {
+		loader.dependencies("a", "c");
+		loader.dependencies("b", "d");
+		loader.fail("c");
+		manager.load("a", Fake.class);
+		manager.load("b", Fake.class);
+		manager.finishLoading();
+
+		assertEquals(1, errors.size);
+		assertEquals("c", errors.first());
+		assertFalse(manager.isLoaded("a"));
+		assertFalse(manager.isLoaded("c"));
+		assertEquals(1, manager.getReferenceCount("b"));
+		assertEquals(1, manager.getReferenceCount("d"));
+	}
+
+	@Test
+	public void unloadAfterLoadAsync () {
+		loader.gate = new CountDownLatch(1);
+		manager.load("a", Fake.class);
+		manager.load("b", Fake.class);
+		manager.update();
+		// loadAsync of both assets is waiting on the workers
+		manager.unload("a");
+		loader.gate.countDown();
+		manager.finishLoading();
+
+		assertFalse(manager.isLoaded("a"));
+		assertEquals(0, loader.loaded.get("a", 0));
+		assertEquals(1, loader.released.get("a", 0));
+		assertEquals(1, manager.getReferenceCount("b"));
+		assertEquals(0, loader.pending.size);
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void errorWithoutListener () {
+		manager.setErrorListener(null);
+		loader.dependencies("a", "c");
+		loader.fail("c");
+		manager.load("a", Fake.class);
+		manager.finishLoading();
+	}
+
+	static public class Fake {
+		final String name;
+
+		Fake (String name) {
+			this.name = name;
+		}
+	}
+
+	static public class FakeParameter extends AssetLoaderParameters<Fake> {
+	}
+
+	/** Loads fake assets with the given dependencies, counting how often each asset is loaded. The assets loaded asynchronously
+	 * are pending until they are loaded synchronously or released. */
+	static class FakeLoader extends AsynchronousAssetLoader<Fake, FakeParameter> {
+		final ObjectMap<String, Array<AssetDescriptor>> dependencies = new ObjectMap();
+		final Array<String> failing = new Array();
+		final ObjectIntMap<String> loaded = new ObjectIntMap();
+		final ObjectIntMap<String> released = new ObjectIntMap();
+		final ObjectSet<String> pending = new ObjectSet();
+		/** When set, loadAsync waits for it to be opened. */
+		volatile CountDownLatch gate;
+
+		FakeLoader () {
+			super(null);
+		}
+
+		void dependencies (String fileName, String... dependencies) {
+			Array<AssetDescriptor> descriptors = new Array();
+			for (String dependency : dependencies)
+				descriptors.add(new AssetDescriptor(dependency, Fake.class));
+			this.dependencies.put(fileName, descriptors);
+		}
+
+		void fail (String fileName) {
+			failing.add(fileName);
+		}
+
+		public FileHandle resolve (String fileName) {
+			return new FileHandle(fileName);
+		}
+
+		public Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, FakeParameter parameter) {
+			return dependencies.get(fileName);
+		}
+
+		public void loadAsync (AssetManager manager, String fileName, FileHandle file, FakeParameter parameter) {
+			if (failing.contains(fileName, false)) throw new GdxRuntimeException("Failed: " + fileName);
+			if (gate != null) {
+				try {
+					gate.await();
+				} catch (InterruptedException ex) {
+					throw new GdxRuntimeException(ex);
+				}
+			}
+			synchronized (this) {
+				pending.add(fileName);
+			}
+		}
+
+		public synchronized Fake loadSync (AssetManager manager, String fileName, FileHandle file, FakeParameter parameter) {
+			pending.remove(fileName);
+			loaded.getAndIncrement(fileName, 0, 1);
+			return new Fake(fileName);
+		}
+
+		public synchronized void unloadAsync (AssetManager manager, String fileName, FileHandle file, FakeParameter parameter) {
+			if (pending.remove(fileName)) released.getAndIncrement(fileName, 0, 1);
+		}
+
+		public boolean canLoadConcurrently () {
+			return true;
+		}
+	}
+}
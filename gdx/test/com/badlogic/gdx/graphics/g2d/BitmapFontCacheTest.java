@@ -0,0 +1,80 @@
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+public class BitmapFontCacheTest {
+	private final IntArray usedPages = new IntArray();
+	private float[] drawnVertices;
+
+	private BitmapFont newFont () {
+		BitmapFontData data = new BitmapFontData() {
+			public void usePage (int page) {
+				usedPages.add(page);
+			}
+		};
+		BitmapFont font = new BitmapFont(data, Array.with(new TextureRegion()), false);
+		// Glyphs are set after the font is created, so they don't need a texture.
+		for (char c = 'a'; c <= 'z'; c++)
+			data.setGlyph(c, newGlyph(c, 0));
+		return font;
+	}
+
+	private Glyph newGlyph (char c, float u) {
+		Glyph glyph = new Glyph();
+		glyph.id = c;
+		glyph.width = 8;
+		glyph.height = 10;
+		glyph.xadvance = 9;
+		glyph.u = u;
+		return glyph;
+	}
+
+	private Batch newBatch () {
+		return (Batch)Proxy.newProxyInstance(getClass().getClassLoader(), new Class[] {Batch.class}, new InvocationHandler() {
+			public Object invoke (Object proxy, Method method, Object[] args) {
+				if (method.getName().equals("draw") && args.length == 4 && args[1] instanceof float[]) {
+					int offset = (Integer)args[2], count = (Integer)args[3];
+					drawnVertices = new float[count];
+					System.arraycopy((float[])args[1], offset, drawnVertices, 0, count);
+				}
+				return null;
+			}
+		});
+	}
+
+	@Test
+	public void removedGlyphs () {
+		BitmapFont font = newFont();
+		BitmapFontCache cache = new BitmapFontCache(font);
+		cache.setText("ab", 10, 20);
+		cache.translate(5, 0);
+		Batch batch = newBatch();
+		cache.draw(batch);
+		assertEquals(40, drawnVertices.length);
+		assertEquals(0, drawnVertices[3], 0);
+		float x = drawnVertices[0], y = drawnVertices[1];
+		assertEquals(1, usedPages.size);
+		assertEquals(0, usedPages.first());
+
+		// Replace the glyph, as a font does when a removed glyph is used again.
+		font.getData().setGlyph('a', newGlyph('a', 0.5f));
+		font.getData().glyphVersion++;
+		cache.draw(batch);
+		assertEquals(40, drawnVertices.length);
+		assertEquals(0.5f, drawnVertices[3], 0);
+		assertEquals(x, drawnVertices[0], 0);
+		assertEquals(y, drawnVertices[1], 0);
+		assertEquals(0, drawnVertices[23], 0); // The second glyph is unchanged.
+	}
+}
@@ -0,0 +1,96 @@
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.utils.Align;
+import com.badlogic.gdx.utils.Array;
+
+public class GlyphLayoutCacheTest {
+	private BitmapFont newFont () {
+		BitmapFontData data = new BitmapFontData();
+		BitmapFont font = new BitmapFont(data, Array.with(new TextureRegion()), false);
+		// Glyphs are set after the font is created, so they don't need a texture.
+		for (char c = ' '; c <= 'z'; c++) {
+			Glyph glyph = new Glyph();
+			glyph.id = c;
+			glyph.width = c == ' ' ? 0 : 8;
+			glyph.height = 10;
+			glyph.xadvance = 9;
+			data.setGlyph(c, glyph);
+		}
+		data.spaceWidth = 9;
+		return font;
+	}
+
+	@Test
+	public void hitsAndMisses () {
+		BitmapFont font = newFont();
+		GlyphLayoutCache cache = new GlyphLayoutCache(4);
+		GlyphLayout layout = cache.obtain(font, "hello world", Color.WHITE, 50, Align.left, true);
+		assertSame(layout, cache.obtain(font, new StringBuilder("hello world"), new Color(Color.WHITE), 50, Align.left, true));
+		assertSame(layout, cache.obtain(font, "xhello worldx", 1, 12, Color.WHITE, 50, Align.left, true, null));
+		assertNotSame(layout, cache.obtain(font, "hello world", Color.WHITE, 60, Align.left, true));
+		assertNotSame(layout, cache.obtain(font, "hello world", Color.RED, 50, Align.left, true));
+		assertEquals(2, cache.hits);
+		assertEquals(3, cache.misses);
+		assertEquals(3, cache.size());
+		assertEquals(0.4f, cache.getHitRate(), 0.0001f);
+
+		GlyphLayout expected = new GlyphLayout(font, "hello world", Color.WHITE, 50, Align.left, true);
+		assertEquals(expected.toString(), layout.toString());
+	}
+
+	@Test
+	public void evictedWhileObtained () {
+		BitmapFont font = newFont();
+		GlyphLayoutCache cache = new GlyphLayoutCache(1);
+		GlyphLayout first = cache.obtain(font, "first");
+		cache.free(cache.obtain(font, "second")); // Evicts first, which is still obtained.
+		assertEquals(1, cache.size());
+		assertEquals(1, first.runs.size);
+		assertEquals(5, first.runs.first().glyphs.size);
+		// Laying the evicted text out again creates a new layout, without reusing the obtained one.
+		GlyphLayout again = cache.obtain(font, "first");
+		assertNotSame(first, again);
+		assertEquals(1, first.runs.size);
+
+		cache.free(first);
+		assertEquals(0, first.runs.size); // Returned to the pool.
+		cache.free(again);
+		assertEquals(1, again.runs.size); // Still cached.
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertEquals(0, again.runs.size);
+	}
+
+	@Test
+	public void removedGlyphs () {
+		BitmapFont font = newFont();
+		GlyphLayoutCache cache = new GlyphLayoutCache(4);
+		GlyphLayout layout = cache.obtain(font, "hello");
+		cache.free(layout);
+
+		// Replace the glyph, as a font does when a removed glyph is used again.
+		Glyph glyph = new Glyph();
+		glyph.id = 'h';
+		glyph.width = 8;
+		glyph.height = 10;
+		glyph.xadvance = 9;
+		font.getData().setGlyph('h', glyph);
+		font.getData().glyphVersion++;
+
+		assertSame(layout, cache.obtain(font, "hello"));
+		assertSame(glyph, layout.runs.first().glyphs.first());
+		assertSame(font.getData().getGlyph('e'), layout.runs.first().glyphs.get(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void freeForeignLayout () {
+		new GlyphLayoutCache(1).free(new GlyphLayout());
+	}
+}
@@ -0,0 +1,54 @@
+package com.badlogic.gdx.graphics.g2d;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.Node;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.Page;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.OrderedMap;
+
+public class PixmapPackerTest {
+	@Test
+	public void fitsAgreesWithInsert () {
+		Random random = new Random(42);
+		for (int page = 0; page < 20; page++) {
+			Node root = new Node(0, 0, 256, 256, null, null, null);
+			for (int i = 0; i < 200; i++) {
+				int width = 1 + random.nextInt(64), height = 1 + random.nextInt(64);
+				boolean fits = PixmapPacker.fits(root, width, height);
+				Node node = PixmapPacker.insert(root, new Rectangle(0, 0, width, height));
+				assertEquals(fits, node != null);
+				if (node != null) node.leafName = "rect" + i;
+			}
+			assertFalse(PixmapPacker.fits(root, 256, 256));
+		}
+	}
+
+	@Test
+	public void clearedPageAcceptsFullPage () {
+		Page page = new Page();
+		page.root = new Node(0, 0, 128, 128, null, null, null);
+		page.rects = new OrderedMap();
+		for (int i = 0; i < 4; i++) {
+			Node node = PixmapPacker.insert(page.root, new Rectangle(0, 0, 64, 64));
+			node.leafName = "rect" + i;
+			page.rects.put(node.leafName, node.rect);
+			page.addedRects.add(node.leafName);
+		}
+		assertFalse(PixmapPacker.fits(page.root, 1, 1));
+		assertNull(PixmapPacker.insert(page.root, new Rectangle(0, 0, 1, 1)));
+
+		page.clear(128, 128);
+		assertEquals(0, page.rects.size);
+		assertEquals(0, page.addedRects.size);
+		assertTrue(page.dirty);
+		assertTrue(PixmapPacker.fits(page.root, 128, 128));
+		Node node = PixmapPacker.insert(page.root, new Rectangle(0, 0, 128, 128));
+		assertNotNull(node);
+		assertEquals(new Rectangle(0, 0, 128, 128), node.rect);
+	}
+}
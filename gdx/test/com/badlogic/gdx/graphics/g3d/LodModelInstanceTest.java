@@ -0,0 +1,225 @@
+package com.badlogic.gdx.graphics.g3d;
+
+import static org.junit.Assert.*;
+
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.graphics.glutils.IndexData;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.graphics.glutils.VertexData;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+public class LodModelInstanceTest {
+	static final float[] screenSizes = {0.5f, 0.2f, 0.05f};
+
+	/** Vertices kept in a heap buffer, meshes created the usual way would need the natives. */
+	static class ArrayVertexData implements VertexData {
+		final VertexAttributes attributes = new VertexAttributes(VertexAttribute.Position());
+		final FloatBuffer buffer;
+
+		ArrayVertexData (float[] vertices) {
+			buffer = FloatBuffer.wrap(vertices);
+		}
+
+		public int getNumVertices () {
+			return buffer.limit() * 4 / attributes.vertexSize;
+		}
+
+		public int getNumMaxVertices () {
+			return getNumVertices();
+		}
+
+		public VertexAttributes getAttributes () {
+			return attributes;
+		}
+
+		public void setVertices (float[] vertices, int offset, int count) {
+		}
+
+		public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
+		}
+
+		public FloatBuffer getBuffer () {
+			return buffer;
+		}
+
+		public void bind (ShaderProgram shader) {
+		}
+
+		public void bind (ShaderProgram shader, int[] locations) {
+		}
+
+		public void unbind (ShaderProgram shader) {
+		}
+
+		public void unbind (ShaderProgram shader, int[] locations) {
+		}
+
+		public void invalidate () {
+		}
+
+		public void dispose () {
+		}
+	}
+
+	/** Indices kept in a heap buffer. */
+	static class ArrayIndexData implements IndexData {
+		final ShortBuffer buffer;
+
+		ArrayIndexData (short[] indices) {
+			buffer = ShortBuffer.wrap(indices);
+		}
+
+		public int getNumIndices () {
+			return buffer.limit();
+		}
+
+		public int getNumMaxIndices () {
+			return buffer.limit();
+		}
+
+		public void setIndices (short[] indices, int offset, int count) {
+		}
+
+		public void setIndices (ShortBuffer indices) {
+		}
+
+		public ShortBuffer getBuffer () {
+			return buffer;
+		}
+
+		public void bind () {
+		}
+
+		public void unbind () {
+		}
+
+		public void invalidate () {
+		}
+
+		public void dispose () {
+		}
+	}
+
+	/** A level made of a line from (0, -1, 0) to (0, 1, 0), so the bounding sphere has a radius of 1. */
+	private ModelInstance newLevel () {
+		Mesh mesh = new Mesh(new ArrayVertexData(new float[] {0, -1, 0, 0, 1, 0}), new ArrayIndexData(new short[] {0, 1}), false) {
+		};
+		Material material = new Material();
+		Node node = new Node();
+		node.id = "line";
+		node.parts.add(new NodePart(new MeshPart("line", mesh, 0, 2, GL20.GL_LINES), material));
+		Model model = new Model();
+		model.nodes.add(node);
+		model.materials.add(material);
+		ModelInstance instance = new ModelInstance(model);
+		// with bones the world transform is copied instead of multiplied, which would need the natives
+		instance.nodes.first().parts.first().bones = new Matrix4[0];
+		return instance;
+	}
+
+	private LodModelInstance newInstance () {
+		return new LodModelInstance(new ModelInstance[] {newLevel(), newLevel(), newLevel()}, screenSizes);
+	}
+
+	/** The viewport is 2 units high, so the screen size of the unit sphere is 1 / zoom. The camera is not updated, its matrices
+	 * are not used to select the level and would need the natives. */
+	private OrthographicCamera newCamera () {
+		OrthographicCamera camera = new OrthographicCamera();
+		camera.viewportWidth = 2;
+		camera.viewportHeight = 2;
+		return camera;
+	}
+
+	private int update (LodModelInstance instance, OrthographicCamera camera, float screenSize) {
+		camera.zoom = 1f / screenSize;
+		assertEquals(screenSize, instance.getScreenSize(camera), 0.0001f);
+		return instance.update(camera);
+	}
+
+	@Test
+	public void hysteresis () {
+		LodModelInstance instance = newInstance();
+		OrthographicCamera camera = newCamera();
+		assertEquals(0, update(instance, camera, 1f));
+
+		// The hysteresis is 10%, a level only changes outside of the band around its threshold.
+		assertEquals(0, update(instance, camera, 0.46f));
+		assertEquals(1, update(instance, camera, 0.44f));
+		assertEquals(1, update(instance, camera, 0.54f));
+		assertEquals(1, update(instance, camera, 0.46f));
+		assertEquals(0, update(instance, camera, 0.56f));
+		assertEquals(1, update(instance, camera, 0.3f));
+		assertEquals(1, update(instance, camera, 0.19f));
+		assertEquals(2, update(instance, camera, 0.17f));
+		assertEquals(2, update(instance, camera, 0.21f));
+		assertEquals(2, update(instance, camera, 0.046f));
+		assertEquals(-1, update(instance, camera, 0.044f));
+		assertEquals(-1, update(instance, camera, 0.054f));
+		assertEquals(2, update(instance, camera, 0.056f));
+
+		// Several levels at once.
+		assertEquals(0, update(instance, camera, 2f));
+		assertEquals(-1, update(instance, camera, 0.01f));
+		assertEquals(-1, instance.getLevel());
+		assertEquals(1, update(instance, camera, 0.25f));
+	}
+
+	@Test
+	public void belowLastScreenSize () {
+		OrthographicCamera camera = newCamera();
+		// Without a selected level there is no hysteresis.
+		assertEquals(-1, update(newInstance(), camera, 0.049f));
+		assertEquals(2, update(newInstance(), camera, 0.051f));
+		assertEquals(1, update(newInstance(), camera, 0.2f));
+	}
+
+	@Test
+	public void renderables () {
+		LodModelInstance instance = newInstance();
+		Array<Renderable> renderables = new Array<Renderable>();
+		Pool<Renderable> pool = new Pool<Renderable>() {
+			protected Renderable newObject () {
+				return new Renderable();
+			}
+		};
+
+		instance.setLevel(1);
+		instance.getRenderables(renderables, pool);
+		assertEquals(1, renderables.size);
+		assertSame(instance.levels[1].nodes.first().parts.first().material, renderables.first().material);
+
+		renderables.clear();
+		instance.setLevel(-1);
+		assertEquals(-1, instance.getLevel());
+		instance.getRenderables(renderables, pool);
+		assertEquals(0, renderables.size);
+
+		// With a camera the level is selected again.
+		OrthographicCamera camera = newCamera();
+		camera.zoom = 1f / 0.3f;
+		instance.camera = camera;
+		instance.getRenderables(renderables, pool);
+		assertEquals(1, instance.getLevel());
+		assertEquals(1, renderables.size);
+		assertSame(instance.levels[1].nodes.first().parts.first().material, renderables.first().material);
+
+		renderables.clear();
+		camera.zoom = 100f;
+		instance.getRenderables(renderables, pool);
+		assertEquals(0, renderables.size);
+	}
+}
@@ -0,0 +1,116 @@
+package com.badlogic.gdx.graphics.g3d;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.ShaderProvider;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+public class StaticModelCacheTest {
+	/** Records the renderables it renders, with their environment and shader at that time. */
+	static class RecordingShader implements Shader, ShaderProvider {
+		final Array<Environment> environments = new Array<Environment>();
+		final Array<Shader> shaders = new Array<Shader>();
+
+		public void init () {
+		}
+
+		public int compareTo (Shader other) {
+			return 0;
+		}
+
+		public boolean canRender (Renderable renderable) {
+			return true;
+		}
+
+		public void begin (Camera camera, RenderContext context) {
+		}
+
+		public void render (Renderable renderable) {
+			environments.add(renderable.environment);
+			shaders.add(renderable.shader);
+		}
+
+		public void end () {
+		}
+
+		public Shader getShader (Renderable renderable) {
+			return this;
+		}
+
+		public void dispose () {
+		}
+	}
+
+	/** Renderables with bones are not merged, so no meshes are built, which would need the natives. */
+	private Renderable newRenderable (float x) {
+		Renderable renderable = new Renderable();
+		renderable.primitiveType = GL20.GL_TRIANGLES;
+		renderable.material = new Material();
+		renderable.worldTransform.setToTranslation(x, 0, 0);
+		renderable.bones = new Matrix4[0];
+		return renderable;
+	}
+
+	@Test
+	public void passesDoNotModifyCache () {
+		StaticModelCache cache = new StaticModelCache(100);
+		cache.begin();
+		Renderable renderable1 = newRenderable(0), renderable2 = newRenderable(2);
+		cache.add(renderable1);
+		cache.add(renderable2);
+		cache.end();
+
+		RenderableSorter sorter = new RenderableSorter() {
+			public void sort (Camera camera, Array<Renderable> renderables) {
+			}
+		};
+		Camera camera = new OrthographicCamera();
+		Environment environment = new Environment();
+		RecordingShader mainShader = new RecordingShader(), shadowShader = new RecordingShader();
+		ModelBatch mainBatch = new ModelBatch(new RenderContext(null), mainShader, sorter);
+		ModelBatch shadowBatch = new ModelBatch(new RenderContext(null), shadowShader, sorter);
+
+		mainBatch.begin(camera);
+		mainBatch.render(cache, environment);
+		mainBatch.end();
+		shadowBatch.begin(camera);
+		shadowBatch.render(cache);
+		shadowBatch.end();
+
+		assertEquals(2, mainShader.environments.size);
+		for (int i = 0; i < 2; i++) {
+			assertSame(environment, mainShader.environments.get(i));
+			assertSame(mainShader, mainShader.shaders.get(i));
+		}
+		assertEquals(2, shadowShader.environments.size);
+		for (int i = 0; i < 2; i++) {
+			assertNull(shadowShader.environments.get(i));
+			assertSame(shadowShader, shadowShader.shaders.get(i));
+		}
+
+		Array<Renderable> renderables = new Array<Renderable>();
+		cache.getRenderables(renderables, new Pool<Renderable>() {
+			protected Renderable newObject () {
+				return new Renderable();
+			}
+		});
+		assertEquals(2, renderables.size);
+		for (Renderable renderable : renderables) {
+			assertNull(renderable.environment);
+			assertNull(renderable.shader);
+		}
+		assertSame(renderable1.bones, renderables.get(0).bones);
+		assertEquals(2, renderables.get(1).worldTransform.getTranslation(new Vector3()).x, 0);
+		cache.dispose();
+	}
+}
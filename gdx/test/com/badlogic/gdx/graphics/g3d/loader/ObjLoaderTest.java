@@ -0,0 +1,96 @@
+package com.badlogic.gdx.graphics.g3d.loader;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelNode;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+public class ObjLoaderTest {
+	@Test
+	public void sharedVertices () {
+		ModelData data = load(new ObjLoader(), "# quad\n" //
+			+ "v 0 0 0\nv 1 0 0\nv 1 1 0\r\nv 0 1 0\n" //
+			+ "vt 0 0\nvt 1 0\nvt 1 1\nvt 0 1\n" //
+			+ "vn 0 0 1\n" //
+			+ "f 1/1/1 2/2/1 3/3/1 4/4/1\n" //
+			+ "g second\nusemtl red\n" //
+			+ "v -1.5e1 2.5E-1 .5\n" //
+			+ "f -1//1 1//1 2//1 # comment\n");
+		assertEquals(2, data.nodes.size);
+		assertEquals(2, data.meshes.size);
+		assertEquals("red", data.materials.get(1).id);
+
+		ModelMesh quad = data.meshes.get(0);
+		assertEquals(3, quad.attributes.length);
+		assertEquals(4 * 8, quad.vertices.length);
+		assertArrayEquals(new short[] {0, 1, 2, 0, 2, 3}, quad.parts[0].indices);
+
+		ModelMesh triangle = data.meshes.get(1);
+		assertEquals(2, triangle.attributes.length);
+		assertTrue(Arrays.equals(new float[] {-15, 0.25f, 0.5f, 0, 0, 1}, Arrays.copyOf(triangle.vertices, 6)));
+	}
+
+	@Test
+	public void largeGroupsAreSplit () {
+		int size = 200;
+		Random random = new Random(3);
+		float[] heights = new float[size * size];
+		StringBuilder obj = new StringBuilder();
+		for (int i = 0; i < heights.length; i++) {
+			heights[i] = random.nextFloat() * 1000 - 500;
+			obj.append("v ").append(i % size).append(' ').append(heights[i]).append(' ').append(i / size).append('\n');
+			obj.append("vt ").append(i % size / (float)size).append(' ').append(i / size / (float)size).append('\n');
+		}
+		for (int y = 0; y < size - 1; y++) {
+			for (int x = 0; x < size - 1; x++) {
+				int i = y * size + x + 1;
+				obj.append("f ").append(i).append('/').append(i).append(' ').append(i + 1).append('/').append(i + 1).append(' ');
+				obj.append(i + size + 1).append('/').append(i + size + 1).append(' ').append(i + size).append('/').append(i + size);
+				obj.append('\n');
+			}
+		}
+
+		ModelData serial = load(new ObjLoader(), obj.toString());
+		ObjLoader parallelLoader = new ObjLoader();
+		AsyncExecutor executor = new AsyncExecutor(3);
+		parallelLoader.setExecutor(executor, 4);
+		ModelData parallel = load(parallelLoader, obj.toString());
+		executor.dispose();
+
+		assertEquals(1, serial.nodes.size);
+		ModelNode node = serial.nodes.first();
+		assertTrue(serial.meshes.size > 1);
+		assertEquals(serial.meshes.size, node.parts.length);
+		int triangles = 0;
+		for (int m = 0; m < serial.meshes.size; m++) {
+			ModelMesh mesh = serial.meshes.get(m);
+			assertTrue(Arrays.equals(mesh.vertices, parallel.meshes.get(m).vertices));
+			assertArrayEquals(mesh.parts[0].indices, parallel.meshes.get(m).parts[0].indices);
+			assertTrue(mesh.vertices.length / 5 <= ObjLoader.MAX_VERTICES);
+			for (short index : mesh.parts[0].indices) {
+				int x = (int)mesh.vertices[index * 5], z = (int)mesh.vertices[index * 5 + 2];
+				assertEquals(heights[z * size + x], mesh.vertices[index * 5 + 1], 0);
+			}
+			triangles += mesh.parts[0].indices.length / 3;
+		}
+		assertEquals((size - 1) * (size - 1) * 2, triangles);
+	}
+
+	private ModelData load (ObjLoader loader, String obj) {
+		FileHandle file = FileHandle.tempFile("objloader");
+		try {
+			file.writeString(obj, false);
+			return loader.loadModelData(file, (ObjLoader.ObjLoaderParameters)null);
+		} finally {
+			file.delete();
+		}
+	}
+}
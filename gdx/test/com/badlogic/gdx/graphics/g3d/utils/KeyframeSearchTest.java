@@ -0,0 +1,45 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g3d.model.NodeKeyframe;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+
+public class KeyframeSearchTest {
+	@Test
+	public void matchesLinearSearch () {
+		Random random = new Random(3);
+		Array<NodeKeyframe<Vector3>> keyframes = new Array<NodeKeyframe<Vector3>>();
+		float keytime = 0;
+		for (int i = 0; i < 50; i++) {
+			keyframes.add(new NodeKeyframe<Vector3>(keytime, new Vector3()));
+			// Some keyframes share their time.
+			if (random.nextInt(8) != 0) keytime += random.nextFloat();
+		}
+		int hint = 0;
+		for (int i = 0; i < 2000; i++) {
+			float time;
+			if (random.nextInt(4) == 0)
+				time = keyframes.get(random.nextInt(keyframes.size)).keytime;
+			else
+				time = random.nextInt(4) == 0 ? keytime * random.nextFloat() : (i * 0.013f) % (keytime + 1) - 0.5f;
+			int index = BaseAnimationController.getFirstKeyframeIndexAtTime(keyframes, time, hint);
+			assertEquals("time " + time, linearSearch(keyframes, time), index);
+			hint = random.nextInt(10) == 0 ? random.nextInt(100) - 25 : index;
+		}
+		assertEquals(0, BaseAnimationController.getFirstKeyframeIndexAtTime(keyframes, Float.NaN, 3));
+	}
+
+	/** The search which was used before the hinted binary search. */
+	private int linearSearch (Array<NodeKeyframe<Vector3>> keyframes, float time) {
+		final int n = keyframes.size - 1;
+		for (int i = 0; i < n; i++)
+			if (time >= keyframes.get(i).keytime && time <= keyframes.get(i + 1).keytime) return i;
+		return 0;
+	}
+}
@@ -0,0 +1,154 @@
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.glutils.IndexData;
+import com.badlogic.gdx.graphics.glutils.VertexData;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+
+/** Compares the order with the {@link DefaultRenderableSorter}, which only sorts by distance. The shaders are stubs, the shaders
+ * of the {@link DefaultShaderProvider} would need a GL context. */
+public class RadixRenderableSorterTest {
+	static class StubShader implements Shader {
+		public void init () {
+		}
+
+		public int compareTo (Shader other) {
+			return 0;
+		}
+
+		public boolean canRender (Renderable renderable) {
+			return true;
+		}
+
+		public void begin (Camera camera, RenderContext context) {
+		}
+
+		public void render (Renderable renderable) {
+		}
+
+		public void end () {
+		}
+
+		public void dispose () {
+		}
+	}
+
+	private final Random random = new Random(7);
+	private final Camera camera = new OrthographicCamera();
+
+	/** A mesh without data, only its identity is used by the sorters. */
+	private Mesh newMesh () {
+		return new Mesh((VertexData)null, (IndexData)null, false) {
+		};
+	}
+
+	/** The distances to the camera are integers, so both sorters see the same ties. */
+	private Renderable newRenderable (Shader shader, Material material, Mesh mesh) {
+		Renderable renderable = new Renderable();
+		renderable.shader = shader;
+		renderable.material = material;
+		renderable.mesh = mesh;
+		renderable.worldTransform.setToTranslation(random.nextInt(21) - 10, random.nextInt(21) - 10, random.nextInt(21) - 10);
+		return renderable;
+	}
+
+	private Array<Renderable> sort (RenderableSorter sorter, Array<Renderable> renderables) {
+		Array<Renderable> sorted = new Array<Renderable>(renderables);
+		sorter.sort(camera, sorted);
+		return sorted;
+	}
+
+	private boolean isBlended (Renderable renderable) {
+		BlendingAttribute blending = (BlendingAttribute)renderable.material.get(BlendingAttribute.Type);
+		return blending != null && blending.blended;
+	}
+
+	@Test
+	public void equalKeys () {
+		Shader shader = new StubShader();
+		Mesh mesh = newMesh();
+		Material opaque = new Material(ColorAttribute.createDiffuse(Color.RED));
+		Material blended = new Material(new BlendingAttribute(0.5f));
+		Array<Renderable> renderables = new Array<Renderable>();
+		for (int i = 0; i < 500; i++)
+			renderables.add(newRenderable(shader, random.nextBoolean() ? opaque : blended, mesh));
+
+		// Many renderables are at the same distance, both sorters keep them in their original order.
+		Array<Renderable> expected = sort(new DefaultRenderableSorter(), renderables);
+		RadixRenderableSorter sorter = new RadixRenderableSorter();
+		assertArrayEquals(expected.toArray(), sort(sorter, renderables).toArray());
+		// The sorter is reused with fewer renderables than before.
+		renderables.truncate(50);
+		assertArrayEquals(sort(new DefaultRenderableSorter(), renderables).toArray(), sort(sorter, renderables).toArray());
+	}
+
+	@Test
+	public void distinctKeys () {
+		Shader[] shaders = {new StubShader(), new StubShader()};
+		Mesh[] meshes = {newMesh(), newMesh()};
+		// The first two materials are equal, so they are grouped together.
+		Material[] materials = {new Material("red", ColorAttribute.createDiffuse(Color.RED)),
+			new Material("red", ColorAttribute.createDiffuse(Color.RED)),
+			new Material("green", ColorAttribute.createDiffuse(Color.GREEN)), new Material("blended", new BlendingAttribute(0.5f)),
+			new Material("blended", new BlendingAttribute(0.5f)), new Material("transparent", new BlendingAttribute(0.25f))};
+		Array<Renderable> renderables = new Array<Renderable>();
+		for (int i = 0; i < 500; i++)
+			renderables.add(newRenderable(shaders[random.nextInt(2)], materials[random.nextInt(materials.length)],
+				meshes[random.nextInt(2)]));
+
+		Array<Renderable> expected = sort(new DefaultRenderableSorter(), renderables);
+		Array<Renderable> actual = sort(new RadixRenderableSorter(), renderables);
+		assertEquals(renderables.size, actual.size);
+
+		// Blended renderables come last, back to front like the default sorter. Only renderables at the same distance may be in
+		// another order.
+		int opaqueCount = 0;
+		while (!isBlended(actual.get(opaqueCount)))
+			opaqueCount++;
+		for (int i = opaqueCount; i < actual.size; i++) {
+			assertTrue(isBlended(actual.get(i)));
+			assertTrue(isBlended(expected.get(i)));
+			assertEquals(distance(expected.get(i)), distance(actual.get(i)), 0);
+			if (i > opaqueCount) assertTrue(distance(actual.get(i - 1)) >= distance(actual.get(i)));
+		}
+
+		// Opaque renderables are grouped by shader, material and mesh, each group in the order of the default sorter.
+		Array<Renderable> group = new Array<Renderable>();
+		for (int start = 0, end; start < opaqueCount; start = end) {
+			Renderable first = actual.get(start);
+			for (end = start + 1; end < opaqueCount && sameGroup(first, actual.get(end)); end++)
+				;
+			for (int i = end; i < opaqueCount; i++)
+				assertFalse("Group is split", sameGroup(first, actual.get(i)));
+			group.clear();
+			for (Renderable renderable : expected)
+				if (sameGroup(first, renderable)) group.add(renderable);
+			assertEquals(end - start, group.size);
+			for (int i = start; i < end; i++)
+				assertSame(group.get(i - start), actual.get(i));
+		}
+	}
+
+	private boolean sameGroup (Renderable renderable, Renderable other) {
+		return renderable.shader == other.shader && renderable.material.equals(other.material) && renderable.mesh == other.mesh;
+	}
+
+	private float distance (Renderable renderable) {
+		return camera.position.dst2(renderable.worldTransform.getTranslation(new Vector3()));
+	}
+}
@@ -0,0 +1,108 @@
+package com.badlogic.gdx.maps.tiled;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+public class PackedTiledMapTileLayerTest {
+	static final int[] ids = {1, 2, 1000, PackedTiledMapTileLayer.TILE_ID_MASK};
+
+	private final TiledMapTileSets tileSets = new TiledMapTileSets();
+	private PackedTiledMapTileLayer layer;
+
+	@Before
+	public void setUp () {
+		TiledMapTileSet tileSet = new TiledMapTileSet();
+		for (int id : ids) {
+			StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+			tile.setId(id);
+			tileSet.putTile(id, tile);
+		}
+		tileSets.addTileSet(tileSet);
+		layer = new PackedTiledMapTileLayer(3, 2, 16, 16, tileSets);
+	}
+
+	@Test
+	public void roundTrip () {
+		Cell cell = new Cell(), other = new Cell();
+		for (int id : ids) {
+			for (int flags = 0; flags < 4; flags++) {
+				for (int rotation = Cell.ROTATE_0; rotation <= Cell.ROTATE_270; rotation++) {
+					boolean flipHorizontally = (flags & 1) != 0, flipVertically = (flags & 2) != 0;
+					cell.setTile(tileSets.getTile(id));
+					cell.setFlipHorizontally(flipHorizontally);
+					cell.setFlipVertically(flipVertically);
+					cell.setRotation(rotation);
+					layer.setCell(2, 1, cell);
+
+					int value = layer.getValue(2, 1);
+					assertEquals(PackedTiledMapTileLayer.pack(id, flipHorizontally, flipVertically, rotation), value);
+					assertEquals(id, value & PackedTiledMapTileLayer.TILE_ID_MASK);
+					assertCell(cell, layer.getCell(2, 1));
+					assertSame(other, layer.getCell(2, 1, other));
+					assertCell(cell, other);
+				}
+			}
+		}
+		assertEquals(0, layer.getValue(0, 0));
+		assertNull(layer.getCell(0, 0));
+	}
+
+	/** The 8 combinations of the TMX flip flags give the same cell through both loader methods. */
+	@Test
+	public void packTileLayerCell () {
+		TmxMapLoader loader = new TmxMapLoader();
+		for (int flags = 0; flags < 8; flags++) {
+			boolean flipHorizontally = (flags & 1) != 0, flipVertically = (flags & 2) != 0, flipDiagonally = (flags & 4) != 0;
+			Cell expected = loader.createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
+			expected.setTile(tileSets.getTile(2));
+			int value = loader.packTileLayerCell(2, flipHorizontally, flipVertically, flipDiagonally);
+
+			layer.setValue(1, 0, value);
+			assertCell(expected, layer.getCell(1, 0));
+			layer.setCell(1, 0, expected);
+			assertEquals(value, layer.getValue(1, 0));
+		}
+	}
+
+	@Test
+	public void setCellNull () {
+		Cell cell = new Cell();
+		cell.setTile(tileSets.getTile(1000));
+		cell.setFlipVertically(true);
+		layer.setCell(1, 1, cell);
+		assertNotNull(layer.getCell(1, 1));
+
+		layer.setCell(1, 1, null);
+		assertEquals(0, layer.getValue(1, 1));
+		assertNull(layer.getCell(1, 1));
+
+		layer.setCell(1, 1, cell);
+		layer.setCell(1, 1, new Cell());
+		assertEquals(0, layer.getValue(1, 1));
+		assertNull(layer.getCell(1, 1));
+	}
+
+	@Test(expected = GdxRuntimeException.class)
+	public void tileNotInTileSets () {
+		StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+		tile.setId(1);
+		Cell cell = new Cell();
+		cell.setTile(tile);
+		layer.setCell(0, 0, cell);
+	}
+
+	private void assertCell (Cell expected, Cell actual) {
+		assertNotNull(actual);
+		assertSame(expected.getTile(), actual.getTile());
+		assertEquals(expected.getFlipHorizontally(), actual.getFlipHorizontally());
+		assertEquals(expected.getFlipVertically(), actual.getFlipVertically());
+		assertEquals(expected.getRotation(), actual.getRotation());
+	}
+}
@@ -0,0 +1,267 @@
+package com.badlogic.gdx.maps.tiled;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.StreamingTmxMapLoader.LayerData;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Base64Coder;
+import com.badlogic.gdx.utils.XmlReader;
+import com.badlogic.gdx.utils.XmlReader.Element;
+
+public class StreamingTmxMapLoaderTest {
+	static final int width = 10, height = 7, regionSize = 4;
+	/** The chunked layer is stored in 4 by 4 chunks covering more than the layer. */
+	static final int chunkedWidth = 12, chunkedHeight = 8;
+	static final String[] names = {"csv", "base64", "zlib", "gzip", "chunks"};
+
+	private final Random random = new Random(42);
+	/** The TMX ids of each layer, row by row from the top. The chunked layer has the ids of all its chunks. */
+	private final int[][] ids = new int[names.length][];
+	private FileHandle file;
+
+	private final FileHandleResolver resolver = new FileHandleResolver() {
+		public FileHandle resolve (String fileName) {
+			return new FileHandle(fileName);
+		}
+	};
+
+	@Before
+	public void setUp () throws IOException {
+		for (int i = 0; i < names.length; i++)
+			ids[i] = randomIds(i == 4 ? chunkedWidth * chunkedHeight : width * height);
+
+		StringBuilder tmx = new StringBuilder();
+		tmx.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		tmx.append("<map version=\"1.0\" orientation=\"orthogonal\" width=\"" + width + "\" height=\"" + height
+			+ "\" tilewidth=\"16\" tileheight=\"16\">\n");
+		tmx.append(" <properties>\n  <property name=\"map\" value=\"streamed\"/>\n </properties>\n");
+		tmx.append(" <!-- <layer name=\"commented\"><data encoding=\"csv\">1,2</data></layer> -->\n");
+		for (int i = 0; i < 4; i++) {
+			tmx.append(" <layer name=\"" + names[i] + "\" width=\"" + width + "\" height=\"" + height + "\">\n");
+			tmx.append("  <properties>\n   <property name=\"encoding\" value=\"" + names[i] + "\"/>\n  </properties>\n");
+			if (i == 0) {
+				tmx.append("  <data encoding=\"csv\">\n").append(csv(ids[i], width, 0, 0, width, height)).append("</data>\n");
+			} else {
+				String compression = i == 1 ? "" : " compression=\"" + names[i] + "\"";
+				tmx.append("  <data encoding=\"base64\"" + compression + ">\n   ").append(base64(ids[i], names[i]))
+					.append("\n  </data>\n");
+			}
+			tmx.append(" </layer>\n");
+		}
+		tmx.append(" <layer name=\"chunks\" width=\"" + width + "\" height=\"" + height + "\">\n  <data encoding=\"csv\">\n");
+		for (int y = 0; y < chunkedHeight; y += 4) {
+			for (int x = 0; x < chunkedWidth; x += 4) {
+				tmx.append("   <chunk x=\"" + x + "\" y=\"" + y + "\" width=\"4\" height=\"4\">\n");
+				tmx.append(csv(ids[4], chunkedWidth, x, y, 4, 4)).append("</chunk>\n");
+			}
+		}
+		tmx.append("  </data>\n </layer>\n</map>\n");
+
+		file = new FileHandle(File.createTempFile("map", ".tmx"));
+		file.writeString(tmx.toString(), false, "UTF-8");
+	}
+
+	@After
+	public void tearDown () {
+		file.delete();
+	}
+
+	/** Ids 1 to 5 are in the tile set, 6 is not, with random flags. */
+	private int[] randomIds (int count) {
+		int[] values = new int[count];
+		for (int i = 0; i < count; i++) {
+			int id = random.nextInt(7);
+			if (id != 0) id |= random.nextInt(8) << 29;
+			values[i] = id;
+		}
+		return values;
+	}
+
+	private String csv (int[] values, int stride, int x, int y, int width, int height) {
+		StringBuilder buffer = new StringBuilder();
+		for (int row = 0; row < height; row++) {
+			for (int col = 0; col < width; col++)
+				buffer.append(values[(y + row) * stride + x + col] & 0xffffffffL).append(',');
+			if (row == height - 1) buffer.setLength(buffer.length() - 1);
+			buffer.append('\n');
+		}
+		return buffer.toString();
+	}
+
+	private String base64 (int[] values, String compression) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		OutputStream output = bytes;
+		if (compression.equals("zlib"))
+			output = new DeflaterOutputStream(bytes);
+		else if (compression.equals("gzip")) //
+			output = new GZIPOutputStream(bytes);
+		for (int value : values) {
+			output.write(value);
+			output.write(value >> 8);
+			output.write(value >> 16);
+			output.write(value >> 24);
+		}
+		output.close();
+		return new String(Base64Coder.encode(bytes.toByteArray()));
+	}
+
+	@Test
+	public void parseMap () throws IOException {
+		StreamingTmxMapLoader loader = new StreamingTmxMapLoader(resolver);
+		Element root = loader.parseMap(file);
+
+		assertEquals("streamed", root.getChildByName("properties").getChildByName("property").getAttribute("value"));
+		Array<Element> layers = root.getChildrenByName("layer");
+		assertEquals(names.length, layers.size);
+		for (int i = 0; i < names.length; i++) {
+			Element layer = layers.get(i);
+			assertEquals(names[i], layer.getAttribute("name"));
+			if (i < 4) assertEquals(names[i], layer.getChildByName("properties").getChildByName("property").getAttribute("value"));
+			Element data = layer.getChildByName("data");
+			assertNull(data.getText());
+			assertEquals(0, data.getChildCount());
+		}
+
+		assertEquals(names.length, loader.layerData.size);
+		assertEquals("csv", loader.layerData.get(0).encoding);
+		assertNull(loader.layerData.get(1).compression);
+		assertEquals("zlib", loader.layerData.get(2).compression);
+		assertEquals("gzip", loader.layerData.get(3).compression);
+		assertEquals(6, loader.layerData.get(4).chunks.size);
+		for (int i = 0; i < 4; i++)
+			assertEquals(0, loader.layerData.get(i).chunks.size);
+	}
+
+	@Test
+	public void readIds () throws IOException {
+		StreamingTmxMapLoader loader = new StreamingTmxMapLoader(resolver);
+		loader.parseMap(file);
+		Array<Element> layers = new XmlReader().parse(file).getChildrenByName("layer");
+		for (int i = 0; i < names.length; i++) {
+			int[] expected;
+			if (i < 4) {
+				expected = BaseTmxMapLoader.getTileIds(layers.get(i), width, height);
+				assertArrayEquals(ids[i], expected);
+			} else
+				expected = ids[i];
+			int expectedWidth = i < 4 ? width : chunkedWidth;
+			LayerData data = loader.layerData.get(i);
+
+			assertRead(data, expected, expectedWidth, 0, 0, width, height);
+			for (int n = 0; n < 50; n++) {
+				int x = random.nextInt(width), y = random.nextInt(height);
+				assertRead(data, expected, expectedWidth, x, y, 1 + random.nextInt(width - x), 1 + random.nextInt(height - y));
+			}
+		}
+	}
+
+	private void assertRead (LayerData data, int[] expected, int stride, int x, int y, int width, int height) {
+		int[] actual = new int[width * height];
+		StreamingTmxMapLoader.readIds(file, data, StreamingTmxMapLoaderTest.width, StreamingTmxMapLoaderTest.height, x, y, width,
+			height, actual);
+		for (int row = 0; row < height; row++)
+			for (int col = 0; col < width; col++)
+				assertEquals("Layer " + data.encoding + " " + data.compression + " at " + (x + col) + "," + (y + row),
+					expected[(y + row) * stride + x + col], actual[row * width + col]);
+	}
+
+	@Test
+	public void regionsFlipY () {
+		regions(true);
+	}
+
+	@Test
+	public void regionsNoFlipY () {
+		regions(false);
+	}
+
+	/** The layers are 10 by 7 tiles, which regions of 4 tiles don't divide. */
+	private void regions (boolean flipY) {
+		StreamingTmxMapLoader loader = new StreamingTmxMapLoader(resolver);
+		StreamingTmxMapLoader.Parameters parameters = new StreamingTmxMapLoader.Parameters();
+		parameters.flipY = flipY;
+		parameters.regionSize = regionSize;
+		parameters.x = 2;
+		parameters.y = 1;
+		parameters.width = 3;
+		parameters.height = 2;
+		// Without tile sets in the file no textures are loaded. The cells read before the tiles are added are empty.
+		StreamingTiledMap map = (StreamingTiledMap)loader.load(file.path(), parameters);
+		TiledMapTileSet tileSet = new TiledMapTileSet();
+		for (int id = 1; id <= 5; id++) {
+			StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+			tile.setId(id);
+			tileSet.putTile(id, tile);
+		}
+		map.getTileSets().addTileSet(tileSet);
+
+		Array<PagedTiledMapTileLayer> layers = map.getStreamedLayers();
+		assertEquals(names.length, layers.size);
+		PagedTiledMapTileLayer first = layers.first();
+		assertEquals(3, first.getRegionColumns());
+		assertEquals(2, first.getRegionRows());
+		assertEquals("csv", first.getProperties().get("encoding"));
+		for (int regionY = 0; regionY < 2; regionY++)
+			for (int regionX = 0; regionX < 3; regionX++)
+				assertEquals(regionY == 0 && regionX < 2, map.isRegionLoaded(regionX, regionY));
+
+		map.loadRegions(2, 1, 3, 2);
+		assertCells(loader, map, flipY, 0, 0, 8, 4);
+
+		int[][] regions = map.readRegion(2, 1);
+		assertEquals(names.length, regions.length);
+		for (int[] region : regions)
+			assertEquals(regionSize * regionSize, region.length);
+		assertFalse(map.isRegionLoaded(2, 1));
+		map.setRegion(2, 1, regions);
+		assertTrue(map.isRegionLoaded(2, 1));
+		assertCells(loader, map, flipY, 8, 4, 2, 3);
+
+		for (int[] region : map.readRegion(3, 0))
+			assertNull(region);
+
+		map.removeRegion(0, 0);
+		assertFalse(map.isRegionLoaded(0, 0));
+		for (PagedTiledMapTileLayer layer : layers)
+			assertEquals(0, layer.getValue(1, 1));
+
+		map.loadRegions(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+		assertCells(loader, map, flipY, 0, 0, width, height);
+	}
+
+	/** Checks the cells of the rectangle, in the coordinates of the layers. */
+	private void assertCells (StreamingTmxMapLoader loader, StreamingTiledMap map, boolean flipY, int x, int y, int width,
+		int height) {
+		Array<PagedTiledMapTileLayer> layers = map.getStreamedLayers();
+		for (int i = 0; i < names.length; i++) {
+			int stride = i < 4 ? StreamingTmxMapLoaderTest.width : chunkedWidth;
+			for (int cellY = y; cellY < y + height; cellY++) {
+				for (int cellX = x; cellX < x + width; cellX++) {
+					int id = ids[i][(flipY ? StreamingTmxMapLoaderTest.height - 1 - cellY : cellY) * stride + cellX];
+					int tileId = id & ~BaseTmxMapLoader.MASK_CLEAR, expected = 0;
+					if (tileId != 0 && tileId <= 5) {
+						expected = loader.packTileLayerCell(tileId, (id & BaseTmxMapLoader.FLAG_FLIP_HORIZONTALLY) != 0,
+							(id & BaseTmxMapLoader.FLAG_FLIP_VERTICALLY) != 0, (id & BaseTmxMapLoader.FLAG_FLIP_DIAGONALLY) != 0);
+					}
+					assertEquals("Layer " + names[i] + " at " + cellX + "," + cellY, expected, layers.get(i).getValue(cellX, cellY));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.badlogic.gdx.math.collision;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+public class BoundingBoxTreeTest {
+	@Test
+	public void frustumQuery () {
+		Random random = new Random(7);
+		BoundingBoxTree<BoundingBox> tree = new BoundingBoxTree<BoundingBox>();
+		Array<BoundingBox> boxes = new Array<BoundingBox>();
+		IntArray proxies = new IntArray();
+		for (int i = 0; i < 2000; i++) {
+			BoundingBox box = randomBox(random);
+			boxes.add(box);
+			proxies.add(tree.add(box, box));
+		}
+		// Move and remove some, the tree must stay consistent.
+		for (int i = 0; i < 500; i++) {
+			BoundingBox box = boxes.get(i);
+			box.set(randomBox(random));
+			tree.update(proxies.get(i), box);
+		}
+		for (int i = boxes.size - 1; i >= 1500; i--) {
+			assertSame(boxes.get(i), tree.remove(proxies.get(i)));
+			boxes.removeIndex(i);
+		}
+		assertEquals(1500, tree.size);
+		assertTrue(tree.getHeight() < 30);
+
+		Frustum frustum = new Frustum();
+		// A box from -10 to 10 on each axis, the plane normals point inwards.
+		frustum.planes[0].set(1, 0, 0, 10);
+		frustum.planes[1].set(-1, 0, 0, 10);
+		frustum.planes[2].set(0, 1, 0, 10);
+		frustum.planes[3].set(0, -1, 0, 10);
+		frustum.planes[4].set(0, 0, 1, 10);
+		frustum.planes[5].set(0, 0, -1, 10);
+		Array<BoundingBox> visible = new Array<BoundingBox>();
+		tree.query(frustum, visible);
+		int expected = 0;
+		for (BoundingBox box : boxes) {
+			boolean inFrustum = frustum.boundsInFrustum(box);
+			if (inFrustum) expected++;
+			assertEquals(inFrustum, visible.contains(box, true));
+		}
+		assertEquals(expected, visible.size);
+		assertTrue(tree.nodesTested < 2 * boxes.size - 1);
+		assertTrue(tree.nodesCulled > 0);
+		assertTrue(tree.nodesInside > 0);
+	}
+
+	@Test
+	public void boxQuery () {
+		BoundingBoxTree<String> tree = new BoundingBoxTree<String>(4, 1);
+		tree.add("a", box(0, 0, 0, 1, 1, 1));
+		int b = tree.add("b", box(5, 5, 5, 6, 6, 6));
+		Array<String> out = new Array<String>();
+		tree.query(box(1.5f, 1.5f, 1.5f, 2, 2, 2), out);
+		assertEquals(1, out.size);
+		assertEquals("a", out.first());
+
+		// Within the margin the item is not reinserted.
+		assertFalse(tree.update(b, box(5.5f, 5.5f, 5.5f, 6.5f, 6.5f, 6.5f)));
+		assertTrue(tree.update(b, box(10, 10, 10, 11, 11, 11)));
+		out.clear();
+		tree.query(box(9, 9, 9, 10, 10, 10), out);
+		assertEquals(1, out.size);
+		assertEquals("b", out.first());
+	}
+
+	private BoundingBox randomBox (Random random) {
+		float x = random.nextFloat() * 100 - 50, y = random.nextFloat() * 100 - 50, z = random.nextFloat() * 100 - 50;
+		float size = random.nextFloat() * 3;
+		return box(x, y, z, x + size, y + size, z + size);
+	}
+
+	private BoundingBox box (float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		return new BoundingBox(new Vector3(minX, minY, minZ), new Vector3(maxX, maxY, maxZ));
+	}
+}
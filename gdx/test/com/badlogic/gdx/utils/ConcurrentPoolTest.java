@@ -0,0 +1,125 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.Pool.Poolable;
+
+public class ConcurrentPoolTest {
+	static class Item implements Poolable {
+		final AtomicBoolean inUse = new AtomicBoolean();
+		int value;
+
+		public void reset () {
+			value = 0;
+		}
+	}
+
+	static class ItemPool extends ConcurrentPool<Item> {
+		final AtomicInteger created = new AtomicInteger();
+
+		ItemPool (int cacheSize, int max) {
+			super(cacheSize, max);
+		}
+
+		protected Item newObject () {
+			created.incrementAndGet();
+			return new Item();
+		}
+	}
+
+	@Test
+	public void reuse () {
+		ItemPool pool = new ItemPool(4, 100);
+		Item item = pool.obtain();
+		item.value = 5;
+		pool.free(item);
+		assertEquals(0, item.value);
+		assertEquals(1, pool.getFree());
+		assertSame(item, pool.obtain());
+		assertEquals(0, pool.getFree());
+		assertEquals(1, pool.created.get());
+	}
+
+	@Test
+	public void overflow () {
+		ItemPool pool = new ItemPool(4, 10);
+		Array<Item> items = new Array();
+		for (int i = 0; i < 20; i++)
+			items.add(pool.obtain());
+		pool.freeAll(items);
+		assertEquals(10, pool.getFree());
+		assertEquals(10, pool.peak);
+		for (int i = 0; i < 10; i++)
+			pool.obtain();
+		assertEquals(0, pool.getFree());
+		assertEquals(20, pool.created.get());
+		pool.obtain();
+		assertEquals(21, pool.created.get());
+	}
+
+	@Test
+	public void clear () {
+		ItemPool pool = new ItemPool(4, 100);
+		Array<Item> items = new Array();
+		for (int i = 0; i < 20; i++)
+			items.add(pool.obtain());
+		pool.freeAll(items);
+		pool.clear();
+		assertEquals(0, pool.getFree());
+		pool.obtain();
+		assertEquals(21, pool.created.get());
+	}
+
+	@Test
+	public void handOff () throws Exception {
+		final ItemPool pool = new ItemPool(8, Integer.MAX_VALUE);
+		final Array<Item> items = new Array();
+		for (int i = 0; i < 100; i++)
+			items.add(pool.obtain());
+		Thread producer = new Thread() {
+			public void run () {
+				pool.freeAll(items);
+			}
+		};
+		producer.start();
+		producer.join();
+		// All but the objects in the producer's cache are available to this thread.
+		for (int i = 0; i < 100 - 8; i++)
+			pool.obtain();
+		assertEquals(100, pool.created.get());
+	}
+
+	@Test
+	public void threads () throws Exception {
+		final ItemPool pool = new ItemPool(16, 1000);
+		final AtomicBoolean failed = new AtomicBoolean();
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread() {
+				public void run () {
+					Item[] held = new Item[50];
+					for (int i = 0; i < 20000; i++) {
+						int index = i % held.length;
+						if (held[index] != null) {
+							held[index].inUse.set(false);
+							pool.free(held[index]);
+						}
+						Item item = pool.obtain();
+						if (!item.inUse.compareAndSet(false, true)) failed.set(true);
+						held[index] = item;
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for (Thread thread : threads)
+			thread.join();
+		assertFalse("An object was obtained by two threads at once.", failed.get());
+		assertTrue(pool.getFree() <= 1000);
+	}
+}
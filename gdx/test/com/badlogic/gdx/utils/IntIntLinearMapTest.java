@@ -0,0 +1,140 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class IntIntLinearMapTest {
+	/** Compares random puts and removes with a HashMap. The small key range makes most removes hit and produces long runs of
+	 * colliding keys, which removing shifts back. */
+	@Test
+	public void putGetRemove () {
+		Random random = new Random(42);
+		IntIntLinearMap map = new IntIntLinearMap(4);
+		HashMap<Integer, Integer> expected = new HashMap();
+		for (int i = 0; i < 100000; i++) {
+			int key = random.nextInt(512) - 16; // Includes the zero key.
+			if (random.nextInt(3) == 0) {
+				Integer value = expected.remove(key);
+				assertEquals(value == null ? -1 : value, map.remove(key, -1));
+			} else {
+				expected.put(key, i);
+				map.put(key, i);
+			}
+			assertEquals(expected.size(), map.size);
+			if (i % 100 == 0) assertSame(expected, map);
+		}
+		assertSame(expected, map);
+
+		for (int key : expected.keySet())
+			map.remove(key, -1);
+		assertEquals(0, map.size);
+		for (int i = 0; i < map.keyTable.length; i++)
+			assertEquals(0, map.keyTable[i]);
+	}
+
+	@Test
+	public void iterateRemove () {
+		IntIntLinearMap map = new IntIntLinearMap();
+		HashMap<Integer, Integer> expected = new HashMap();
+		Random random = new Random(42);
+		for (int i = 0; i < 1000; i++) {
+			int key = i == 0 ? 0 : random.nextInt();
+			map.put(key, i);
+			expected.put(key, i);
+		}
+
+		IntArray visited = new IntArray();
+		for (IntIntLinearMap.Entries entries = map.entries(); entries.hasNext();) {
+			IntIntLinearMap.Entry entry = entries.next();
+			visited.add(entry.key);
+			if (entry.value % 3 == 0) {
+				entries.remove();
+				expected.remove(entry.key);
+			}
+		}
+		for (int key : expected.keySet())
+			assertTrue(visited.contains(key));
+		assertSame(expected, map);
+
+		for (IntIntLinearMap.Keys keys = map.keys(); keys.hasNext();) {
+			keys.next();
+			keys.remove();
+		}
+		assertEquals(0, map.size);
+		assertFalse(map.keys().hasNext());
+	}
+
+	/** Removing while iterating a nearly full table shifts keys back across the end of the table, which must not be iterated
+	 * again. */
+	@Test
+	public void iterateRemoveNearlyFull () {
+		Random random = new Random(42);
+		for (int run = 0; run < 2000; run++) {
+			IntIntLinearMap map = new IntIntLinearMap(64, 0.9f);
+			HashMap<Integer, Integer> expected = new HashMap();
+			while (map.size < 57) {
+				int key = random.nextInt(1024) - 8; // Includes the zero key.
+				map.put(key, key);
+				expected.put(key, key);
+			}
+
+			IntSet visited = new IntSet();
+			for (IntIntLinearMap.Keys keys = map.keys(); keys.hasNext();) {
+				int key = keys.next();
+				assertTrue("Visited twice: " + key, visited.add(key));
+				if (random.nextBoolean()) {
+					keys.remove();
+					expected.remove(key);
+				}
+			}
+			assertEquals(57, visited.size);
+			assertSame(expected, map);
+		}
+	}
+
+	@Test
+	public void resize () {
+		IntIntLinearMap map = new IntIntLinearMap(2, 0.5f);
+		HashMap<Integer, Integer> expected = new HashMap();
+		for (int i = 0; i < 10000; i++) {
+			map.put(i * 31, i);
+			expected.put(i * 31, i);
+		}
+		assertSame(expected, map);
+
+		for (int i = 0; i < 9000; i++) {
+			map.remove(i * 31, -1);
+			expected.remove(i * 31);
+		}
+		int capacity = map.keyTable.length;
+		map.shrink(16);
+		assertTrue(map.keyTable.length < capacity);
+		assertSame(expected, map);
+
+		map.ensureCapacity(10000);
+		assertSame(expected, map);
+		map.clear(8);
+		assertEquals(0, map.size);
+		assertEquals(8, map.keyTable.length);
+		assertEquals(-1, map.get(31, -1));
+	}
+
+	private void assertSame (Map<Integer, Integer> expected, IntIntLinearMap map) {
+		assertEquals(expected.size(), map.size);
+		for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+			assertTrue(map.containsKey(entry.getKey()));
+			assertEquals((int)entry.getValue(), map.get(entry.getKey(), -1));
+		}
+		int count = 0;
+		for (IntIntLinearMap.Entry entry : map.entries()) {
+			assertEquals(expected.get(entry.key), Integer.valueOf(entry.value));
+			count++;
+		}
+		assertEquals(expected.size(), count);
+	}
+}
@@ -0,0 +1,149 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.StringReader;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.BaseJsonStreamReader.Token;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+public class JsonStreamReaderTest {
+	static private final String[] inputs = { //
+		"{\"a\":1,\"b\":-2.5e3,\"c\":\"x\\ny\\u0041\\\"\",\"d\":[true,false,null,[],{}],\"e\":{\"f\":{\"g\":[1,[2,[3]]]}}}", //
+		"{ a: 1, b: hello world, // comment\n c: [1 2 3], /* block */ d: 'single', e: nullx, \"f g\": {}, }", //
+		"[1, \"two\", 3.0, {x: 4}, [], [[]],]", //
+		"{a:-1.5E-3,b:9223372036854775807,c:1e2,d:-0}", //
+		"42", //
+		"\"string\"", //
+		"true", //
+		"{}", //
+		"[]"};
+
+	@Test
+	public void sameEventsAsJsonReader () {
+		for (String json : inputs) {
+			Array<String> expected = events(new JsonReader().parse(json));
+			assertEquals(json, expected, events(new JsonStreamReader(json)));
+			// A small buffer makes tokens span refills.
+			assertEquals(json, expected, events(new JsonStreamReader(new StringReader(json), 4)));
+		}
+	}
+
+	@Test
+	public void sameEventsAsJsonReaderRandom () {
+		Random random = new Random(42);
+		for (int i = 0; i < 20; i++) {
+			JsonValue root = randomValue(random, 0);
+			String json = root.prettyPrint(i % 2 == 0 ? OutputType.json : OutputType.minimal, 0);
+			Array<String> expected = events(new JsonReader().parse(json));
+			assertEquals(json, expected, events(new JsonStreamReader(json)));
+			assertEquals(json, expected, events(new JsonStreamReader(new StringReader(json), 7)));
+		}
+	}
+
+	@Test
+	public void readAndSkipValues () {
+		String json = inputs[0];
+		JsonValue expected = new JsonReader().parse(json);
+		JsonStreamReader reader = new JsonStreamReader(json);
+		reader.nextToken();
+		assertEquals(expected.prettyPrint(OutputType.json, 0), reader.readValue().prettyPrint(OutputType.json, 0));
+		assertEquals(Token.endObject, reader.getToken());
+		assertEquals(Token.end, reader.nextToken());
+
+		reader = new JsonStreamReader(json);
+		reader.nextToken();
+		Array<String> names = new Array();
+		while (reader.nextToken() != Token.endObject) {
+			names.add(reader.getName());
+			reader.skipValue();
+		}
+		assertEquals(Array.with("a", "b", "c", "d", "e"), names);
+		assertEquals(0, reader.getDepth());
+	}
+
+	@Test(expected = SerializationException.class)
+	public void unexpectedEnd () {
+		JsonStreamReader reader = new JsonStreamReader("{a:[1,2");
+		reader.nextToken();
+		reader.skipValue();
+	}
+
+	/** Returns the events a stream reader reports for the value and its children. */
+	static Array<String> events (JsonValue value) {
+		Array<String> events = new Array();
+		events(value, events);
+		events.add(Token.end.name());
+		return events;
+	}
+
+	static private void events (JsonValue value, Array<String> events) {
+		switch (value.type()) {
+		case object:
+			events.add(Token.startObject + " " + value.name);
+			for (JsonValue child = value.child; child != null; child = child.next)
+				events(child, events);
+			events.add(Token.endObject.name());
+			break;
+		case array:
+			events.add(Token.startArray + " " + value.name);
+			for (JsonValue child = value.child; child != null; child = child.next)
+				events(child, events);
+			events.add(Token.endArray.name());
+			break;
+		default:
+			events.add(value.type() + " " + value.name + "=" + value.asString());
+		}
+	}
+
+	static Array<String> events (BaseJsonStreamReader reader) {
+		Array<String> events = new Array();
+		while (true) {
+			Token token = reader.nextToken();
+			if (token == Token.startObject || token == Token.startArray)
+				events.add(token + " " + reader.getName());
+			else if (token.isValue())
+				events.add(token + " " + reader.getName() + "=" + (token == Token.nullValue ? null : reader.getString()));
+			else
+				events.add(token.name());
+			if (token == Token.end) return events;
+		}
+	}
+
+	static JsonValue randomValue (Random random, int depth) {
+		int type = depth == 0 ? 6 + random.nextInt(2) : random.nextInt(depth < 4 ? 8 : 6);
+		switch (type) {
+		case 0:
+			return new JsonValue("s" + random.nextInt(100) + (random.nextBoolean() ? " \"quoted\"\né" : ""));
+		case 1:
+			return new JsonValue(random.nextInt(2000) - 1000);
+		case 2:
+			return new JsonValue(random.nextLong());
+		case 3:
+			return new JsonValue(random.nextInt(1000) / 8.0);
+		case 4:
+			return new JsonValue(random.nextBoolean());
+		case 5:
+			return new JsonValue(JsonValue.ValueType.nullValue);
+		default:
+			JsonValue container = new JsonValue(type == 6 ? JsonValue.ValueType.object : JsonValue.ValueType.array);
+			JsonValue last = null;
+			for (int i = 0, n = random.nextInt(6); i < n; i++) {
+				JsonValue child = randomValue(random, depth + 1);
+				if (type == 6) child.setName("n" + i);
+				if (last == null)
+					container.child = child;
+				else {
+					last.next = child;
+					child.prev = last;
+				}
+				last = child;
+				container.size++;
+			}
+			return container;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class ObjectIntLinearMapTest {
+	/** Compares random puts and removes with a HashMap. Keys share their hash code in groups of 8, so they form long runs which
+	 * removing shifts back. */
+	@Test
+	public void putGetRemove () {
+		Random random = new Random(42);
+		ObjectIntLinearMap<Key> map = new ObjectIntLinearMap(4);
+		HashMap<Key, Integer> expected = new HashMap();
+		for (int i = 0; i < 100000; i++) {
+			Key key = new Key(random.nextInt(512));
+			if (random.nextInt(3) == 0) {
+				Integer value = expected.remove(key);
+				assertEquals(value == null ? -1 : value, map.remove(key, -1));
+			} else {
+				expected.put(key, i);
+				map.put(key, i);
+			}
+			assertEquals(expected.size(), map.size);
+			if (i % 100 == 0) assertSame(expected, map);
+		}
+		assertSame(expected, map);
+
+		for (Key key : expected.keySet())
+			map.remove(key, -1);
+		assertEquals(0, map.size);
+		Object[] keyTable = map.keyTable;
+		for (int i = 0; i < keyTable.length; i++)
+			assertNull(keyTable[i]);
+	}
+
+	@Test
+	public void iterateRemove () {
+		ObjectIntLinearMap<Key> map = new ObjectIntLinearMap();
+		HashMap<Key, Integer> expected = new HashMap();
+		for (int i = 0; i < 1000; i++) {
+			map.put(new Key(i), i);
+			expected.put(new Key(i), i);
+		}
+
+		HashSet<Key> visited = new HashSet();
+		for (ObjectIntLinearMap.Entries<Key> entries = map.entries(); entries.hasNext();) {
+			ObjectIntLinearMap.Entry<Key> entry = entries.next();
+			visited.add(entry.key);
+			if (entry.value % 3 == 0) {
+				entries.remove();
+				expected.remove(entry.key);
+			}
+		}
+		assertEquals(1000, visited.size());
+		assertSame(expected, map);
+
+		for (ObjectIntLinearMap.Keys<Key> keys = map.keys(); keys.hasNext();) {
+			keys.next();
+			keys.remove();
+		}
+		assertEquals(0, map.size);
+		assertFalse(map.keys().hasNext());
+	}
+
+	/** Removing while iterating a nearly full table shifts keys back across the end of the table, which must not be iterated
+	 * again. */
+	@Test
+	public void iterateRemoveNearlyFull () {
+		Random random = new Random(42);
+		for (int run = 0; run < 2000; run++) {
+			ObjectIntLinearMap<Key> map = new ObjectIntLinearMap(64, 0.9f);
+			HashMap<Key, Integer> expected = new HashMap();
+			while (map.size < 57) {
+				Key key = new Key(random.nextInt(1024));
+				map.put(key, key.id);
+				expected.put(key, key.id);
+			}
+
+			HashSet<Key> visited = new HashSet();
+			for (ObjectIntLinearMap.Entries<Key> entries = map.entries(); entries.hasNext();) {
+				ObjectIntLinearMap.Entry<Key> entry = entries.next();
+				assertTrue("Visited twice: " + entry.key, visited.add(entry.key));
+				if (random.nextBoolean()) {
+					entries.remove();
+					expected.remove(entry.key);
+				}
+			}
+			assertEquals(57, visited.size());
+			assertSame(expected, map);
+		}
+	}
+
+	@Test
+	public void resize () {
+		ObjectIntLinearMap<Key> map = new ObjectIntLinearMap(2, 0.5f);
+		HashMap<Key, Integer> expected = new HashMap();
+		for (int i = 0; i < 10000; i++) {
+			map.put(new Key(i), i);
+			expected.put(new Key(i), i);
+		}
+		assertSame(expected, map);
+
+		for (int i = 0; i < 9000; i++) {
+			map.remove(new Key(i), -1);
+			expected.remove(new Key(i));
+		}
+		int capacity = ((Object[])map.keyTable).length;
+		map.shrink(16);
+		assertTrue(((Object[])map.keyTable).length < capacity);
+		assertSame(expected, map);
+
+		map.ensureCapacity(10000);
+		assertSame(expected, map);
+		map.clear(8);
+		assertEquals(0, map.size);
+		assertEquals(8, ((Object[])map.keyTable).length);
+		assertEquals(-1, map.get(new Key(9999), -1));
+	}
+
+	private void assertSame (Map<Key, Integer> expected, ObjectIntLinearMap<Key> map) {
+		assertEquals(expected.size(), map.size);
+		for (Map.Entry<Key, Integer> entry : expected.entrySet()) {
+			assertTrue(map.containsKey(entry.getKey()));
+			assertEquals((int)entry.getValue(), map.get(entry.getKey(), -1));
+		}
+		int count = 0;
+		for (ObjectIntLinearMap.Entry<Key> entry : map.entries()) {
+			assertEquals(expected.get(entry.key), Integer.valueOf(entry.value));
+			count++;
+		}
+		assertEquals(expected.size(), count);
+	}
+
+	/** A key whose hash code collides with 7 other keys. */
+	static class Key {
+		final int id;
+
+		Key (int id) {
+			this.id = id;
+		}
+
+		public int hashCode () {
+			return id / 8;
+		}
+
+		public boolean equals (Object obj) {
+			return obj instanceof Key && ((Key)obj).id == id;
+		}
+
+		public String toString () {
+			return String.valueOf(id);
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.ObjectIntLinearMapTest.Key;
+
+public class ObjectLinearMapTest {
+	/** Compares random puts and removes with a HashMap. Keys share their hash code in groups of 8, so they form long runs which
+	 * removing shifts back. */
+	@Test
+	public void putGetRemove () {
+		Random random = new Random(42);
+		ObjectLinearMap<Key, Integer> map = new ObjectLinearMap(4);
+		HashMap<Key, Integer> expected = new HashMap();
+		for (int i = 0; i < 100000; i++) {
+			Key key = new Key(random.nextInt(512));
+			if (random.nextInt(3) == 0)
+				assertEquals(expected.remove(key), map.remove(key));
+			else
+				assertEquals(expected.put(key, i), map.put(key, i));
+			assertEquals(expected.size(), map.size);
+			if (i % 100 == 0) assertSame(expected, map);
+		}
+		assertSame(expected, map);
+
+		for (Key key : expected.keySet())
+			map.remove(key);
+		assertEquals(0, map.size);
+		Object[] keyTable = map.keyTable, valueTable = map.valueTable;
+		for (int i = 0; i < keyTable.length; i++) {
+			assertNull(keyTable[i]);
+			assertNull(valueTable[i]);
+		}
+	}
+
+	@Test
+	public void iterateRemove () {
+		ObjectLinearMap<Key, Integer> map = new ObjectLinearMap();
+		HashMap<Key, Integer> expected = new HashMap();
+		for (int i = 0; i < 1000; i++) {
+			map.put(new Key(i), i);
+			expected.put(new Key(i), i);
+		}
+
+		HashSet<Key> visited = new HashSet();
+		for (ObjectLinearMap.Entries<Key, Integer> entries = map.entries(); entries.hasNext();) {
+			ObjectLinearMap.Entry<Key, Integer> entry = entries.next();
+			visited.add(entry.key);
+			if (entry.value % 3 == 0) {
+				entries.remove();
+				expected.remove(entry.key);
+			}
+		}
+		assertEquals(1000, visited.size());
+		assertSame(expected, map);
+
+		for (ObjectLinearMap.Values<Integer> values = map.values(); values.hasNext();) {
+			values.next();
+			values.remove();
+		}
+		assertEquals(0, map.size);
+		assertFalse(map.values().hasNext());
+	}
+
+	/** Removing while iterating a nearly full table shifts keys back across the end of the table, which must not be iterated
+	 * again. */
+	@Test
+	public void iterateRemoveNearlyFull () {
+		Random random = new Random(42);
+		for (int run = 0; run < 2000; run++) {
+			ObjectLinearMap<Key, Integer> map = new ObjectLinearMap(64, 0.9f);
+			HashMap<Key, Integer> expected = new HashMap();
+			while (map.size < 57) {
+				Key key = new Key(random.nextInt(1024));
+				map.put(key, key.id);
+				expected.put(key, key.id);
+			}
+
+			HashSet<Key> visited = new HashSet();
+			for (ObjectLinearMap.Keys<Key> keys = map.keys(); keys.hasNext();) {
+				Key key = keys.next();
+				assertTrue("Visited twice: " + key, visited.add(key));
+				if (random.nextBoolean()) {
+					keys.remove();
+					expected.remove(key);
+				}
+			}
+			assertEquals(57, visited.size());
+			assertSame(expected, map);
+		}
+	}
+
+	@Test
+	public void resize () {
+		ObjectLinearMap<Key, Integer> map = new ObjectLinearMap(2, 0.5f);
+		HashMap<Key, Integer> expected = new HashMap();
+		for (int i = 0; i < 10000; i++) {
+			map.put(new Key(i), i);
+			expected.put(new Key(i), i);
+		}
+		assertSame(expected, map);
+
+		for (int i = 0; i < 9000; i++) {
+			map.remove(new Key(i));
+			expected.remove(new Key(i));
+		}
+		int capacity = ((Object[])map.keyTable).length;
+		map.shrink(16);
+		assertTrue(((Object[])map.keyTable).length < capacity);
+		assertSame(expected, map);
+
+		map.ensureCapacity(10000);
+		assertSame(expected, map);
+		map.clear(8);
+		assertEquals(0, map.size);
+		assertEquals(8, ((Object[])map.keyTable).length);
+		assertNull(map.get(new Key(9999)));
+	}
+
+	private void assertSame (Map<Key, Integer> expected, ObjectLinearMap<Key, Integer> map) {
+		assertEquals(expected.size(), map.size);
+		for (Map.Entry<Key, Integer> entry : expected.entrySet()) {
+			assertTrue(map.containsKey(entry.getKey()));
+			assertEquals(entry.getValue(), map.get(entry.getKey()));
+		}
+		int count = 0;
+		for (ObjectLinearMap.Entry<Key, Integer> entry : map.entries()) {
+			assertEquals(expected.get(entry.key), entry.value);
+			count++;
+		}
+		assertEquals(expected.size(), count);
+	}
+}
@@ -0,0 +1,76 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.math.Vector2;
+
+public class PoolStatsTest {
+	@Test
+	public void counts () {
+		Pool<Vector2> pool = new ReflectionPool(Vector2.class, 4, 2);
+		PoolStats stats = new PoolStats("Vector2");
+		pool.setStats(stats);
+		Vector2 a = pool.obtain(), b = pool.obtain(), c = pool.obtain();
+		pool.free(a);
+		pool.free(b);
+		pool.free(c);
+		pool.obtain();
+
+		PoolStats.Snapshot snapshot = stats.snapshot();
+		assertEquals(4, snapshot.obtained);
+		assertEquals(3, snapshot.freed);
+		assertEquals(3, snapshot.created);
+		assertEquals(1, snapshot.discarded);
+		assertEquals(1, snapshot.outstanding);
+		assertEquals(1, snapshot.free);
+		assertEquals(2, snapshot.peak);
+		assertEquals(0.25f, snapshot.getReuseRate(), 0.0001f);
+	}
+
+	@Test
+	public void allocationSites () {
+		Pool<Vector2> pool = new ReflectionPool(Vector2.class);
+		PoolStats stats = new PoolStats("Vector2", true, true);
+		pool.setStats(stats);
+		Vector2 leaked = pool.obtain();
+		pool.free(pool.obtain());
+
+		PoolStats.Snapshot snapshot = stats.snapshot();
+		assertEquals(1, snapshot.outstanding);
+		assertEquals(1, snapshot.sites.size);
+		String site = snapshot.sites.keys().next();
+		assertTrue(site, site.startsWith(PoolStatsTest.class.getName() + ".allocationSites"));
+
+		pool.free(leaked);
+		assertEquals(0, stats.snapshot().outstanding);
+	}
+
+	@Test
+	public void pools () {
+		Pools.setStats(true, false, false);
+		try {
+			Pool<PooledItem> pool = Pools.get(PooledItem.class);
+			assertNotNull(pool.getStats());
+			pool.free(pool.obtain());
+			boolean found = false;
+			for (PoolStats.Snapshot snapshot : Pools.getStats())
+				if (snapshot.name.equals("PooledItem")) found = snapshot.obtained == 1;
+			assertTrue(found);
+		} finally {
+			Pools.setStats(false, false, false);
+		}
+		assertNull(Pools.get(PooledItem.class).getStats());
+	}
+
+	static public class PooledItem {
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void sharedStats () {
+		PoolStats stats = new PoolStats("Vector2");
+		new ReflectionPool(Vector2.class).setStats(stats);
+		new ReflectionPool(Vector2.class).setStats(stats);
+	}
+}
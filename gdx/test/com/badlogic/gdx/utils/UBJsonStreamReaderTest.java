@@ -0,0 +1,63 @@
+package com.badlogic.gdx.utils;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.badlogic.gdx.utils.BaseJsonStreamReader.Token;
+
+public class UBJsonStreamReaderTest {
+	@Test
+	public void sameEventsAsUBJsonReader () throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(bytes);
+		writer.object();
+		writer.set("int", 70000).set("long", 1L << 40);
+		writer.set("float", 1.5f).set("double", -2.25).set("boolean", true).set("string", "text é");
+		writer.name("null").value();
+		writer.name("ints").value(new int[] {1, 100000, -7});
+		writer.name("strings").value(new String[] {"a", "", "bc"});
+		writer.name("booleans").value(new boolean[] {true, false});
+		writer.name("empty").object().pop();
+		writer.name("nested").array().array().value(1).pop().object().set("a", "b").pop().pop();
+		writer.pop();
+		writer.close();
+		assertSameEvents(bytes.toByteArray());
+	}
+
+	@Test
+	public void sameEventsAsUBJsonReaderRandom () throws IOException {
+		Random random = new Random(42);
+		for (int i = 0; i < 20; i++) {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			UBJsonWriter writer = new UBJsonWriter(bytes);
+			writer.value(JsonStreamReaderTest.randomValue(random, 0));
+			writer.close();
+			assertSameEvents(bytes.toByteArray());
+		}
+	}
+
+	@Test
+	public void readValue () throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		UBJsonWriter writer = new UBJsonWriter(bytes);
+		writer.array().value(1).object().set("a", new int[] {1, 2}).pop().value("end").pop();
+		writer.close();
+
+		JsonValue expected = new UBJsonReader().parse(new ByteArrayInputStream(bytes.toByteArray()));
+		UBJsonStreamReader reader = new UBJsonStreamReader(new ByteArrayInputStream(bytes.toByteArray()));
+		reader.nextToken();
+		assertEquals(expected.toString(), reader.readValue().toString());
+		assertEquals(Token.end, reader.nextToken());
+	}
+
+	private void assertSameEvents (byte[] bytes) {
+		Array<String> expected = JsonStreamReaderTest.events(new UBJsonReader().parse(new ByteArrayInputStream(bytes)));
+		assertEquals(expected, JsonStreamReaderTest.events(new UBJsonStreamReader(new ByteArrayInputStream(bytes))));
+	}
+}
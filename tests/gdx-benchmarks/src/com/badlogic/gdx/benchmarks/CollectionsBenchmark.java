@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Sorting and lookups of the collections used everywhere. The sort benchmarks copy the unsorted items before sorting them, the
+ * copy is part of the measured time. See {@link MapBenchmark} for the primitive maps. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollectionsBenchmark {
+	@Param({"100", "10000"}) public int size;
+
+	static final Comparator<Vector2> comparator = new Comparator<Vector2>() {
+		public int compare (Vector2 a, Vector2 b) {
+			return Float.compare(a.x, b.x);
+		}
+	};
+
+	Array<Integer> integers, sortedIntegers;
+	Array<Vector2> vectors, sortedVectors;
+	ObjectMap<String, Integer> map;
+	String[] lookups;
+	int index;
+
+	@Setup
+	public void setup () {
+		Random random = new Random(42);
+		integers = new Array(size);
+		vectors = new Array(size);
+		map = new ObjectMap();
+		for (int i = 0; i < size; i++) {
+			integers.add(random.nextInt());
+			vectors.add(new Vector2(random.nextFloat(), random.nextFloat()));
+			map.put("key" + i, i);
+		}
+		sortedIntegers = new Array(size);
+		sortedVectors = new Array(size);
+
+		// half of the looked up keys are in the map
+		lookups = new String[1024];
+		for (int i = 0; i < lookups.length; i++)
+			lookups[i] = "key" + random.nextInt(size * 2);
+	}
+
+	@Benchmark
+	public Array<Integer> arraySort () {
+		sortedIntegers.clear();
+		sortedIntegers.addAll(integers);
+		sortedIntegers.sort();
+		return sortedIntegers;
+	}
+
+	@Benchmark
+	public Array<Vector2> arraySortComparator () {
+		sortedVectors.clear();
+		sortedVectors.addAll(vectors);
+		sortedVectors.sort(comparator);
+		return sortedVectors;
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Integer objectMapGet () {
+		return map.get(lookups[index = index + 1 & lookups.length - 1]);
+	}
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/** Starts a {@link HeadlessApplication} with a mock GL once per JVM, so benchmarks can use the natives, {@link Gdx#files} and
+ * classes which need {@link Gdx#gl}, like meshes and sprite batches. The GL does nothing, so only the CPU side is measured. */
+public class Headless {
+	static private boolean initialized;
+
+	static public synchronized void init () {
+		if (initialized) return;
+		initialized = true;
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.renderInterval = -1;
+		config.mockGL = true;
+		new HeadlessApplication(new ApplicationAdapter() {
+		}, config);
+	}
+}
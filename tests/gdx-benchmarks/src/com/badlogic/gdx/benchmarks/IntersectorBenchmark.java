@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.Intersector.MinimumTranslationVector;
+import com.badlogic.gdx.math.Polygon;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.Ray;
+
+/** Intersection tests used for picking and collision. The rays and points are random, so roughly half of the tests hit. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IntersectorBenchmark {
+	static final int COUNT = 1024;
+
+	final Ray[] rays = new Ray[COUNT];
+	final Vector2[] points = new Vector2[COUNT];
+	final BoundingBox box = new BoundingBox(new Vector3(-1, -1, -1), new Vector3(1, 1, 1));
+	final Vector3 t1 = new Vector3(-1, -1, 0), t2 = new Vector3(1, -1, 0), t3 = new Vector3(0, 1, 0);
+	final float[] triangles = new float[9 * 100];
+	final float[] polygon = new float[2 * 32];
+	final Polygon hexagon1 = new Polygon(new float[] {0, 1, 0.87f, 0.5f, 0.87f, -0.5f, 0, -1, -0.87f, -0.5f, -0.87f, 0.5f});
+	final Polygon hexagon2 = new Polygon(hexagon1.getVertices());
+	final MinimumTranslationVector mtv = new MinimumTranslationVector();
+	final Vector3 intersection = new Vector3();
+	final Vector2 intersection2 = new Vector2();
+	int index;
+
+	@Setup
+	public void setup () {
+		Random random = new Random(42);
+		for (int i = 0; i < COUNT; i++) {
+			Vector3 origin = new Vector3(random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2, 5);
+			Vector3 direction = new Vector3(random.nextFloat() - 0.5f, random.nextFloat() - 0.5f, -1).nor();
+			rays[i] = new Ray(origin, direction);
+			points[i] = new Vector2(random.nextFloat() * 4 - 2, random.nextFloat() * 4 - 2);
+		}
+		for (int i = 0; i < triangles.length; i++)
+			triangles[i] = random.nextFloat() * 20 - 10;
+		for (int i = 0, n = polygon.length / 2; i < n; i++) {
+			float angle = (float)Math.PI * 2 * i / n, radius = 1 + random.nextFloat() * 0.5f;
+			polygon[i * 2] = (float)Math.cos(angle) * radius;
+			polygon[i * 2 + 1] = (float)Math.sin(angle) * radius;
+		}
+		hexagon2.setPosition(1.5f, 0.5f);
+	}
+
+	private int next () {
+		return index = index + 1 & COUNT - 1;
+	}
+
+	@Benchmark
+	public boolean intersectRayBounds () {
+		return Intersector.intersectRayBounds(rays[next()], box, intersection);
+	}
+
+	@Benchmark
+	public boolean intersectRayTriangle () {
+		return Intersector.intersectRayTriangle(rays[next()], t1, t2, t3, intersection);
+	}
+
+	@Benchmark
+	public boolean intersectRayTriangles () {
+		return Intersector.intersectRayTriangles(rays[next()], triangles, intersection);
+	}
+
+	@Benchmark
+	public boolean isPointInPolygon () {
+		Vector2 point = points[next()];
+		return Intersector.isPointInPolygon(polygon, 0, polygon.length, point.x, point.y);
+	}
+
+	@Benchmark
+	public boolean intersectSegments () {
+		Vector2 p1 = points[next()], p2 = points[next()], p3 = points[next()], p4 = points[next()];
+		return Intersector.intersectSegments(p1, p2, p3, p4, intersection2);
+	}
+
+	@Benchmark
+	public boolean overlapConvexPolygons () {
+		return Intersector.overlapConvexPolygons(hexagon1, hexagon2, mtv);
+	}
+}
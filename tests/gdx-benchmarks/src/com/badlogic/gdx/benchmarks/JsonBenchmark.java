@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.benchmarks.json.Document;
+import com.badlogic.gdx.benchmarks.json.Item;
+import com.badlogic.gdx.benchmarks.json.JsonSerializers;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.BaseJsonStreamReader.Token;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonStreamReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+
+/** Parsing JSON into a DOM or token by token, and (de)serialization of a document with the given number of items using reflection,
+ * using reflection while streaming, and using the serializers generated by JsonSerializerGenerator in gdx-tools. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class JsonBenchmark {
+	@Param({"10", "1000"}) public int items;
+
+	final JsonReader reader = new JsonReader();
+	final Json json = new Json(OutputType.json);
+	final Json generatedJson = new Json(OutputType.json);
+	final Json streamingJson = new Json(OutputType.json);
+	Document document;
+	String text;
+
+	@Setup
+	public void setup () {
+		Random random = new Random(42);
+		document = new Document();
+		for (int i = 0; i < items; i++) {
+			Item item = new Item();
+			item.name = "item" + i;
+			item.x = random.nextFloat() * 100;
+			item.y = random.nextFloat() * 100;
+			item.count = random.nextInt(100);
+			item.visible = random.nextBoolean();
+			item.tags = new String[] {"a" + random.nextInt(10), "b" + random.nextInt(10)};
+			document.items.add(item);
+		}
+		json.setElementType(Document.class, "items", Item.class);
+		streamingJson.setElementType(Document.class, "items", Item.class);
+		streamingJson.setStreaming(true);
+		JsonSerializers.register(generatedJson);
+		text = json.toJson(document);
+	}
+
+	@Benchmark
+	public JsonValue jsonReaderParse () {
+		return reader.parse(text);
+	}
+
+	@Benchmark
+	public int jsonStreamReaderParse () {
+		JsonStreamReader reader = new JsonStreamReader(text);
+		int tokens = 0;
+		while (reader.nextToken() != Token.end)
+			tokens++;
+		return tokens;
+	}
+
+	@Benchmark
+	public Document jsonFromJson () {
+		return json.fromJson(Document.class, text);
+	}
+
+	@Benchmark
+	public Document streamingFromJson () {
+		return streamingJson.fromJson(Document.class, text);
+	}
+
+	@Benchmark
+	public String jsonToJson () {
+		return json.toJson(document);
+	}
+
+	@Benchmark
+	public Document generatedFromJson () {
+		return generatedJson.fromJson(Document.class, text);
+	}
+
+	@Benchmark
+	public String generatedToJson () {
+		return generatedJson.toJson(document);
+	}
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.utils.IntIntLinearMap;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.ObjectIntLinearMap;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.ObjectLinearMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Compares the cuckoo hashing maps with the linear probing maps. Every benchmark method does one operation. Half of the looked up
+ * keys are in the map, so both hits and misses are measured. The put/remove benchmarks remove a key which is in the map and put it
+ * back, so the size stays the same. They go through all keys, so large maps are not measured with only the cached part. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapBenchmark {
+	@Param({"1000", "100000", "10000000"}) public int size;
+
+	static final int LOOKUPS = 1 << 16;
+
+	IntIntMap intIntMap;
+	IntIntLinearMap intIntLinearMap;
+	ObjectIntMap<String> objectIntMap;
+	ObjectIntLinearMap<String> objectIntLinearMap;
+	ObjectMap<String, Integer> objectMap;
+	ObjectLinearMap<String, Integer> objectLinearMap;
+
+	int[] intKeys, intLookups;
+	String[] objectKeys, objectLookups;
+	Integer[] values;
+	int index, keyIndex;
+
+	@Setup
+	public void setup () {
+		Random random = new Random(42);
+		intKeys = new int[size];
+		objectKeys = new String[size];
+		intIntMap = new IntIntMap();
+		intIntLinearMap = new IntIntLinearMap();
+		objectIntMap = new ObjectIntMap();
+		objectIntLinearMap = new ObjectIntLinearMap();
+		objectMap = new ObjectMap();
+		objectLinearMap = new ObjectLinearMap();
+		values = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			int key = random.nextInt();
+			intKeys[i] = key;
+			objectKeys[i] = String.valueOf(key);
+			intIntMap.put(key, i);
+			intIntLinearMap.put(key, i);
+			objectIntMap.put(objectKeys[i], i);
+			objectIntLinearMap.put(objectKeys[i], i);
+			values[i] = i;
+			objectMap.put(objectKeys[i], values[i]);
+			objectLinearMap.put(objectKeys[i], values[i]);
+		}
+
+		intLookups = new int[LOOKUPS];
+		objectLookups = new String[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			int key = random.nextBoolean() ? intKeys[random.nextInt(size)] : random.nextInt();
+			intLookups[i] = key;
+			objectLookups[i] = String.valueOf(key);
+		}
+	}
+
+	private int next () {
+		return index = index + 1 & LOOKUPS - 1;
+	}
+
+	private int nextKey () {
+		return keyIndex = keyIndex + 1 == size ? 0 : keyIndex + 1;
+	}
+
+	@Benchmark
+	public int intIntMapGet () {
+		return intIntMap.get(intLookups[next()], -1);
+	}
+
+	@Benchmark
+	public int intIntLinearMapGet () {
+		return intIntLinearMap.get(intLookups[next()], -1);
+	}
+
+	@Benchmark
+	public int objectIntMapGet () {
+		return objectIntMap.get(objectLookups[next()], -1);
+	}
+
+	@Benchmark
+	public int objectIntLinearMapGet () {
+		return objectIntLinearMap.get(objectLookups[next()], -1);
+	}
+
+	@Benchmark
+	public Integer objectMapGet () {
+		return objectMap.get(objectLookups[next()]);
+	}
+
+	@Benchmark
+	public Integer objectLinearMapGet () {
+		return objectLinearMap.get(objectLookups[next()]);
+	}
+
+	@Benchmark
+	public void intIntMapPutRemove () {
+		int key = intKeys[nextKey()];
+		intIntMap.put(key, intIntMap.remove(key, 0));
+	}
+
+	@Benchmark
+	public void intIntLinearMapPutRemove () {
+		int key = intKeys[nextKey()];
+		intIntLinearMap.put(key, intIntLinearMap.remove(key, 0));
+	}
+
+	@Benchmark
+	public void objectIntMapPutRemove () {
+		String key = objectKeys[nextKey()];
+		objectIntMap.put(key, objectIntMap.remove(key, 0));
+	}
+
+	@Benchmark
+	public void objectIntLinearMapPutRemove () {
+		String key = objectKeys[nextKey()];
+		objectIntLinearMap.put(key, objectIntLinearMap.remove(key, 0));
+	}
+
+	@Benchmark
+	public void objectMapPutRemove () {
+		String key = objectKeys[nextKey()];
+		objectMap.put(key, objectMap.remove(key));
+	}
+
+	@Benchmark
+	public void objectLinearMapPutRemove () {
+		String key = objectKeys[nextKey()];
+		objectLinearMap.put(key, objectLinearMap.remove(key));
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+
+/** Matrix and vector operations used for every node and renderable. The operands are reset before each operation, so the values
+ * don't grow to infinity. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MathBenchmark {
+	final Matrix4 a = new Matrix4(), b = new Matrix4(), result = new Matrix4();
+	final Vector3 vector = new Vector3(), tmp = new Vector3();
+	final Quaternion q1 = new Quaternion(), q2 = new Quaternion(), q = new Quaternion();
+
+	@Setup
+	public void setup () {
+		// Matrix4#mul is native
+		Headless.init();
+		a.setToLookAt(new Vector3(1, 2, 3), new Vector3(0, 0, 0), Vector3.Y).translate(4, 5, 6);
+		b.setToProjection(0.1f, 100f, 67, 1.5f);
+		vector.set(1, 2, 3);
+		q1.setEulerAngles(10, 20, 30);
+		q2.setEulerAngles(-40, 50, 60);
+	}
+
+	@Benchmark
+	public Matrix4 matrix4Mul () {
+		return result.set(a).mul(b);
+	}
+
+	@Benchmark
+	public Matrix4 matrix4Inv () {
+		return result.set(a).inv();
+	}
+
+	@Benchmark
+	public Matrix4 matrix4Compose () {
+		return result.set(vector, q1, vector);
+	}
+
+	@Benchmark
+	public Vector3 vector3Mul () {
+		return tmp.set(vector).mul(a);
+	}
+
+	@Benchmark
+	public Vector3 vector3Prj () {
+		return tmp.set(vector).prj(b);
+	}
+
+	@Benchmark
+	public Quaternion quaternionSlerp () {
+		return q.set(q1).slerp(q2, 0.3f);
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.loader.G3dModelLoader;
+import com.badlogic.gdx.graphics.g3d.loader.G3dmModelLoader;
+import com.badlogic.gdx.tools.g3d.G3dmConverter;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.UBJsonWriter;
+
+/** Loading a model with the given number of meshes of 32768 vertices each, with position, normal and texture coordinates, from a
+ * G3DB file and from the G3DM file converted from it, including creating the meshes. Each mesh is about 1 MB. The G3DB file is
+ * written by {@link UBJsonWriter}, so it is read without the {@link UBJsonReader#oldFormat old format}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelLoadBenchmark {
+	static private final int VERTICES = 32768, VERTEX_SIZE = 8;
+
+	@Param({"4", "32"}) public int meshes;
+
+	FileHandle g3db, g3dm;
+	final UBJsonReader reader = new UBJsonReader();
+	final G3dModelLoader g3dbLoader = new G3dModelLoader(reader);
+	final G3dmModelLoader g3dmLoader = new G3dmModelLoader();
+
+	@Setup
+	public void setup () throws IOException {
+		Headless.init();
+		reader.oldFormat = false;
+		g3db = FileHandle.tempFile("model");
+		g3dm = FileHandle.tempFile("model");
+		writeModel(g3db);
+		new G3dmConverter().convert(reader.parse(g3db), g3dm);
+	}
+
+	@TearDown
+	public void tearDown () {
+		g3db.delete();
+		g3dm.delete();
+	}
+
+	@Benchmark
+	public Model g3db () {
+		return load(g3dbLoader, g3db);
+	}
+
+	@Benchmark
+	public Model g3dm () {
+		return load(g3dmLoader, g3dm);
+	}
+
+	private Model load (G3dModelLoader loader, FileHandle file) {
+		Model model = new Model(loader.loadModelData(file, null));
+		model.dispose();
+		return model;
+	}
+
+	private void writeModel (FileHandle file) throws IOException {
+		Random random = new Random(42);
+		UBJsonWriter writer = new UBJsonWriter(file.write(false, 65536));
+		try {
+			writer.object();
+			writer.set("version", new short[] {G3dModelLoader.VERSION_HI, G3dModelLoader.VERSION_LO});
+			writer.array("meshes");
+			for (int i = 0; i < meshes; i++) {
+				writer.object();
+				writer.set("attributes", new String[] {"POSITION", "NORMAL", "TEXCOORD0"});
+				float[] vertices = new float[VERTICES * VERTEX_SIZE];
+				for (int j = 0; j < vertices.length; j++)
+					vertices[j] = random.nextFloat();
+				writer.set("vertices", vertices);
+				short[] indices = new short[VERTICES * 3];
+				for (int j = 0; j < indices.length; j++)
+					indices[j] = (short)random.nextInt(VERTICES);
+				writer.array("parts");
+				writer.object().set("id", "part" + i).set("type", "TRIANGLES");
+				writer.set("indices", indices);
+				writer.pop();
+				writer.pop();
+				writer.pop();
+			}
+			writer.pop();
+			writer.array("materials").object().set("id", "material").pop().pop();
+			writer.array("nodes");
+			for (int i = 0; i < meshes; i++) {
+				writer.object().set("id", "node" + i);
+				writer.array("parts").object().set("meshpartid", "part" + i).set("materialid", "material").pop().pop();
+				writer.pop();
+			}
+			writer.pop();
+			writer.pop();
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.g3d.particles.ParticleController;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleEffect;
+import com.badlogic.gdx.graphics.g3d.particles.ParticleSystem;
+import com.badlogic.gdx.graphics.g3d.particles.emitters.RegularEmitter;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ColorInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier.BrownianAcceleration;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.DynamicsModifier.PolarAcceleration;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.RegionInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.ScaleInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.influencers.SpawnInfluencer;
+import com.badlogic.gdx.graphics.g3d.particles.renderers.PointSpriteRenderer;
+import com.badlogic.gdx.graphics.g3d.particles.values.PointSpawnShapeValue;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+/** Updating 100000 particles, in one controller or spread over 16, with spawn, region, scale, color and dynamics influencers, on
+ * the calling thread and in parallel with an executor of one thread per available processor besides the calling thread. Only the
+ * simulation is measured, the particles are not drawn. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParticleSystemBenchmark {
+	static private final int PARTICLES = 100000;
+
+	@Param({"1", "16"}) public int controllers;
+	@Param({"false", "true"}) public boolean parallel;
+
+	ParticleSystem system;
+	ParticleEffect effect;
+	AsyncExecutor executor;
+
+	@Setup
+	public void setup () {
+		Headless.init();
+		ParticleController[] effectControllers = new ParticleController[controllers];
+		for (int i = 0; i < controllers; i++)
+			effectControllers[i] = createController(PARTICLES / controllers);
+		effect = new ParticleEffect(effectControllers);
+		effect.init();
+		effect.start();
+		system = ParticleSystem.get();
+		system.removeAll();
+		system.add(effect);
+		if (parallel) {
+			int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+			executor = new AsyncExecutor(threads);
+			system.setExecutor(executor, threads + 1);
+		}
+		// Fills the controllers, every particle is alive from then on.
+		system.update();
+	}
+
+	@TearDown
+	public void tearDown () {
+		system.setExecutor(null, 0);
+		system.removeAll();
+		effect.dispose();
+		if (executor != null) executor.dispose();
+	}
+
+	@Benchmark
+	public ParticleSystem update () {
+		system.update();
+		return system;
+	}
+
+	private ParticleController createController (int particles) {
+		RegularEmitter emitter = new RegularEmitter();
+		emitter.getDuration().setLow(3000);
+		emitter.getLife().setHigh(2000);
+		emitter.setParticleCount(particles, particles);
+
+		PointSpawnShapeValue spawnShape = new PointSpawnShapeValue();
+		spawnShape.xOffsetValue.setLow(0, 1f);
+		spawnShape.xOffsetValue.setActive(true);
+		spawnShape.yOffsetValue.setLow(0, 1f);
+		spawnShape.yOffsetValue.setActive(true);
+
+		ScaleInfluencer scaleInfluencer = new ScaleInfluencer();
+		scaleInfluencer.value.setTimeline(new float[] {0, 1});
+		scaleInfluencer.value.setScaling(new float[] {1, 0});
+		scaleInfluencer.value.setHigh(1);
+
+		ColorInfluencer.Single colorInfluencer = new ColorInfluencer.Single();
+		colorInfluencer.colorValue.setColors(new float[] {1, 0.5f, 0, 0, 0, 0});
+		colorInfluencer.colorValue.setTimeline(new float[] {0, 1});
+		colorInfluencer.alphaValue.setHigh(1);
+		colorInfluencer.alphaValue.setTimeline(new float[] {0, 0.5f, 1});
+		colorInfluencer.alphaValue.setScaling(new float[] {0, 1, 0});
+
+		PolarAcceleration polar = new PolarAcceleration();
+		polar.strengthValue.setHigh(5, 10);
+		polar.thetaValue.setHigh(0, 360);
+		polar.phiValue.setHigh(30, 60);
+		BrownianAcceleration brownian = new BrownianAcceleration();
+		brownian.strengthValue.setHigh(1, 2);
+
+		return new ParticleController("controller", emitter, new PointSpriteRenderer(), new RegionInfluencer.Single(),
+			new SpawnInfluencer(spawnShape), scaleInfluencer, colorInfluencer, new DynamicsInfluencer(polar, brownian));
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.ConcurrentReflectionPool;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ReflectionPool;
+
+/** Obtains and frees a batch of objects from 4 threads at once, using a {@link Pool} guarded by a lock and a
+ * {@link ConcurrentReflectionPool}. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PoolBenchmark {
+	static final int BATCH = 16;
+
+	final Pool<Vector3> lockedPool = new ReflectionPool(Vector3.class);
+	final Pool<Vector3> concurrentPool = new ConcurrentReflectionPool(Vector3.class);
+
+	@State(Scope.Thread)
+	public static class Batch {
+		final Vector3[] objects = new Vector3[BATCH];
+	}
+
+	@Benchmark
+	public Vector3[] locked (Batch batch) {
+		Vector3[] objects = batch.objects;
+		for (int i = 0; i < BATCH; i++) {
+			synchronized (lockedPool) {
+				objects[i] = lockedPool.obtain();
+			}
+		}
+		for (int i = 0; i < BATCH; i++) {
+			synchronized (lockedPool) {
+				lockedPool.free(objects[i]);
+			}
+		}
+		return objects;
+	}
+
+	@Benchmark
+	public Vector3[] concurrent (Batch batch) {
+		Vector3[] objects = batch.objects;
+		for (int i = 0; i < BATCH; i++)
+			objects[i] = concurrentPool.obtain();
+		for (int i = 0; i < BATCH; i++)
+			concurrentPool.free(objects[i]);
+		return objects;
+	}
+}
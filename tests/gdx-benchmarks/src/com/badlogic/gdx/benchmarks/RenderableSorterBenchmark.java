@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.RadixRenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
+import com.badlogic.gdx.utils.Array;
+
+/** Sorting the given number of renderables in random order, which use 4 shaders, 8 meshes and 16 materials of which 2 are
+ * blended, with each sorter. Every material is a copy, as with model instances. The shader and material changes in the sorted
+ * order are reported as auxiliary counters next to the time. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RenderableSorterBenchmark {
+	@Param({"1000", "20000"}) public int renderables;
+
+	Camera camera;
+	Mesh[] meshes;
+	Renderable[] shuffled;
+	final Array<Renderable> array = new Array<Renderable>();
+	final DefaultRenderableSorter defaultSorter = new DefaultRenderableSorter();
+	final RadixRenderableSorter radixSorter = new RadixRenderableSorter();
+
+	@Setup
+	public void setup () {
+		Headless.init();
+		camera = new PerspectiveCamera(67, 800, 480);
+		camera.far = 1000;
+		camera.update();
+		Random random = new Random(42);
+		Shader[] shaders = new Shader[4];
+		for (int i = 0; i < shaders.length; i++)
+			shaders[i] = new NoShader();
+		meshes = new Mesh[8];
+		for (int i = 0; i < meshes.length; i++)
+			meshes[i] = new Mesh(true, 4, 6, new VertexAttribute(Usage.Position, 3, "a_position"));
+		Material[] materials = new Material[16];
+		for (int i = 0; i < materials.length; i++) {
+			materials[i] = new Material(ColorAttribute.createDiffuse(new Color(i / 16f, 1, 1, 1)));
+			if (i >= 14) materials[i].set(new BlendingAttribute(0.5f));
+		}
+		shuffled = new Renderable[renderables];
+		for (int i = 0; i < renderables; i++) {
+			Renderable renderable = new Renderable();
+			renderable.shader = shaders[random.nextInt(shaders.length)];
+			renderable.mesh = meshes[random.nextInt(meshes.length)];
+			renderable.material = materials[random.nextInt(materials.length)].copy();
+			renderable.worldTransform.setTranslation(random.nextFloat() * 200 - 100, random.nextFloat() * 20,
+				-random.nextFloat() * 500);
+			shuffled[i] = renderable;
+		}
+	}
+
+	@TearDown
+	public void tearDown () {
+		for (Mesh mesh : meshes)
+			mesh.dispose();
+	}
+
+	@Benchmark
+	public Array<Renderable> defaultSorter (StateChanges changes) {
+		return sort(defaultSorter, changes);
+	}
+
+	@Benchmark
+	public Array<Renderable> radixSorter (StateChanges changes) {
+		return sort(radixSorter, changes);
+	}
+
+	private Array<Renderable> sort (RenderableSorter sorter, StateChanges changes) {
+		Array<Renderable> array = this.array;
+		array.clear();
+		array.addAll(shuffled);
+		sorter.sort(camera, array);
+		Shader shader = null;
+		Material material = null;
+		for (int i = 0, n = array.size; i < n; i++) {
+			Renderable renderable = array.get(i);
+			if (renderable.shader != shader) changes.shaderSwitches++;
+			if (material == null || !renderable.material.same(material, true)) changes.materialSwitches++;
+			shader = renderable.shader;
+			material = renderable.material;
+		}
+		changes.sorts++;
+		return array;
+	}
+
+	/** The state changes summed over the sorts of an iteration, divide by {@link #sorts} for the changes per sort. */
+	@AuxCounters
+	@State(Scope.Thread)
+	public static class StateChanges {
+		public long shaderSwitches, materialSwitches, sorts;
+
+		@Setup(Level.Iteration)
+		public void reset () {
+			shaderSwitches = 0;
+			materialSwitches = 0;
+			sorts = 0;
+		}
+	}
+
+	static class NoShader implements Shader {
+		public void init () {
+		}
+
+		public int compareTo (Shader other) {
+			return 0;
+		}
+
+		public boolean canRender (Renderable instance) {
+			return true;
+		}
+
+		public void begin (Camera camera, RenderContext context) {
+		}
+
+		public void render (Renderable renderable) {
+		}
+
+		public void end () {
+		}
+
+		public void dispose () {
+		}
+	}
+}
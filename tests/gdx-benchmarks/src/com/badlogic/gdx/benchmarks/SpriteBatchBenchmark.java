@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteArray;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+
+/** Batching of the given number of sprites per frame, from begin to end. The GL is a mock, so this measures the vertex generation
+ * and the buffer copies but not the driver. The rotated benchmarks compute the vertices of every sprite each frame, one at a time
+ * and with a {@link SpriteArray} on the calling thread and on 4 threads. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SpriteBatchBenchmark {
+	@Param({"100", "10000"}) public int sprites;
+
+	SpriteBatch batch;
+	Texture texture1, texture2;
+	Sprite[] spriteArray;
+	float[] positions;
+	TextureRegion region;
+	SpriteArray sprites1, sprites4;
+	AsyncExecutor executor;
+
+	@Setup
+	public void setup () {
+		Headless.init();
+		batch = new SpriteBatch();
+		texture1 = new Texture(64, 64, Format.RGBA8888);
+		texture2 = new Texture(64, 64, Format.RGBA8888);
+		Random random = new Random(42);
+		spriteArray = new Sprite[sprites];
+		region = new TextureRegion(texture1);
+		sprites1 = new SpriteArray(sprites);
+		sprites1.addRegion(region);
+		sprites4 = new SpriteArray(sprites);
+		sprites4.addRegion(region);
+		executor = new AsyncExecutor(3);
+		sprites4.setExecutor(executor, 4);
+		positions = new float[sprites * 2];
+		for (int i = 0; i < sprites; i++) {
+			float x = random.nextFloat() * 800, y = random.nextFloat() * 480;
+			positions[i * 2] = x;
+			positions[i * 2 + 1] = y;
+			Sprite sprite = new Sprite(texture1);
+			sprite.setPosition(x, y);
+			sprite.setRotation(random.nextFloat() * 360);
+			sprite.setScale(0.5f + random.nextFloat());
+			spriteArray[i] = sprite;
+			sprites1.add(x + 32, y + 32, sprite.getRotation(), sprite.getScaleX(), 0);
+			sprites4.add(x + 32, y + 32, sprite.getRotation(), sprite.getScaleX(), 0);
+		}
+	}
+
+	@TearDown
+	public void tearDown () {
+		batch.dispose();
+		executor.dispose();
+		texture1.dispose();
+		texture2.dispose();
+	}
+
+	@Benchmark
+	public SpriteBatch drawTexture () {
+		SpriteBatch batch = this.batch;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = positions.length; i < n; i += 2)
+			batch.draw(texture1, positions[i], positions[i + 1]);
+		batch.end();
+		return batch;
+	}
+
+	@Benchmark
+	public SpriteBatch drawSprite () {
+		SpriteBatch batch = this.batch;
+		batch.begin();
+		for (Sprite sprite : spriteArray)
+			sprite.draw(batch);
+		batch.end();
+		return batch;
+	}
+
+	@Benchmark
+	public SpriteBatch drawRegionRotated () {
+		SpriteBatch batch = this.batch;
+		TextureRegion region = this.region;
+		batch.begin();
+		for (Sprite sprite : spriteArray)
+			batch.draw(region, sprite.getX(), sprite.getY(), 32, 32, 64, 64, sprite.getScaleX(), sprite.getScaleY(),
+				sprite.getRotation());
+		batch.end();
+		return batch;
+	}
+
+	@Benchmark
+	public SpriteBatch drawSpriteArray () {
+		batch.begin();
+		sprites1.draw(batch);
+		batch.end();
+		return batch;
+	}
+
+	@Benchmark
+	public SpriteBatch drawSpriteArrayParallel () {
+		batch.begin();
+		sprites4.draw(batch);
+		batch.end();
+		return batch;
+	}
+
+	/** Every sprite uses another texture than the previous one, so the batch is flushed for every sprite. */
+	@Benchmark
+	public SpriteBatch drawTextureSwitch () {
+		SpriteBatch batch = this.batch;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = positions.length; i < n; i += 2)
+			batch.draw((i & 2) == 0 ? texture1 : texture2, positions[i], positions[i + 1]);
+		batch.end();
+		return batch;
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.nio.Buffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh.VertexDataType;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.profiling.GL20Profiler;
+import com.badlogic.gdx.graphics.profiling.GLProfiler;
+
+/** A frame of sprites which alternate between two textures every 100 sprites, so the batch flushes often, with each vertex data
+ * type. The GL is a mock wrapped in a {@link GL20Profiler}, and the GL calls, buffer specifications (glBufferData) and buffer
+ * updates (glBufferSubData) per frame are reported as auxiliary counters next to the time. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VertexStreamingBenchmark {
+	@Param({"VertexArray", "VertexBufferObject", "VertexBufferObjectSubData", "VertexBufferObjectStreaming"}) public String
+		vertexDataType;
+
+	static final int SPRITES = 5000;
+
+	SpriteBatch batch;
+	Texture texture1, texture2;
+
+	@Setup
+	public void setup () {
+		Headless.init();
+		GLProfiler.disable();
+		Gdx.gl = Gdx.gl20 = new CountingGL20(Gdx.gl20);
+		SpriteBatch.defaultVertexDataType = VertexDataType.valueOf(vertexDataType);
+		batch = new SpriteBatch(1000);
+		SpriteBatch.defaultVertexDataType = null;
+		texture1 = new Texture(64, 64, Format.RGBA8888);
+		texture2 = new Texture(64, 64, Format.RGBA8888);
+	}
+
+	@TearDown
+	public void tearDown () {
+		batch.dispose();
+		texture1.dispose();
+		texture2.dispose();
+		GLProfiler.disable();
+	}
+
+	@Benchmark
+	public SpriteBatch frame (GLCalls calls) {
+		CountingGL20.bufferData = 0;
+		CountingGL20.bufferSubData = 0;
+		GLProfiler.calls = 0;
+		SpriteBatch batch = this.batch;
+		batch.begin();
+		for (int i = 0; i < SPRITES; i++)
+			batch.draw((i / 100 & 1) == 0 ? texture1 : texture2, i % 800, i % 480);
+		batch.end();
+		calls.glCalls += GLProfiler.calls;
+		calls.bufferData += CountingGL20.bufferData;
+		calls.bufferSubData += CountingGL20.bufferSubData;
+		calls.frames++;
+		return batch;
+	}
+
+	/** The GL calls summed over the frames of an iteration, divide by {@link #frames} for the calls per frame. */
+	@AuxCounters
+	@State(Scope.Thread)
+	public static class GLCalls {
+		public long glCalls, bufferData, bufferSubData, frames;
+
+		@Setup(Level.Iteration)
+		public void reset () {
+			glCalls = 0;
+			bufferData = 0;
+			bufferSubData = 0;
+			frames = 0;
+		}
+	}
+
+	static class CountingGL20 extends GL20Profiler {
+		static int bufferData, bufferSubData;
+
+		CountingGL20 (GL20 gl20) {
+			super(gl20);
+		}
+
+		public void glBufferData (int target, int size, Buffer data, int usage) {
+			bufferData++;
+			super.glBufferData(target, size, data, usage);
+		}
+
+		public void glBufferSubData (int target, int offset, int size, Buffer data) {
+			bufferSubData++;
+			super.glBufferSubData(target, offset, size, data);
+		}
+	}
+}
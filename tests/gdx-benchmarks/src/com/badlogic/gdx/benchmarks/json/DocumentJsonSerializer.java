@@ -0,0 +1,59 @@
+// Generated by com.badlogic.gdx.tools.json.JsonSerializerGenerator, do not edit.
+package com.badlogic.gdx.benchmarks.json;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+
+/** Reads and writes the fields of {@link Document} without reflection. */
+public class DocumentJsonSerializer implements Json.Serializer<Document> {
+	private Document defaults;
+
+	public void write (Json json, Document object, Class knownType) {
+		Document defaults = null;
+		if (json.getUsePrototypes()) {
+			if (this.defaults == null) this.defaults = new Document();
+			defaults = this.defaults;
+		}
+		json.writeObjectStart(Document.class, knownType);
+		if (defaults == null || !equals(object.items, defaults.items))
+			json.writeValue("items", object.items, com.badlogic.gdx.utils.Array.class, Item.class);
+		json.writeObjectEnd();
+	}
+
+	public Document read (Json json, JsonValue jsonData, Class type) {
+		Document object = new Document();
+		for (JsonValue child = jsonData.child; child != null; child = child.next) {
+			String name = child.name;
+			try {
+				switch (name.hashCode()) {
+				case 100526016:
+					if (name.equals("items")) {
+						object.items = json.readValue(com.badlogic.gdx.utils.Array.class, Item.class, child);
+						continue;
+					}
+					break;
+				}
+			} catch (SerializationException ex) {
+				ex.addTrace(name + " (com.badlogic.gdx.benchmarks.json.Document)");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(name + " (com.badlogic.gdx.benchmarks.json.Document)");
+				throw ex;
+			}
+			if (!json.getIgnoreUnknownFields())
+				throw new SerializationException("Field not found: " + name + " (com.badlogic.gdx.benchmarks.json.Document)");
+		}
+		return object;
+	}
+
+	static private boolean equals (Object value, Object defaultValue) {
+		if (value == null) return defaultValue == null;
+		if (defaultValue == null) return false;
+		if (value.equals(defaultValue)) return true;
+		if (value.getClass().isArray() && defaultValue.getClass().isArray())
+			return java.util.Arrays.deepEquals(new Object[] {value}, new Object[] {defaultValue});
+		return false;
+	}
+}
@@ -0,0 +1,95 @@
+// Generated by com.badlogic.gdx.tools.json.JsonSerializerGenerator, do not edit.
+package com.badlogic.gdx.benchmarks.json;
+
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.SerializationException;
+
+/** Reads and writes the fields of {@link Item} without reflection. */
+public class ItemJsonSerializer implements Json.Serializer<Item> {
+	private Item defaults;
+
+	public void write (Json json, Item object, Class knownType) {
+		Item defaults = null;
+		if (json.getUsePrototypes()) {
+			if (this.defaults == null) this.defaults = new Item();
+			defaults = this.defaults;
+		}
+		json.writeObjectStart(Item.class, knownType);
+		if (defaults == null || !equals(object.name, defaults.name))
+			json.writeValue("name", object.name, String.class, null);
+		if (defaults == null || object.x != defaults.x) json.writeValue("x", object.x, float.class);
+		if (defaults == null || object.y != defaults.y) json.writeValue("y", object.y, float.class);
+		if (defaults == null || object.count != defaults.count) json.writeValue("count", object.count, int.class);
+		if (defaults == null || object.visible != defaults.visible) json.writeValue("visible", object.visible, boolean.class);
+		if (defaults == null || !equals(object.tags, defaults.tags))
+			json.writeValue("tags", object.tags, String[].class, null);
+		json.writeObjectEnd();
+	}
+
+	public Item read (Json json, JsonValue jsonData, Class type) {
+		Item object = new Item();
+		for (JsonValue child = jsonData.child; child != null; child = child.next) {
+			String name = child.name;
+			try {
+				switch (name.hashCode()) {
+				case 3373707:
+					if (name.equals("name")) {
+						object.name = json.readValue(String.class, null, child);
+						continue;
+					}
+					break;
+				case 120:
+					if (name.equals("x")) {
+						object.x = child.asFloat();
+						continue;
+					}
+					break;
+				case 121:
+					if (name.equals("y")) {
+						object.y = child.asFloat();
+						continue;
+					}
+					break;
+				case 94851343:
+					if (name.equals("count")) {
+						object.count = child.asInt();
+						continue;
+					}
+					break;
+				case 466743410:
+					if (name.equals("visible")) {
+						object.visible = child.asBoolean();
+						continue;
+					}
+					break;
+				case 3552281:
+					if (name.equals("tags")) {
+						object.tags = json.readValue(String[].class, null, child);
+						continue;
+					}
+					break;
+				}
+			} catch (SerializationException ex) {
+				ex.addTrace(name + " (com.badlogic.gdx.benchmarks.json.Item)");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(name + " (com.badlogic.gdx.benchmarks.json.Item)");
+				throw ex;
+			}
+			if (!json.getIgnoreUnknownFields())
+				throw new SerializationException("Field not found: " + name + " (com.badlogic.gdx.benchmarks.json.Item)");
+		}
+		return object;
+	}
+
+	static private boolean equals (Object value, Object defaultValue) {
+		if (value == null) return defaultValue == null;
+		if (defaultValue == null) return false;
+		if (value.equals(defaultValue)) return true;
+		if (value.getClass().isArray() && defaultValue.getClass().isArray())
+			return java.util.Arrays.deepEquals(new Object[] {value}, new Object[] {defaultValue});
+		return false;
+	}
+}
@@ -0,0 +1,14 @@
+// Generated by com.badlogic.gdx.tools.json.JsonSerializerGenerator, do not edit.
+package com.badlogic.gdx.benchmarks.json;
+
+import com.badlogic.gdx.utils.Json;
+
+/** Registers the generated serializers. Json does not find them by itself, {@link #register(Json)} must be called
+ * on each Json instance before it is used. */
+public class JsonSerializers {
+	/** Sets the generated serializers on the Json instance. */
+	static public void register (Json json) {
+		json.setSerializer(Document.class, new DocumentJsonSerializer());
+		json.setSerializer(Item.class, new ItemJsonSerializer());
+	}
+}
@@ -0,0 +1,42 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.lwjgl;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.tests.utils.GdxTests;
+
+/** Runs a test that doesn't need OpenGL, like the benchmarks in the bench package, on the headless backend. GL calls go to a mock
+ * which does nothing, so textures can be created but not drawn. The working directory has to be the assets directory of the
+ * tests. */
+public class HeadlessTestStarter {
+	public static void main (String[] argv) {
+		if (argv.length == 0) {
+			System.out.println("Usage: HeadlessTestStarter <test name>");
+			return;
+		}
+		GdxTest test = GdxTests.newTest(argv[0]);
+		if (test == null) {
+			System.out.println("Test not found: " + argv[0]);
+			return;
+		}
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		config.mockGL = true;
+		new HeadlessApplication(test, config);
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.bench;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Measures the time an {@link AssetManager} needs to load the test assets depending on the number of worker threads. First all
+ * images are loaded as {@link Pixmap}s, which have no dependencies. Then all fonts and atlases are loaded, which depend on
+ * their page textures, so the manager has to wait for dependencies. The textures are also loaded directly, so each is shared
+ * by two assets. The results are logged. Textures need a GL, on the headless backend it has to be mocked. */
+public class AssetManagerBench extends GdxTest {
+	static final int[] WORKERS = {1, 2, 4, 8};
+	static final int RUNS = 5;
+
+	@Override
+	public void create () {
+		Array<AssetDescriptor> images = new Array(), dependent = new Array();
+		for (FileHandle file : Gdx.files.internal("data").list()) {
+			String extension = file.extension();
+			if (extension.equals("png") || extension.equals("jpg"))
+				images.add(new AssetDescriptor(file, Pixmap.class));
+			else if (extension.equals("fnt")) {
+				BitmapFont.BitmapFontData data = new BitmapFont.BitmapFontData(file, false);
+				for (String page : data.getImagePaths())
+					dependent.add(new AssetDescriptor(page, Texture.class));
+				dependent.add(new AssetDescriptor(file, BitmapFont.class));
+			} else if (extension.equals("atlas")) {
+				TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(file, file.parent(), false);
+				for (TextureAtlas.TextureAtlasData.Page page : data.getPages())
+					dependent.add(new AssetDescriptor(page.textureFile, Texture.class));
+				dependent.add(new AssetDescriptor(file, TextureAtlas.class));
+			}
+		}
+
+		bench("images", images);
+		if (Gdx.gl != null) bench("fonts and atlases", dependent);
+	}
+
+	private void bench (String name, Array<AssetDescriptor> assets) {
+		// warm up the file system cache and the JIT
+		load(assets, 1);
+
+		for (int workers : WORKERS) {
+			long best = Long.MAX_VALUE;
+			for (int i = 0; i < RUNS; i++)
+				best = Math.min(best, load(assets, workers));
+			Gdx.app.log("AssetManagerBench", assets.size + " " + name + ", " + workers + " workers: " + best / 1000000f + "ms");
+		}
+	}
+
+	/** @return the nanoseconds needed to load all assets with a new manager. */
+	private long load (Array<AssetDescriptor> assets, int workers) {
+		AssetManager manager = new AssetManager(new InternalFileHandleResolver(), workers);
+		long start = TimeUtils.nanoTime();
+		for (AssetDescriptor asset : assets)
+			manager.load(asset);
+		manager.finishLoading();
+		long time = TimeUtils.nanoTime() - start;
+		manager.dispose();
+		return time;
+	}
+
+	@Override
+	public void render () {
+		// the headless backend has no GL unless it is mocked
+		if (Gdx.gl == null) return;
+		Gdx.gl.glClearColor(0, 0, 0, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+	}
+}